@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.blackscholes;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.functions.AnalyticFormulas;
+
+/**
+ * Benchmark of the implied volatility of a batch of call values: the per point AnalyticFormulas.blackScholesOptionImpliedVolatility
+ * versus the BlackScholesImpliedVolatilitySolver (sequential per point and batch).
+ *
+ * @author Christian Fries
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BlackScholesImpliedVolatilityBenchmark {
+
+	@Param({ "1000", "100000" })
+	private int numberOfOptions;
+
+	private double[] forwards;
+	private double[] maturities;
+	private double[] strikes;
+	private double[] payoffUnits;
+	private double[] values;
+
+	@Setup
+	public void setup() {
+		final Random random = new Random(3141);
+		forwards	= new double[numberOfOptions];
+		maturities	= new double[numberOfOptions];
+		strikes		= new double[numberOfOptions];
+		payoffUnits	= new double[numberOfOptions];
+		values		= new double[numberOfOptions];
+		for(int i=0; i<numberOfOptions; i++) {
+			forwards[i]		= 100.0;
+			maturities[i]	= 0.1 + 5.0 * random.nextDouble();
+			strikes[i]		= 50.0 + 100.0 * random.nextDouble();
+			payoffUnits[i]	= Math.exp(-0.02 * maturities[i]);
+			values[i]		= AnalyticFormulas.blackScholesGeneralizedOptionValue(forwards[i], 0.1 + 0.4 * random.nextDouble(), maturities[i], strikes[i], payoffUnits[i]);
+		}
+	}
+
+	@Benchmark
+	public double[] analyticFormulas() {
+		final double[] impliedVolatilities = new double[numberOfOptions];
+		for(int i=0; i<numberOfOptions; i++) {
+			impliedVolatilities[i] = AnalyticFormulas.blackScholesOptionImpliedVolatility(forwards[i], maturities[i], strikes[i], payoffUnits[i], values[i]);
+		}
+		return impliedVolatilities;
+	}
+
+	@Benchmark
+	public double[] solverPerPoint() {
+		final double[] impliedVolatilities = new double[numberOfOptions];
+		for(int i=0; i<numberOfOptions; i++) {
+			impliedVolatilities[i] = BlackScholesImpliedVolatilitySolver.getImpliedVolatility(forwards[i], maturities[i], strikes[i], payoffUnits[i], values[i]);
+		}
+		return impliedVolatilities;
+	}
+
+	@Benchmark
+	public double[] solverBatch() {
+		return BlackScholesImpliedVolatilitySolver.getImpliedVolatilities(forwards, maturities, strikes, payoffUnits, values, 0.0);
+	}
+}
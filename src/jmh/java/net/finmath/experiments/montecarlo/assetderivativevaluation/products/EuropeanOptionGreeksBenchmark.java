@@ -0,0 +1,119 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Benchmark of the valuation of a European option and its Greeks (likelihood ratio and pathwise method)
+ * using a simulated Black-Scholes model (same setup as BlackScholesMonteCarloValuationTest).
+ * The simulation of the model is done in the setup, i.e., the benchmark measures the products only.
+ *
+ * @author Christian Fries
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgs = { "-mx4G" })
+@State(Scope.Benchmark)
+public class EuropeanOptionGreeksBenchmark {
+
+	private final double	optionMaturity	= 1.0;
+	private final double	optionStrike	= 1.05;
+
+	@Param({ "10000", "100000", "1000000" })
+	private int numberOfPaths;
+
+	private MonteCarloBlackScholesModel model;
+
+	@Setup(Level.Trial)
+	public void setUp() throws CalculationException {
+		model = new MonteCarloBlackScholesModel(
+				new TimeDiscretizationFromArray(0.0, 10, 0.1),
+				numberOfPaths,
+				1.0 /* initialValue */,
+				0.02 /* riskFreeRate */,
+				0.30 /* volatility */);
+
+		// Trigger the simulation of the model
+		model.getAssetValue(optionMaturity, 0);
+	}
+
+	@Benchmark
+	public double value() throws CalculationException {
+		return new EuropeanOption2(optionMaturity, optionStrike).getValue(model);
+	}
+
+	@Benchmark
+	public double valueStrikeLadder() throws CalculationException {
+		double sum = 0.0;
+		for(double strike = 0.60; strike < 1.50; strike += 0.05) {
+			sum += new EuropeanOption2(optionMaturity, strike).getValue(model);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double valueStrikeLadderBatch() throws CalculationException {
+		final double[] strikes = new double[18];
+		for(int i=0; i<strikes.length; i++) {
+			strikes[i] = 0.60 + 0.05 * i;
+		}
+		final double[] callValues = new EuropeanOptionStrikeLadder(optionMaturity, strikes).getValues(model).getCallValues();
+
+		double sum = 0.0;
+		for(final double callValue : callValues) {
+			sum += callValue;
+		}
+		return sum;
+	}
+
+	@Benchmark
+	public double likelihoodGreeks() throws CalculationException {
+		return new EuropeanOptionDeltaLikelihood(optionMaturity, optionStrike).getValue(model)
+				+ new EuropeanOptionVegaLikelihood(optionMaturity, optionStrike).getValue(model)
+				+ new EuropeanOptionRhoLikelihood(optionMaturity, optionStrike).getValue(model)
+				+ new EuropeanOptionGammaLikelihood(optionMaturity, optionStrike).getValue(model);
+	}
+
+	@Benchmark
+	public double likelihoodGreeksFused() throws CalculationException {
+		final EuropeanOptionGreeks greeks = new EuropeanOptionGreeksLikelihood(optionMaturity, optionStrike).getGreeks(model);
+		return greeks.getDelta() + greeks.getVega() + greeks.getRho() + greeks.getGamma();
+	}
+
+	@Benchmark
+	public double pathwiseGreeks() throws CalculationException {
+		return new EuropeanOptionDeltaPathwise(optionMaturity, optionStrike).getValue(model)
+				+ new EuropeanOptionVegaPathwise(optionMaturity, optionStrike).getValue(model)
+				+ new EuropeanOptionRhoPathwise(optionMaturity, optionStrike).getValue(model)
+				+ new EuropeanOptionGammaPathwise(optionMaturity, optionStrike).getValue(model);
+	}
+
+	@Benchmark
+	public double pathwiseGreeksFused() throws CalculationException {
+		final EuropeanOptionGreeks greeks = new EuropeanOptionGreeksPathwise(optionMaturity, optionStrike).getGreeks(model);
+		return greeks.getDelta() + greeks.getVega() + greeks.getRho() + greeks.getGamma();
+	}
+}
@@ -0,0 +1,73 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the generation of Halton numbers (as used in the pi integration experiments).
+ * The score is the number of generated (two dimensional) points per second.
+ *
+ * @author Christian Fries
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HaltonSequenceBenchmark {
+
+	private static final int NUMBER_OF_POINTS = 1 << 16;
+
+	@Param({ "0", "100000000" })
+	private long startIndex;
+
+	private final double[] block = new double[2 * NUMBER_OF_POINTS];
+
+	@Benchmark
+	@OperationsPerInvocation(NUMBER_OF_POINTS)
+	public long getHaltonNumber() {
+		long numberOfPointsInsideUnitCircle = 0;
+		for(long i=startIndex; i<startIndex+NUMBER_OF_POINTS; i++) {
+			final double x = 2.0 * (HaltonSequence.getHaltonNumber(i, 2) - 0.5);
+			final double y = 2.0 * (HaltonSequence.getHaltonNumber(i, 3) - 0.5);
+			if(x*x + y*y < 1.0) {
+				numberOfPointsInsideUnitCircle++;
+			}
+		}
+		return numberOfPointsInsideUnitCircle;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(NUMBER_OF_POINTS)
+	public long getHaltonNumberIncremental() {
+		final HaltonSequenceIncremental haltonSequence = new HaltonSequenceIncremental(new int[] { 2, 3 }, startIndex);
+		haltonSequence.getNext(block, 0, NUMBER_OF_POINTS);
+
+		long numberOfPointsInsideUnitCircle = 0;
+		for(int i=0; i<NUMBER_OF_POINTS; i++) {
+			final double x = 2.0 * (block[2*i] - 0.5);
+			final double y = 2.0 * (block[2*i+1] - 0.5);
+			if(x*x + y*y < 1.0) {
+				numberOfPointsInsideUnitCircle++;
+			}
+		}
+		return numberOfPointsInsideUnitCircle;
+	}
+}
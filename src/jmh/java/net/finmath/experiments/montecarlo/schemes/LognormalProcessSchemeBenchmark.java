@@ -0,0 +1,76 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.schemes;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the simulation of the lognormal process with the schemes from MonteCarloSchemeTests,
+ * comparing the pre-calculated process with the streaming simulation (sequential and parallel).
+ *
+ * @author Christian Fries
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgs = { "-mx4G" })
+@State(Scope.Benchmark)
+public class LognormalProcessSchemeBenchmark {
+
+	@Param({ "EULER", "MILSTEIN", "LOGEULER" })
+	private String scheme;
+
+	@Param({ "10000", "100000" })
+	private int numberOfPaths;
+
+	@Param({ "10", "100" })
+	private int numberOfTimeSteps;
+
+	private LognormalProcess createScheme() {
+		final double deltaT = 10.0 / numberOfTimeSteps;
+		switch(scheme) {
+		case "EULER":
+			return new LogProcessEulerScheme(numberOfTimeSteps, deltaT, numberOfPaths, 1.0, 0.0, 0.5);
+		case "MILSTEIN":
+			return new LogProcessMilsteinScheme(numberOfTimeSteps, deltaT, numberOfPaths, 1.0, 0.0, 0.5);
+		case "LOGEULER":
+			return new LogProcessLogEulerScheme(numberOfTimeSteps, deltaT, numberOfPaths, 1.0, 0.0, 0.5);
+		default:
+			throw new IllegalArgumentException("Unknown scheme " + scheme + ".");
+		}
+	}
+
+	@Benchmark
+	public double precalculated() {
+		final LognormalProcess process = createScheme();
+		return process.getExpectationOfLog(numberOfTimeSteps) + process.getVarianceOfLog(numberOfTimeSteps);
+	}
+
+	@Benchmark
+	public double streaming() {
+		final LognormalProcess process = new LogProcessStreamingSimulation(createScheme());
+		return process.getExpectationOfLog(numberOfTimeSteps) + process.getVarianceOfLog(numberOfTimeSteps);
+	}
+
+	@Benchmark
+	public double streamingParallel() {
+		final LognormalProcess process = new LogProcessStreamingSimulation(createScheme(), 31415, ForkJoinPool.commonPool());
+		return process.getExpectationOfLog(numberOfTimeSteps) + process.getVarianceOfLog(numberOfTimeSteps);
+	}
+}
@@ -0,0 +1,68 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.reproduction;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Benchmark of the back projection of a synthetic time series (same setup as BackProjectionTest).
+ *
+ * @author Christian Fries
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BackProjectionBenchmark {
+
+	@Param({ "200", "1000" })
+	private int numberOfDays;
+
+	@Param({ "NONE", "SQUAREM" })
+	private BackProjection.Acceleration acceleration;
+
+	private BackProjection backProjection;
+	private double[] observations;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		final double[] distribution = DiscretizedLognormalDistribution.getDistribution(10, 5, 3);
+
+		final double[] infections = new double[numberOfDays];
+		for(int i = 0; i<numberOfDays; i++) {
+			infections[i] = i < numberOfDays/2 ? 2 : 1;
+		}
+
+		observations = new double[numberOfDays-(distribution.length-1)];
+		for(int i=0; i<observations.length; i++) {
+			for(int j=0; j<distribution.length; j++) {
+				observations[i] += infections[i+(distribution.length-1)-j] * distribution[j];
+			}
+		}
+
+		backProjection = new BackProjection(DiscretizedLognormalDistribution.getDistribution(10, 10, 6), -2, 2, acceleration, 1E-12, Integer.MAX_VALUE);
+	}
+
+	@Benchmark
+	public double[] getInfections() {
+		return backProjection.getInfections(observations);
+	}
+}
@@ -0,0 +1,48 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.shortrate;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.finmath.experiments.shortrate.CIRSimulationEngine.Scheme;
+
+/**
+ * Benchmark of the Monte-Carlo valuation of a zero coupon bond in the CIR model (same setup as CIRSimulation.main).
+ *
+ * @author Christian Fries
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CIRSimulationBenchmark {
+
+	@Param({ "1000", "10000" })
+	private int numberOfPaths;
+
+	@Benchmark
+	public double valueMonteCarlo() {
+		return new CIRSimulation(0.01, 0.05, 1.3, 0.05, 1.0, numberOfPaths, 0.001).valueMonteCarlo();
+	}
+
+	@Benchmark
+	public double valueMonteCarloExact() {
+		return new CIRSimulation(0.01, 0.05, 1.3, 0.05, 1.0, numberOfPaths, 0.001).valueMonteCarlo(Scheme.EXACT);
+	}
+}
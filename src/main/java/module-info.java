@@ -1,12 +1,18 @@
 
 module net.finmath.experiments {
+	exports net.finmath.experiments.concurrency;
 	exports net.finmath.experiments.hedgesimulator;
 	exports net.finmath.experiments.factorreduction;
 	exports net.finmath.experiments.shortrate;
 	exports net.finmath.experiments.montecarlo.assetderivativevaluation;
+	exports net.finmath.experiments.montecarlo.assetderivativevaluation.products;
 	exports net.finmath.experiments.montecarlo.automaticdifferentiation;
+	exports net.finmath.experiments.montecarlo.eulerscheme;
 	exports net.finmath.experiments.montecarlo.interestrates;
+	exports net.finmath.experiments.montecarlo.randomnumbers;
+	exports net.finmath.experiments.montecarlo.schemes;
 	exports net.finmath.experiments.reproduction;
+	exports net.finmath.experiments.blackscholes;
 
 	requires transitive net.finmath.lib;
 	requires transitive net.finmath.opencl;
@@ -0,0 +1,252 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.blackscholes;
+
+import java.util.stream.IntStream;
+
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.stochastic.RandomVariable;
+
+/**
+ * Black-Scholes valuation of European calls max(S(T)-K,0) for arrays of (spot, strike, maturity, volatility).
+ *
+ * The values are calculated in loops over primitive arrays. For each element the terms
+ * &sigma; &radic;T, d<sub>1</sub>, d<sub>2</sub>, the discount factor and the density &phi;(d<sub>1</sub>)
+ * are calculated once and shared by the value and the (optional) Greeks delta, gamma and vega.
+ *
+ * The normal distribution function is the double precision approximation of Hart (1968), as given by West (2005),
+ * "Better approximations to cumulative normal functions". Its relative error is of the order of 10<sup>-14</sup>,
+ * also in the tails, and it uses a single exponential.
+ *
+ * Batches larger than {@value #MINIMUM_NUMBER_OF_ELEMENTS_FOR_PARALLEL_VALUATION} elements are divided into blocks, which are
+ * valued in parallel (on the common pool). The result does not depend on the parallelization.
+ *
+ * @author Christian Fries
+ */
+public class BlackScholesAnalyticKernel {
+
+	private static final int MINIMUM_NUMBER_OF_ELEMENTS_FOR_PARALLEL_VALUATION	= 1 << 16;
+	private static final int NUMBER_OF_ELEMENTS_PER_BLOCK						= 1 << 14;
+
+	private static final double ONE_OVER_SQRT_OF_TWO_PI = 1.0 / Math.sqrt(2.0 * Math.PI);
+
+	private BlackScholesAnalyticKernel() {
+	}
+
+	/**
+	 * Calculates the values (and optionally the Greeks) of European calls. All arrays have the same length.
+	 *
+	 * @param spots The spot values S(0).
+	 * @param riskFreeRate The risk free rate r (common to all elements).
+	 * @param volatilities The volatilities &sigma;.
+	 * @param optionMaturities The maturities T.
+	 * @param optionStrikes The strikes K.
+	 * @param values Array receiving the values.
+	 * @param deltas Array receiving the deltas dV/dS (may be null).
+	 * @param gammas Array receiving the gammas d<sup>2</sup>V/dS<sup>2</sup> (may be null).
+	 * @param vegas Array receiving the vegas dV/d&sigma; (may be null).
+	 */
+	public static void getCallValues(double[] spots, double riskFreeRate, double[] volatilities, double[] optionMaturities, double[] optionStrikes,
+			double[] values, double[] deltas, double[] gammas, double[] vegas) {
+		final int numberOfElements = spots.length;
+		if(volatilities.length != numberOfElements || optionMaturities.length != numberOfElements || optionStrikes.length != numberOfElements || values.length != numberOfElements) {
+			throw new IllegalArgumentException("Arrays must have the same length.");
+		}
+
+		if(numberOfElements < MINIMUM_NUMBER_OF_ELEMENTS_FOR_PARALLEL_VALUATION) {
+			getCallValues(spots, riskFreeRate, volatilities, optionMaturities, optionStrikes, values, deltas, gammas, vegas, 0, numberOfElements);
+		}
+		else {
+			final int numberOfBlocks = (numberOfElements + NUMBER_OF_ELEMENTS_PER_BLOCK - 1) / NUMBER_OF_ELEMENTS_PER_BLOCK;
+			IntStream.range(0, numberOfBlocks).parallel().forEach(blockIndex -> {
+				final int from = blockIndex * NUMBER_OF_ELEMENTS_PER_BLOCK;
+				final int to = Math.min(from + NUMBER_OF_ELEMENTS_PER_BLOCK, numberOfElements);
+				getCallValues(spots, riskFreeRate, volatilities, optionMaturities, optionStrikes, values, deltas, gammas, vegas, from, to);
+			});
+		}
+	}
+
+	/**
+	 * Calculates the values of European calls with common volatility, maturity and strike for an array of spots.
+	 *
+	 * @param spots The spot values S(0).
+	 * @param riskFreeRate The risk free rate r.
+	 * @param volatility The volatility &sigma;.
+	 * @param optionMaturity The maturity T.
+	 * @param optionStrike The strike K.
+	 * @return The values.
+	 */
+	public static double[] getCallValues(double[] spots, double riskFreeRate, double volatility, double optionMaturity, double optionStrike) {
+		final int numberOfElements = spots.length;
+		final double[] values = new double[numberOfElements];
+
+		if(numberOfElements < MINIMUM_NUMBER_OF_ELEMENTS_FOR_PARALLEL_VALUATION) {
+			getCallValues(spots, riskFreeRate, volatility, optionMaturity, optionStrike, values, 0, numberOfElements);
+		}
+		else {
+			final int numberOfBlocks = (numberOfElements + NUMBER_OF_ELEMENTS_PER_BLOCK - 1) / NUMBER_OF_ELEMENTS_PER_BLOCK;
+			IntStream.range(0, numberOfBlocks).parallel().forEach(blockIndex -> {
+				final int from = blockIndex * NUMBER_OF_ELEMENTS_PER_BLOCK;
+				final int to = Math.min(from + NUMBER_OF_ELEMENTS_PER_BLOCK, numberOfElements);
+				getCallValues(spots, riskFreeRate, volatility, optionMaturity, optionStrike, values, from, to);
+			});
+		}
+		return values;
+	}
+
+	/**
+	 * Calculates the values of European calls for a random variable of spots, e.g., the conditional expectation of the
+	 * payoff max(S(T)-K,0) given S(t) in a Monte-Carlo simulation (with T-t as maturity).
+	 *
+	 * @param spot The spot S(0).
+	 * @param riskFreeRate The risk free rate r.
+	 * @param volatility The volatility &sigma;.
+	 * @param optionMaturity The maturity T.
+	 * @param optionStrike The strike K.
+	 * @return The value.
+	 */
+	public static RandomVariable getCallValue(RandomVariable spot, double riskFreeRate, double volatility, double optionMaturity, double optionStrike) {
+		if(spot.isDeterministic()) {
+			return new RandomVariableFromDoubleArray(AnalyticFormulas.blackScholesOptionValue(spot.doubleValue(), riskFreeRate, volatility, optionMaturity, optionStrike));
+		}
+		return new RandomVariableFromDoubleArray(spot.getFiltrationTime(), getCallValues(spot.getRealizations(), riskFreeRate, volatility, optionMaturity, optionStrike));
+	}
+
+	private static void getCallValues(double[] spots, double riskFreeRate, double[] volatilities, double[] optionMaturities, double[] optionStrikes,
+			double[] values, double[] deltas, double[] gammas, double[] vegas, int from, int to) {
+		for(int i=from; i<to; i++) {
+			final double spot				= spots[i];
+			final double volatility			= volatilities[i];
+			final double optionMaturity		= optionMaturities[i];
+			final double optionStrike		= optionStrikes[i];
+
+			if(optionMaturity < 0 || spot <= 0.0) {
+				values[i] = 0.0;
+				if(deltas != null) {
+					deltas[i] = 0.0;
+				}
+				if(gammas != null) {
+					gammas[i] = 0.0;
+				}
+				if(vegas != null) {
+					vegas[i] = 0.0;
+				}
+				continue;
+			}
+			if(optionStrike <= 0.0 || volatility <= 0.0 || optionMaturity == 0.0) {
+				// Deterministic limit: the forward minus the discounted strike (if positive)
+				final double valueOfForward = spot - optionStrike * Math.exp(-riskFreeRate * optionMaturity);
+				values[i] = Math.max(valueOfForward, 0.0);
+				if(deltas != null) {
+					deltas[i] = valueOfForward > 0 ? 1.0 : 0.0;
+				}
+				if(gammas != null) {
+					gammas[i] = 0.0;
+				}
+				if(vegas != null) {
+					vegas[i] = 0.0;
+				}
+				continue;
+			}
+
+			// Shared terms
+			final double volatilityTimesSqrtOfMaturity	= volatility * Math.sqrt(optionMaturity);
+			final double discountFactor					= Math.exp(-riskFreeRate * optionMaturity);
+			final double dPlus	= (Math.log(spot / optionStrike) + (riskFreeRate + 0.5 * volatility * volatility) * optionMaturity) / volatilityTimesSqrtOfMaturity;
+			final double dMinus	= dPlus - volatilityTimesSqrtOfMaturity;
+
+			final double cumulativeDistributionOfDPlus = cumulativeDistribution(dPlus);
+			values[i] = spot * cumulativeDistributionOfDPlus - optionStrike * discountFactor * cumulativeDistribution(dMinus);
+
+			if(deltas != null) {
+				deltas[i] = cumulativeDistributionOfDPlus;
+			}
+			if(gammas != null || vegas != null) {
+				final double densityOfDPlus = ONE_OVER_SQRT_OF_TWO_PI * Math.exp(-0.5 * dPlus * dPlus);
+				if(gammas != null) {
+					gammas[i] = densityOfDPlus / (spot * volatilityTimesSqrtOfMaturity);
+				}
+				if(vegas != null) {
+					vegas[i] = spot * densityOfDPlus * volatilityTimesSqrtOfMaturity / volatility;
+				}
+			}
+		}
+	}
+
+	private static void getCallValues(double[] spots, double riskFreeRate, double volatility, double optionMaturity, double optionStrike, double[] values, int from, int to) {
+		if(optionMaturity < 0) {
+			return;
+		}
+		final double discountedStrike = optionStrike * Math.exp(-riskFreeRate * optionMaturity);
+		if(optionStrike <= 0.0 || volatility <= 0.0 || optionMaturity == 0.0) {
+			for(int i=from; i<to; i++) {
+				values[i] = Math.max(spots[i] - discountedStrike, 0.0);
+			}
+			return;
+		}
+
+		// Shared terms (common to all elements)
+		final double volatilityTimesSqrtOfMaturity	= volatility * Math.sqrt(optionMaturity);
+		final double logOfStrike					= Math.log(optionStrike);
+		final double drift							= (riskFreeRate + 0.5 * volatility * volatility) * optionMaturity;
+		for(int i=from; i<to; i++) {
+			final double spot = spots[i];
+			if(spot <= 0.0) {
+				values[i] = 0.0;
+				continue;
+			}
+			final double dPlus	= (Math.log(spot) - logOfStrike + drift) / volatilityTimesSqrtOfMaturity;
+			final double dMinus	= dPlus - volatilityTimesSqrtOfMaturity;
+			values[i] = spot * cumulativeDistribution(dPlus) - discountedStrike * cumulativeDistribution(dMinus);
+		}
+	}
+
+	/**
+	 * Cumulative distribution function of the standard normal distribution (Hart, 1968, double precision algorithm as given by West, 2005).
+	 *
+	 * @param x The argument.
+	 * @return The value N(x).
+	 */
+	public static double cumulativeDistribution(double x) {
+		final double xAbs = Math.abs(x);
+		final double tail;
+		if(xAbs > 37.0) {
+			tail = 0.0;
+		}
+		else {
+			final double exponential = Math.exp(-0.5 * xAbs * xAbs);
+			if(xAbs < 7.07106781186547) {
+				double numerator = 3.52624965998911E-02 * xAbs + 0.700383064443688;
+				numerator = numerator * xAbs + 6.37396220353165;
+				numerator = numerator * xAbs + 33.912866078383;
+				numerator = numerator * xAbs + 112.079291497871;
+				numerator = numerator * xAbs + 221.213596169931;
+				numerator = numerator * xAbs + 220.206867912376;
+
+				double denominator = 8.83883476483184E-02 * xAbs + 1.75566716318264;
+				denominator = denominator * xAbs + 16.064177579207;
+				denominator = denominator * xAbs + 86.7807322029461;
+				denominator = denominator * xAbs + 296.564248779674;
+				denominator = denominator * xAbs + 637.333633378831;
+				denominator = denominator * xAbs + 793.826512519948;
+				denominator = denominator * xAbs + 440.413735824752;
+
+				tail = exponential * numerator / denominator;
+			}
+			else {
+				// Continued fraction
+				double fraction = xAbs + 0.65;
+				fraction = xAbs + 4.0 / fraction;
+				fraction = xAbs + 3.0 / fraction;
+				fraction = xAbs + 2.0 / fraction;
+				fraction = xAbs + 1.0 / fraction;
+				tail = exponential / fraction / 2.506628274631;
+			}
+		}
+		return x > 0 ? 1.0 - tail : tail;
+	}
+}
@@ -0,0 +1,222 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.blackscholes;
+
+import java.util.stream.IntStream;
+
+/**
+ * Implied Black-Scholes (log-normal) volatilities for arrays of European call values.
+ *
+ * The value V of a call on a (displaced) forward F+d with strike K+d is converted to the normalized value
+ * &beta; = V / (P &radic;((F+d)(K+d))), where P is the payoff unit (discount factor). With x = log((F+d)/(K+d)) and
+ * s = &sigma; &radic;T, the normalized Black formula is
+ * \[
+ * 	b(x,s) = e^{x/2} N(x/s + s/2) - e^{-x/2} N(x/s - s/2).
+ * \]
+ * In-the-money calls are converted to out-of-the-money puts (put-call parity), which are equal to calls with -x, such that
+ * only x &le; 0 is solved, avoiding the cancellation of the intrinsic value.
+ *
+ * The equation b(x,s) = &beta; is solved for s by Householder's method of order three (using the closed form derivatives
+ * b''/b' = x<sup>2</sup>/s<sup>3</sup> - s/4 and b'''/b' = (b''/b')<sup>2</sup> - 3x<sup>2</sup>/s<sup>4</sup> - 1/4), started from the
+ * rational approximation of Corrado and Miller (1996) or, where it is not defined, from the inflection point s = &radic;(2|x|)
+ * (Manaster and Koehler, 1982). The iteration keeps a bracket of the solution and bisects if a step leaves the bracket, hence
+ * it converges for all arbitrage free values. It stops if the relative change of s is below {@value #ACCURACY} (typically after two to
+ * three iterations), i.e., the returned volatility reproduces the value up to the accuracy of the normal distribution function
+ * (see {@link BlackScholesAnalyticKernel#cumulativeDistribution(double)}). For values outside the arbitrage bounds (below the intrinsic
+ * value or above the forward) the implied volatility is NaN. For in-the-money values equal to the intrinsic value up to a relative rounding of
+ * {@value #INTRINSIC_VALUE_ACCURACY} the implied volatility is 0.
+ *
+ * Arrays larger than {@value #MINIMUM_NUMBER_OF_ELEMENTS_FOR_PARALLEL_CALCULATION} elements are divided into blocks, which are solved
+ * in parallel (on the common pool).
+ *
+ * @author Christian Fries
+ */
+public class BlackScholesImpliedVolatilitySolver {
+
+	private static final int MINIMUM_NUMBER_OF_ELEMENTS_FOR_PARALLEL_CALCULATION	= 1 << 12;
+	private static final int NUMBER_OF_ELEMENTS_PER_BLOCK							= 1 << 10;
+
+	private static final double	ACCURACY						= 1E-14;
+	private static final int	MAXIMUM_NUMBER_OF_ITERATIONS	= 100;
+	private static final double	INTRINSIC_VALUE_ACCURACY		= 1E-14;
+
+	private static final double ONE_OVER_SQRT_OF_TWO_PI = 1.0 / Math.sqrt(2.0 * Math.PI);
+
+	private BlackScholesImpliedVolatilitySolver() {
+	}
+
+	/**
+	 * Calculates the implied volatilities of European calls on a displaced log-normal forward, i.e., the volatilities
+	 * &sigma; such that the Black-Scholes value of max(F(T)+d-(K+d),0) with forward F+d, strike K+d and log-normal volatility &sigma;
+	 * is the given value. All arrays have the same length.
+	 *
+	 * @param forwards The forwards F.
+	 * @param optionMaturities The maturities T.
+	 * @param optionStrikes The strikes K.
+	 * @param payoffUnits The payoff units (discount factors) P.
+	 * @param optionValues The values V.
+	 * @param displacement The displacement d (0 for the log-normal model).
+	 * @return The implied volatilities.
+	 */
+	public static double[] getImpliedVolatilities(double[] forwards, double[] optionMaturities, double[] optionStrikes, double[] payoffUnits, double[] optionValues, double displacement) {
+		final int numberOfElements = forwards.length;
+		if(optionMaturities.length != numberOfElements || optionStrikes.length != numberOfElements || payoffUnits.length != numberOfElements || optionValues.length != numberOfElements) {
+			throw new IllegalArgumentException("Arrays must have the same length.");
+		}
+
+		final double[] impliedVolatilities = new double[numberOfElements];
+		if(numberOfElements < MINIMUM_NUMBER_OF_ELEMENTS_FOR_PARALLEL_CALCULATION) {
+			getImpliedVolatilities(forwards, optionMaturities, optionStrikes, payoffUnits, optionValues, displacement, impliedVolatilities, 0, numberOfElements);
+		}
+		else {
+			final int numberOfBlocks = (numberOfElements + NUMBER_OF_ELEMENTS_PER_BLOCK - 1) / NUMBER_OF_ELEMENTS_PER_BLOCK;
+			IntStream.range(0, numberOfBlocks).parallel().forEach(blockIndex -> {
+				final int from = blockIndex * NUMBER_OF_ELEMENTS_PER_BLOCK;
+				final int to = Math.min(from + NUMBER_OF_ELEMENTS_PER_BLOCK, numberOfElements);
+				getImpliedVolatilities(forwards, optionMaturities, optionStrikes, payoffUnits, optionValues, displacement, impliedVolatilities, from, to);
+			});
+		}
+		return impliedVolatilities;
+	}
+
+	/**
+	 * Calculates the implied volatilities of European calls with common forward, maturity and payoff unit for an array of strikes (a smile).
+	 *
+	 * @param forward The forward F.
+	 * @param optionMaturity The maturity T.
+	 * @param optionStrikes The strikes K.
+	 * @param payoffUnit The payoff unit (discount factor) P.
+	 * @param optionValues The values V.
+	 * @return The implied volatilities.
+	 */
+	public static double[] getImpliedVolatilities(double forward, double optionMaturity, double[] optionStrikes, double payoffUnit, double[] optionValues) {
+		final double[] impliedVolatilities = new double[optionStrikes.length];
+		for(int i=0; i<optionStrikes.length; i++) {
+			impliedVolatilities[i] = getImpliedVolatility(forward, optionMaturity, optionStrikes[i], payoffUnit, optionValues[i]);
+		}
+		return impliedVolatilities;
+	}
+
+	/**
+	 * Calculates the implied volatility of a European call. Same signature as
+	 * {@link net.finmath.functions.AnalyticFormulas#blackScholesOptionImpliedVolatility(double, double, double, double, double)}.
+	 *
+	 * @param forward The forward F.
+	 * @param optionMaturity The maturity T.
+	 * @param optionStrike The strike K.
+	 * @param payoffUnit The payoff unit (discount factor) P.
+	 * @param optionValue The value V.
+	 * @return The implied volatility.
+	 */
+	public static double getImpliedVolatility(double forward, double optionMaturity, double optionStrike, double payoffUnit, double optionValue) {
+		if(optionMaturity <= 0.0 || forward <= 0.0 || optionStrike <= 0.0 || payoffUnit <= 0.0) {
+			return Double.NaN;
+		}
+
+		final double sqrtOfForwardTimesStrike = Math.sqrt(forward * optionStrike);
+		double x = Math.log(forward / optionStrike);
+		double normalizedValue = optionValue / payoffUnit / sqrtOfForwardTimesStrike;
+		if(x > 0) {
+			// In-the-money call: out-of-the-money put, which is the call with -x
+			final double normalizedIntrinsicValue = Math.exp(0.5 * x) - Math.exp(-0.5 * x);
+			if(Math.abs(normalizedValue - normalizedIntrinsicValue) <= INTRINSIC_VALUE_ACCURACY * normalizedValue) {
+				// The intrinsic value (up to rounding)
+				return 0.0;
+			}
+			normalizedValue -= normalizedIntrinsicValue;
+			x = -x;
+		}
+
+		final double normalizedVolatility = getNormalizedVolatility(x, normalizedValue);
+		return normalizedVolatility / Math.sqrt(optionMaturity);
+	}
+
+	private static void getImpliedVolatilities(double[] forwards, double[] optionMaturities, double[] optionStrikes, double[] payoffUnits, double[] optionValues,
+			double displacement, double[] impliedVolatilities, int from, int to) {
+		for(int i=from; i<to; i++) {
+			impliedVolatilities[i] = getImpliedVolatility(forwards[i] + displacement, optionMaturities[i], optionStrikes[i] + displacement, payoffUnits[i], optionValues[i]);
+		}
+	}
+
+	/**
+	 * Solves b(x,s) = &beta; for s, where x &le; 0.
+	 *
+	 * @param x The log-moneyness x = log(F/K) &le; 0.
+	 * @param normalizedValue The normalized value &beta;.
+	 * @return The normalized volatility s = &sigma; &radic;T.
+	 */
+	private static double getNormalizedVolatility(double x, double normalizedValue) {
+		final double expOfHalfX = Math.exp(0.5 * x);
+		if(normalizedValue == 0.0) {
+			return 0.0;
+		}
+		if(!(normalizedValue > 0.0) || !(normalizedValue < expOfHalfX)) {
+			// Outside the arbitrage bounds (or NaN)
+			return Double.NaN;
+		}
+
+		// Bracket of the solution (b is increasing in s)
+		double lowerBound = 0.0;
+		double upperBound = Double.POSITIVE_INFINITY;
+
+		double s = getInitialGuess(x, normalizedValue, expOfHalfX);
+		for(int iteration=0; iteration<MAXIMUM_NUMBER_OF_ITERATIONS; iteration++) {
+			final double dPlus = x / s + 0.5 * s;
+			final double dMinus = dPlus - s;
+			final double value = expOfHalfX * BlackScholesAnalyticKernel.cumulativeDistribution(dPlus) - BlackScholesAnalyticKernel.cumulativeDistribution(dMinus) / expOfHalfX;
+			final double vega = expOfHalfX * ONE_OVER_SQRT_OF_TWO_PI * Math.exp(-0.5 * dPlus * dPlus);
+
+			if(value < normalizedValue) {
+				lowerBound = s;
+			}
+			else if(value > normalizedValue) {
+				upperBound = s;
+			}
+			else {
+				return s;
+			}
+
+			// Householder step of order three
+			final double newtonStep = (normalizedValue - value) / vega;
+			final double secondOverFirstDerivative = x * x / (s * s * s) - 0.25 * s;
+			final double thirdOverFirstDerivative = secondOverFirstDerivative * secondOverFirstDerivative - 3.0 * x * x / (s * s * s * s) - 0.25;
+			final double step = newtonStep * (1.0 + 0.5 * secondOverFirstDerivative * newtonStep)
+					/ (1.0 + newtonStep * (secondOverFirstDerivative + thirdOverFirstDerivative * newtonStep / 6.0));
+
+			double sNew = s + step;
+			if(!(sNew > lowerBound && sNew < upperBound)) {
+				// The step left the bracket (or the derivative vanished): bisection, or expansion if there is no upper bound yet
+				sNew = upperBound == Double.POSITIVE_INFINITY ? 2.0 * s : 0.5 * (lowerBound + upperBound);
+			}
+
+			final boolean isConverged = Math.abs(sNew - s) <= ACCURACY * sNew;
+			s = sNew;
+			if(isConverged) {
+				break;
+			}
+		}
+		return s;
+	}
+
+	/**
+	 * Initial guess for s: the approximation of Corrado and Miller, if it is defined, otherwise the inflection point of b.
+	 */
+	private static double getInitialGuess(double x, double normalizedValue, double expOfHalfX) {
+		// Corrado-Miller in normalized units: F = exp(x/2), K = exp(-x/2)
+		final double forward = expOfHalfX;
+		final double strike = 1.0 / expOfHalfX;
+		final double halfOfForwardMinusStrike = 0.5 * (forward - strike);
+		final double valueMinusHalfIntrinsic = normalizedValue - halfOfForwardMinusStrike;
+		final double discriminant = valueMinusHalfIntrinsic * valueMinusHalfIntrinsic - 4.0 * halfOfForwardMinusStrike * halfOfForwardMinusStrike / Math.PI;
+		if(discriminant >= 0.0) {
+			final double guess = Math.sqrt(2.0 * Math.PI) / (forward + strike) * (valueMinusHalfIntrinsic + Math.sqrt(discriminant));
+			if(guess > 0.0 && Double.isFinite(guess)) {
+				return guess;
+			}
+		}
+		return x != 0.0 ? Math.sqrt(-2.0 * x) : 1.0;
+	}
+}
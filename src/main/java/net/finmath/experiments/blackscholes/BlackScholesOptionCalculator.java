@@ -91,7 +91,7 @@ public class BlackScholesOptionCalculator extends JApplet implements ActionListe
 			// Value was changed, calculate implied volatility
 			final double payoffUnit	= Math.exp(-this.riskFreeRate.getDoubleValue()* this.optionMaturity.getDoubleValue());
 			final double forward		= this.spot.getDoubleValue() / payoffUnit;
-			final double impliedVolatility = net.finmath.functions.AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, this.optionMaturity.getDoubleValue(), this.optionStrike.getDoubleValue(), payoffUnit, this.optionValue.getDoubleValue());
+			final double impliedVolatility = BlackScholesImpliedVolatilitySolver.getImpliedVolatility(forward, this.optionMaturity.getDoubleValue(), this.optionStrike.getDoubleValue(), payoffUnit, this.optionValue.getDoubleValue());
 			this.volatility.setValue(impliedVolatility);
 		}
 		final double value = net.finmath.functions.AnalyticFormulas.blackScholesOptionValue(this.spot.getDoubleValue(), this.riskFreeRate.getDoubleValue(), this.volatility.getDoubleValue(), this.optionMaturity.getDoubleValue(), this.optionStrike.getDoubleValue());
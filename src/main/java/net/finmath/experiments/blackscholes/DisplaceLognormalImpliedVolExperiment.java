@@ -28,7 +28,7 @@ public class DisplaceLognormalImpliedVolExperiment {
 		final DoubleBinaryOperator volCurveForDisplacement = (optionStrike, displacement) -> {
 			final double optionValue = AnalyticFormulas.blackScholesGeneralizedOptionValue(
 					forward+displacement, lognormalVolatility, optionMaturity, optionStrike+displacement, payoffUnit);
-			final double impliedLognormalVolatility = AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
+			final double impliedLognormalVolatility = BlackScholesImpliedVolatilitySolver.getImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
 			return impliedLognormalVolatility;
 		};
 
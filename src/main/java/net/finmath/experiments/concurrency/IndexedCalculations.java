@@ -0,0 +1,108 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.concurrency;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Applies a calculation to the indices 0, ..., n-1 of a grid (e.g., the cells of a parameter sweep), either on the calling
+ * thread or in parallel on a given ForkJoinPool, and returns the results in the order of the indices.
+ *
+ * The calculation may throw a checked exception. It is passed through the parallel stream and rethrown unwrapped
+ * on the calling thread, such that the caller sees the same exception in the sequential and in the parallel case.
+ *
+ * @author Christian Fries
+ */
+public class IndexedCalculations {
+
+	/**
+	 * A calculation of an element of a grid.
+	 *
+	 * @param <T> The type of the result.
+	 * @param <E> The type of the (checked) exception thrown by the calculation.
+	 */
+	@FunctionalInterface
+	public interface IndexedCalculation<T, E extends Exception> {
+
+		/**
+		 * Calculates the element of the grid with the given index.
+		 *
+		 * @param index The index of the element.
+		 * @return The result.
+		 * @throws E Thrown if the calculation fails.
+		 */
+		T apply(int index) throws E;
+	}
+
+	/**
+	 * Carries a checked exception of a calculation through the parallel stream.
+	 */
+	private static class CalculationFailedException extends RuntimeException {
+		private static final long serialVersionUID = -3547227049374616021L;
+
+		CalculationFailedException(Exception cause) {
+			super(cause);
+		}
+	}
+
+	private IndexedCalculations() {
+	}
+
+	/**
+	 * Applies the calculation to the indices 0, ..., n-1 (in parallel on the forkJoinPool, if not null)
+	 * and returns the results in the order of the indices.
+	 *
+	 * @param <T> The type of the result.
+	 * @param <E> The type of the (checked) exception thrown by the calculation.
+	 * @param forkJoinPool The pool calculating the elements. If null, the elements are calculated by the calling thread.
+	 * @param n The number of elements.
+	 * @param calculation The calculation of an element, given its index.
+	 * @return The results, in the order of the indices.
+	 * @throws E Thrown if the calculation of an element fails.
+	 */
+	public static <T, E extends Exception> List<T> run(ForkJoinPool forkJoinPool, int n, IndexedCalculation<T, E> calculation) throws E {
+		final Object[] results = new Object[n];
+		if(forkJoinPool == null) {
+			for(int index=0; index<n; index++) {
+				results[index] = calculation.apply(index);
+			}
+		}
+		else {
+			try {
+				forkJoinPool.submit(() -> IntStream.range(0, n).parallel().forEach(index -> {
+					try {
+						results[index] = calculation.apply(index);
+					}
+					catch(final RuntimeException e) {
+						throw e;
+					}
+					catch(final Exception e) {
+						throw new CalculationFailedException(e);
+					}
+				})).join();
+			}
+			catch(final RuntimeException e) {
+				// The exception may be wrapped again when it is passed from a worker thread
+				for(Throwable cause = e; cause != null; cause = cause.getCause()) {
+					if(cause instanceof CalculationFailedException) {
+						// The calculation only throws checked exceptions of type E
+						@SuppressWarnings("unchecked")
+						final E exception = (E)cause.getCause();
+						throw exception;
+					}
+				}
+				throw e;
+			}
+		}
+
+		@SuppressWarnings("unchecked")
+		final List<T> list = (List<T>)Arrays.asList(results);
+		return list;
+	}
+}
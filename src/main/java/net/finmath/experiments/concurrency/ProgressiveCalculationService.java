@@ -0,0 +1,253 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.concurrency;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntFunction;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A service running calculations in the background, e.g., for an interactive GUI.
+ *
+ * A calculation consists of a number of batches (e.g., batches of Monte-Carlo paths), which are calculated
+ * on a bounded pool of worker threads. The results of the batches are passed to a listener as soon as they are available,
+ * such that partial results (e.g., a running mean) can be shown while the calculation proceeds.
+ *
+ * Submitting a new calculation cancels the previous one: batches which have not yet started are not calculated
+ * and the listener of the stale calculation is no longer called. Hence, a sequence of requests does not pile up
+ * full calculations. Cancelling a calculation interrupts its batches which are already running.
+ *
+ * If the calculation of a batch fails, the remaining batches are cancelled and the failure listener is called
+ * (unless the calculation has been cancelled).
+ *
+ * The listeners are called from the coordinating thread of the service (one call at a time, in the order of completion
+ * of the batches). Updates of a Swing GUI should hence be passed to the event dispatch thread, checking
+ * {@link Run#isCancelled()} there.
+ *
+ * @author Christian Fries
+ */
+public class ProgressiveCalculationService {
+
+	private static final Logger logger = Logger.getLogger("net.finmath");
+
+	/**
+	 * Listener receiving the results of the batches of a calculation.
+	 *
+	 * @param <R> The type of the result of a batch.
+	 */
+	public interface BatchListener<R> {
+
+		/**
+		 * Called when a batch has been calculated.
+		 *
+		 * @param run The calculation the batch belongs to.
+		 * @param result The result of the batch.
+		 * @param numberOfCompletedBatches The number of batches completed so far (including this one).
+		 * @param numberOfBatches The total number of batches of the calculation.
+		 */
+		void batchCompleted(Run run, R result, int numberOfCompletedBatches, int numberOfBatches);
+	}
+
+	/**
+	 * Listener receiving the failure of a calculation.
+	 */
+	public interface FailureListener {
+
+		/**
+		 * Called when the calculation of a batch has failed. No further batches of the calculation are reported.
+		 *
+		 * @param run The calculation the batch belongs to.
+		 * @param throwable The exception thrown by the calculation of the batch.
+		 */
+		void calculationFailed(Run run, Throwable throwable);
+	}
+
+	/**
+	 * Handle of a submitted calculation.
+	 */
+	public static class Run {
+		private volatile boolean	isCancelled = false;
+		private volatile Future<?>	future;
+
+		/**
+		 * Cancels the calculation. Batches not yet started will not be calculated, running batches are interrupted
+		 * and the listeners will not be called anymore.
+		 */
+		public void cancel() {
+			isCancelled = true;
+			final Future<?> future = this.future;
+			if(future != null) {
+				future.cancel(true);
+			}
+		}
+
+		/**
+		 * @return True, if the calculation has been cancelled (e.g., since a newer calculation was submitted).
+		 */
+		public boolean isCancelled() {
+			return isCancelled;
+		}
+
+		/**
+		 * @return True, if the calculation has been completed or cancelled.
+		 */
+		public boolean isDone() {
+			return isCancelled || (future != null && future.isDone());
+		}
+	}
+
+	private final ExecutorService	coordinator;
+	private final ExecutorService	workers;
+	private final int				numberOfThreads;
+
+	private Run currentRun;
+
+	/**
+	 * Create the service.
+	 *
+	 * @param name The name of the service (used to name the threads).
+	 * @param numberOfThreads The number of worker threads calculating the batches.
+	 */
+	public ProgressiveCalculationService(String name, int numberOfThreads) {
+		super();
+		if(numberOfThreads < 1) {
+			throw new IllegalArgumentException("Number of threads must be positive.");
+		}
+		this.numberOfThreads = numberOfThreads;
+
+		coordinator	= Executors.newSingleThreadExecutor(getThreadFactory(name + "-coordinator"));
+		workers		= Executors.newFixedThreadPool(numberOfThreads, getThreadFactory(name + "-worker"));
+	}
+
+	/**
+	 * Create the service using one worker thread per available processor.
+	 *
+	 * @param name The name of the service (used to name the threads).
+	 */
+	public ProgressiveCalculationService(String name) {
+		this(name, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * Submits a calculation, cancelling the previously submitted calculation. A failure of the calculation is logged.
+	 *
+	 * @param <R> The type of the result of a batch.
+	 * @param numberOfBatches The number of batches.
+	 * @param batchCalculation The calculation of a batch, given its index.
+	 * @param listener The listener receiving the results of the batches.
+	 * @return The handle of the calculation.
+	 */
+	public <R> Run submit(int numberOfBatches, IntFunction<R> batchCalculation, BatchListener<R> listener) {
+		return submit(numberOfBatches, batchCalculation, listener,
+				(run, throwable) -> logger.log(Level.WARNING, "Calculation of batch failed.", throwable));
+	}
+
+	/**
+	 * Submits a calculation, cancelling the previously submitted calculation.
+	 *
+	 * @param <R> The type of the result of a batch.
+	 * @param numberOfBatches The number of batches.
+	 * @param batchCalculation The calculation of a batch, given its index.
+	 * @param listener The listener receiving the results of the batches.
+	 * @param failureListener The listener receiving the failure of the calculation.
+	 * @return The handle of the calculation.
+	 */
+	public synchronized <R> Run submit(int numberOfBatches, IntFunction<R> batchCalculation, BatchListener<R> listener, FailureListener failureListener) {
+		if(currentRun != null) {
+			currentRun.cancel();
+		}
+
+		final Run run = new Run();
+		run.future = coordinator.submit(() -> coordinate(run, numberOfBatches, batchCalculation, listener, failureListener));
+		currentRun = run;
+
+		return run;
+	}
+
+	/**
+	 * Cancels the current calculation (if any).
+	 */
+	public synchronized void cancel() {
+		if(currentRun != null) {
+			currentRun.cancel();
+		}
+	}
+
+	/**
+	 * Cancels the current calculation and stops the threads of the service.
+	 */
+	public synchronized void shutdown() {
+		cancel();
+		coordinator.shutdownNow();
+		workers.shutdownNow();
+	}
+
+	/**
+	 * Submits the batches to the workers and passes their results to the listener. At most two batches per worker
+	 * are queued at any time, such that a cancelled calculation releases the workers quickly. When the coordination
+	 * ends (completed, cancelled or failed), the outstanding batches are cancelled, interrupting those already running.
+	 */
+	private <R> void coordinate(Run run, int numberOfBatches, IntFunction<R> batchCalculation, BatchListener<R> listener, FailureListener failureListener) {
+		final CompletionService<R> completionService = new ExecutorCompletionService<>(workers);
+		final int maximumNumberOfQueuedBatches = 2 * numberOfThreads;
+		final Set<Future<R>> outstandingBatches = new HashSet<>();
+
+		int numberOfSubmittedBatches = 0;
+		int numberOfCompletedBatches = 0;
+		Throwable failure = null;
+		try {
+			while(numberOfCompletedBatches < numberOfBatches && !run.isCancelled()) {
+				while(numberOfSubmittedBatches < numberOfBatches && numberOfSubmittedBatches - numberOfCompletedBatches < maximumNumberOfQueuedBatches) {
+					final int batchIndex = numberOfSubmittedBatches++;
+					outstandingBatches.add(completionService.submit(() -> run.isCancelled() ? null : batchCalculation.apply(batchIndex)));
+				}
+
+				final Future<R> batch = completionService.take();
+				outstandingBatches.remove(batch);
+				final R result = batch.get();
+				numberOfCompletedBatches++;
+				if(!run.isCancelled()) {
+					listener.batchCompleted(run, result, numberOfCompletedBatches, numberOfBatches);
+				}
+			}
+		}
+		catch(final InterruptedException e) {
+			// The calculation was cancelled
+			Thread.currentThread().interrupt();
+		}
+		catch(final ExecutionException e) {
+			failure = e.getCause();
+		}
+		finally {
+			for(final Future<R> batch : outstandingBatches) {
+				batch.cancel(true);
+			}
+		}
+
+		if(failure != null && !run.isCancelled()) {
+			failureListener.calculationFailed(run, failure);
+		}
+	}
+
+	private static ThreadFactory getThreadFactory(String name) {
+		final AtomicInteger threadNumber = new AtomicInteger();
+		return runnable -> {
+			final Thread thread = new Thread(runnable, name + "-" + threadNumber.getAndIncrement());
+			thread.setDaemon(true);
+			return thread;
+		};
+	}
+}
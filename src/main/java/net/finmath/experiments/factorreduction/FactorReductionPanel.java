@@ -22,6 +22,7 @@ import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -31,6 +32,7 @@ import org.jfree.data.xy.DefaultXYZDataset;
 import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
+import net.finmath.experiments.concurrency.ProgressiveCalculationService;
 import net.finmath.functions.LinearAlgebra;
 import net.finmath.plots.jfreechart.HuePaintScale;
 import net.finmath.plots.jfreechart.JFreeChartUtilities;
@@ -40,7 +42,7 @@ import net.finmath.plots.jfreechart.JFreeChartUtilities;
  *
  * @author Christian Fries
  */
-public class FactorReductionPanel extends JPanel implements ActionListener, Runnable {
+public class FactorReductionPanel extends JPanel implements ActionListener {
 
 	private static final long serialVersionUID = 2852737071726359012L;
 
@@ -55,7 +57,11 @@ public class FactorReductionPanel extends JPanel implements ActionListener, Runn
 	private int		numberOfFactors				= 3;
 	private double	correlationDecayParameter	= 0.1;
 
-	private Thread	calculationThread		= null;
+	// The parameters of the charts shown (restored if a calculation fails)
+	private int		numberOfFactorsShown			= numberOfFactors;
+	private double	correlationDecayParameterShown	= correlationDecayParameter;
+
+	private final ProgressiveCalculationService calculationService = new ProgressiveCalculationService("FactorReduction", 1);
 
 	private final JTextField	numberOfFactorsLabel	= new JTextField("3");
 
@@ -80,7 +86,7 @@ public class FactorReductionPanel extends JPanel implements ActionListener, Runn
 		this.setSize(900, 700);
 
 		// Create the GUI
-		updateData();
+		publish(calculate(numberOfFactors, correlationDecayParameter));
 
 		correlationParameterA.setColumns(5);
 		correlationParameterA.addActionListener(this);
@@ -292,10 +298,6 @@ public class FactorReductionPanel extends JPanel implements ActionListener, Runn
 
 		cp.setName("Factor Reduction / Pricipal Component Analysis");
 
-		// Call updateDate() - initializes the dataseries for the charts
-		setContainerEnabled(inputPanel,false);
-		calculationThread = new Thread(this);
-		calculationThread.start();
 	}
 
 	// Handle action events generated by applet controls.
@@ -353,41 +355,63 @@ public class FactorReductionPanel extends JPanel implements ActionListener, Runn
 		numberOfFactorsLabel.setText(formatterInt.format(numberOfFactors));
 		correlationParameterA.setText(formatterReal3.format(correlationDecayParameter));
 
-		setContainerEnabled(inputPanel,false);
-		calculationThread = new Thread(this);
-		calculationThread.start();
+		// Update the data (cancels a running calculation)
+		updateData();
 	}
 
-	// Applet start
-	public void start() {
-		setContainerEnabled(inputPanel,true);
+	/* Stop (i.e., pause) the applet. */
+	public void stop() {
+		calculationService.cancel();
 	}
 
-	@Override
-	public void run() {
-		try {
-			updateData();
-		}
-		catch(final OutOfMemoryError e) {
-			setContainerEnabled(inputPanel,true);
-			System.err.println(e.getLocalizedMessage());
-		}
-		setContainerEnabled(inputPanel,true);
-	}
-
-	private void setContainerEnabled(Container container, boolean enabled)
+	/**
+	 * Submits the calculation to the calculation service (cancelling a running calculation).
+	 * The charts are updated on the event dispatch thread, unless the calculation has been superseded.
+	 * If the calculation fails, the input is reset to the parameters of the charts shown.
+	 */
+	void updateData()
 	{
-		final Component[] components = container.getComponents();
+		final int		numberOfFactors				= this.numberOfFactors;
+		final double	correlationDecayParameter	= this.correlationDecayParameter;
+
+		calculationService.submit(1,
+				batchIndex -> calculate(numberOfFactors, correlationDecayParameter),
+				(run, result, numberOfCompletedBatches, numberOfBatches) -> SwingUtilities.invokeLater(() -> {
+					if(!run.isCancelled()) {
+						publish(result);
+						numberOfFactorsShown = numberOfFactors;
+						correlationDecayParameterShown = correlationDecayParameter;
+					}
+				}),
+				(run, throwable) -> SwingUtilities.invokeLater(() -> {
+					if(!run.isCancelled()) {
+						// Reset the input to the parameters of the charts shown
+						this.numberOfFactors = numberOfFactorsShown;
+						this.correlationDecayParameter = correlationDecayParameterShown;
+						numberOfFactorsLabel.setText(formatterInt.format(numberOfFactorsShown));
+						correlationParameterA.setText(formatterReal3.format(correlationDecayParameterShown));
+					}
+				}));
+	}
 
-		for(int i=0; i<components.length; i++) {
-			components[i].setEnabled(enabled);
-			if(components[i] instanceof Container) {
-				setContainerEnabled((Container)components[i], enabled);
-			}
+	/**
+	 * The matrices shown in the charts.
+	 */
+	private static class FactorReductionResult {
+		private final double[][] originalCorrelationMatrix;
+		private final double[][] reducedCorrelationMatrix;
+		private final double[][] factorMatrixFull;
+		private final double[][] factorMatrixReduced;
+
+		FactorReductionResult(double[][] originalCorrelationMatrix, double[][] reducedCorrelationMatrix, double[][] factorMatrixFull, double[][] factorMatrixReduced) {
+			this.originalCorrelationMatrix = originalCorrelationMatrix;
+			this.reducedCorrelationMatrix = reducedCorrelationMatrix;
+			this.factorMatrixFull = factorMatrixFull;
+			this.factorMatrixReduced = factorMatrixReduced;
 		}
 	}
 
-	void updateData()
+	private static FactorReductionResult calculate(int numberOfFactors, double correlationDecayParameter)
 	{
 		/*
 		 * Create the time discretization of the processes
@@ -412,6 +436,16 @@ public class FactorReductionPanel extends JPanel implements ActionListener, Runn
 		final double[][] factorMatrixFull			= LinearAlgebra.factorReduction(originalCorrelationMatrix, originalCorrelationMatrix.length);
 		final double[][] reducedCorrelationMatrix	= LinearAlgebra.multMatrices(factorMatrixReduced, LinearAlgebra.transpose(factorMatrixReduced));
 
+		return new FactorReductionResult(originalCorrelationMatrix, reducedCorrelationMatrix, factorMatrixFull, factorMatrixReduced);
+	}
+
+	private void publish(FactorReductionResult result)
+	{
+		final double[][] originalCorrelationMatrix	= result.originalCorrelationMatrix;
+		final double[][] reducedCorrelationMatrix	= result.reducedCorrelationMatrix;
+		final double[][] factorMatrixFull			= result.factorMatrixFull;
+		final double[][] factorMatrixReduced		= result.factorMatrixReduced;
+
 		/*
 		 * Buid datasets for plot
 		 */
@@ -469,6 +503,7 @@ public class FactorReductionPanel extends JPanel implements ActionListener, Runn
 
 	/* Clean up before exiting. */
 	public void destroy() {
+		calculationService.shutdown();
 	}
 
 	/**
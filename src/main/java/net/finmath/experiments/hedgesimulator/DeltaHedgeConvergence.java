@@ -0,0 +1,185 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.hedgesimulator;
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Delta hedge of a European call max(S(T)-K,0) in a Black-Scholes model for a whole set of rebalancing frequencies
+ * in a single simulation.
+ *
+ * The underlying is simulated once on a fine equidistant time discretization of [0,T] (exact log-normal step).
+ * A rebalancing schedule with n rebalancings (n dividing the number of fine time steps) uses every (N/n)-th point of
+ * the fine path, i.e., its Brownian increments are the aggregated fine increments (as in
+ * {@link net.finmath.experiments.montecarlo.eulerscheme.BrownianMotionCoarseTimeDiscretization}). The hedge portfolios of
+ * all schedules are advanced together in one pass over the fine time steps, such that the curve "hedge error versus
+ * rebalancing frequency" costs one simulation and all points of the curve use the same paths.
+ *
+ * The hedge portfolio starts with the Black-Scholes value of the option (using the hedge volatility), holds the Black-Scholes
+ * delta in the underlying and the remainder in the bank account (accruing at the risk free rate). The hedge error is the value of
+ * the hedge portfolio minus the payoff of the option at maturity.
+ *
+ * @author Christian Fries
+ */
+public class DeltaHedgeConvergence {
+
+	private final double	initialValue;
+	private final double	riskFreeRate;
+	private final double	volatility;
+	private final double	hedgeVolatility;
+	private final double	optionMaturity;
+	private final double	optionStrike;
+
+	private final int		numberOfTimeSteps;
+	private final int		numberOfPaths;
+	private final int		seed;
+
+	/**
+	 * Create the hedge simulation.
+	 *
+	 * @param initialValue The initial value of the underlying.
+	 * @param riskFreeRate The risk free rate (used by the model and the hedger).
+	 * @param volatility The volatility used to simulate the underlying.
+	 * @param hedgeVolatility The volatility used by the hedger.
+	 * @param optionMaturity The maturity T of the hedged option max(S(T)-K,0).
+	 * @param optionStrike The strike K of the hedged option max(S(T)-K,0).
+	 * @param numberOfTimeSteps The number N of time steps of the fine time discretization of [0,T].
+	 * @param numberOfPaths The number of paths.
+	 * @param seed The seed of the Brownian motion.
+	 */
+	public DeltaHedgeConvergence(double initialValue, double riskFreeRate, double volatility, double hedgeVolatility,
+			double optionMaturity, double optionStrike, int numberOfTimeSteps, int numberOfPaths, int seed) {
+		super();
+		this.initialValue = initialValue;
+		this.riskFreeRate = riskFreeRate;
+		this.volatility = volatility;
+		this.hedgeVolatility = hedgeVolatility;
+		this.optionMaturity = optionMaturity;
+		this.optionStrike = optionStrike;
+		this.numberOfTimeSteps = numberOfTimeSteps;
+		this.numberOfPaths = numberOfPaths;
+		this.seed = seed;
+	}
+
+	/**
+	 * Calculates the hedge errors for the given numbers of rebalancings.
+	 *
+	 * @param numbersOfRebalancings The numbers of (equidistant) rebalancing times on [0, T). Each has to divide the number of time steps.
+	 * @return For each number of rebalancings the statistics of the hedge error.
+	 */
+	public StreamingStatistics[] getHedgeErrorStatistics(int[] numbersOfRebalancings) {
+		final int numberOfSchedules = numbersOfRebalancings.length;
+		final int[] strides = new int[numberOfSchedules];
+		for(int scheduleIndex=0; scheduleIndex<numberOfSchedules; scheduleIndex++) {
+			final int numberOfRebalancings = numbersOfRebalancings[scheduleIndex];
+			if(numberOfRebalancings < 1 || numberOfTimeSteps % numberOfRebalancings != 0) {
+				throw new IllegalArgumentException("Number of rebalancings " + numberOfRebalancings + " does not divide the number of time steps " + numberOfTimeSteps + ".");
+			}
+			strides[scheduleIndex] = numberOfTimeSteps / numberOfRebalancings;
+		}
+
+		final double deltaT = optionMaturity / numberOfTimeSteps;
+		final BrownianMotion brownianMotion = new BrownianMotionFromMersenneRandomNumbers(
+				new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, deltaT), 1, numberOfPaths, seed);
+
+		// State of the fine path and of the hedge portfolio of each schedule
+		final double[]		underlying	= new double[numberOfPaths];
+		final double[][]	delta		= new double[numberOfSchedules][numberOfPaths];
+		final double[][]	bankAccount	= new double[numberOfSchedules][numberOfPaths];
+
+		// Initial hedge (common to all schedules)
+		final double optionValue	= AnalyticFormulas.blackScholesOptionValue(initialValue, riskFreeRate, hedgeVolatility, optionMaturity, optionStrike);
+		final double optionDelta	= AnalyticFormulas.blackScholesOptionDelta(initialValue, riskFreeRate, hedgeVolatility, optionMaturity, optionStrike);
+		Arrays.fill(underlying, initialValue);
+		for(int scheduleIndex=0; scheduleIndex<numberOfSchedules; scheduleIndex++) {
+			Arrays.fill(delta[scheduleIndex], optionDelta);
+			Arrays.fill(bankAccount[scheduleIndex], optionValue - optionDelta * initialValue);
+		}
+
+		final double drift = (riskFreeRate - 0.5 * volatility * volatility) * deltaT;
+		for(int timeIndex=1; timeIndex<=numberOfTimeSteps; timeIndex++) {
+			// Evolve the underlying over the fine time step
+			final double[] brownianIncrement = brownianMotion.getBrownianIncrement(timeIndex-1, 0).getRealizations();
+			for(int path=0; path<numberOfPaths; path++) {
+				underlying[path] *= Math.exp(drift + volatility * brownianIncrement[path]);
+			}
+
+			final double time = timeIndex * deltaT;
+			for(int scheduleIndex=0; scheduleIndex<numberOfSchedules; scheduleIndex++) {
+				final int stride = strides[scheduleIndex];
+				if(timeIndex % stride != 0) {
+					continue;
+				}
+
+				final double accrualFactor = Math.exp(riskFreeRate * stride * deltaT);
+				final double[] deltaOfSchedule = delta[scheduleIndex];
+				final double[] bankAccountOfSchedule = bankAccount[scheduleIndex];
+				if(timeIndex == numberOfTimeSteps) {
+					// Maturity: the bank account accrues, the position is not changed
+					for(int path=0; path<numberOfPaths; path++) {
+						bankAccountOfSchedule[path] *= accrualFactor;
+					}
+				}
+				else {
+					// Rebalance: self-financing change of the position in the underlying
+					for(int path=0; path<numberOfPaths; path++) {
+						final double deltaNew = AnalyticFormulas.blackScholesOptionDelta(underlying[path], riskFreeRate, hedgeVolatility, optionMaturity - time, optionStrike);
+						bankAccountOfSchedule[path] = bankAccountOfSchedule[path] * accrualFactor - (deltaNew - deltaOfSchedule[path]) * underlying[path];
+						deltaOfSchedule[path] = deltaNew;
+					}
+				}
+			}
+		}
+
+		// Hedge error at maturity
+		final StreamingStatistics[] errorStatistics = new StreamingStatistics[numberOfSchedules];
+		for(int scheduleIndex=0; scheduleIndex<numberOfSchedules; scheduleIndex++) {
+			errorStatistics[scheduleIndex] = new StreamingStatistics();
+			for(int path=0; path<numberOfPaths; path++) {
+				final double portfolioValue = delta[scheduleIndex][path] * underlying[path] + bankAccount[scheduleIndex][path];
+				final double payoff = Math.max(underlying[path] - optionStrike, 0.0);
+				errorStatistics[scheduleIndex].add(portfolioValue - payoff);
+			}
+		}
+
+		return errorStatistics;
+	}
+
+	public static void main(String[] args) {
+		final DeltaHedgeConvergence deltaHedge = new DeltaHedgeConvergence(
+				1.0,		// initialValue
+				0.05,		// riskFreeRate
+				0.5,		// volatility
+				0.5,		// hedgeVolatility
+				2.0,		// optionMaturity
+				1.0,		// optionStrike
+				1024,		// numberOfTimeSteps
+				10000,		// numberOfPaths
+				3141);		// seed
+
+		final int[] numbersOfRebalancings = { 1, 2, 4, 8, 16, 32, 64, 128, 256, 512, 1024 };
+
+		final long timeStart = System.currentTimeMillis();
+		final StreamingStatistics[] errorStatistics = deltaHedge.getHedgeErrorStatistics(numbersOfRebalancings);
+		final long timeEnd = System.currentTimeMillis();
+
+		final DecimalFormat formatterValue = new DecimalFormat(" 0.00000;-0.00000");
+		System.out.println("rebalancings\tmean error\tstd.dev. error\tVaR 99%");
+		for(int i=0; i<numbersOfRebalancings.length; i++) {
+			System.out.println(numbersOfRebalancings[i]
+					+ "\t" + formatterValue.format(errorStatistics[i].getMean())
+					+ "\t" + formatterValue.format(errorStatistics[i].getStandardDeviation())
+					+ "\t" + formatterValue.format(errorStatistics[i].getValueAtRisk(0.99)));
+		}
+		System.out.println("Calculation time: " + (timeEnd-timeStart) + " ms.");
+	}
+}
@@ -3,7 +3,6 @@
  */
 package net.finmath.experiments.hedgesimulator;
 
-import java.awt.Component;
 import java.awt.Container;
 import java.awt.Dimension;
 import java.awt.Font;
@@ -22,8 +21,8 @@ import javax.swing.JComboBox;
 import javax.swing.JLabel;
 import javax.swing.JPanel;
 import javax.swing.JTextArea;
-import javax.swing.JTextField;
 import javax.swing.SwingConstants;
+import javax.swing.SwingUtilities;
 
 import org.jfree.chart.ChartPanel;
 import org.jfree.chart.JFreeChart;
@@ -36,6 +35,8 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 import net.finmath.exception.CalculationException;
+import net.finmath.experiments.concurrency.ProgressiveCalculationService;
+import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
 import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
 import net.finmath.montecarlo.assetderivativevaluation.products.BlackScholesHedgedPortfolio;
 import net.finmath.stochastic.RandomVariable;
@@ -48,7 +49,7 @@ import net.finmath.time.TimeDiscretizationFromArray;
  * @author Christian Fries
  * @version 1.0
  */
-public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runnable {
+public class HedgeSimulatorPanel extends JPanel implements ActionListener {
 
 	private static final long serialVersionUID = 4409293529502725079L;
 
@@ -61,8 +62,7 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 	/**
 	 * Model parameters
 	 */
-	private final int				numberOfPaths			= 4000;
-	private final JTextField		numberOfPathsTextField	= new JTextField();
+	private final JNumberField	numberOfPathsTextField	= new JNumberField(4000, new DecimalFormat("0"), this);
 	private final JNumberField	initialValueTextField	= new JNumberField(1.0,	 new DecimalFormat("0.00"), this);
 	private final JNumberField	riskFreeRateTextField	= new JNumberField(0.05,	 new DecimalFormat("0.00"), this);
 	private final JNumberField	volatilityTextField		= new JNumberField(0.5,	 new DecimalFormat("0.00"), this);
@@ -87,6 +87,14 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 
 	private JComboBox<String> 		comboBoxHedgeStrategy;
 
+	/**
+	 * Calculation: the paths are simulated in batches (each batch with its own seed), the results are shown while the calculation proceeds
+	 */
+	private static final int	numberOfPathsPerBatch		= 4000;
+	private static final int	numberOfPointsInScatterPlot	= 4000;
+
+	private final ProgressiveCalculationService calculationService = new ProgressiveCalculationService("HedgeSimulator");
+
 	/**
 	 * Output
 	 */
@@ -126,6 +134,7 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 		c.gridx = 0;		c.gridy = 0;		inputModelParametersPanel.add(new JLabel("Initial value: ",SwingConstants.TRAILING),c);
 		c.gridx = 0;		c.gridy = 1;		inputModelParametersPanel.add(new JLabel("Risk free rate: ",SwingConstants.TRAILING),c);
 		c.gridx = 0;		c.gridy = 2;		inputModelParametersPanel.add(new JLabel("Volatility: ",SwingConstants.TRAILING),c);
+		c.gridx = 0;		c.gridy = 3;		inputModelParametersPanel.add(new JLabel("Number of paths: ",SwingConstants.TRAILING),c);
 		c.fill = GridBagConstraints.NONE;
 		c.gridx = 1;		c.gridy = 0;		inputModelParametersPanel.add(initialValueTextField,c);
 		c.gridx = 1;		c.gridy = 1;		inputModelParametersPanel.add(riskFreeRateTextField,c);
@@ -134,6 +143,9 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 		c.gridx = 1;		c.gridy = 2;		inputModelParametersPanel.add(volatilityTextField,c);
 		c.gridx = 2;		c.gridy = 2;		inputModelParametersPanel.add(createButton("+","volatility++"),c);
 		c.gridx = 3;		c.gridy = 2;		inputModelParametersPanel.add(createButton("-","volatility--"),c);
+		c.gridx = 1;		c.gridy = 3;		inputModelParametersPanel.add(numberOfPathsTextField,c);
+		c.gridx = 2;		c.gridy = 3;		inputModelParametersPanel.add(createButton("+","numberOfPaths++"),c);
+		c.gridx = 3;		c.gridy = 3;		inputModelParametersPanel.add(createButton("-","numberOfPaths--"),c);
 
 		// Set up a panel containing the input of the hedge stategie
 		final JPanel inputHedgeParametersPanel = new JPanel();
@@ -283,9 +295,7 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 		this.setSize(900,600);
 
 		// Call updateData() - initializes the dataseries for the charts
-		setContainerEnabled(inputPanel,false);
-		final Thread calculationThread = new Thread(this);
-		calculationThread.start();
+		updateData();
 	}
 
 	/**
@@ -301,25 +311,9 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 	public void start() {
 	}
 
-	@Override
-	public void run() {
-		try {
-			updateData();
-		}
-		catch(final OutOfMemoryError e) {
-			setContainerEnabled(inputPanel,true);
-			System.err.println(e.getLocalizedMessage());
-		}
-		/*		catch(Exception e) {
-			setContainerEnabled(inputPanel,true);
-			System.err.println(e);
-			System.err.println(e.getLocalizedMessage());
-		}
-		 */		setContainerEnabled(inputPanel,true);
-	}
-
 	/* Stop (i.e., pause) the applet. */
 	public void stop() {
+		calculationService.cancel();
 	}
 
 	// Handle action events generated by applet controls.
@@ -338,6 +332,10 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 			volatilityTextField.add(+0.01);
 		} else if(commandString.equals("volatility--")) {
 			volatilityTextField.add(-0.01);
+		} else if(commandString.equals("numberOfPaths++")) {
+			numberOfPathsTextField.setValue(Math.min(numberOfPathsTextField.getIntValue()*10, 10000000));
+		} else if(commandString.equals("numberOfPaths--")) {
+			numberOfPathsTextField.setValue(Math.max(numberOfPathsTextField.getIntValue()/10, 1000));
 		} else if(commandString.equals("deltaT++")) {
 			deltaTTextField.setValue((int)deltaTTextField.getValue().doubleValue()*2);
 		} else if(commandString.equals("deltaT--")) {
@@ -360,63 +358,159 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 			hedgeVolatilityTextField.add(-0.01);
 		}
 
-		// Update the data
-		setContainerEnabled(inputPanel,false);
-		final Thread calculationThread = new Thread(this);
-		calculationThread.start();
+		// Update the data (cancels a running calculation)
+		updateData();
 	}
 
 
+	/**
+	 * Reads the input and submits the simulation to the calculation service (cancelling a running simulation).
+	 * The simulation is performed in batches of paths. The charts and the status line are updated whenever a batch
+	 * is completed. If the simulation fails, the status line shows the failure.
+	 */
 	private void updateData() {
-		try {
+		statusLine.append(" - Calculating...");
 
-			statusLine.append(" - Calculating...");
+		// Adjust deltaT to a valid value
+		int			numberOfTimeSteps	= (int)deltaTTextField.getValue().doubleValue();
+		double		deltaT = timeHorizon/(numberOfTimeSteps);
+		if(deltaT > timeHorizon) {
+			deltaT = timeHorizon;
+		}
+		if(deltaT < 2.0/730) {
+			deltaT = 2.0/730;
+		}
+		numberOfTimeSteps = (int)Math.round(timeHorizon/deltaT);
+		deltaT = timeHorizon/(numberOfTimeSteps);
+		deltaTTextField.setValue(numberOfTimeSteps);
+
+		final int numberOfPaths = Math.max(numberOfPathsTextField.getIntValue(), 1);
+		final int numberOfBatches = (numberOfPaths + numberOfPathsPerBatch - 1) / numberOfPathsPerBatch;
+
+		// Read the input on the event dispatch thread
+		final double initialValue			= initialValueTextField.getValue().doubleValue();
+		final double riskFreeRate			= riskFreeRateTextField.getValue().doubleValue();
+		final double volatility				= volatilityTextField.getValue().doubleValue();
+		final double optionMaturity			= optionMaturityTextField.getValue().doubleValue();
+		final double optionStrike			= optionStrikeTextField.getValue().doubleValue();
+		final double hedgeRiskFreeRate		= hedgeRiskFreeRateTextField.getValue().doubleValue();
+		final double hedgeVolatility		= hedgeVolatilityTextField.getValue().doubleValue();
+		final int	 hedgeStrategyIndex		= comboBoxHedgeStrategy.getSelectedIndex();
+
+		// Create the time discretization
+		final TimeDiscretizationFromArray timeDiscretizationFromArray = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps+1, deltaT);
+		final double rehedgingPeriod = deltaT;
+
+		// Results accumulated over the batches (only accessed by the listener, which is called by one thread at a time)
+		final StreamingStatistics	errorStatistics		= new StreamingStatistics();
+		final double[]				sumOfHedgeCosts		= new double[1];
+		final XYSeries				seriesPortfolio		= new XYSeries("Portfolio value");
+		final XYSeries				seriesOption		= new XYSeries("Option value");
+
+		calculationService.submit(numberOfBatches,
+				batchIndex -> {
+					final int numberOfPathsInBatch = Math.min(numberOfPathsPerBatch, numberOfPaths - batchIndex * numberOfPathsPerBatch);
+					return simulateBatch(timeDiscretizationFromArray, numberOfPathsInBatch, 3141 /* seed */ + batchIndex,
+							initialValue, riskFreeRate, volatility, optionMaturity, optionStrike, hedgeRiskFreeRate, hedgeVolatility, hedgeStrategyIndex);
+				},
+				(run, batch, numberOfCompletedBatches, numberOfBatchesTotal) -> {
+					errorStatistics.merge(batch.errorStatistics);
+					sumOfHedgeCosts[0] += batch.hedgeCost * batch.numberOfPaths;
+
+					// Scatter plot of the first paths (copies of the series are passed to the charts)
+					for(int path=0; path<batch.underlyings.length && seriesOption.getItemCount() < numberOfPointsInScatterPlot; path++) {
+						seriesOption.add(batch.underlyings[path], batch.optionValues[path], false);
+						seriesPortfolio.add(batch.underlyings[path], batch.portfolioValues[path], false);
+					}
+
+					final XYSeries	seriesError			= getHistogramSeries(errorStatistics);
+					final String	status				= getStatus(optionMaturity, optionStrike, rehedgingPeriod, sumOfHedgeCosts[0] / errorStatistics.getCount(), errorStatistics, numberOfPaths);
+					final XYSeries	seriesOptionCopy	= copy(seriesOption);
+					final XYSeries	seriesPortfolioCopy	= copy(seriesPortfolio);
+
+					SwingUtilities.invokeLater(() -> {
+						if(run.isCancelled()) {
+							return;
+						}
+						datasetPayoff.removeAllSeries();
+						datasetPayoff.addSeries(seriesOptionCopy);
+						datasetPayoff.addSeries(seriesPortfolioCopy);
+
+						datasetHistogram.removeAllSeries();
+						datasetHistogram.addSeries(seriesError);
+
+						statusLine.setText(status);
+					});
+				},
+				(run, throwable) -> SwingUtilities.invokeLater(() -> {
+					if(!run.isCancelled()) {
+						statusLine.setText("Calculation failed: " + throwable.getMessage());
+					}
+				}));
+	}
 
-			// Adjust deltaT to a valid value
-			int			numberOfTimeSteps	= (int)deltaTTextField.getValue().doubleValue();
-			double		deltaT = timeHorizon/(numberOfTimeSteps);
-			if(deltaT > timeHorizon) {
-				deltaT = timeHorizon;
-			}
-			if(deltaT < 2.0/730) {
-				deltaT = 2.0/730;
-			}
-			numberOfTimeSteps = (int)Math.round(timeHorizon/deltaT);
-			deltaT = timeHorizon/(numberOfTimeSteps);
-			deltaTTextField.setValue(numberOfTimeSteps);
+	/**
+	 * The result of the simulation of a batch of paths.
+	 */
+	private static class HedgeSimulationBatch {
+		private final int					numberOfPaths;
+		private final double				hedgeCost;
+		private final StreamingStatistics	errorStatistics;
+		private final double[]				underlyings;
+		private final double[]				portfolioValues;
+		private final double[]				optionValues;
+
+		HedgeSimulationBatch(int numberOfPaths, double hedgeCost, StreamingStatistics errorStatistics, double[] underlyings, double[] portfolioValues, double[] optionValues) {
+			this.numberOfPaths = numberOfPaths;
+			this.hedgeCost = hedgeCost;
+			this.errorStatistics = errorStatistics;
+			this.underlyings = underlyings;
+			this.portfolioValues = portfolioValues;
+			this.optionValues = optionValues;
+		}
+	}
 
+	private static HedgeSimulationBatch simulateBatch(
+			TimeDiscretizationFromArray timeDiscretizationFromArray,
+			int numberOfPaths,
+			int seed,
+			double initialValue,
+			double riskFreeRate,
+			double volatility,
+			double optionMaturity,
+			double optionStrike,
+			double hedgeRiskFreeRate,
+			double hedgeVolatility,
+			int hedgeStrategyIndex) {
+		try {
 			/*
 			 * Create the model and the product acording to specification
 			 *
 			 */
-			// Create the time discretization
-			final TimeDiscretizationFromArray timeDiscretizationFromArray = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps+1, deltaT);
-
 			// Create an instance of a black scholes model
 			final MonteCarloBlackScholesModel blackModel = new MonteCarloBlackScholesModel(
-					timeDiscretizationFromArray,
-					numberOfPaths,
-					initialValueTextField.getValue().doubleValue(),
-					riskFreeRateTextField.getValue().doubleValue(),
-					volatilityTextField.getValue().doubleValue());
+					initialValue,
+					riskFreeRate,
+					volatility,
+					new BrownianMotionFromMersenneRandomNumbers(timeDiscretizationFromArray, 1 /* numberOfFactors */, numberOfPaths, seed));
 
 			// Create product (hedge portfolio)
 			BlackScholesHedgedPortfolio hedgedPortfolio;
-			switch(comboBoxHedgeStrategy.getSelectedIndex()) {
+			switch(hedgeStrategyIndex) {
 			case 0: // Delta hedge
 			default:
 				hedgedPortfolio = new BlackScholesHedgedPortfolio(
-						optionMaturityTextField.getValue().doubleValue(),
-						optionStrikeTextField.getValue().doubleValue(),
-						hedgeRiskFreeRateTextField.getValue().doubleValue(),
-						hedgeVolatilityTextField.getValue().doubleValue());
+						optionMaturity,
+						optionStrike,
+						hedgeRiskFreeRate,
+						hedgeVolatility);
 				break;
 			case 1: // Gamma hedge
 				hedgedPortfolio = new BlackScholesHedgedPortfolio(
-						optionMaturityTextField.getValue().doubleValue(),
-						optionStrikeTextField.getValue().doubleValue(),
-						hedgeRiskFreeRateTextField.getValue().doubleValue(),
-						hedgeVolatilityTextField.getValue().doubleValue(),
+						optionMaturity,
+						optionStrike,
+						hedgeRiskFreeRate,
+						hedgeVolatility,
 						5.0,			// gammaHedgeOptionMaturity
 						1.0,			// gammaHedgeOptionStrike
 						BlackScholesHedgedPortfolio.HedgeStrategy.deltaGammaHedge
@@ -424,10 +518,10 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 				break;
 			case 2: // Vega hedge
 				hedgedPortfolio = new BlackScholesHedgedPortfolio(
-						optionMaturityTextField.getValue().doubleValue(),
-						optionStrikeTextField.getValue().doubleValue(),
-						hedgeRiskFreeRateTextField.getValue().doubleValue(),
-						hedgeVolatilityTextField.getValue().doubleValue(),
+						optionMaturity,
+						optionStrike,
+						hedgeRiskFreeRate,
+						hedgeVolatility,
 						5.0,			// gammaHedgeOptionMaturity
 						1.0,			// gammaHedgeOptionStrike
 						BlackScholesHedgedPortfolio.HedgeStrategy.deltaVegaHedge
@@ -438,94 +532,82 @@ public class HedgeSimulatorPanel extends JPanel implements ActionListener, Runna
 			// Get price (will init the hedge information)
 			final double hedgeCost = hedgedPortfolio.getValue(0, blackModel).getAverage();
 
-			final double optionMaturity	= optionMaturityTextField.getValue().doubleValue();
-			final double optionStrike		= optionStrikeTextField.getValue().doubleValue();
-
 			final RandomVariable portfolioValue	= hedgedPortfolio.getValue(optionMaturity,blackModel);
-			final double[]				error			= new double[blackModel.getNumberOfPaths()];
-
 
 			final RandomVariable underlyingAtMaturity = blackModel.getAssetValue(blackModel.getTimeIndex(optionMaturity),0);
 
 			/*
-			 * Update data for plots
+			 * Data for plots and the statistics of the hedge error (single pass)
 			 */
-			final int numberOfPaths = underlyingAtMaturity.size();
-			double errorMin = 0.0; double errorMax = 0.0;
-			final XYSeries seriesPortfolio		= new XYSeries("Portfolio value");
-			final XYSeries seriesOption		= new XYSeries("Option value");
+			final int numberOfPointsInBatch = Math.min(numberOfPaths, numberOfPointsInScatterPlot);
+			final StreamingStatistics errorStatistics = new StreamingStatistics();
+			final double[] underlyings		= new double[numberOfPointsInBatch];
+			final double[] portfolioValues	= new double[numberOfPointsInBatch];
+			final double[] optionValues		= new double[numberOfPointsInBatch];
 			for(int path=0; path<numberOfPaths; path++) {
 				final double valueOfUnderlying = underlyingAtMaturity.get(path);
 				// Look what happens if you exchange here
 				final double valueOfPortfolio = portfolioValue.get(path);
 				final double valueOfOption = Math.max(valueOfUnderlying-optionStrike,0.0);
 
-				error[path] = valueOfPortfolio - valueOfOption;
-				errorMin = Math.min(errorMin, error[path]);
-				errorMax = Math.max(errorMax, error[path]);
+				errorStatistics.add(valueOfPortfolio - valueOfOption);
 
-				seriesPortfolio.add(valueOfUnderlying, valueOfPortfolio);
-				seriesOption.add(valueOfUnderlying, valueOfOption);
-			}
-			datasetPayoff.removeAllSeries();
-			datasetPayoff.addSeries(seriesOption);
-			datasetPayoff.addSeries(seriesPortfolio);
-
-			// Create binning for histogram
-			final int			numberOfErrorBins	= 64;
-			final XYSeries		seriesError			= new XYSeries("Error");
-			final int[] errorCount = new int[numberOfErrorBins];
-			java.util.Arrays.fill(errorCount,0);
-			for(int path=0; path<numberOfPaths; path++) {
-				final int indexOfErrorBin = (int)(((error[path] - errorMin) / (errorMax-errorMin) * (numberOfErrorBins-1)));
-				errorCount[indexOfErrorBin]++;
+				if(path < numberOfPointsInBatch) {
+					underlyings[path]		= valueOfUnderlying;
+					portfolioValues[path]	= valueOfPortfolio;
+					optionValues[path]		= valueOfOption;
+				}
 			}
 
-			for(int indexOfErrorBin=1; indexOfErrorBin<numberOfErrorBins-1; indexOfErrorBin++) {
-				final double densityValue = (double)(errorCount[indexOfErrorBin-1]+errorCount[indexOfErrorBin]+errorCount[indexOfErrorBin+1]) / (double)(3*numberOfPaths);
-				//			seriesError.add(errorMin+((double)(indexOfErrorBin)+0.05)/((double) numberOfErrorBins)*(errorMax-errorMin),densityValue);
-				seriesError.add(errorMin+((indexOfErrorBin)+0.50)/(numberOfErrorBins)*(errorMax-errorMin),densityValue);
-				//			seriesError.add(errorMin+((double)(indexOfErrorBin)+0.95)/((double) numberOfErrorBins)*(errorMax-errorMin),densityValue);
-			}
-			datasetHistogram.removeAllSeries();
-			datasetHistogram.addSeries(seriesError);
-
-			// Calculate statistical parameters
-			double mean			= 0.0;
-			double secondMoment = 0.0;
-			for(int path=0; path<numberOfPaths; path++) {
-				mean				+= error[path];
-				secondMoment		+= error[path]*error[path];
-			}
-			mean				/= numberOfPaths;
-			secondMoment		/= numberOfPaths;
-
-			// Update status line
-			final DecimalFormat formatter = new DecimalFormat("0.000");
-			statusLine.setText(
-					"\n" +
-							"\tMaturity........................: " + optionMaturity + " years.\n" +
-							"\tStrike..........................: " + optionStrike + " €\n\n" +
-							"\tRe-hedging done every...........: "+formatter.format(deltaT * 365)+" days.\n\n"+
-							"\tCost of hedging (option price)..: "+formatter.format(hedgeCost)+" €.\n\n"+
-							"\tMean of hedge error..................: "+formatter.format(mean)+" €.\n"+
-							"\tStandard deviation of hedge error....: "+formatter.format(Math.sqrt(secondMoment-mean*mean))+" €.\n"+
-					"");
+			return new HedgeSimulationBatch(numberOfPaths, hedgeCost, errorStatistics, underlyings, portfolioValues, optionValues);
 		} catch (final CalculationException e) {
-			// TODO Auto-generated catch block
-			e.printStackTrace();
+			throw new RuntimeException(e);
 		}
 	}
 
-	private static void setContainerEnabled(Container container, boolean enabled)
-	{
-		final Component[] components = container.getComponents();
+	private static XYSeries getHistogramSeries(StreamingStatistics errorStatistics) {
+		// Create binning for histogram
+		final double		errorMin			= Math.min(errorStatistics.getMin(), 0.0);
+		final double		errorMax			= Math.max(errorStatistics.getMax(), 0.0);
+		final int			numberOfErrorBins	= 64;
+		final XYSeries		seriesError			= new XYSeries("Error");
+		final double[]		errorFraction		= errorStatistics.getHistogram(errorMin, errorMax, numberOfErrorBins);
+
+		for(int indexOfErrorBin=1; indexOfErrorBin<numberOfErrorBins-1; indexOfErrorBin++) {
+			final double densityValue = (errorFraction[indexOfErrorBin-1]+errorFraction[indexOfErrorBin]+errorFraction[indexOfErrorBin+1]) / 3.0;
+			seriesError.add(errorMin+((indexOfErrorBin)+0.50)/(numberOfErrorBins)*(errorMax-errorMin),densityValue);
+		}
+		return seriesError;
+	}
 
-		for(int i=0; i<components.length; i++) {
-			components[i].setEnabled(enabled);
-			if(components[i] instanceof Container) {
-				setContainerEnabled((Container)components[i], enabled);
-			}
+	private static String getStatus(double optionMaturity, double optionStrike, double deltaT, double hedgeCost, StreamingStatistics errorStatistics, int numberOfPaths) {
+		// Statistical parameters
+		final double mean				= errorStatistics.getMean();
+		final double standardDeviation	= errorStatistics.getStandardDeviation();
+		final double valueAtRisk		= errorStatistics.getValueAtRisk(0.99);
+		final double expectedShortfall	= errorStatistics.getExpectedShortfall(0.99);
+
+		// Update status line
+		final DecimalFormat formatter = new DecimalFormat("0.000");
+		return
+				"\n" +
+				"\tMaturity........................: " + optionMaturity + " years.\n" +
+				"\tStrike..........................: " + optionStrike + " €\n\n" +
+				"\tRe-hedging done every...........: "+formatter.format(deltaT * 365)+" days.\n\n"+
+				"\tCost of hedging (option price)..: "+formatter.format(hedgeCost)+" €.\n\n"+
+				"\tMean of hedge error..................: "+formatter.format(mean)+" €.\n"+
+				"\tStandard deviation of hedge error....: "+formatter.format(standardDeviation)+" €.\n"+
+				"\tValue at risk (99%) of hedge error..: "+formatter.format(valueAtRisk)+" €.\n"+
+				"\tExp. shortfall (99%) of hedge error..: "+formatter.format(expectedShortfall)+" €.\n"+
+				"\tPaths simulated.....................: "+errorStatistics.getCount()+" of "+numberOfPaths+".\n"+
+				"";
+	}
+
+	private static XYSeries copy(XYSeries series) {
+		try {
+			return (XYSeries)series.clone();
+		} catch (final CloneNotSupportedException e) {
+			throw new IllegalStateException(e);
 		}
 	}
 }
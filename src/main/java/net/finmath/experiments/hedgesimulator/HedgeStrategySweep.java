@@ -0,0 +1,310 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.hedgesimulator;
+
+import java.text.DecimalFormat;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.experiments.concurrency.IndexedCalculations;
+import net.finmath.experiments.montecarlo.eulerscheme.BrownianMotionFromCumulativePaths;
+import net.finmath.experiments.montecarlo.eulerscheme.CumulativeBrownianPaths;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
+import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.BlackScholesHedgedPortfolio;
+import net.finmath.montecarlo.assetderivativevaluation.products.BlackScholesHedgedPortfolio.HedgeStrategy;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Headless sweep of the hedge simulation of a European call over a grid of hedge strategies,
+ * numbers of rebalancings, hedge volatilities (used by the hedger) and model volatilities (used by the simulation).
+ *
+ * All cells of the grid share one set of Brownian paths: the Brownian motion is generated once on a time discretization
+ * whose number of steps is the least common multiple of the numbers of rebalancings. The coarser rebalancing schedules
+ * use the aggregated increments of this Brownian motion (see {@link BrownianMotionFromCumulativePaths}), such that the
+ * cells differ only in the quantity studied and not in the random numbers.
+ *
+ * One model is created (and simulated) per number of rebalancings and model volatility. The cells are then calculated in
+ * parallel on a given ForkJoinPool. For each cell the hedge error (value of the hedge portfolio minus option payoff at maturity)
+ * is summarized by a {@link StreamingStatistics}, together with the calculation time of the cell.
+ *
+ * @author Christian Fries
+ */
+public class HedgeStrategySweep {
+
+	/**
+	 * The maximum number of time steps of the common refinement of the rebalancing schedules.
+	 * The Brownian paths (and their prefix sums) require memory proportional to the number of paths times this number.
+	 */
+	public static final int MAXIMUM_NUMBER_OF_TIME_STEPS = 10000;
+
+	private final double	initialValue;
+	private final double	riskFreeRate;
+	private final double	optionMaturity;
+	private final double	optionStrike;
+	private final double	hedgeOptionMaturity;
+	private final double	hedgeOptionStrike;
+
+	private final int			numberOfPaths;
+	private final int			seed;
+	private final ForkJoinPool	forkJoinPool;
+
+	/**
+	 * The result of a cell of the grid.
+	 */
+	public static class Result {
+		private final HedgeStrategy			hedgeStrategy;
+		private final int					numberOfRebalancings;
+		private final double				hedgeVolatility;
+		private final double				modelVolatility;
+		private final double				hedgeCost;
+		private final StreamingStatistics	errorStatistics;
+		private final long					calculationTimeMillis;
+
+		public Result(HedgeStrategy hedgeStrategy, int numberOfRebalancings, double hedgeVolatility, double modelVolatility,
+				double hedgeCost, StreamingStatistics errorStatistics, long calculationTimeMillis) {
+			this.hedgeStrategy = hedgeStrategy;
+			this.numberOfRebalancings = numberOfRebalancings;
+			this.hedgeVolatility = hedgeVolatility;
+			this.modelVolatility = modelVolatility;
+			this.hedgeCost = hedgeCost;
+			this.errorStatistics = errorStatistics;
+			this.calculationTimeMillis = calculationTimeMillis;
+		}
+
+		public HedgeStrategy getHedgeStrategy() {
+			return hedgeStrategy;
+		}
+
+		public int getNumberOfRebalancings() {
+			return numberOfRebalancings;
+		}
+
+		public double getHedgeVolatility() {
+			return hedgeVolatility;
+		}
+
+		public double getModelVolatility() {
+			return modelVolatility;
+		}
+
+		/**
+		 * @return The initial value of the hedge portfolio (the cost of hedging).
+		 */
+		public double getHedgeCost() {
+			return hedgeCost;
+		}
+
+		/**
+		 * @return The statistics of the hedge error (value of the hedge portfolio minus the option payoff at maturity).
+		 */
+		public StreamingStatistics getErrorStatistics() {
+			return errorStatistics;
+		}
+
+		/**
+		 * @return The time used for the valuation of the hedge portfolio and the statistics of this cell.
+		 */
+		public long getCalculationTimeMillis() {
+			return calculationTimeMillis;
+		}
+	}
+
+	/**
+	 * Create the sweep.
+	 *
+	 * @param initialValue The initial value of the underlying.
+	 * @param riskFreeRate The risk free rate (used by the model and the hedger).
+	 * @param optionMaturity The maturity T of the hedged option max(S(T)-K,0).
+	 * @param optionStrike The strike K of the hedged option max(S(T)-K,0).
+	 * @param hedgeOptionMaturity The maturity of the option used in the delta-gamma and delta-vega hedge.
+	 * @param hedgeOptionStrike The strike of the option used in the delta-gamma and delta-vega hedge.
+	 * @param numberOfPaths The number of paths (shared by all cells).
+	 * @param seed The seed of the Brownian motion.
+	 * @param forkJoinPool The pool calculating the cells. If null, the cells are calculated by the calling thread.
+	 */
+	public HedgeStrategySweep(double initialValue, double riskFreeRate, double optionMaturity, double optionStrike,
+			double hedgeOptionMaturity, double hedgeOptionStrike, int numberOfPaths, int seed, ForkJoinPool forkJoinPool) {
+		super();
+		this.initialValue = initialValue;
+		this.riskFreeRate = riskFreeRate;
+		this.optionMaturity = optionMaturity;
+		this.optionStrike = optionStrike;
+		this.hedgeOptionMaturity = hedgeOptionMaturity;
+		this.hedgeOptionStrike = hedgeOptionStrike;
+		this.numberOfPaths = numberOfPaths;
+		this.seed = seed;
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * Calculates the hedge error statistics for all combinations of the given parameters.
+	 *
+	 * @param hedgeStrategies The hedge strategies.
+	 * @param numbersOfRebalancings The numbers of (equidistant) rebalancing times on [0, T).
+	 * @param hedgeVolatilities The volatilities used by the hedger.
+	 * @param modelVolatilities The volatilities used to simulate the underlying.
+	 * @return The results, ordered by strategy, number of rebalancings, hedge volatility, model volatility.
+	 * @throws CalculationException Thrown if the valuation fails.
+	 * @throws IllegalArgumentException Thrown if a number of rebalancings is not positive or if the least common multiple
+	 * of the numbers of rebalancings exceeds {@link #MAXIMUM_NUMBER_OF_TIME_STEPS}.
+	 */
+	public List<Result> getResults(HedgeStrategy[] hedgeStrategies, int[] numbersOfRebalancings, double[] hedgeVolatilities, double[] modelVolatilities) throws CalculationException {
+		/*
+		 * The Brownian motion is generated once on the common refinement of all rebalancing schedules.
+		 */
+		int numberOfTimeSteps = 1;
+		for(final int numberOfRebalancings : numbersOfRebalancings) {
+			if(numberOfRebalancings < 1) {
+				throw new IllegalArgumentException("Number of rebalancings must be positive.");
+			}
+			// The least common multiple of two int values does not overflow a long
+			final long leastCommonMultiple = leastCommonMultiple(numberOfTimeSteps, numberOfRebalancings);
+			if(leastCommonMultiple > MAXIMUM_NUMBER_OF_TIME_STEPS) {
+				throw new IllegalArgumentException("The least common multiple of the numbers of rebalancings " + Arrays.toString(numbersOfRebalancings)
+				+ " exceeds the maximum number of time steps " + MAXIMUM_NUMBER_OF_TIME_STEPS + ". Use numbers of rebalancings which divide a common number of time steps.");
+			}
+			numberOfTimeSteps = (int)leastCommonMultiple;
+		}
+		final BrownianMotion brownianMotion = new BrownianMotionFromMersenneRandomNumbers(
+				new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, optionMaturity / numberOfTimeSteps), 1, numberOfPaths, seed);
+		// Generate the random numbers before the parallel section (the prefix sums are calculated once, on first use)
+		brownianMotion.getBrownianIncrement(0, 0);
+		final CumulativeBrownianPaths cumulativeBrownianPaths = new CumulativeBrownianPaths(brownianMotion);
+
+		/*
+		 * One model per number of rebalancings and model volatility. The models are simulated (one model per task)
+		 * before they are used concurrently by the cells, since the lazy simulation of a model is not thread safe.
+		 */
+		final AssetModelMonteCarloSimulationModel[][] models = new AssetModelMonteCarloSimulationModel[numbersOfRebalancings.length][modelVolatilities.length];
+		for(int i=0; i<numbersOfRebalancings.length; i++) {
+			final TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, numbersOfRebalancings[i], optionMaturity / numbersOfRebalancings[i]);
+			final BrownianMotion brownianMotionOnSchedule = numbersOfRebalancings[i] == numberOfTimeSteps ?
+					brownianMotion : new BrownianMotionFromCumulativePaths(timeDiscretization, cumulativeBrownianPaths);
+			for(int j=0; j<modelVolatilities.length; j++) {
+				models[i][j] = new MonteCarloBlackScholesModel(initialValue, riskFreeRate, modelVolatilities[j], brownianMotionOnSchedule);
+			}
+		}
+		IndexedCalculations.run(forkJoinPool, models.length * modelVolatilities.length, modelIndex -> {
+			final AssetModelMonteCarloSimulationModel model = models[modelIndex / modelVolatilities.length][modelIndex % modelVolatilities.length];
+			model.getAssetValue(optionMaturity, 0);
+			return null;
+		});
+
+		/*
+		 * The cells
+		 */
+		final int numberOfCells = hedgeStrategies.length * numbersOfRebalancings.length * hedgeVolatilities.length * modelVolatilities.length;
+		return IndexedCalculations.run(forkJoinPool, numberOfCells, cellIndex -> {
+			int index = cellIndex;
+			final int modelVolatilityIndex		= index % modelVolatilities.length;	index /= modelVolatilities.length;
+			final int hedgeVolatilityIndex		= index % hedgeVolatilities.length;	index /= hedgeVolatilities.length;
+			final int rebalancingIndex			= index % numbersOfRebalancings.length;	index /= numbersOfRebalancings.length;
+			final int hedgeStrategyIndex		= index;
+
+			return getResult(hedgeStrategies[hedgeStrategyIndex], numbersOfRebalancings[rebalancingIndex], hedgeVolatilities[hedgeVolatilityIndex],
+					modelVolatilities[modelVolatilityIndex], models[rebalancingIndex][modelVolatilityIndex]);
+		});
+	}
+
+	private Result getResult(HedgeStrategy hedgeStrategy, int numberOfRebalancings, double hedgeVolatility, double modelVolatility, AssetModelMonteCarloSimulationModel model) throws CalculationException {
+		final long timeStart = System.currentTimeMillis();
+
+		final BlackScholesHedgedPortfolio hedgedPortfolio = new BlackScholesHedgedPortfolio(
+				optionMaturity,
+				optionStrike,
+				riskFreeRate,
+				hedgeVolatility,
+				hedgeOptionMaturity,
+				hedgeOptionStrike,
+				hedgeStrategy);
+
+		final double hedgeCost = hedgedPortfolio.getValue(0.0, model).getAverage();
+
+		final RandomVariable portfolioValue			= hedgedPortfolio.getValue(optionMaturity, model);
+		final RandomVariable underlyingAtMaturity	= model.getAssetValue(optionMaturity, 0);
+
+		final StreamingStatistics errorStatistics = new StreamingStatistics();
+		for(int path=0; path<model.getNumberOfPaths(); path++) {
+			final double valueOfOption = Math.max(underlyingAtMaturity.get(path) - optionStrike, 0.0);
+			errorStatistics.add(portfolioValue.get(path) - valueOfOption);
+		}
+
+		final long timeEnd = System.currentTimeMillis();
+
+		return new Result(hedgeStrategy, numberOfRebalancings, hedgeVolatility, modelVolatility, hedgeCost, errorStatistics, timeEnd-timeStart);
+	}
+
+	/**
+	 * Returns the results as a table (tab separated, one line per cell, with a header line).
+	 *
+	 * @param results The results.
+	 * @return The table.
+	 */
+	public static String getResultsAsTable(List<Result> results) {
+		final DecimalFormat formatterValue		= new DecimalFormat(" 0.00000;-0.00000");
+		final DecimalFormat formatterVolatility	= new DecimalFormat("0.00");
+
+		final StringBuilder table = new StringBuilder();
+		table.append("strategy\trebalancings\thedge vol\tmodel vol\thedge cost\tmean error\tstd.dev. error\tVaR 99%\tES 99%\tmin error\tmax error\ttime [ms]\n");
+		for(final Result result : results) {
+			final StreamingStatistics errorStatistics = result.getErrorStatistics();
+			table.append(result.getHedgeStrategy()).append('\t')
+			.append(result.getNumberOfRebalancings()).append('\t')
+			.append(formatterVolatility.format(result.getHedgeVolatility())).append('\t')
+			.append(formatterVolatility.format(result.getModelVolatility())).append('\t')
+			.append(formatterValue.format(result.getHedgeCost())).append('\t')
+			.append(formatterValue.format(errorStatistics.getMean())).append('\t')
+			.append(formatterValue.format(errorStatistics.getStandardDeviation())).append('\t')
+			.append(formatterValue.format(errorStatistics.getValueAtRisk(0.99))).append('\t')
+			.append(formatterValue.format(errorStatistics.getExpectedShortfall(0.99))).append('\t')
+			.append(formatterValue.format(errorStatistics.getMin())).append('\t')
+			.append(formatterValue.format(errorStatistics.getMax())).append('\t')
+			.append(result.getCalculationTimeMillis()).append('\n');
+		}
+		return table.toString();
+	}
+
+	public static void main(String[] args) throws CalculationException {
+		final HedgeStrategySweep sweep = new HedgeStrategySweep(
+				1.0,		// initialValue
+				0.05,		// riskFreeRate
+				2.0,		// optionMaturity
+				1.0,		// optionStrike
+				5.0,		// hedgeOptionMaturity
+				1.0,		// hedgeOptionStrike
+				10000,		// numberOfPaths
+				3141,		// seed
+				ForkJoinPool.commonPool());
+
+		final long timeStart = System.currentTimeMillis();
+		final List<Result> results = sweep.getResults(
+				HedgeStrategy.values(),
+				new int[] { 1, 4, 16, 64, 256 },
+				new double[] { 0.4, 0.5, 0.6 },
+				new double[] { 0.4, 0.5, 0.6 });
+		final long timeEnd = System.currentTimeMillis();
+
+		System.out.println(getResultsAsTable(results));
+		System.out.println("Total calculation time: " + (timeEnd-timeStart) + " ms (" + results.size() + " cells).");
+	}
+
+	private static long leastCommonMultiple(int a, int b) {
+		int x = a, y = b;
+		while(y != 0) {
+			final int remainder = x % y;
+			x = y;
+			y = remainder;
+		}
+		return (long)(a / x) * b;
+	}
+}
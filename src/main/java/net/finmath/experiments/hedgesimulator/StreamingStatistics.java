@@ -0,0 +1,484 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.hedgesimulator;
+
+import java.util.Arrays;
+
+/**
+ * Accumulates statistics of a stream of values (e.g. the hedge errors of the paths of a Monte-Carlo simulation)
+ * in a single pass with fixed memory, independent of the number of values.
+ *
+ * The class provides
+ * <ul>
+ * <li>the mean and the central moments of order 2, 3, 4 (variance, skewness, kurtosis), updated with the numerically
+ * stable recursions of Welford and Pébay,</li>
+ * <li>the minimum and the maximum,</li>
+ * <li>approximate quantiles, the distribution function and tail expectations (value at risk, expected shortfall),
+ * calculated from a t-digest (Dunning, Ertl, 2019). The digest represents the distribution by a small number of
+ * weighted centroids, where centroids close to the tails carry few values, such that quantiles
+ * of the tails are resolved accurately.</li>
+ * </ul>
+ *
+ * Two accumulators may be merged, such that values may be accumulated in parallel (or in portions) and combined later.
+ * The class is not thread safe.
+ *
+ * @author Christian Fries
+ */
+public class StreamingStatistics {
+
+	private static final double DEFAULT_COMPRESSION = 200.0;
+
+	private final double compression;
+
+	/*
+	 * Moments
+	 */
+	private long	count;
+	private double	mean;
+	private double	sumOfSquaredDeviations;
+	private double	sumOfCubedDeviations;
+	private double	sumOfFourthPowerDeviations;
+	private double	min = Double.POSITIVE_INFINITY;
+	private double	max = Double.NEGATIVE_INFINITY;
+
+	/*
+	 * t-digest: centroids (ascending means) and a buffer of values not yet merged into the centroids
+	 */
+	private double[]	centroidMeans;
+	private double[]	centroidWeights;
+	private int			numberOfCentroids;
+	private double		totalWeightOfCentroids;
+
+	private final double[]	buffer;
+	private int				numberOfValuesInBuffer;
+
+	/**
+	 * Creates an accumulator where the t-digest uses the given compression.
+	 * The number of centroids is of the order of the compression and the relative error of a quantile q
+	 * is of the order of q(1-q)/compression.
+	 *
+	 * @param compression The compression of the t-digest (e.g. 100 or 200).
+	 */
+	public StreamingStatistics(double compression) {
+		super();
+		if(!(compression >= 10)) {
+			throw new IllegalArgumentException("Compression must be at least 10.");
+		}
+		this.compression = compression;
+
+		final int initialCapacity = (int)Math.ceil(2 * compression) + 10;
+		centroidMeans	= new double[initialCapacity];
+		centroidWeights	= new double[initialCapacity];
+		buffer			= new double[(int)Math.ceil(5 * compression)];
+	}
+
+	/**
+	 * Creates an accumulator where the t-digest uses a compression of {@value #DEFAULT_COMPRESSION}.
+	 */
+	public StreamingStatistics() {
+		this(DEFAULT_COMPRESSION);
+	}
+
+	/**
+	 * Adds a value.
+	 *
+	 * @param value The value.
+	 */
+	public void add(double value) {
+		if(Double.isNaN(value)) {
+			throw new IllegalArgumentException("Value must not be NaN.");
+		}
+
+		// Update of the central moments (Pébay, 2008)
+		final long		countPrevious	= count;
+		count++;
+		final double	delta			= value - mean;
+		final double	deltaOverCount	= delta / count;
+		final double	deltaOverCount2	= deltaOverCount * deltaOverCount;
+		final double	term			= delta * deltaOverCount * countPrevious;
+
+		mean += deltaOverCount;
+		sumOfFourthPowerDeviations	+= term * deltaOverCount2 * ((double)count*count - 3*count + 3) + 6 * deltaOverCount2 * sumOfSquaredDeviations - 4 * deltaOverCount * sumOfCubedDeviations;
+		sumOfCubedDeviations		+= term * deltaOverCount * (count - 2) - 3 * deltaOverCount * sumOfSquaredDeviations;
+		sumOfSquaredDeviations		+= term;
+
+		min = Math.min(min, value);
+		max = Math.max(max, value);
+
+		buffer[numberOfValuesInBuffer++] = value;
+		if(numberOfValuesInBuffer == buffer.length) {
+			mergeBuffer();
+		}
+	}
+
+	/**
+	 * Adds the values values[from], ..., values[to-1].
+	 *
+	 * @param values An array of values.
+	 * @param from The index of the first value to add.
+	 * @param to The index after the last value to add.
+	 */
+	public void add(double[] values, int from, int to) {
+		for(int i=from; i<to; i++) {
+			add(values[i]);
+		}
+	}
+
+	/**
+	 * Adds all values accumulated by another accumulator. The other accumulator is not modified.
+	 *
+	 * @param other Another accumulator.
+	 */
+	public void merge(StreamingStatistics other) {
+		if(other.count == 0) {
+			return;
+		}
+
+		// Merge of the central moments (Chan, Golub, LeVeque, 1979; Pébay, 2008)
+		final double countA	= count;
+		final double countB	= other.count;
+		final double countAB	= countA + countB;
+		final double delta		= other.mean - mean;
+		final double delta2	= delta * delta;
+
+		final double sumOfFourthPowerDeviationsMerged = sumOfFourthPowerDeviations + other.sumOfFourthPowerDeviations
+				+ delta2 * delta2 * countA * countB * (countA * countA - countA * countB + countB * countB) / (countAB * countAB * countAB)
+				+ 6 * delta2 * (countA * countA * other.sumOfSquaredDeviations + countB * countB * sumOfSquaredDeviations) / (countAB * countAB)
+				+ 4 * delta * (countA * other.sumOfCubedDeviations - countB * sumOfCubedDeviations) / countAB;
+		final double sumOfCubedDeviationsMerged = sumOfCubedDeviations + other.sumOfCubedDeviations
+				+ delta2 * delta * countA * countB * (countA - countB) / (countAB * countAB)
+				+ 3 * delta * (countA * other.sumOfSquaredDeviations - countB * sumOfSquaredDeviations) / countAB;
+		final double sumOfSquaredDeviationsMerged = sumOfSquaredDeviations + other.sumOfSquaredDeviations
+				+ delta2 * countA * countB / countAB;
+
+		count						+= other.count;
+		mean						+= delta * countB / countAB;
+		sumOfSquaredDeviations		= sumOfSquaredDeviationsMerged;
+		sumOfCubedDeviations		= sumOfCubedDeviationsMerged;
+		sumOfFourthPowerDeviations	= sumOfFourthPowerDeviationsMerged;
+		min = Math.min(min, other.min);
+		max = Math.max(max, other.max);
+
+		// Merge of the digests
+		mergeBuffer();
+		mergeCentroids(other.centroidMeans, other.centroidWeights, other.numberOfCentroids);
+		final double[] otherBuffer = Arrays.copyOf(other.buffer, other.numberOfValuesInBuffer);
+		Arrays.sort(otherBuffer);
+		mergeCentroids(otherBuffer, null, otherBuffer.length);
+	}
+
+	/**
+	 * @return The number of values.
+	 */
+	public long getCount() {
+		return count;
+	}
+
+	/**
+	 * @return The mean of the values (NaN if there are no values).
+	 */
+	public double getMean() {
+		return count > 0 ? mean : Double.NaN;
+	}
+
+	/**
+	 * @return The (population) variance E[(X-E[X])^2] of the values.
+	 */
+	public double getVariance() {
+		return sumOfSquaredDeviations / count;
+	}
+
+	/**
+	 * @return The (population) standard deviation of the values.
+	 */
+	public double getStandardDeviation() {
+		return Math.sqrt(getVariance());
+	}
+
+	/**
+	 * @return The skewness E[(X-E[X])^3] / E[(X-E[X])^2]^(3/2) of the values.
+	 */
+	public double getSkewness() {
+		return Math.sqrt(count) * sumOfCubedDeviations / Math.pow(sumOfSquaredDeviations, 1.5);
+	}
+
+	/**
+	 * @return The excess kurtosis E[(X-E[X])^4] / E[(X-E[X])^2]^2 - 3 of the values.
+	 */
+	public double getExcessKurtosis() {
+		return count * sumOfFourthPowerDeviations / (sumOfSquaredDeviations * sumOfSquaredDeviations) - 3.0;
+	}
+
+	/**
+	 * @return The smallest value.
+	 */
+	public double getMin() {
+		return min;
+	}
+
+	/**
+	 * @return The largest value.
+	 */
+	public double getMax() {
+		return max;
+	}
+
+	/**
+	 * Returns an approximation of the quantile of the values.
+	 *
+	 * @param probability The probability p (0 &le; p &le; 1).
+	 * @return The approximate value q such that a fraction p of the values is less or equal to q.
+	 */
+	public double getQuantile(double probability) {
+		if(probability < 0 || probability > 1) {
+			throw new IllegalArgumentException("Probability must be in [0,1].");
+		}
+		mergeBuffer();
+		if(numberOfCentroids == 0) {
+			return Double.NaN;
+		}
+
+		/*
+		 * The quantile function is interpolated linearly between the points (0, min), (c_i, m_i), (W, max),
+		 * where m_i is the mean of centroid i and c_i is the weight of all values left of its center.
+		 */
+		final double target = probability * totalWeightOfCentroids;
+		double weightLeftOfCenter = 0.0;
+		double previousPosition = 0.0;
+		double previousValue = min;
+		for(int i=0; i<numberOfCentroids; i++) {
+			final double position = weightLeftOfCenter + 0.5 * centroidWeights[i];
+			if(target <= position) {
+				return interpolate(previousPosition, previousValue, position, centroidMeans[i], target);
+			}
+			weightLeftOfCenter += centroidWeights[i];
+			previousPosition = position;
+			previousValue = centroidMeans[i];
+		}
+		return interpolate(previousPosition, previousValue, totalWeightOfCentroids, max, target);
+	}
+
+	/**
+	 * Returns an approximation of the (empirical) distribution function of the values.
+	 *
+	 * @param value The value x.
+	 * @return The approximate fraction of the values which are less or equal to x.
+	 */
+	public double getCumulativeDistribution(double value) {
+		mergeBuffer();
+		if(numberOfCentroids == 0) {
+			return Double.NaN;
+		}
+		if(value < min) {
+			return 0.0;
+		}
+		if(value >= max) {
+			return 1.0;
+		}
+
+		// Inverse of the interpolation of the quantile function
+		double weightLeftOfCenter = 0.0;
+		double previousPosition = 0.0;
+		double previousValue = min;
+		for(int i=0; i<numberOfCentroids; i++) {
+			final double position = weightLeftOfCenter + 0.5 * centroidWeights[i];
+			if(value < centroidMeans[i]) {
+				return interpolate(previousValue, previousPosition, centroidMeans[i], position, value) / totalWeightOfCentroids;
+			}
+			weightLeftOfCenter += centroidWeights[i];
+			previousPosition = position;
+			previousValue = centroidMeans[i];
+		}
+		return interpolate(previousValue, previousPosition, max, totalWeightOfCentroids, value) / totalWeightOfCentroids;
+	}
+
+	/**
+	 * Returns an approximation of the mean of the lower tail E[X | X &le; q(p)], where q(p) is the quantile for the probability p.
+	 *
+	 * @param probability The probability p of the lower tail (0 &lt; p &le; 1).
+	 * @return The approximate mean of the lowest fraction p of the values.
+	 */
+	public double getLowerTailMean(double probability) {
+		if(probability <= 0 || probability > 1) {
+			throw new IllegalArgumentException("Probability must be in (0,1].");
+		}
+		mergeBuffer();
+		if(numberOfCentroids == 0) {
+			return Double.NaN;
+		}
+
+		// Integral of the (piecewise linear) quantile function from 0 to p
+		final double target = probability * totalWeightOfCentroids;
+		double integral = 0.0;
+		double weightLeftOfCenter = 0.0;
+		double previousPosition = 0.0;
+		double previousValue = min;
+		for(int i=0; i<=numberOfCentroids; i++) {
+			final double position	= i < numberOfCentroids ? weightLeftOfCenter + 0.5 * centroidWeights[i] : totalWeightOfCentroids;
+			final double value		= i < numberOfCentroids ? centroidMeans[i] : max;
+			if(target <= position) {
+				final double valueAtTarget = interpolate(previousPosition, previousValue, position, value, target);
+				integral += 0.5 * (previousValue + valueAtTarget) * (target - previousPosition);
+				break;
+			}
+			integral += 0.5 * (previousValue + value) * (position - previousPosition);
+			if(i < numberOfCentroids) {
+				weightLeftOfCenter += centroidWeights[i];
+			}
+			previousPosition = position;
+			previousValue = value;
+		}
+		return integral / target;
+	}
+
+	/**
+	 * Returns the value at risk of a profit and loss distribution given by the values, i.e., the negative
+	 * of the quantile q(1-alpha).
+	 *
+	 * @param confidenceLevel The confidence level alpha (e.g. 0.99).
+	 * @return The value at risk (as a positive number for a loss).
+	 */
+	public double getValueAtRisk(double confidenceLevel) {
+		return -getQuantile(1.0 - confidenceLevel);
+	}
+
+	/**
+	 * Returns the expected shortfall of a profit and loss distribution given by the values, i.e., the negative
+	 * of the mean of the lowest fraction 1-alpha of the values.
+	 *
+	 * @param confidenceLevel The confidence level alpha (e.g. 0.99).
+	 * @return The expected shortfall (as a positive number for a loss).
+	 */
+	public double getExpectedShortfall(double confidenceLevel) {
+		return -getLowerTailMean(1.0 - confidenceLevel);
+	}
+
+	/**
+	 * Returns the fraction of values falling into each of the given number of equally sized bins covering [lowerBound, upperBound].
+	 *
+	 * @param lowerBound The lower bound of the first bin.
+	 * @param upperBound The upper bound of the last bin.
+	 * @param numberOfBins The number of bins.
+	 * @return The (approximate) fraction of values for each bin.
+	 */
+	public double[] getHistogram(double lowerBound, double upperBound, int numberOfBins) {
+		final double[] histogram = new double[numberOfBins];
+		final double binWidth = (upperBound - lowerBound) / numberOfBins;
+		double distributionAtLowerBound = getCumulativeDistribution(lowerBound);
+		for(int bin=0; bin<numberOfBins; bin++) {
+			final double distributionAtUpperBound = getCumulativeDistribution(lowerBound + (bin+1) * binWidth);
+			histogram[bin] = distributionAtUpperBound - distributionAtLowerBound;
+			distributionAtLowerBound = distributionAtUpperBound;
+		}
+		return histogram;
+	}
+
+	@Override
+	public String toString() {
+		return "StreamingStatistics [count=" + count + ", mean=" + getMean() + ", standardDeviation=" + getStandardDeviation()
+		+ ", min=" + min + ", max=" + max + ", numberOfCentroids=" + numberOfCentroids + "]";
+	}
+
+	private static double interpolate(double x0, double y0, double x1, double y1, double x) {
+		if(x1 <= x0) {
+			return y1;
+		}
+		return y0 + (y1 - y0) * (x - x0) / (x1 - x0);
+	}
+
+	/**
+	 * Merges the values of the buffer into the centroids.
+	 */
+	private void mergeBuffer() {
+		if(numberOfValuesInBuffer == 0) {
+			return;
+		}
+		Arrays.sort(buffer, 0, numberOfValuesInBuffer);
+		mergeCentroids(buffer, null, numberOfValuesInBuffer);
+		numberOfValuesInBuffer = 0;
+	}
+
+	/**
+	 * Merges a list of centroids with ascending means into the centroids of the digest.
+	 * Adjacent centroids are combined as long as the combined centroid spans at most one unit of the scale function
+	 * k(q) = compression / (2 pi) asin(2q-1).
+	 *
+	 * @param means The means of the centroids (ascending).
+	 * @param weights The weights of the centroids, or null if all weights are one.
+	 * @param numberOfCentroidsToMerge The number of centroids to merge.
+	 */
+	private void mergeCentroids(double[] means, double[] weights, int numberOfCentroidsToMerge) {
+		if(numberOfCentroidsToMerge == 0) {
+			return;
+		}
+
+		double totalWeight = totalWeightOfCentroids;
+		for(int j=0; j<numberOfCentroidsToMerge; j++) {
+			totalWeight += weights != null ? weights[j] : 1.0;
+		}
+
+		final int capacity = numberOfCentroids + numberOfCentroidsToMerge;
+		final double[] mergedMeans		= new double[capacity];
+		final double[] mergedWeights	= new double[capacity];
+		int numberOfMergedCentroids = 0;
+
+		double weightSoFar		= 0.0;
+		double currentMean		= 0.0;
+		double currentWeight	= 0.0;
+		double kLeft			= getScale(0.0);
+
+		int i = 0;
+		int j = 0;
+		while(i < numberOfCentroids || j < numberOfCentroidsToMerge) {
+			// Next centroid in ascending order of the means
+			final double mean;
+			final double weight;
+			if(j >= numberOfCentroidsToMerge || (i < numberOfCentroids && centroidMeans[i] <= means[j])) {
+				mean = centroidMeans[i];
+				weight = centroidWeights[i];
+				i++;
+			}
+			else {
+				mean = means[j];
+				weight = weights != null ? weights[j] : 1.0;
+				j++;
+			}
+
+			if(currentWeight > 0 && getScale((weightSoFar + currentWeight + weight) / totalWeight) - kLeft <= 1.0) {
+				currentWeight += weight;
+				currentMean += (mean - currentMean) * weight / currentWeight;
+			}
+			else {
+				if(currentWeight > 0) {
+					mergedMeans[numberOfMergedCentroids] = currentMean;
+					mergedWeights[numberOfMergedCentroids] = currentWeight;
+					numberOfMergedCentroids++;
+					weightSoFar += currentWeight;
+					kLeft = getScale(weightSoFar / totalWeight);
+				}
+				currentMean = mean;
+				currentWeight = weight;
+			}
+		}
+		mergedMeans[numberOfMergedCentroids] = currentMean;
+		mergedWeights[numberOfMergedCentroids] = currentWeight;
+		numberOfMergedCentroids++;
+
+		// Keep the storage of the centroids, if possible
+		if(numberOfMergedCentroids > centroidMeans.length) {
+			centroidMeans	= new double[numberOfMergedCentroids];
+			centroidWeights	= new double[numberOfMergedCentroids];
+		}
+		System.arraycopy(mergedMeans, 0, centroidMeans, 0, numberOfMergedCentroids);
+		System.arraycopy(mergedWeights, 0, centroidWeights, 0, numberOfMergedCentroids);
+		numberOfCentroids = numberOfMergedCentroids;
+		totalWeightOfCentroids = totalWeight;
+	}
+
+	private double getScale(double quantile) {
+		return compression / (2.0 * Math.PI) * Math.asin(2.0 * Math.min(Math.max(quantile, 0.0), 1.0) - 1.0);
+	}
+}
@@ -13,11 +13,17 @@ import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 
-import net.finmath.experiments.montecarlo.randomnumbers.HaltonSequence;
+import net.finmath.experiments.montecarlo.randomnumbers.HaltonSequenceIncremental;
+import net.finmath.experiments.montecarlo.randomnumbers.PhiloxRandomNumberGenerator;
+import net.finmath.experiments.montecarlo.randomnumbers.SplittableRandomNumberGenerator;
 
 /**
  * A simple class illustrating a Monte-Carlo integration using parallel execution of sub-tasks.
  *
+ * The Halton sequence is index addressable, hence the tasks use disjoint index ranges.
+ * For pseudo random numbers, the simulation is divided into a fixed number of blocks, where block i
+ * uses the stream i of a splittable generator. The result is then independent of the number of tasks.
+ *
  * @author Christian Fries
  */
 public class MonteCarloIntegrationParallelizedExperiment {
@@ -81,7 +87,36 @@ public class MonteCarloIntegrationParallelizedExperiment {
 		System.out.println("Approximation error is                                = " + Math.abs(pi-Math.PI));
 		System.out.println("Theoretical order of the (quasi) Monte-Carlo error is = " + Math.pow(Math.log(numberOfSimulations),2)/numberOfSimulations + "\n");
 
-		System.out.println("Calculation took " + (millisEnd-millisStart)/1000.0 + " sec.");
+		System.out.println("Calculation took " + (millisEnd-millisStart)/1000.0 + " sec.\n");
+
+		/*
+		 * Pseudo random numbers: the blocks use the streams of a splittable generator
+		 */
+		final SplittableRandomNumberGenerator randomNumberGenerator = new PhiloxRandomNumberGenerator(3141);
+		final int numberOfBlocks = 800;
+		final long numberOfSimulationsPerBlock = numberOfSimulations / numberOfBlocks;
+		for(final int numberOfTasksForBlocks : new int[] { numberOfTask, 7 }) {
+			final long millisStartPseudoRandom = System.currentTimeMillis();
+
+			final ArrayList<Future<Long>> numbersOfPointsInsideUnitCircle = new ArrayList<Future<Long>>();
+			for(int taskIndex=0; taskIndex<numberOfTasksForBlocks; taskIndex++) {
+				final int firstBlock	= (int)((long)taskIndex * numberOfBlocks / numberOfTasksForBlocks);
+				final int lastBlock		= (int)((long)(taskIndex+1) * numberOfBlocks / numberOfTasksForBlocks);
+				numbersOfPointsInsideUnitCircle.add(executor.submit(() -> getNumberOfPointsInsideUnitCircle(randomNumberGenerator, firstBlock, lastBlock-firstBlock, numberOfSimulationsPerBlock)));
+			}
+
+			long numberOfPointsInsideUnitCircle = 0;
+			for(final Future<Long> numberOfPointsInsideUnitCircleOfTask : numbersOfPointsInsideUnitCircle) {
+				numberOfPointsInsideUnitCircle += numberOfPointsInsideUnitCircleOfTask.get();
+			}
+
+			final double piPseudoRandom = 4.0 * numberOfPointsInsideUnitCircle / (numberOfSimulationsPerBlock * numberOfBlocks);
+
+			final long millisEndPseudoRandom = System.currentTimeMillis();
+
+			System.out.println("Simulation with Philox streams and " + numberOfTasksForBlocks + " tasks resulted in approximation of pi = " + piPseudoRandom);
+			System.out.println("Approximation error is = " + Math.abs(piPseudoRandom-Math.PI) + ". Calculation took " + (millisEndPseudoRandom-millisStartPseudoRandom)/1000.0 + " sec.");
+		}
 
 		/*
 		 * End/clean up thread pool
@@ -89,6 +124,31 @@ public class MonteCarloIntegrationParallelizedExperiment {
 		executor.shutdown();
 	}
 
+	/**
+	 * Calculates the number of (pseudo random) points inside the unit circle for a range of blocks, where the block with index i
+	 * uses the stream i of the given generator.
+	 *
+	 * @param randomNumberGenerator The splittable random number generator.
+	 * @param firstBlock The index of the first block.
+	 * @param numberOfBlocks The number of blocks.
+	 * @param numberOfSimulationsPerBlock The number of points per block.
+	 * @return The number of points inside the unit circle.
+	 */
+	public static long getNumberOfPointsInsideUnitCircle(SplittableRandomNumberGenerator randomNumberGenerator, int firstBlock, int numberOfBlocks, long numberOfSimulationsPerBlock) {
+		long numberOfPointsInsideUnitCircle = 0;
+		for(int blockIndex=firstBlock; blockIndex<firstBlock+numberOfBlocks; blockIndex++) {
+			final SplittableRandomNumberGenerator stream = randomNumberGenerator.getStream(blockIndex);
+			for(long i=0; i<numberOfSimulationsPerBlock; i++) {
+				final double x = 2.0 * (stream.nextDouble() - 0.5);	// random number between -1 and 1
+				final double y = 2.0 * (stream.nextDouble() - 0.5);	// random number between -1 and 1
+				if(x*x + y*y < 1.0) {
+					numberOfPointsInsideUnitCircle++;
+				}
+			}
+		}
+		return numberOfPointsInsideUnitCircle;
+	}
+
 	/**
 	 * Calculates an approximation of pi via Monte-Carlo integration.
 	 *
@@ -97,12 +157,22 @@ public class MonteCarloIntegrationParallelizedExperiment {
 	 * @return An approximation of pi.
 	 */
 	public static double getMonteCarloApproximationOfPi(long indexStart, long numberOfSimulations) {
+		// Sequential generator of the Halton sequence with base (2,3) (same numbers as HaltonSequence.getHaltonNumber(i, 2), HaltonSequence.getHaltonNumber(i, 3))
+		final HaltonSequenceIncremental haltonSequence = new HaltonSequenceIncremental(new int[] { 2, 3 }, indexStart);
+
+		final int		blockSize	= 1024;
+		final double[]	block		= new double[2 * blockSize];
+
 		long numberOfPointsInsideUnitCircle = 0;
-		for(long i=indexStart; i<indexStart+numberOfSimulations; i++) {
-			final double x = 2.0 * (HaltonSequence.getHaltonNumber(i, 2) - 0.5);	// quasi random number between -1 and 1
-			final double y = 2.0 * (HaltonSequence.getHaltonNumber(i, 3) - 0.5);	// quasi random number between -1 and 1
-			if(x*x + y*y < 1.0) {
-				numberOfPointsInsideUnitCircle++;
+		for(long i=0; i<numberOfSimulations; i+=blockSize) {
+			final int numberOfPointsInBlock = (int)Math.min(blockSize, numberOfSimulations-i);
+			haltonSequence.getNext(block, 0, numberOfPointsInBlock);
+			for(int j=0; j<numberOfPointsInBlock; j++) {
+				final double x = 2.0 * (block[2*j] - 0.5);		// quasi random number between -1 and 1
+				final double y = 2.0 * (block[2*j+1] - 0.5);	// quasi random number between -1 and 1
+				if(x*x + y*y < 1.0) {
+					numberOfPointsInsideUnitCircle++;
+				}
 			}
 		}
 
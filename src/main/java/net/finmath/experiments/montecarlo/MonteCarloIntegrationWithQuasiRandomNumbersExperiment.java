@@ -6,7 +6,7 @@
 
 package net.finmath.experiments.montecarlo;
 
-import net.finmath.experiments.montecarlo.randomnumbers.HaltonSequence;
+import net.finmath.experiments.montecarlo.randomnumbers.HaltonSequenceIncremental;
 
 /**
  * A simple class illustrating a Monte-Carlo integration using a Halton sequence (low discrepancy sequence)
@@ -47,12 +47,22 @@ public class MonteCarloIntegrationWithQuasiRandomNumbersExperiment {
 	 * @return An approximation of pi.
 	 */
 	public static double getMonteCarloApproximationOfPi(long numberOfSimulations) {
+		// Sequential generator of the Halton sequence with base (2,3) (same numbers as HaltonSequence.getHaltonNumber(i, 2), HaltonSequence.getHaltonNumber(i, 3))
+		final HaltonSequenceIncremental haltonSequence = new HaltonSequenceIncremental(new int[] { 2, 3 }, 0);
+
+		final int		blockSize	= 1024;
+		final double[]	block		= new double[2 * blockSize];
+
 		long numberOfPointsInsideUnitCircle = 0;
-		for(long i=0; i<numberOfSimulations; i++) {
-			final double x = 2.0 * (HaltonSequence.getHaltonNumber(i, 2) - 0.5);	// quasi random number between -1 and 1
-			final double y = 2.0 * (HaltonSequence.getHaltonNumber(i, 3) - 0.5);	// quasi random number between -1 and 1
-			if(x*x + y*y < 1.0) {
-				numberOfPointsInsideUnitCircle++;
+		for(long i=0; i<numberOfSimulations; i+=blockSize) {
+			final int numberOfPointsInBlock = (int)Math.min(blockSize, numberOfSimulations-i);
+			haltonSequence.getNext(block, 0, numberOfPointsInBlock);
+			for(int j=0; j<numberOfPointsInBlock; j++) {
+				final double x = 2.0 * (block[2*j] - 0.5);		// quasi random number between -1 and 1
+				final double y = 2.0 * (block[2*j+1] - 0.5);	// quasi random number between -1 and 1
+				if(x*x + y*y < 1.0) {
+					numberOfPointsInsideUnitCircle++;
+				}
 			}
 		}
 
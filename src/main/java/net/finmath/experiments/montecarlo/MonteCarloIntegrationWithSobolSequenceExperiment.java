@@ -0,0 +1,87 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christianfries.com.
+ *
+ * Created on 16.10.2026
+ */
+
+package net.finmath.experiments.montecarlo;
+
+import net.finmath.experiments.montecarlo.randomnumbers.SobolSequenceScrambled;
+import net.finmath.experiments.montecarlo.randomnumbers.SobolSequenceScrambled.Scrambling;
+
+/**
+ * A simple class illustrating a randomized quasi Monte-Carlo integration using a scrambled Sobol sequence.
+ *
+ * The approximation of pi is repeated for a number of independent scramblings of the sequence.
+ * The average of the replications is the estimate, the standard deviation of the replications
+ * gives an error bar (which is not available for a deterministic sequence like the Halton sequence).
+ *
+ * @author Christian Fries
+ */
+public class MonteCarloIntegrationWithSobolSequenceExperiment {
+
+	/**
+	 * Main program to run the experiment.
+	 *
+	 * @param args Arguments, not used
+	 */
+	public static void main(String[] args) {
+		final int numberOfReplications = 32;
+
+		System.out.println("Randomized quasi Monte-Carlo approximation of pi using " + numberOfReplications + " scramblings of the Sobol sequence.\n");
+		System.out.println("number of points   \t scrambling   \t approximation      \t error          \t standard error of mean");
+
+		for(long numberOfSimulations = 1 << 10; numberOfSimulations <= 1 << 20; numberOfSimulations <<= 2) {
+			for(final Scrambling scrambling : new Scrambling[] { Scrambling.DIGITAL_SHIFT, Scrambling.OWEN }) {
+				double sum = 0.0;
+				double sumOfSquares = 0.0;
+				for(int replication=0; replication<numberOfReplications; replication++) {
+					final double pi = getMonteCarloApproximationOfPi(numberOfSimulations, scrambling, replication);
+					sum += pi;
+					sumOfSquares += pi*pi;
+				}
+				final double mean = sum / numberOfReplications;
+				final double variance = (sumOfSquares - sum * mean) / (numberOfReplications - 1);
+				final double standardErrorOfMean = Math.sqrt(Math.max(variance, 0.0) / numberOfReplications);
+
+				System.out.println(String.format("%-18d \t %-12s \t %-18.16f \t %-14.8e \t %-14.8e",
+						numberOfSimulations, scrambling, mean, Math.abs(mean-Math.PI), standardErrorOfMean));
+			}
+		}
+	}
+
+	/**
+	 * Calculates an approximation of pi via quasi Monte-Carlo integration using a (scrambled) Sobol sequence.
+	 *
+	 * @param numberOfSimulations The number of elements to use from the sequence.
+	 * @param scrambling The randomization of the sequence.
+	 * @param seed The seed of the randomization.
+	 * @return An approximation of pi.
+	 */
+	public static double getMonteCarloApproximationOfPi(long numberOfSimulations, Scrambling scrambling, long seed) {
+		final SobolSequenceScrambled sobolSequence = new SobolSequenceScrambled(2, scrambling, seed);
+
+		final int		blockSize	= 1024;
+		final double[]	block		= new double[2 * blockSize];
+
+		long numberOfPointsInsideUnitCircle = 0;
+		for(long i=0; i<numberOfSimulations; i+=blockSize) {
+			final int numberOfPointsInBlock = (int)Math.min(blockSize, numberOfSimulations-i);
+			sobolSequence.getNext(block, 0, numberOfPointsInBlock);
+			for(int j=0; j<numberOfPointsInBlock; j++) {
+				final double x = 2.0 * (block[2*j] - 0.5);		// quasi random number between -1 and 1
+				final double y = 2.0 * (block[2*j+1] - 0.5);	// quasi random number between -1 and 1
+				if(x*x + y*y < 1.0) {
+					numberOfPointsInsideUnitCircle++;
+				}
+			}
+		}
+
+		final double areaOfUnitCircle = 4.0 * numberOfPointsInsideUnitCircle / numberOfSimulations;
+
+		// The theoretical area of a circle is pi r^2. Hence we have:
+		final double pi = areaOfUnitCircle;
+
+		return pi;
+	}
+}
@@ -24,6 +24,8 @@ import net.finmath.experiments.montecarlo.assetderivativevaluation.products.Euro
 import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionGammaPathwise;
 import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionRhoLikelihood;
 import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionRhoPathwise;
+import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionStrikeLadder;
+import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionStrikeLadder.StrikeLadderValues;
 import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionVegaLikelihood;
 import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionVegaPathwise;
 import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
@@ -111,6 +113,9 @@ public class BlackScholesMonteCarloValuationTest {
 				// This test requires a MonteCarloBlackScholesModel and will not work with others models
 				//pricingTest.testEuropeanCallTheta();
 				break;
+			case 10:
+				pricingTest.testEuropeanOptionStrikeLadder();
+				break;
 			default:
 				throw new IllegalArgumentException("Invalid selection.");
 			}
@@ -141,6 +146,7 @@ public class BlackScholesMonteCarloValuationTest {
 		System.out.println("\t 7: Sensitivity (Vega) of European call options (with different strikes) using different methods.");
 		System.out.println("\t 8: Sensitivity (Gamma) of European call options (with different strikes) using different methods.");
 		//		System.out.println("\t 9: Sensitivity (Theta) of European call options (with different strikes) using different methods.");
+		System.out.println("\t10: Valuation of European call and put options (with different strikes) in a single batch (strike ladder).");
 		System.out.println("");
 		System.out.print("Test to run: ");
 
@@ -220,6 +226,43 @@ public class BlackScholesMonteCarloValuationTest {
 		}
 	}
 
+	@Test
+	public void testEuropeanOptionStrikeLadder() throws CalculationException
+	{
+		final MonteCarloBlackScholesModel blackScholesModel = (MonteCarloBlackScholesModel)model;
+
+		// Java DecimalFormat for our output format
+		final DecimalFormat numberFormatStrike	= new DecimalFormat("     0.00 ");
+		final DecimalFormat numberFormatValue		= new DecimalFormat(" 0.00E00");
+		final DecimalFormat numberFormatDeviation	= new DecimalFormat("  0.00E00; -0.00E00");
+
+		final double initialValue	= blackScholesModel.getAssetValue(0.0, 0).get(0);
+		final double riskFreeRate	= blackScholesModel.getModel().getRiskFreeRate().doubleValue();
+		final double volatility	= blackScholesModel.getModel().getVolatility().doubleValue();
+
+		final double optionMaturity	= 1.0;
+		final double[] optionStrikes = new double[18];
+		for(int i=0; i<optionStrikes.length; i++) {
+			optionStrikes[i] = 0.60 + 0.05 * i;
+		}
+
+		// Value all strikes with a single sort of the simulated S(T)
+		final StrikeLadderValues values = new EuropeanOptionStrikeLadder(optionMaturity, optionStrikes).getValues(blackScholesModel);
+
+		System.out.println("Valuation of European Options (strike ladder)");
+		System.out.println(" Strike \t Call (MC) \t Call (Analytic) \t Put (MC) \t Implied Vol \t Deviation Implied Vol");
+		for(int i=0; i<optionStrikes.length; i++) {
+			final double valueAnalytic = net.finmath.functions.AnalyticFormulas.blackScholesOptionValue(initialValue, riskFreeRate, volatility, optionMaturity, optionStrikes[i]);
+
+			System.out.println(numberFormatStrike.format(optionStrikes[i]) +
+					"\t" + numberFormatValue.format(values.getCallValues()[i]) +
+					"\t" + numberFormatValue.format(valueAnalytic) +
+					"\t" + numberFormatValue.format(values.getPutValues()[i]) +
+					"\t" + numberFormatValue.format(values.getImpliedVolatilities()[i]) +
+					"\t" + numberFormatDeviation.format(values.getImpliedVolatilities()[i]-volatility));
+		}
+	}
+
 	/**
 	 * Test some properties of the model
 	 */
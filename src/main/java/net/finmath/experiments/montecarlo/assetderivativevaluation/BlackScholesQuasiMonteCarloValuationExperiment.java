@@ -0,0 +1,107 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christianfries.com.
+ *
+ * Created on 16.10.2026
+ */
+
+package net.finmath.experiments.montecarlo.assetderivativevaluation;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.experiments.montecarlo.randomnumbers.BrownianMotionFromSobolSequence;
+import net.finmath.experiments.montecarlo.randomnumbers.SobolSequenceScrambled.Scrambling;
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.AbstractAssetMonteCarloProduct;
+import net.finmath.montecarlo.assetderivativevaluation.products.AsianOption;
+import net.finmath.montecarlo.assetderivativevaluation.products.EuropeanOption;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Compares the Monte-Carlo valuation of a European and an Asian option in a multi-step Black-Scholes model
+ * using pseudo random numbers (Mersenne Twister) and randomized quasi random numbers (scrambled Sobol sequence
+ * with Brownian bridge).
+ *
+ * For each method the valuation is repeated with independent seeds (replications). The standard deviation
+ * of the replications gives the error bar of the average. The dimension of the Sobol sequence is
+ * the number of time steps, which is far beyond the dimensions where a Halton sequence is useful.
+ *
+ * @author Christian Fries
+ */
+public class BlackScholesQuasiMonteCarloValuationExperiment {
+
+	private static final double	initialValue	= 100.0;
+	private static final double	riskFreeRate	= 0.05;
+	private static final double	volatility		= 0.20;
+
+	private static final double	maturity		= 2.0;
+	private static final double	strike			= 110.0;
+
+	private static final int	numberOfTimeSteps		= 64;
+	private static final int	numberOfReplications	= 16;
+
+	/**
+	 * Main program to run the experiment.
+	 *
+	 * @param args Arguments, not used
+	 * @throws CalculationException Thrown if the valuation fails.
+	 */
+	public static void main(String[] args) throws CalculationException {
+		final TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(0.0, numberOfTimeSteps, maturity / numberOfTimeSteps);
+
+		final AbstractAssetMonteCarloProduct europeanOption = new EuropeanOption(maturity, strike);
+		final AbstractAssetMonteCarloProduct asianOption = new AsianOption(maturity, strike, timeDiscretization);
+
+		final double valueAnalytic = AnalyticFormulas.blackScholesOptionValue(initialValue, riskFreeRate, volatility, maturity, strike);
+
+		System.out.println("European option: analytic value = " + valueAnalytic);
+		System.out.println("Dimension (number of time steps) = " + numberOfTimeSteps + ", replications = " + numberOfReplications + "\n");
+		System.out.println("number of paths \t method           \t European (error, std. error)                 \t Asian (std. error)");
+
+		for(int numberOfPaths = 1 << 10; numberOfPaths <= 1 << 16; numberOfPaths <<= 2) {
+			final BrownianMotion[] brownianMotions = new BrownianMotion[] {
+					new BrownianMotionFromMersenneRandomNumbers(timeDiscretization, 1, numberOfPaths, 3141),
+					new BrownianMotionFromSobolSequence(timeDiscretization, 1, numberOfPaths, Scrambling.OWEN, 3141)
+			};
+			final String[] methodNames = new String[] { "Mersenne Twister", "Sobol (Owen)" };
+
+			for(int methodIndex=0; methodIndex<brownianMotions.length; methodIndex++) {
+				final double[] europeanValues = new double[numberOfReplications];
+				final double[] asianValues = new double[numberOfReplications];
+				for(int replication=0; replication<numberOfReplications; replication++) {
+					final BrownianMotion brownianMotion = brownianMotions[methodIndex].getCloneWithModifiedSeed(3141 + replication);
+					final MonteCarloBlackScholesModel model = new MonteCarloBlackScholesModel(initialValue, riskFreeRate, volatility, brownianMotion);
+
+					europeanValues[replication] = europeanOption.getValue(model);
+					asianValues[replication] = asianOption.getValue(model);
+				}
+
+				final double europeanMean = getMean(europeanValues);
+				final double asianMean = getMean(asianValues);
+				System.out.println(String.format("%-15d \t %-16s \t %10.6f (%10.3e, %10.3e) \t %10.6f (%10.3e)",
+						numberOfPaths, methodNames[methodIndex],
+						europeanMean, europeanMean - valueAnalytic, getStandardErrorOfMean(europeanValues),
+						asianMean, getStandardErrorOfMean(asianValues)));
+			}
+		}
+	}
+
+	private static double getMean(double[] values) {
+		double sum = 0.0;
+		for(final double value : values) {
+			sum += value;
+		}
+		return sum / values.length;
+	}
+
+	private static double getStandardErrorOfMean(double[] values) {
+		final double mean = getMean(values);
+		double sumOfSquaredDeviations = 0.0;
+		for(final double value : values) {
+			sumOfSquaredDeviations += (value - mean) * (value - mean);
+		}
+		return Math.sqrt(sumOfSquaredDeviations / (values.length - 1) / values.length);
+	}
+}
@@ -7,6 +7,8 @@
 package net.finmath.experiments.montecarlo.assetderivativevaluation;
 
 import net.finmath.exception.CalculationException;
+import net.finmath.experiments.hedgesimulator.DeltaHedgeConvergence;
+import net.finmath.experiments.hedgesimulator.StreamingStatistics;
 import net.finmath.montecarlo.BrownianMotion;
 import net.finmath.montecarlo.BrownianMotionLazyInit;
 import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
@@ -37,7 +39,7 @@ public class DeltaHedgeSimulation {
 	 */
 	public static void main(String[] args) throws CalculationException {
 		testHedge();
-
+		testHedgeConvergence();
 	}
 
 	private static void testHedge() throws CalculationException {
@@ -100,5 +102,30 @@ public class DeltaHedgeSimulation {
 			}
 		}
 	}
-}
 
+	/**
+	 * Hedge error versus number of rebalancings. All rebalancing schedules are sub-grids of one fine
+	 * time discretization and are calculated from one simulation.
+	 */
+	private static void testHedgeConvergence() {
+		System.out.println("\n\nT E S T   o f   H e d g e   C o n v e r g e n c e \n");
+
+		final double initialValue	= 100;
+		final double riskFreeRate	= 0.05;
+		final double volatility		= 0.32;
+		final double maturity		= 2.0;
+		final double strike			= 100;
+		final int numberOfPaths		= 1000;
+		final int numberOfTimeSteps	= 100;
+
+		final int[] numbersOfRebalancings = { 1, 2, 4, 5, 10, 20, 25, 50, 100 };
+
+		final DeltaHedgeConvergence deltaHedge = new DeltaHedgeConvergence(initialValue, riskFreeRate, volatility, volatility, maturity, strike, numberOfTimeSteps, numberOfPaths, 3141);
+		final StreamingStatistics[] errorStatistics = deltaHedge.getHedgeErrorStatistics(numbersOfRebalancings);
+
+		for(int i=0; i<numbersOfRebalancings.length; i++) {
+			final double rootMeanSquaredError = Math.sqrt(errorStatistics[i].getVariance() + errorStatistics[i].getMean() * errorStatistics[i].getMean());
+			System.out.println("Rebalancings = " + numbersOfRebalancings[i] + "\tHedge error (rms)................: " + rootMeanSquaredError);
+		}
+	}
+}
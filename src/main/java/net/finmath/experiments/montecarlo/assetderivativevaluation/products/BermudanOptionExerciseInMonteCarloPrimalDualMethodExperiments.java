@@ -5,7 +5,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import net.finmath.exception.CalculationException;
-import net.finmath.functions.AnalyticFormulas;
+import net.finmath.experiments.blackscholes.BlackScholesAnalyticKernel;
 import net.finmath.montecarlo.BrownianMotion;
 import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
 import net.finmath.montecarlo.RandomVariableFromDoubleArray;
@@ -87,7 +87,7 @@ public class BermudanOptionExerciseInMonteCarloPrimalDualMethodExperiments {
 
 		final RandomVariable valueOption2InT2 = stockInT2.sub(strike2).floor(0.0);	// max(S(T2)-K2,0)
 		final RandomVariable valueOption1InT1 = stockInT1.sub(strike1).floor(0.0);	// max(S(T1)-K1,0)
-		final RandomVariable valueOption2InT1 = AnalyticFormulas.blackScholesOptionValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
+		final RandomVariable valueOption2InT1 = BlackScholesAnalyticKernel.getCallValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
 
 		// Convert all time T-values to numeraire relative values by dividing by N(T)
 		final RandomVariable valueRelativeOption2InT2 = valueOption2InT2.div(model.getNumeraire(maturity2)); //	Vu2(T2) / N(T2)
@@ -109,7 +109,7 @@ public class BermudanOptionExerciseInMonteCarloPrimalDualMethodExperiments {
 
 		final RandomVariable valueOption2InT2 = stockInT2.sub(strike2).floor(0.0);	// max(S(T2)-K,0)
 		final RandomVariable valueOption1InT1 = stockInT1.sub(strike1).floor(0.0);	// max(S(T1)-K,0)
-		final RandomVariable valueOption2InT1 = AnalyticFormulas.blackScholesOptionValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
+		final RandomVariable valueOption2InT1 = BlackScholesAnalyticKernel.getCallValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
 
 		// Convert all time T-values to numeraire relative values by dividing by N(T)
 		final RandomVariable valueRelativeOption2InT2 = valueOption2InT2.div(model.getNumeraire(maturity2));
@@ -130,7 +130,7 @@ public class BermudanOptionExerciseInMonteCarloPrimalDualMethodExperiments {
 
 		final RandomVariable valueOption2InT2 = stockInT2.sub(strike2).floor(0.0);	// max(S(T2)-K,0)
 		final RandomVariable valueOption1InT1 = stockInT1.sub(strike1).floor(0.0);	// max(S(T1)-K,0)
-		final RandomVariable valueOption2InT1 = AnalyticFormulas.blackScholesOptionValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
+		final RandomVariable valueOption2InT1 = BlackScholesAnalyticKernel.getCallValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
 
 		// Convert all time T-values to numeraire relative values by dividing by N(T)
 		final RandomVariable valueRelativeOption2InT2 = valueOption2InT2.div(model.getNumeraire(maturity2));
@@ -151,7 +151,7 @@ public class BermudanOptionExerciseInMonteCarloPrimalDualMethodExperiments {
 
 		final RandomVariable valueOption2InT2 = stockInT2.sub(strike2).floor(0.0);	// max(S(T2)-K,0)
 		final RandomVariable valueOption1InT1 = stockInT1.sub(strike1).floor(0.0);	// max(S(T1)-K,0)
-		final RandomVariable valueOption2InT1 = AnalyticFormulas.blackScholesOptionValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
+		final RandomVariable valueOption2InT1 = BlackScholesAnalyticKernel.getCallValue(stockInT1, riskFreeRate, volatility, maturity2-maturity1, strike2);
 
 		// Convert all time T-values to numeraire relative values by dividing by N(T)
 		final RandomVariable valueRelativeOption2InT2 = valueOption2InT2.div(model.getNumeraire(maturity2));
@@ -0,0 +1,88 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+/**
+ * The value and the Greeks (delta, vega, rho, gamma) of a European option with their Monte-Carlo standard errors.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class EuropeanOptionGreeks {
+
+	private final double value;
+	private final double delta;
+	private final double vega;
+	private final double rho;
+	private final double gamma;
+
+	private final double valueStandardError;
+	private final double deltaStandardError;
+	private final double vegaStandardError;
+	private final double rhoStandardError;
+	private final double gammaStandardError;
+
+	public EuropeanOptionGreeks(double value, double delta, double vega, double rho, double gamma,
+			double valueStandardError, double deltaStandardError, double vegaStandardError, double rhoStandardError, double gammaStandardError) {
+		this.value = value;
+		this.delta = delta;
+		this.vega = vega;
+		this.rho = rho;
+		this.gamma = gamma;
+		this.valueStandardError = valueStandardError;
+		this.deltaStandardError = deltaStandardError;
+		this.vegaStandardError = vegaStandardError;
+		this.rhoStandardError = rhoStandardError;
+		this.gammaStandardError = gammaStandardError;
+	}
+
+	public double getValue() {
+		return value;
+	}
+
+	public double getDelta() {
+		return delta;
+	}
+
+	public double getVega() {
+		return vega;
+	}
+
+	public double getRho() {
+		return rho;
+	}
+
+	public double getGamma() {
+		return gamma;
+	}
+
+	public double getValueStandardError() {
+		return valueStandardError;
+	}
+
+	public double getDeltaStandardError() {
+		return deltaStandardError;
+	}
+
+	public double getVegaStandardError() {
+		return vegaStandardError;
+	}
+
+	public double getRhoStandardError() {
+		return rhoStandardError;
+	}
+
+	public double getGammaStandardError() {
+		return gammaStandardError;
+	}
+
+	@Override
+	public String toString() {
+		return "EuropeanOptionGreeks [value=" + value + " (" + valueStandardError + "), delta=" + delta + " (" + deltaStandardError
+				+ "), vega=" + vega + " (" + vegaStandardError + "), rho=" + rho + " (" + rhoStandardError
+				+ "), gamma=" + gamma + " (" + gammaStandardError + ")]";
+	}
+}
@@ -0,0 +1,156 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.AbstractAssetMonteCarloProduct;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.RandomVariableAccumulator;
+
+/**
+ * Implements calculation of the value, delta, vega, rho and gamma of a European option
+ * using the likelihood ratio method in a single pass over the paths.
+ *
+ * The likelihood ratio weights are the (analytic) weights of the products
+ * {@link EuropeanOptionDeltaLikelihood}, {@link EuropeanOptionVegaLikelihood}, {@link EuropeanOptionRhoLikelihood}
+ * and {@link EuropeanOptionGammaLikelihood}. Since they all depend on the path only through
+ * \( x = (\log(S(T)) - \log(S(0)) - (r - \frac{1}{2} \sigma^2) T) / (\sigma \sqrt{T}) \), each path is read once
+ * and the model parameters are obtained outside the loop.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class EuropeanOptionGreeksLikelihood extends AbstractAssetMonteCarloProduct {
+
+	private final double	maturity;
+	private final double	strike;
+
+	/**
+	 * Construct a product representing an European option on an asset S (where S the asset with index 0 from the model - single asset case).
+	 *
+	 * @param strike The strike K in the option payoff max(S(T)-K,0).
+	 * @param maturity The maturity T in the option payoff max(S(T)-K,0)
+	 */
+	public EuropeanOptionGreeksLikelihood(double maturity, double strike) {
+		super();
+		this.maturity = maturity;
+		this.strike = strike;
+	}
+
+	/**
+	 * Calculates the value of the option under a given model.
+	 *
+	 * @param model A reference to a model
+	 * @return the value
+	 * @throws CalculationException
+	 */
+	public double getValue(AssetModelMonteCarloSimulationModel model) throws CalculationException
+	{
+		return getGreeks(model).getValue();
+	}
+
+	/**
+	 * Calculates the value, delta, vega, rho and gamma of the option under a given model in a single pass over the paths.
+	 *
+	 * @param model A reference to a model
+	 * @return the value and the Greeks with their standard errors
+	 * @throws CalculationException
+	 */
+	public EuropeanOptionGreeks getGreeks(AssetModelMonteCarloSimulationModel model) throws CalculationException
+	{
+		MonteCarloBlackScholesModel blackScholesModel = null;
+		try {
+			blackScholesModel = (MonteCarloBlackScholesModel)model;
+		}
+		catch(final Exception e) {
+			throw new ClassCastException("This method requires a Black-Scholes type model (MonteCarloBlackScholesModel).");
+		}
+
+		// Get underlying and numeraire
+		final RandomVariable underlyingAtMaturity	= model.getAssetValue(maturity,0);
+		final RandomVariable numeraireAtMaturity		= model.getNumeraire(maturity);
+		final RandomVariable underlyingAtToday		= model.getAssetValue(0.0,0);
+		final RandomVariable numeraireAtToday		= model.getNumeraire(0);
+		final RandomVariable monteCarloWeights		= model.getMonteCarloWeights(maturity);
+
+		// Model parameters and loop invariants (the initial value is deterministic in the Black-Scholes model)
+		final double T					= maturity;
+		final double S0					= underlyingAtToday.get(0);
+		final double r					= blackScholesModel.getModel().getRiskFreeRate().doubleValue();
+		final double sigma				= blackScholesModel.getModel().getVolatility().doubleValue();
+		final double sigmaSqrtT			= sigma * Math.sqrt(T);
+		final double drift				= r * T - 0.5 * sigma*sigma * T + Math.log(S0);
+		final double deltaFactor		= 1.0 / (sigmaSqrtT * S0);
+		final double gammaFactor		= deltaFactor * deltaFactor;
+		final double oneOverSigma		= 1.0 / sigma;
+		final double oneOverSigmaSqrtT	= 1.0 / sigmaSqrtT;
+		final double sqrtT				= Math.sqrt(T);
+
+		/*
+		 * Sums (weighted by the Monte-Carlo weights) of the modified payoffs and their squares.
+		 */
+		double sumValue = 0.0,	sumValueSquared = 0.0;
+		double sumDelta = 0.0,	sumDeltaSquared = 0.0;
+		double sumVega = 0.0,	sumVegaSquared = 0.0;
+		double sumRho = 0.0,	sumRhoSquared = 0.0;
+		double sumGamma = 0.0,	sumGammaSquared = 0.0;
+
+		final int numberOfPaths = model.getNumberOfPaths();
+		for(int path=0; path<numberOfPaths; path++)
+		{
+			final double ST = underlyingAtMaturity.get(path);
+			if(ST > strike)
+			{
+				final double weight				= monteCarloWeights.get(path);
+				final double discountedPayoff	= (ST - strike) / numeraireAtMaturity.get(path) * numeraireAtToday.get(path);
+
+				final double x		= (Math.log(ST) - drift) * oneOverSigmaSqrtT;
+
+				// Likelihood ratio weights
+				final double lrDelta	= x * deltaFactor;
+				final double lrVega		= - x * (-x * oneOverSigma + sqrtT) - oneOverSigma;
+				final double lrRho		= x * oneOverSigmaSqrtT - T;
+				final double lrGamma	= (x * x - x * sigmaSqrtT - 1.0) * gammaFactor;
+
+				final double value	= discountedPayoff;
+				final double delta	= discountedPayoff * lrDelta;
+				final double vega	= discountedPayoff * lrVega;
+				final double rho	= discountedPayoff * lrRho;
+				final double gamma	= discountedPayoff * lrGamma;
+
+				sumValue	+= weight * value;
+				sumDelta	+= weight * delta;
+				sumVega		+= weight * vega;
+				sumRho		+= weight * rho;
+				sumGamma	+= weight * gamma;
+
+				sumValueSquared	+= weight * value * value;
+				sumDeltaSquared	+= weight * delta * delta;
+				sumVegaSquared	+= weight * vega * vega;
+				sumRhoSquared	+= weight * rho * rho;
+				sumGammaSquared	+= weight * gamma * gamma;
+			}
+		}
+
+		return new EuropeanOptionGreeks(sumValue, sumDelta, sumVega, sumRho, sumGamma,
+				getStandardError(sumValue, sumValueSquared, numberOfPaths),
+				getStandardError(sumDelta, sumDeltaSquared, numberOfPaths),
+				getStandardError(sumVega, sumVegaSquared, numberOfPaths),
+				getStandardError(sumRho, sumRhoSquared, numberOfPaths),
+				getStandardError(sumGamma, sumGammaSquared, numberOfPaths));
+	}
+
+	@Override
+	public RandomVariableAccumulator getValue(double evaluationTime, AssetModelMonteCarloSimulationModel model) {
+		throw new RuntimeException("Method not supported.");
+	}
+
+	private static double getStandardError(double mean, double meanOfSquares, int numberOfPaths) {
+		return Math.sqrt(Math.max(meanOfSquares - mean * mean, 0.0) / numberOfPaths);
+	}
+}
@@ -0,0 +1,253 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.AbstractAssetMonteCarloProduct;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.RandomVariableAccumulator;
+
+/**
+ * Implements calculation of the value, delta, vega, rho and gamma of a European option
+ * using the path-wise method in a single pass over the paths.
+ *
+ * The path-wise derivatives are those of the products
+ * {@link EuropeanOptionDeltaPathwise}, {@link EuropeanOptionVegaPathwise}, {@link EuropeanOptionRhoPathwise}
+ * and {@link EuropeanOptionGammaPathwise}, assuming that the underlying follows a Black-Scholes model.
+ *
+ * The path range is split into blocks of numberOfPathsPerBlock paths. Each block is summed (using
+ * Kahan summation) on a worker of a given ForkJoinPool and the partial sums are merged in the order of the blocks
+ * (again using Kahan summation). Hence the result does not depend on the number of threads.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class EuropeanOptionGreeksPathwise extends AbstractAssetMonteCarloProduct {
+
+	private static final int DEFAULT_NUMBER_OF_PATHS_PER_BLOCK = 10000;
+
+	// Number of sums: value, delta, vega, rho, gamma (the sums of squares follow)
+	private static final int NUMBER_OF_SUMS = 5;
+
+	private final double	maturity;
+	private final double	strike;
+
+	private final int			numberOfPathsPerBlock;
+	private final ForkJoinPool	forkJoinPool;
+
+	/**
+	 * Construct a product representing an European option on an asset S (where S the asset with index 0 from the model - single asset case).
+	 *
+	 * @param maturity The maturity T in the option payoff max(S(T)-K,0)
+	 * @param strike The strike K in the option payoff max(S(T)-K,0).
+	 * @param numberOfPathsPerBlock The number of paths summed by one task.
+	 * @param forkJoinPool The pool summing the blocks. If null, the blocks are summed by the calling thread.
+	 */
+	public EuropeanOptionGreeksPathwise(double maturity, double strike, int numberOfPathsPerBlock, ForkJoinPool forkJoinPool) {
+		super();
+		if(numberOfPathsPerBlock < 1) {
+			throw new IllegalArgumentException("Number of paths per block must be positive.");
+		}
+		this.maturity = maturity;
+		this.strike = strike;
+		this.numberOfPathsPerBlock = numberOfPathsPerBlock;
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * Construct a product representing an European option on an asset S (where S the asset with index 0 from the model - single asset case).
+	 * The paths are summed in blocks of {@value #DEFAULT_NUMBER_OF_PATHS_PER_BLOCK} paths on the common pool.
+	 *
+	 * @param maturity The maturity T in the option payoff max(S(T)-K,0)
+	 * @param strike The strike K in the option payoff max(S(T)-K,0).
+	 */
+	public EuropeanOptionGreeksPathwise(double maturity, double strike) {
+		this(maturity, strike, DEFAULT_NUMBER_OF_PATHS_PER_BLOCK, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Calculates the value of the option under a given model.
+	 *
+	 * @param model A reference to a model
+	 * @return the value
+	 * @throws CalculationException
+	 */
+	public double getValue(AssetModelMonteCarloSimulationModel model) throws CalculationException
+	{
+		return getGreeks(model).getValue();
+	}
+
+	/**
+	 * Calculates the value, delta, vega, rho and gamma of the option under a given model in a single pass over the paths.
+	 *
+	 * @param model A reference to a model
+	 * @return the value and the Greeks with their standard errors
+	 * @throws CalculationException
+	 */
+	public EuropeanOptionGreeks getGreeks(AssetModelMonteCarloSimulationModel model) throws CalculationException
+	{
+		MonteCarloBlackScholesModel blackScholesModel = null;
+		try {
+			blackScholesModel = (MonteCarloBlackScholesModel)model;
+		}
+		catch(final Exception e) {
+			throw new ClassCastException("This method requires a Black-Scholes type model (MonteCarloBlackScholesModel).");
+		}
+
+		// Get underlying and numeraire
+		final RandomVariable underlyingAtMaturity	= model.getAssetValue(maturity,0);
+		final RandomVariable numeraireAtMaturity		= model.getNumeraire(maturity);
+		final RandomVariable underlyingAtToday		= model.getAssetValue(0.0,0);
+		final RandomVariable numeraireAtToday		= model.getNumeraire(0);
+		final RandomVariable monteCarloWeights		= model.getMonteCarloWeights(maturity);
+
+		// Model parameters (the initial value is deterministic in the Black-Scholes model)
+		final double T		= maturity;
+		final double S0		= underlyingAtToday.get(0);
+		final double r		= blackScholesModel.getModel().getRiskFreeRate().doubleValue();
+		final double sigma	= blackScholesModel.getModel().getVolatility().doubleValue();
+
+		/*
+		 * Since the second derivative of the payoff is a distribution (Dirac delta), the gamma is
+		 * jumpSize * phi(jumpPoint), which does not depend on the path.
+		 */
+		final double xAtStrike		= 1.0 / (sigma * Math.sqrt(T)) * (Math.log(strike) - (r * T - 0.5 * sigma*sigma * T + Math.log(S0)));
+		final double phiAtStrike	= (1.0/Math.sqrt(2 * Math.PI) * Math.exp(-xAtStrike*xAtStrike/2.0) / (strike * (sigma) * Math.sqrt(T)) );
+		final double gammaOnPath	= strike / S0 * phiAtStrike;
+
+		final Parameters parameters = new Parameters(T, strike, S0, r, sigma, gammaOnPath);
+
+		final int numberOfPaths = model.getNumberOfPaths();
+		final int numberOfBlocks = (numberOfPaths + numberOfPathsPerBlock - 1) / numberOfPathsPerBlock;
+		final double[][] sumsOfBlocks;
+		if(forkJoinPool == null) {
+			sumsOfBlocks = IntStream.range(0, numberOfBlocks)
+					.mapToObj(blockIndex -> sumBlock(blockIndex, numberOfPaths, parameters, underlyingAtMaturity, numeraireAtMaturity, numeraireAtToday, monteCarloWeights))
+					.toArray(double[][]::new);
+		}
+		else {
+			sumsOfBlocks = forkJoinPool.submit(() -> IntStream.range(0, numberOfBlocks).parallel()
+					.mapToObj(blockIndex -> sumBlock(blockIndex, numberOfPaths, parameters, underlyingAtMaturity, numeraireAtMaturity, numeraireAtToday, monteCarloWeights))
+					.toArray(double[][]::new)).join();
+		}
+
+		// Merge the partial sums in the order of the blocks (independent of the parallelization)
+		final double[] sums = new double[2 * NUMBER_OF_SUMS];
+		final double[] compensations = new double[2 * NUMBER_OF_SUMS];
+		for(final double[] sumsOfBlock : sumsOfBlocks) {
+			for(int i=0; i<sums.length; i++) {
+				addKahan(sums, compensations, i, sumsOfBlock[i]);
+			}
+		}
+		for(int i=0; i<sums.length; i++) {
+			sums[i] -= compensations[i];
+		}
+
+		final double[] standardErrors = new double[NUMBER_OF_SUMS];
+		for(int i=0; i<NUMBER_OF_SUMS; i++) {
+			standardErrors[i] = Math.sqrt(Math.max(sums[NUMBER_OF_SUMS + i] - sums[i] * sums[i], 0.0) / numberOfPaths);
+		}
+
+		return new EuropeanOptionGreeks(sums[0], sums[1], sums[2], sums[3], sums[4],
+				standardErrors[0], standardErrors[1], standardErrors[2], standardErrors[3], standardErrors[4]);
+	}
+
+	@Override
+	public RandomVariableAccumulator getValue(double evaluationTime, AssetModelMonteCarloSimulationModel model) {
+		throw new RuntimeException("Method not supported.");
+	}
+
+	/**
+	 * Sums the (weighted) path-wise derivatives and their squares over a block of paths.
+	 *
+	 * @return The Kahan sums of value, delta, vega, rho, gamma (first half) and of their squares (second half).
+	 */
+	private double[] sumBlock(int blockIndex, int numberOfPaths, Parameters parameters,
+			RandomVariable underlyingAtMaturity, RandomVariable numeraireAtMaturity, RandomVariable numeraireAtToday, RandomVariable monteCarloWeights) {
+		final int firstPath = blockIndex * numberOfPathsPerBlock;
+		final int lastPath = Math.min(firstPath + numberOfPathsPerBlock, numberOfPaths);
+
+		final double T			= parameters.maturity;
+		final double K			= parameters.strike;
+		final double S0			= parameters.initialValue;
+		final double sigma		= parameters.volatility;
+		final double driftOfW	= (- parameters.riskFreeRate * T + 0.5 * sigma * sigma * T) / sigma;
+
+		final double[] sums = new double[2 * NUMBER_OF_SUMS];
+		final double[] compensations = new double[2 * NUMBER_OF_SUMS];
+		final double[] valuesOnPath = new double[NUMBER_OF_SUMS];
+		for(int path=firstPath; path<lastPath; path++)
+		{
+			final double ST			= underlyingAtMaturity.get(path);
+			final double weight		= monteCarloWeights.get(path);
+			final double discount	= numeraireAtToday.get(path) / numeraireAtMaturity.get(path);
+
+			if(ST > K) {
+				final double WT	= Math.log(ST/S0) / sigma + driftOfW;
+
+				valuesOnPath[0] = (ST - K) * discount;
+				valuesOnPath[1] = ST / S0 * discount;
+				valuesOnPath[2] = ST * (-sigma * T + WT) * discount;
+				valuesOnPath[3] = K * T * discount;
+			}
+			else {
+				valuesOnPath[0] = 0.0;
+				valuesOnPath[1] = 0.0;
+				valuesOnPath[2] = 0.0;
+				valuesOnPath[3] = 0.0;
+			}
+			valuesOnPath[4] = parameters.gammaOnPath * discount;
+
+			for(int i=0; i<NUMBER_OF_SUMS; i++) {
+				addKahan(sums, compensations, i, weight * valuesOnPath[i]);
+				addKahan(sums, compensations, NUMBER_OF_SUMS + i, weight * valuesOnPath[i] * valuesOnPath[i]);
+			}
+		}
+
+		// Apply the compensations
+		for(int i=0; i<sums.length; i++) {
+			sums[i] -= compensations[i];
+		}
+
+		return sums;
+	}
+
+	/**
+	 * Adds a value to sums[i] using Kahan summation with the running compensation compensations[i].
+	 */
+	private static void addKahan(double[] sums, double[] compensations, int i, double value) {
+		final double valueCompensated = value - compensations[i];
+		final double sum = sums[i] + valueCompensated;
+		compensations[i] = (sum - sums[i]) - valueCompensated;
+		sums[i] = sum;
+	}
+
+	/**
+	 * The model and product parameters used within the blocks.
+	 */
+	private static class Parameters {
+		private final double maturity;
+		private final double strike;
+		private final double initialValue;
+		private final double riskFreeRate;
+		private final double volatility;
+		private final double gammaOnPath;
+
+		Parameters(double maturity, double strike, double initialValue, double riskFreeRate, double volatility, double gammaOnPath) {
+			this.maturity = maturity;
+			this.strike = strike;
+			this.initialValue = initialValue;
+			this.riskFreeRate = riskFreeRate;
+			this.volatility = volatility;
+			this.gammaOnPath = gammaOnPath;
+		}
+	}
+}
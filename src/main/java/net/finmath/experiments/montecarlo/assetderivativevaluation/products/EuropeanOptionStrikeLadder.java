@@ -0,0 +1,227 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.AbstractAssetMonteCarloProduct;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.stochastic.RandomVariableAccumulator;
+
+/**
+ * Implements the valuation of a batch of European calls and puts on an asset S (the asset with index 0 from the model),
+ * where option i has maturity T<sub>i</sub> and strike K<sub>i</sub>.
+ *
+ * For each distinct maturity the strikes are sorted and each path is assigned (by a binary search) to the interval
+ * between two consecutive strikes containing S(T). Summing the (weighted, discounted) values of 1 and S(T) per interval
+ * and accumulating these sums from the largest strike downwards gives, for each strike K, the sums A(K) and B(K)
+ * of S(T) and of 1 over the paths with S(T) &gt; K. The value of a call is then
+ * N(0) E[ (S(T)-K)^+ / N(T) ] = A(K) - K B(K) and the put value follows from the same sums. Hence,
+ * the valuation of m options on n paths requires a single pass over the paths with O(n log m + m log m) operations,
+ * instead of m passes with O(n m) operations.
+ *
+ * The implied volatilities are calculated from the call values using the forward and the payoff unit
+ * (zero coupon bond) implied by the same simulation, such that put-call parity holds for the Monte-Carlo values.
+ *
+ * @author Christian Fries
+ * @version 1.0
+ */
+public class EuropeanOptionStrikeLadder extends AbstractAssetMonteCarloProduct {
+
+	private final double[]	maturities;
+	private final double[]	strikes;
+
+	/**
+	 * Values of the calls and puts of a strike ladder with their implied volatilities.
+	 */
+	public static class StrikeLadderValues {
+		private final double[] maturities;
+		private final double[] strikes;
+		private final double[] callValues;
+		private final double[] putValues;
+		private final double[] forwards;
+		private final double[] impliedVolatilities;
+
+		public StrikeLadderValues(double[] maturities, double[] strikes, double[] callValues, double[] putValues, double[] forwards, double[] impliedVolatilities) {
+			this.maturities = maturities;
+			this.strikes = strikes;
+			this.callValues = callValues;
+			this.putValues = putValues;
+			this.forwards = forwards;
+			this.impliedVolatilities = impliedVolatilities;
+		}
+
+		public double[] getMaturities() {
+			return maturities.clone();
+		}
+
+		public double[] getStrikes() {
+			return strikes.clone();
+		}
+
+		public double[] getCallValues() {
+			return callValues.clone();
+		}
+
+		public double[] getPutValues() {
+			return putValues.clone();
+		}
+
+		/**
+		 * @return The forwards E[S(T) / N(T)] / E[1 / N(T)] of the simulation (for each option).
+		 */
+		public double[] getForwards() {
+			return forwards.clone();
+		}
+
+		/**
+		 * @return The Black-Scholes implied volatilities (NaN if the value is outside the no-arbitrage bounds).
+		 */
+		public double[] getImpliedVolatilities() {
+			return impliedVolatilities.clone();
+		}
+	}
+
+	/**
+	 * Construct a batch of European options on an asset S (where S the asset with index 0 from the model - single asset case).
+	 *
+	 * @param maturities The maturities T<sub>i</sub> of the options.
+	 * @param strikes The strikes K<sub>i</sub> of the options.
+	 */
+	public EuropeanOptionStrikeLadder(double[] maturities, double[] strikes) {
+		super();
+		if(maturities.length != strikes.length) {
+			throw new IllegalArgumentException("Number of maturities and number of strikes must agree.");
+		}
+		this.maturities = maturities.clone();
+		this.strikes = strikes.clone();
+	}
+
+	/**
+	 * Construct a strike ladder of European options with a common maturity.
+	 *
+	 * @param maturity The maturity T of the options.
+	 * @param strikes The strikes K<sub>i</sub> of the options.
+	 */
+	public EuropeanOptionStrikeLadder(double maturity, double[] strikes) {
+		this(filledArray(strikes.length, maturity), strikes);
+	}
+
+	/**
+	 * Calculates the values of the calls and puts and their implied volatilities under a given model.
+	 *
+	 * @param model A reference to a model
+	 * @return the values
+	 * @throws CalculationException
+	 */
+	public StrikeLadderValues getValues(AssetModelMonteCarloSimulationModel model) throws CalculationException
+	{
+		final double[] callValues			= new double[strikes.length];
+		final double[] putValues			= new double[strikes.length];
+		final double[] forwards				= new double[strikes.length];
+		final double[] impliedVolatilities	= new double[strikes.length];
+
+		final double[] distinctMaturities = Arrays.stream(maturities).distinct().toArray();
+		for(final double maturity : distinctMaturities) {
+			final int[] optionIndices = IntStream.range(0, strikes.length).filter(i -> maturities[i] == maturity).toArray();
+
+			// The strikes of this maturity in ascending order
+			final double[] sortedStrikes = new double[optionIndices.length];
+			for(int j=0; j<optionIndices.length; j++) {
+				sortedStrikes[j] = strikes[optionIndices[j]];
+			}
+			Arrays.sort(sortedStrikes);
+
+			final RandomVariable underlyingAtMaturity	= model.getAssetValue(maturity,0);
+			final RandomVariable numeraireAtMaturity	= model.getNumeraire(maturity);
+			final RandomVariable monteCarloWeights		= model.getMonteCarloWeights(maturity);
+			final RandomVariable numeraireAtToday		= model.getNumeraire(0);
+
+			/*
+			 * Sums of the discount factors w N(0)/N(T) and the discounted underlyings S(T) w N(0)/N(T) over the paths in
+			 * interval j, that is, paths where exactly j strikes are less than S(T).
+			 */
+			final double[] sumOfDiscountFactors			= new double[sortedStrikes.length+1];
+			final double[] sumOfDiscountedUnderlyings	= new double[sortedStrikes.length+1];
+			for(int path=0; path<model.getNumberOfPaths(); path++) {
+				final double underlying		= underlyingAtMaturity.get(path);
+				final double discountFactor	= monteCarloWeights.get(path) / numeraireAtMaturity.get(path) * numeraireAtToday.get(path);
+
+				final int interval = getNumberOfValuesLessThan(sortedStrikes, underlying);
+				sumOfDiscountFactors[interval]			+= discountFactor;
+				sumOfDiscountedUnderlyings[interval]	+= discountFactor * underlying;
+			}
+
+			// Tail sums: element j is the sum over the intervals j, j+1, ..., i.e., over the paths with S(T) > sortedStrikes[j-1]
+			for(int j=sortedStrikes.length-1; j>=0; j--) {
+				sumOfDiscountFactors[j]			+= sumOfDiscountFactors[j+1];
+				sumOfDiscountedUnderlyings[j]	+= sumOfDiscountedUnderlyings[j+1];
+			}
+			final double payoffUnit						= sumOfDiscountFactors[0];
+			final double sumOfAllDiscountedUnderlyings	= sumOfDiscountedUnderlyings[0];
+			final double forward						= sumOfAllDiscountedUnderlyings / payoffUnit;
+
+			for(final int i : optionIndices) {
+				final double strike = strikes[i];
+
+				// The first interval above K (all paths with S(T) > K, also if the strike appears more than once)
+				final int j = getNumberOfValuesLessThan(sortedStrikes, strike) + 1;
+
+				final double callValue	= sumOfDiscountedUnderlyings[j] - strike * sumOfDiscountFactors[j];
+				final double putValue	= strike * (payoffUnit - sumOfDiscountFactors[j]) - (sumOfAllDiscountedUnderlyings - sumOfDiscountedUnderlyings[j]);
+
+				callValues[i]			= callValue;
+				putValues[i]			= putValue;
+				forwards[i]				= forward;
+				impliedVolatilities[i]	= getImpliedVolatility(forward, maturity, strike, payoffUnit, callValue);
+			}
+		}
+
+		return new StrikeLadderValues(maturities.clone(), strikes.clone(), callValues, putValues, forwards, impliedVolatilities);
+	}
+
+	@Override
+	public RandomVariableAccumulator getValue(double evaluationTime, AssetModelMonteCarloSimulationModel model) {
+		throw new RuntimeException("Method not supported.");
+	}
+
+	private static double getImpliedVolatility(double forward, double maturity, double strike, double payoffUnit, double callValue) {
+		// The call value has to be within the no-arbitrage bounds (C > (F-K)^+ and C < F) for an implied volatility to exist
+		final double intrinsicValue = Math.max(forward - strike, 0.0) * payoffUnit;
+		if(maturity <= 0 || callValue <= intrinsicValue || callValue >= forward * payoffUnit) {
+			return Double.NaN;
+		}
+		return AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, maturity, strike, payoffUnit, callValue);
+	}
+
+	/**
+	 * Returns the number of elements of the ascending array sortedValues which are less than the given value.
+	 */
+	private static int getNumberOfValuesLessThan(double[] sortedValues, double value) {
+		int low = 0;
+		int high = sortedValues.length;
+		while(low < high) {
+			final int middle = (low + high) >>> 1;
+			if(sortedValues[middle] < value) {
+				low = middle + 1;
+			}
+			else {
+				high = middle;
+			}
+		}
+		return low;
+	}
+
+	private static double[] filledArray(int length, double value) {
+		final double[] array = new double[length];
+		Arrays.fill(array, value);
+		return array;
+	}
+}
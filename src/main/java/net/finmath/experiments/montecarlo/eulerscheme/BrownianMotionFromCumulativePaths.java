@@ -0,0 +1,168 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.eulerscheme;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * A Brownian motion on a coarse time discretization, using the paths of a Brownian motion on a finer time discretization.
+ *
+ * The increment W(t<sub>i+1</sub>) - W(t<sub>i</sub>) on the coarse time discretization is the difference of two
+ * cumulative paths of the fine Brownian motion (see {@link CumulativeBrownianPaths}). Hence, it costs O(1) per path,
+ * independent of the number of fine time steps in the coarse interval (in contrast to
+ * {@link BrownianMotionCoarseTimeDiscretization}, which adds the fine increments).
+ *
+ * The increments are cached per (timeIndex, factor). The cache keeps at most a given number of increments
+ * (least recently used increments are removed). This bounds only the memory of the coarse increments: the cumulative
+ * paths shared by all coarse Brownian motions are kept on the fine time discretization and are not bounded
+ * (see {@link CumulativeBrownianPaths}).
+ *
+ * The times of the coarse time discretization have to be times of the fine time discretization.
+ *
+ * @author Christian Fries
+ */
+public final class BrownianMotionFromCumulativePaths implements BrownianMotion {
+
+	private static final int DEFAULT_MAXIMUM_NUMBER_OF_CACHED_INCREMENTS = 1000;
+
+	private final CumulativeBrownianPaths	cumulativeBrownianPaths;
+	private final TimeDiscretization		timeDiscretizationCoarse;
+
+	/**
+	 * For each time index of the coarse time discretization the index of the same time on the fine time discretization.
+	 */
+	private final int[] timeIndicesOnFineDiscretization;
+
+	private final int						maximumNumberOfCachedIncrements;
+	private final Map<Long, RandomVariable>	incrementCache;
+
+	/**
+	 * Create a Brownian motion on a coarse time discretization.
+	 *
+	 * @param timeDiscretizationCoarse The coarse time discretization.
+	 * @param cumulativeBrownianPaths The cumulative paths of the fine Brownian motion (may be shared by several coarse Brownian motions).
+	 * @param maximumNumberOfCachedIncrements The maximum number of increments kept in the cache.
+	 */
+	public BrownianMotionFromCumulativePaths(TimeDiscretization timeDiscretizationCoarse, CumulativeBrownianPaths cumulativeBrownianPaths, int maximumNumberOfCachedIncrements) {
+		this.timeDiscretizationCoarse = timeDiscretizationCoarse;
+		this.cumulativeBrownianPaths = cumulativeBrownianPaths;
+		this.maximumNumberOfCachedIncrements = maximumNumberOfCachedIncrements;
+
+		final TimeDiscretization timeDiscretizationFine = cumulativeBrownianPaths.getTimeDiscretization();
+		timeIndicesOnFineDiscretization = new int[timeDiscretizationCoarse.getNumberOfTimes()];
+		for(int timeIndex=0; timeIndex<timeIndicesOnFineDiscretization.length; timeIndex++) {
+			final double time = timeDiscretizationCoarse.getTime(timeIndex);
+			timeIndicesOnFineDiscretization[timeIndex] = timeDiscretizationFine.getTimeIndex(time);
+			if(timeIndicesOnFineDiscretization[timeIndex] < 0) {
+				throw new IllegalArgumentException("Time " + time + " of the coarse time discretization is not part of the fine time discretization.");
+			}
+		}
+
+		incrementCache = new LinkedHashMap<Long, RandomVariable>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, RandomVariable> eldest) {
+				return size() > maximumNumberOfCachedIncrements;
+			}
+		};
+	}
+
+	/**
+	 * Create a Brownian motion on a coarse time discretization, caching up to
+	 * {@value #DEFAULT_MAXIMUM_NUMBER_OF_CACHED_INCREMENTS} increments.
+	 *
+	 * @param timeDiscretizationCoarse The coarse time discretization.
+	 * @param cumulativeBrownianPaths The cumulative paths of the fine Brownian motion (may be shared by several coarse Brownian motions).
+	 */
+	public BrownianMotionFromCumulativePaths(TimeDiscretization timeDiscretizationCoarse, CumulativeBrownianPaths cumulativeBrownianPaths) {
+		this(timeDiscretizationCoarse, cumulativeBrownianPaths, DEFAULT_MAXIMUM_NUMBER_OF_CACHED_INCREMENTS);
+	}
+
+	/**
+	 * Create a Brownian motion on a coarse time discretization, caching up to
+	 * {@value #DEFAULT_MAXIMUM_NUMBER_OF_CACHED_INCREMENTS} increments.
+	 *
+	 * @param timeDiscretizationCoarse The coarse time discretization.
+	 * @param brownianMotion The fine Brownian motion.
+	 */
+	public BrownianMotionFromCumulativePaths(TimeDiscretization timeDiscretizationCoarse, BrownianMotion brownianMotion) {
+		this(timeDiscretizationCoarse, new CumulativeBrownianPaths(brownianMotion));
+	}
+
+	@Override
+	public RandomVariable getIncrement(int timeIndex, int factor) {
+		final Long key = (long)timeIndex * getNumberOfFactors() + factor;
+		synchronized(incrementCache) {
+			final RandomVariable increment = incrementCache.get(key);
+			if(increment != null) {
+				return increment;
+			}
+		}
+
+		final double[] cumulativeStart	= cumulativeBrownianPaths.getCumulativePath(timeIndicesOnFineDiscretization[timeIndex], factor);
+		final double[] cumulativeEnd	= cumulativeBrownianPaths.getCumulativePath(timeIndicesOnFineDiscretization[timeIndex+1], factor);
+		final double[] realizations = new double[cumulativeStart.length];
+		for(int path=0; path<realizations.length; path++) {
+			realizations[path] = cumulativeEnd[path] - cumulativeStart[path];
+		}
+		final RandomVariable increment = new RandomVariableFromDoubleArray(timeDiscretizationCoarse.getTime(timeIndex+1), realizations);
+
+		synchronized(incrementCache) {
+			incrementCache.put(key, increment);
+		}
+		return increment;
+	}
+
+	@Override
+	public TimeDiscretization getTimeDiscretization() {
+		return timeDiscretizationCoarse;
+	}
+
+	@Override
+	public RandomVariable getRandomVariableForConstant(double value) {
+		return cumulativeBrownianPaths.getBrownianMotion().getRandomVariableForConstant(value);
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return cumulativeBrownianPaths.getNumberOfPaths();
+	}
+
+	@Override
+	public int getNumberOfFactors() {
+		return cumulativeBrownianPaths.getNumberOfFactors();
+	}
+
+	@Override
+	public RandomVariable getBrownianIncrement(int timeIndex, int factor) {
+		return getIncrement(timeIndex, factor);
+	}
+
+	@Override
+	public BrownianMotion getCloneWithModifiedTimeDiscretization(TimeDiscretization newTimeDiscretization) {
+		return new BrownianMotionFromCumulativePaths(newTimeDiscretization, cumulativeBrownianPaths, maximumNumberOfCachedIncrements);
+	}
+
+	/**
+	 * Returns the Brownian motion on the same coarse time discretization using the cumulative paths of the fine Brownian motion
+	 * with the modified seed (see {@link BrownianMotion#getCloneWithModifiedSeed(int)}). The cumulative paths are not shared with this object.
+	 *
+	 * @param seed The new seed.
+	 * @return The Brownian motion with the modified seed.
+	 */
+	@Override
+	public BrownianMotion getCloneWithModifiedSeed(int seed) {
+		final BrownianMotion brownianMotionWithModifiedSeed = cumulativeBrownianPaths.getBrownianMotion().getCloneWithModifiedSeed(seed);
+		return new BrownianMotionFromCumulativePaths(timeDiscretizationCoarse, new CumulativeBrownianPaths(brownianMotionWithModifiedSeed), maximumNumberOfCachedIncrements);
+	}
+}
@@ -0,0 +1,103 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.eulerscheme;
+
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * The paths W(t<sub>i</sub>) = &sum;<sub>j&lt;i</sub> &Delta;W(t<sub>j</sub>) of a given Brownian motion, stored as
+ * prefix sums of its increments in primitive arrays.
+ *
+ * The increment of the Brownian motion over any interval [t<sub>i</sub>, t<sub>k</sub>] of its time discretization
+ * is the difference of two cumulative values, such that the increments of all coarser time discretizations
+ * (see {@link BrownianMotionFromCumulativePaths}) are obtained in O(1) per path, instead of summing the fine increments.
+ *
+ * The prefix sums of a factor are calculated on first use (one pass over the fine increments) and then shared by
+ * all coarse Brownian motions created from this object. The class is thread safe.
+ *
+ * The memory of the prefix sums is not bounded: once calculated, they are kept for the lifetime of this object,
+ * i.e., number of paths &times; number of fine times &times; number of factors doubles (in addition to the increments
+ * held by the fine Brownian motion itself). For example, 10<sup>5</sup> paths on 10<sup>4</sup> fine times require
+ * 8 GB per factor. The number of fine time steps should hence be chosen with care (e.g., as a small common refinement
+ * of the coarse time discretizations) and the object should be released once the coarse Brownian motions are no longer used.
+ *
+ * @author Christian Fries
+ */
+public class CumulativeBrownianPaths {
+
+	private final BrownianMotion brownianMotion;
+
+	/**
+	 * For each factor the cumulative paths, indexed by [timeIndex][path] (null if not yet calculated).
+	 */
+	private final double[][][] cumulativePaths;
+
+	/**
+	 * Create the cumulative paths of a Brownian motion.
+	 *
+	 * @param brownianMotion The (fine) Brownian motion.
+	 */
+	public CumulativeBrownianPaths(BrownianMotion brownianMotion) {
+		this.brownianMotion = brownianMotion;
+		cumulativePaths = new double[brownianMotion.getNumberOfFactors()][][];
+	}
+
+	/**
+	 * Returns the value W(t<sub>i</sub>) - W(t<sub>0</sub>) of a factor of the Brownian motion for all paths.
+	 * The returned array is shared and must not be modified.
+	 *
+	 * @param timeIndex The index i of the time t<sub>i</sub> of the time discretization of the Brownian motion.
+	 * @param factor The factor.
+	 * @return The value of the Brownian motion for all paths.
+	 */
+	double[] getCumulativePath(int timeIndex, int factor) {
+		return getCumulativePaths(factor)[timeIndex];
+	}
+
+	private synchronized double[][] getCumulativePaths(int factor) {
+		if(cumulativePaths[factor] == null) {
+			final int numberOfTimes = brownianMotion.getTimeDiscretization().getNumberOfTimes();
+			final int numberOfPaths = brownianMotion.getNumberOfPaths();
+
+			final double[][] paths = new double[numberOfTimes][];
+			paths[0] = new double[numberOfPaths];
+			for(int timeIndex=1; timeIndex<numberOfTimes; timeIndex++) {
+				final double[] previous = paths[timeIndex-1];
+				final double[] current = new double[numberOfPaths];
+				final double[] increment = brownianMotion.getBrownianIncrement(timeIndex-1, factor).getRealizations();
+				for(int path=0; path<numberOfPaths; path++) {
+					current[path] = previous[path] + increment[path];
+				}
+				paths[timeIndex] = current;
+			}
+			cumulativePaths[factor] = paths;
+		}
+		return cumulativePaths[factor];
+	}
+
+	/**
+	 * @return The (fine) Brownian motion.
+	 */
+	public BrownianMotion getBrownianMotion() {
+		return brownianMotion;
+	}
+
+	/**
+	 * @return The time discretization of the (fine) Brownian motion.
+	 */
+	public TimeDiscretization getTimeDiscretization() {
+		return brownianMotion.getTimeDiscretization();
+	}
+
+	public int getNumberOfPaths() {
+		return brownianMotion.getNumberOfPaths();
+	}
+
+	public int getNumberOfFactors() {
+		return brownianMotion.getNumberOfFactors();
+	}
+}
@@ -52,6 +52,11 @@ public class EulerSchemeIllustrationPlot {
 		MonteCarloProcess scheme = new EulerSchemeFromProcessModel(processModel, brownianMotion);
 		MonteCarloAssetModel mcModel = new MonteCarloAssetModel(scheme);
 
+		/*
+		 * The cumulative paths of the Brownian motion, shared by all coarse time discretizations
+		 */
+		CumulativeBrownianPaths cumulativeBrownianPaths = new CumulativeBrownianPaths(brownianMotion);
+
 		/**
 		 * Consider different number of sub-steps
 		 */
@@ -61,7 +66,7 @@ public class EulerSchemeIllustrationPlot {
 			 * A coarse time discretization (with less time steps)
 			 */
 			TimeDiscretization timeDiscretizationCoarse = new TimeDiscretizationFromArray(timeInitial, numberOfTimeSteps/numberOfSubSteps, timeStep*numberOfSubSteps);
-			BrownianMotion brownianMotionCoarse = new BrownianMotionCoarseTimeDiscretization(timeDiscretizationCoarse, brownianMotion);
+			BrownianMotion brownianMotionCoarse = new BrownianMotionFromCumulativePaths(timeDiscretizationCoarse, cumulativeBrownianPaths);
 
 			/* 
 			 * The Euler scheme for the lognormal SDE on the coarse time discretization
@@ -0,0 +1,207 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import net.finmath.experiments.montecarlo.randomnumbers.SobolSequenceScrambled.Scrambling;
+import net.finmath.functions.NormalDistribution;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+
+/**
+ * Implementation of a time-discrete n-dimensional Brownian motion
+ * <i>W = (W<sub>1</sub>,...,W<sub>n</sub>)</i> where <i>W<sub>i</sub></i> is
+ * a Brownian motion and <i>W<sub>i</sub></i>, <i>W<sub>j</sub></i> are
+ * independent for <i>i</i> not equal <i>j</i>, generated from a (scrambled) Sobol sequence.
+ *
+ * Each path is constructed via a Brownian bridge: the first components of the
+ * Sobol point (which have the best uniformity properties) determine W(T) of the factors,
+ * the next components the midpoints, etc. This concentrates the variance of the payoff on the
+ * first dimensions of the sequence and preserves the advantage of quasi random numbers for
+ * a large number of time steps.
+ *
+ * The seed determines the randomization of the Sobol sequence, such that
+ * {@link #getCloneWithModifiedSeed(int)} gives an independent replication (randomized quasi Monte-Carlo),
+ * provided the scrambling is not {@link Scrambling#NONE}.
+ *
+ * @author Christian Fries
+ */
+public class BrownianMotionFromSobolSequence implements BrownianMotion {
+
+	private final TimeDiscretization	timeDiscretization;
+	private final int					numberOfFactors;
+	private final int					numberOfPaths;
+	private final Scrambling			scrambling;
+	private final int					seed;
+
+	private transient RandomVariable[][]	brownianIncrements;
+	private final Object					brownianIncrementsLazyInitLock = new Object();
+
+	/**
+	 * Construct a Brownian motion from a (scrambled) Sobol sequence using a Brownian bridge.
+	 *
+	 * @param timeDiscretization The time discretization used for the Brownian increments.
+	 * @param numberOfFactors Number of factors.
+	 * @param numberOfPaths Number of paths to simulate.
+	 * @param scrambling The randomization of the Sobol sequence.
+	 * @param seed The seed of the randomization.
+	 */
+	public BrownianMotionFromSobolSequence(
+			TimeDiscretization timeDiscretization,
+			int numberOfFactors,
+			int numberOfPaths,
+			Scrambling scrambling,
+			int seed) {
+		super();
+		this.timeDiscretization	= timeDiscretization;
+		this.numberOfFactors	= numberOfFactors;
+		this.numberOfPaths		= numberOfPaths;
+		this.scrambling			= scrambling;
+		this.seed				= seed;
+	}
+
+	@Override
+	public RandomVariable getBrownianIncrement(int timeIndex, int factor) {
+		synchronized(brownianIncrementsLazyInitLock) {
+			if(brownianIncrements == null) {
+				doGenerateBrownianMotion();
+			}
+		}
+
+		return brownianIncrements[timeIndex][factor];
+	}
+
+	/**
+	 * Generates the Brownian increments from the Sobol sequence via a Brownian bridge.
+	 */
+	private void doGenerateBrownianMotion() {
+		final int numberOfTimeSteps = timeDiscretization.getNumberOfTimeSteps();
+
+		/*
+		 * Construction order of the Brownian bridge: for the k-th step the value at time index bridgeIndex[k]
+		 * is interpolated between leftIndex[k] and rightIndex[k] (the first step sets the terminal value).
+		 */
+		final int[]		bridgeIndex	= new int[numberOfTimeSteps];
+		final int[]		leftIndex	= new int[numberOfTimeSteps];
+		final int[]		rightIndex	= new int[numberOfTimeSteps];
+		final double[]	leftWeight	= new double[numberOfTimeSteps];
+		final double[]	rightWeight	= new double[numberOfTimeSteps];
+		final double[]	stdDev		= new double[numberOfTimeSteps];
+
+		bridgeIndex[0]	= numberOfTimeSteps;
+		leftIndex[0]	= 0;
+		rightIndex[0]	= numberOfTimeSteps;
+		stdDev[0]		= Math.sqrt(timeDiscretization.getTime(numberOfTimeSteps) - timeDiscretization.getTime(0));
+
+		// Breadth first bisection of the intervals (queue of intervals [left, right] with at least one interior time index)
+		final int[] queueLeft	= new int[numberOfTimeSteps];
+		final int[] queueRight	= new int[numberOfTimeSteps];
+		int queueStart = 0;
+		int queueEnd = 0;
+		if(numberOfTimeSteps > 1) {
+			queueLeft[queueEnd] = 0;
+			queueRight[queueEnd++] = numberOfTimeSteps;
+		}
+		int step = 1;
+		while(queueStart < queueEnd) {
+			final int left	= queueLeft[queueStart];
+			final int right	= queueRight[queueStart++];
+			final int middle = (left + right) / 2;
+
+			final double timeLeft	= timeDiscretization.getTime(left);
+			final double timeMiddle	= timeDiscretization.getTime(middle);
+			final double timeRight	= timeDiscretization.getTime(right);
+
+			bridgeIndex[step]	= middle;
+			leftIndex[step]		= left;
+			rightIndex[step]	= right;
+			leftWeight[step]	= (timeRight - timeMiddle) / (timeRight - timeLeft);
+			rightWeight[step]	= (timeMiddle - timeLeft) / (timeRight - timeLeft);
+			stdDev[step]		= Math.sqrt((timeMiddle - timeLeft) * (timeRight - timeMiddle) / (timeRight - timeLeft));
+			step++;
+
+			if(middle - left > 1) {
+				queueLeft[queueEnd] = left;
+				queueRight[queueEnd++] = middle;
+			}
+			if(right - middle > 1) {
+				queueLeft[queueEnd] = middle;
+				queueRight[queueEnd++] = right;
+			}
+		}
+
+		// The dimension of the Sobol sequence: the k-th bridge step of factor f uses component k * numberOfFactors + f
+		final int dimension = numberOfTimeSteps * numberOfFactors;
+		final SobolSequenceScrambled sobolSequence = new SobolSequenceScrambled(dimension, scrambling, seed);
+
+		final double[][][] increments = new double[numberOfTimeSteps][numberOfFactors][numberOfPaths];
+		final double[] uniforms = new double[dimension];
+		final double[] brownianPath = new double[numberOfTimeSteps+1];
+		for(int path=0; path<numberOfPaths; path++) {
+			sobolSequence.getNext(uniforms, 0, 1);
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				brownianPath[0] = 0.0;
+				for(int k=0; k<numberOfTimeSteps; k++) {
+					final double normal = NormalDistribution.inverseCumulativeDistribution(uniforms[k * numberOfFactors + factor]);
+					brownianPath[bridgeIndex[k]] = leftWeight[k] * brownianPath[leftIndex[k]] + rightWeight[k] * brownianPath[rightIndex[k]] + stdDev[k] * normal;
+				}
+				for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+					increments[timeIndex][factor][path] = brownianPath[timeIndex+1] - brownianPath[timeIndex];
+				}
+			}
+		}
+
+		// Wrap the values in RandomVariable objects
+		brownianIncrements = new RandomVariable[numberOfTimeSteps][numberOfFactors];
+		for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+			final double time = timeDiscretization.getTime(timeIndex+1);
+			for(int factor=0; factor<numberOfFactors; factor++) {
+				brownianIncrements[timeIndex][factor] = new RandomVariableFromDoubleArray(time, increments[timeIndex][factor]);
+			}
+		}
+	}
+
+	@Override
+	public TimeDiscretization getTimeDiscretization() {
+		return timeDiscretization;
+	}
+
+	@Override
+	public int getNumberOfFactors() {
+		return numberOfFactors;
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return numberOfPaths;
+	}
+
+	@Override
+	public RandomVariable getRandomVariableForConstant(double value) {
+		return new RandomVariableFromDoubleArray(value);
+	}
+
+	@Override
+	public BrownianMotion getCloneWithModifiedSeed(int seed) {
+		return new BrownianMotionFromSobolSequence(timeDiscretization, numberOfFactors, numberOfPaths, scrambling, seed);
+	}
+
+	@Override
+	public BrownianMotion getCloneWithModifiedTimeDiscretization(TimeDiscretization newTimeDiscretization) {
+		return new BrownianMotionFromSobolSequence(newTimeDiscretization, numberOfFactors, numberOfPaths, scrambling, seed);
+	}
+
+	@Override
+	public String toString() {
+		return super.toString()
+				+ "\n" + "timeDiscretization: " + timeDiscretization.toString()
+				+ "\n" + "numberOfPaths: " + numberOfPaths
+				+ "\n" + "numberOfFactors: " + numberOfFactors
+				+ "\n" + "scrambling: " + scrambling
+				+ "\n" + "seed: " + seed;
+	}
+}
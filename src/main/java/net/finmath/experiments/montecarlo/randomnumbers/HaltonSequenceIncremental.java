@@ -0,0 +1,313 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import java.util.Arrays;
+
+/**
+ * Sequential generator of a Halton sequence (a vector of van der Corput sequences).
+ *
+ * In contrast to {@link HaltonSequence#getHaltonNumber(long, int)}, which calculates the digit expansion
+ * of the index via repeated division for each point, this class keeps the digit expansion of the
+ * current index and increments it (with carry), which requires amortized O(1) operations per point
+ * and no divisions:
+ * <ul>
+ * <li>For base 2 the number is given by the bit reversal of the shifted index index+1 (for shifted indices below 2<sup>53</sup>).</li>
+ * <li>For other bases the sum over the lowest digits is taken from a pre-calculated table (of at most
+ * {@value #MAX_TABLE_SIZE} entries) and the products of the higher digits with the factors b<sup>-j</sup>
+ * are updated only if the digit changes.</li>
+ * </ul>
+ *
+ * The generated numbers are identical (bit-for-bit) to those of {@link HaltonSequence#getHaltonNumber(long, int)},
+ * since the sum over the digits is carried out in the same order and with the same factors (for base 2 all partial
+ * sums are exact).
+ *
+ * The generator can be positioned at an arbitrary index via {@link #setIndex(long)}, such that parallel tasks
+ * can use disjoint parts of the sequence. An instance is not thread safe: use one instance per task.
+ *
+ * @author Christian Fries
+ */
+public class HaltonSequenceIncremental {
+
+	private static final int MAX_NUMBER_OF_DIGITS = 64;
+	private static final int MAX_TABLE_SIZE = 1024;
+
+	// Shifted indices (index+1) below this bound have at most 53 binary digits, such that the van der Corput number for base 2 is exact.
+	private static final long MAX_EXACT_INDEX_BASE_2 = 1L << 53;
+
+	private final int[] baseVector;
+
+	/*
+	 * For each dimension:
+	 * - the number of low digits represented by the table and the table of the sums over the low digits,
+	 * - the factors b^{-j} and the products digit * b^{-j} of the high digits,
+	 * - the current value of the low digits, the high digits and the number of high digits.
+	 */
+	private final int[]			numberOfLowDigits;
+	private final double[][]	lowDigitsSums;
+	private final double[][]	highDigitsFactors;
+	private final double[][]	highDigitsProducts;
+	private final int[]			lowDigitsValue;
+	private final int[][]		highDigits;
+	private final int[]			numberOfHighDigits;
+	private final boolean[]		isDigitExpansionValid;
+
+	private long index;
+
+	/**
+	 * Construct a Halton sequence generator with d = base.length dimensions where the i-th component
+	 * uses base[i] as base of the corresponding van der Corput sequence.
+	 *
+	 * @param baseVector Vector of base integers for each component.
+	 * @param startIndex The index of the first number generated.
+	 */
+	public HaltonSequenceIncremental(int[] baseVector, long startIndex) {
+		// Check base
+		for(final int base : baseVector) {
+			if(base < 2) {
+				throw new RuntimeException("Cannot create Halton sequence with base less than two.");
+			}
+		}
+
+		this.baseVector = baseVector.clone();
+
+		final int dimension = baseVector.length;
+		numberOfLowDigits		= new int[dimension];
+		lowDigitsSums			= new double[dimension][];
+		highDigitsFactors		= new double[dimension][];
+		highDigitsProducts		= new double[dimension][];
+		lowDigitsValue			= new int[dimension];
+		highDigits				= new int[dimension][];
+		numberOfHighDigits		= new int[dimension];
+		isDigitExpansionValid	= new boolean[dimension];
+
+		for(int baseIndex=0; baseIndex < dimension; baseIndex++) {
+			final int base = baseVector[baseIndex];
+
+			// Same calculation of the factors as in HaltonSequence.getHaltonNumber
+			final double[] factors = new double[MAX_NUMBER_OF_DIGITS];
+			double factor = 1.0/base;
+			for(int digitIndex=0; digitIndex < MAX_NUMBER_OF_DIGITS; digitIndex++) {
+				factors[digitIndex] = factor;
+				factor /= base;
+			}
+
+			// Number of low digits such that base^numberOfLowDigits <= MAX_TABLE_SIZE
+			int numberOfLowDigitsOfBase = 0;
+			int tableSize = 1;
+			while((long)tableSize * base <= MAX_TABLE_SIZE) {
+				tableSize *= base;
+				numberOfLowDigitsOfBase++;
+			}
+
+			// Sums over the low digits (same order of summation as in HaltonSequence.getHaltonNumber)
+			final double[] sums = new double[tableSize];
+			for(int value=0; value < tableSize; value++) {
+				int remainingValue = value;
+				double x = 0;
+				for(int digitIndex=0; remainingValue > 0; digitIndex++) {
+					x += (remainingValue % base) * factors[digitIndex];
+					remainingValue /= base;
+				}
+				sums[value] = x;
+			}
+
+			numberOfLowDigits[baseIndex]	= numberOfLowDigitsOfBase;
+			lowDigitsSums[baseIndex]		= sums;
+			highDigitsFactors[baseIndex]	= Arrays.copyOfRange(factors, numberOfLowDigitsOfBase, MAX_NUMBER_OF_DIGITS);
+			highDigitsProducts[baseIndex]	= new double[MAX_NUMBER_OF_DIGITS-numberOfLowDigitsOfBase];
+			highDigits[baseIndex]			= new int[MAX_NUMBER_OF_DIGITS-numberOfLowDigitsOfBase];
+		}
+
+		setIndex(startIndex);
+	}
+
+	/**
+	 * Construct a Halton sequence generator with d = base.length dimensions, starting at index 0.
+	 *
+	 * @param baseVector Vector of base integers for each component.
+	 */
+	public HaltonSequenceIncremental(int[] baseVector) {
+		this(baseVector, 0);
+	}
+
+	/**
+	 * Construct a one dimensional Halton sequence generator (Van der Corput sequence) with given base, starting at index 0.
+	 *
+	 * @param base Base of the sequence.
+	 */
+	public HaltonSequenceIncremental(int base) {
+		this(new int[] { base }, 0);
+	}
+
+	/**
+	 * Set the index of the next number generated (jump to an arbitrary position in the sequence).
+	 *
+	 * @param index Index of the next Halton number (starting at 0).
+	 */
+	public void setIndex(long index) {
+		if(index < 0 || index == Long.MAX_VALUE) {
+			throw new RuntimeException("Cannot create Halton number with index less than zero or greater than Long.MAX_VALUE-1.");
+		}
+
+		this.index = index;
+
+		// The digit expansion is (re-)calculated on demand
+		Arrays.fill(isDigitExpansionValid, false);
+	}
+
+	/**
+	 * Calculates the digit expansion of the (shifted) index for a given dimension.
+	 *
+	 * @param baseIndex The index of the dimension.
+	 */
+	private void doCalculateDigitExpansion(int baseIndex) {
+		final int base = baseVector[baseIndex];
+
+		// Index shift: counting starts at 0, the digit expansion starts at 1.
+		long shiftedIndex = index+1;
+
+		int lowValue = 0;
+		int power = 1;
+		for(int digitIndex=0; digitIndex < numberOfLowDigits[baseIndex]; digitIndex++) {
+			lowValue += (int)(shiftedIndex % base) * power;
+			power *= base;
+			shiftedIndex /= base;
+		}
+		lowDigitsValue[baseIndex] = lowValue;
+
+		final int[]		digits		= highDigits[baseIndex];
+		final double[]	products	= highDigitsProducts[baseIndex];
+		final double[]	factors		= highDigitsFactors[baseIndex];
+		int digitIndex = 0;
+		while(shiftedIndex > 0) {
+			digits[digitIndex] = (int)(shiftedIndex % base);
+			products[digitIndex] = digits[digitIndex] * factors[digitIndex];
+			shiftedIndex /= base;
+			digitIndex++;
+		}
+		numberOfHighDigits[baseIndex] = digitIndex;
+		for(; digitIndex < digits.length; digitIndex++) {
+			digits[digitIndex] = 0;
+			products[digitIndex] = 0.0;
+		}
+
+		isDigitExpansionValid[baseIndex] = true;
+	}
+
+	/**
+	 * Returns the index of the next number generated.
+	 *
+	 * @return The index of the next Halton number.
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+	/**
+	 * Returns the dimension d of the sequence.
+	 *
+	 * @return The dimension of the sequence.
+	 */
+	public int getDimension() {
+		return baseVector.length;
+	}
+
+	/**
+	 * Returns the next Halton number (vector) and advances the index.
+	 *
+	 * @return Halton number (vector).
+	 */
+	public double[] getNext() {
+		final double[] x = new double[baseVector.length];
+		getNext(x, 0, 1);
+		return x;
+	}
+
+	/**
+	 * Fills a block of consecutive Halton numbers into a given array and advances the index.
+	 * The components of the i-th number are stored at block[offset + i * d + k], k = 0, ..., d-1.
+	 *
+	 * @param block The array receiving the numbers.
+	 * @param offset The position in the array where the first number is stored.
+	 * @param numberOfPoints The number of (d-dimensional) points to generate.
+	 */
+	public void getNext(double[] block, int offset, int numberOfPoints) {
+		if(numberOfPoints > Long.MAX_VALUE - 1 - index) {
+			throw new RuntimeException("Cannot create Halton number with index greater than Long.MAX_VALUE-1.");
+		}
+
+		final int dimension = baseVector.length;
+		for(int baseIndex=0; baseIndex < dimension; baseIndex++) {
+			if(baseVector[baseIndex] == 2 && index + numberOfPoints < MAX_EXACT_INDEX_BASE_2) {
+				// Bit reversal of the (shifted) index: bit j corresponds to 2^{-(j+1)}, all partial sums are exact.
+				long shiftedIndex = index+1;
+				for(int pointIndex=0, position=offset+baseIndex; pointIndex < numberOfPoints; pointIndex++, position += dimension) {
+					block[position] = (Long.reverse(shiftedIndex++) >>> 11) * 0x1.0p-53;
+				}
+				isDigitExpansionValid[baseIndex] = false;
+			}
+			else {
+				doGenerateNumbers(baseIndex, block, offset, numberOfPoints);
+			}
+		}
+
+		index += numberOfPoints;
+	}
+
+	/**
+	 * Fills a block of consecutive numbers of the van der Corput sequence of a given dimension
+	 * (starting at the current index) using the incremental digit expansion.
+	 *
+	 * @param baseIndex The index of the dimension.
+	 * @param block The array receiving the numbers.
+	 * @param offset The position in the array where the first number is stored.
+	 * @param numberOfPoints The number of (d-dimensional) points to generate.
+	 */
+	private void doGenerateNumbers(int baseIndex, double[] block, int offset, int numberOfPoints) {
+		if(!isDigitExpansionValid[baseIndex]) {
+			doCalculateDigitExpansion(baseIndex);
+		}
+
+		final int		dimension		= baseVector.length;
+		final int		base			= baseVector[baseIndex];
+		final double[]	sums			= lowDigitsSums[baseIndex];
+		final double[]	factors			= highDigitsFactors[baseIndex];
+		final double[]	products		= highDigitsProducts[baseIndex];
+		final int[]		digits			= highDigits[baseIndex];
+		int				lowValue		= lowDigitsValue[baseIndex];
+		int				numberOfDigits	= numberOfHighDigits[baseIndex];
+
+		for(int pointIndex=0, position=offset+baseIndex; pointIndex < numberOfPoints; pointIndex++, position += dimension) {
+			// Calculate Halton number x (same order of summation as in HaltonSequence.getHaltonNumber)
+			double x = sums[lowValue];
+			for(int digitIndex=0; digitIndex < numberOfDigits; digitIndex++) {
+				x += products[digitIndex];
+			}
+			block[position] = x;
+
+			// Increment the digit expansion (with carry into the high digits)
+			if(++lowValue == sums.length) {
+				lowValue = 0;
+
+				int digitIndex = 0;
+				while(digits[digitIndex] == base-1) {
+					digits[digitIndex] = 0;
+					products[digitIndex] = 0.0;
+					digitIndex++;
+				}
+				digits[digitIndex]++;
+				products[digitIndex] = digits[digitIndex] * factors[digitIndex];
+				if(digitIndex == numberOfDigits) {
+					numberOfDigits++;
+				}
+			}
+		}
+
+		lowDigitsValue[baseIndex]		= lowValue;
+		numberOfHighDigits[baseIndex]	= numberOfDigits;
+	}
+}
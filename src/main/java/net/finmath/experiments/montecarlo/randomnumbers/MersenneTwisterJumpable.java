@@ -0,0 +1,418 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mersenne Twister (MT19937) with jump ahead.
+ *
+ * For the same seed, the generator produces the same numbers as {@link net.finmath.randomnumbers.MersenneTwister}
+ * (which uses the implementation of commons-math3), where each double consumes two 32 bit integers.
+ *
+ * The transition of the state of the Mersenne Twister is linear over GF(2). Advancing the generator by J steps
+ * is given by applying the polynomial x<sup>J</sup> mod p(x) to the state, where p is the characteristic polynomial
+ * of the transition (Haramoto, Matsumoto, Nishimura, Panneton, L'Ecuyer, 2008). The characteristic polynomial is
+ * calculated once (per JVM) from the output sequence via the Berlekamp-Massey algorithm.
+ * A jump costs around 20000 steps of the generator plus the calculation of x<sup>J</sup> mod p(x).
+ *
+ * The stream with index k starts at position k 2<sup>64</sup> (in 32 bit integers) of the sequence.
+ * The jump polynomials for the streams are cached, such that {@link #getStream(long)} requires one
+ * jump for each bit set in k.
+ *
+ * @author Christian Fries
+ */
+public class MersenneTwisterJumpable implements SplittableRandomNumberGenerator {
+
+	private static final long serialVersionUID = -5273407627931838203L;
+
+	private static final int	N			= 624;
+	private static final int	M			= 397;
+	private static final int	MATRIX_A	= 0x9908b0df;
+	private static final int	UPPER_MASK	= 0x80000000;
+	private static final int	LOWER_MASK	= 0x7fffffff;
+
+	// Degree of the characteristic polynomial and number of words of a polynomial of degree less than DEGREE+1
+	private static final int	DEGREE					= 19937;
+	private static final int	NUMBER_OF_WORDS			= (DEGREE + 64) / 64;
+
+	// log2 of the distance of the streams (in 32 bit integers)
+	private static final int	STREAM_DISTANCE_LOG2	= 64;
+
+	private static long[]			characteristicPolynomial;
+	private static long[][]			characteristicPolynomialShifted;
+	private static final List<long[]>	streamJumpPolynomials = new ArrayList<>();
+
+	private final long	seed;
+	private final int[]	mt = new int[N];
+	private int			index;
+
+	/**
+	 * Create a Mersenne Twister with the given seed.
+	 *
+	 * @param seed The seed.
+	 */
+	public MersenneTwisterJumpable(long seed) {
+		this.seed = seed;
+
+		// Same initialization as commons-math3 MersenneTwister.setSeed(long)
+		final int[] key = new int[] { (int)(seed >>> 32), (int)(seed & 0xffffffffL) };
+
+		long longMT = 19650218;
+		mt[0] = (int)longMT;
+		for(int i=1; i<N; i++) {
+			longMT = (1812433253L * (longMT ^ (longMT >> 30)) + i) & 0xffffffffL;
+			mt[i] = (int)longMT;
+		}
+
+		int i = 1;
+		int j = 0;
+		for(int k = Math.max(N, key.length); k != 0; k--) {
+			final long l0 = mt[i] & 0xffffffffL;
+			final long l1 = mt[i-1] & 0xffffffffL;
+			final long l = (l0 ^ ((l1 ^ (l1 >> 30)) * 1664525L)) + key[j] + j;
+			mt[i] = (int)(l & 0xffffffffL);
+			i++;
+			j++;
+			if(i >= N) {
+				mt[0] = mt[N-1];
+				i = 1;
+			}
+			if(j >= key.length) {
+				j = 0;
+			}
+		}
+		for(int k = N-1; k != 0; k--) {
+			final long l0 = mt[i] & 0xffffffffL;
+			final long l1 = mt[i-1] & 0xffffffffL;
+			final long l = (l0 ^ ((l1 ^ (l1 >> 30)) * 1566083941L)) - i;
+			mt[i] = (int)(l & 0xffffffffL);
+			i++;
+			if(i >= N) {
+				mt[0] = mt[N-1];
+				i = 1;
+			}
+		}
+		mt[0] = UPPER_MASK;
+
+		index = 0;
+	}
+
+	@Override
+	public double nextDouble() {
+		// Same as commons-math3 BitsStreamGenerator.nextDouble(): 52 bits from two integers
+		final long high = ((long)(nextInt() >>> 6)) << 26;
+		final long low = nextInt() >>> 6;
+		return (high | low) * 0x1.0p-52;
+	}
+
+	/**
+	 * Returns the next 32 bit integer of the sequence.
+	 *
+	 * @return The next 32 bit integer.
+	 */
+	public int nextInt() {
+		final int i = index;
+		nextState();
+		int y = mt[i];
+
+		// Tempering
+		y ^= y >>> 11;
+		y ^= (y << 7) & 0x9d2c5680;
+		y ^= (y << 15) & 0xefc60000;
+		y ^= y >>> 18;
+		return y;
+	}
+
+	/**
+	 * Advances the state by one word. The state is the array mt read cyclically, starting at index
+	 * (this is equivalent to the generation of blocks of 624 words in the reference implementation).
+	 */
+	private void nextState() {
+		final int i = index;
+		final int i1 = i+1 == N ? 0 : i+1;
+		final int iM = i+M >= N ? i+M-N : i+M;
+		final int y = (mt[i] & UPPER_MASK) | (mt[i1] & LOWER_MASK);
+		mt[i] = mt[iM] ^ (y >>> 1) ^ (-(y & 1) & MATRIX_A);
+		index = i1;
+	}
+
+	@Override
+	public MersenneTwisterJumpable getStream(long streamIndex) {
+		if(streamIndex < 0) {
+			throw new IllegalArgumentException("Stream index must not be negative.");
+		}
+
+		final MersenneTwisterJumpable stream = new MersenneTwisterJumpable(seed);
+		for(int bit=0; bit < Long.SIZE-1; bit++) {
+			if(((streamIndex >>> bit) & 1) != 0) {
+				stream.applyPolynomial(getStreamJumpPolynomial(bit));
+			}
+		}
+		return stream;
+	}
+
+	@Override
+	public void jump(long numberOfRandomNumbers) {
+		if(numberOfRandomNumbers < 0) {
+			throw new IllegalArgumentException("Number of random numbers must not be negative.");
+		}
+		if(numberOfRandomNumbers == 0) {
+			return;
+		}
+
+		// Each double consumes two integers: x^(2n) = (x^n)^2
+		applyPolynomial(squareModCharacteristicPolynomial(getPowerOfX(numberOfRandomNumbers)));
+	}
+
+	/**
+	 * Returns the seed of the generator.
+	 *
+	 * @return The seed.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	@Override
+	public String toString() {
+		return "MersenneTwisterJumpable [seed=" + seed + "]";
+	}
+
+	/**
+	 * Replaces the state s by q(T) s, where T is the transition of the state (Horner scheme).
+	 *
+	 * @param polynomial The polynomial q of degree less than the degree of the characteristic polynomial.
+	 */
+	private void applyPolynomial(long[] polynomial) {
+		final int[] sum = new int[N];
+		for(int k=0; k<DEGREE; k++) {
+			if(((polynomial[k >>> 6] >>> (k & 63)) & 1) != 0) {
+				// Add the state in the order of the sequence (starting at index)
+				for(int j=0; j<N-index; j++) {
+					sum[j] ^= mt[index+j];
+				}
+				for(int j=N-index; j<N; j++) {
+					sum[j] ^= mt[index+j-N];
+				}
+			}
+			nextState();
+		}
+		System.arraycopy(sum, 0, mt, 0, N);
+		index = 0;
+	}
+
+	/*
+	 * Polynomials over GF(2) are represented as long[], where bit i is the coefficient of x^i.
+	 */
+
+	/**
+	 * Returns the polynomial x<sup>(2<sup>(64+bit)</sup>)</sup> mod p(x), which advances the generator by 2<sup>64+bit</sup> integers.
+	 *
+	 * @param bit The bit of the stream index.
+	 * @return The jump polynomial.
+	 */
+	private static synchronized long[] getStreamJumpPolynomial(int bit) {
+		if(streamJumpPolynomials.isEmpty()) {
+			long[] polynomial = new long[NUMBER_OF_WORDS];
+			polynomial[0] = 2L;
+			for(int i=0; i<STREAM_DISTANCE_LOG2; i++) {
+				polynomial = squareModCharacteristicPolynomial(polynomial);
+			}
+			streamJumpPolynomials.add(polynomial);
+		}
+		while(streamJumpPolynomials.size() <= bit) {
+			streamJumpPolynomials.add(squareModCharacteristicPolynomial(streamJumpPolynomials.get(streamJumpPolynomials.size()-1)));
+		}
+		return streamJumpPolynomials.get(bit);
+	}
+
+	/**
+	 * Returns x<sup>n</sup> mod p(x).
+	 *
+	 * @param n The exponent (non-negative).
+	 * @return The polynomial x<sup>n</sup> mod p(x).
+	 */
+	private static long[] getPowerOfX(long n) {
+		long[] polynomial = new long[NUMBER_OF_WORDS];
+		polynomial[0] = 1L;
+		for(int bit = Long.SIZE-1-Long.numberOfLeadingZeros(n); bit >= 0; bit--) {
+			polynomial = squareModCharacteristicPolynomial(polynomial);
+			if(((n >>> bit) & 1) != 0) {
+				polynomial = multiplyByXModCharacteristicPolynomial(polynomial);
+			}
+		}
+		return polynomial;
+	}
+
+	private static long[] multiplyByXModCharacteristicPolynomial(long[] polynomial) {
+		final long[] p = getCharacteristicPolynomial();
+		final long[] product = new long[NUMBER_OF_WORDS];
+		long carry = 0;
+		for(int i=0; i<NUMBER_OF_WORDS; i++) {
+			product[i] = (polynomial[i] << 1) | carry;
+			carry = polynomial[i] >>> 63;
+		}
+		if(((product[DEGREE >>> 6] >>> (DEGREE & 63)) & 1) != 0) {
+			for(int i=0; i<NUMBER_OF_WORDS; i++) {
+				product[i] ^= p[i];
+			}
+		}
+		return product;
+	}
+
+	private static long[] squareModCharacteristicPolynomial(long[] polynomial) {
+		getCharacteristicPolynomial();
+
+		// Squaring over GF(2) spreads the bits: (sum a_i x^i)^2 = sum a_i x^(2i)
+		final long[] square = new long[2 * NUMBER_OF_WORDS];
+		for(int i=0; i<NUMBER_OF_WORDS; i++) {
+			square[2*i]		= spreadBits((int)polynomial[i]);
+			square[2*i+1]	= spreadBits((int)(polynomial[i] >>> 32));
+		}
+
+		// Reduce modulo p(x) (from the highest coefficient downwards)
+		for(int bit = 2 * NUMBER_OF_WORDS * 64 - 1; bit >= DEGREE; bit--) {
+			if(((square[bit >>> 6] >>> (bit & 63)) & 1) != 0) {
+				final int shift = bit - DEGREE;
+				final long[] shiftedPolynomial = characteristicPolynomialShifted[shift & 63];
+				final int wordOffset = shift >>> 6;
+				final int numberOfWords = Math.min(shiftedPolynomial.length, square.length - wordOffset);
+				for(int i=0; i<numberOfWords; i++) {
+					square[wordOffset + i] ^= shiftedPolynomial[i];
+				}
+			}
+		}
+
+		final long[] result = new long[NUMBER_OF_WORDS];
+		System.arraycopy(square, 0, result, 0, NUMBER_OF_WORDS);
+		return result;
+	}
+
+	private static long spreadBits(int bits) {
+		long value = bits & 0xffffffffL;
+		value = (value | (value << 16)) & 0x0000ffff0000ffffL;
+		value = (value | (value << 8)) & 0x00ff00ff00ff00ffL;
+		value = (value | (value << 4)) & 0x0f0f0f0f0f0f0f0fL;
+		value = (value | (value << 2)) & 0x3333333333333333L;
+		value = (value | (value << 1)) & 0x5555555555555555L;
+		return value;
+	}
+
+	/**
+	 * Returns the characteristic polynomial p of the transition of the state, calculated (once) by the Berlekamp-Massey
+	 * algorithm from the lowest bits of 2 &times; 19937 consecutive outputs.
+	 *
+	 * @return The characteristic polynomial.
+	 */
+	private static synchronized long[] getCharacteristicPolynomial() {
+		if(characteristicPolynomial != null) {
+			return characteristicPolynomial;
+		}
+
+		final int lengthOfSequence = 2 * DEGREE;
+		final int numberOfWords = lengthOfSequence / 64 + 2;
+
+		// The output bits in reversed order: reversedSequence[j] = s[lengthOfSequence-1-j]
+		final long[] reversedSequence = new long[numberOfWords];
+		final MersenneTwisterJumpable mersenneTwister = new MersenneTwisterJumpable(5489);
+		for(int n=0; n<lengthOfSequence; n++) {
+			if((mersenneTwister.nextInt() & 1) != 0) {
+				final int j = lengthOfSequence-1-n;
+				reversedSequence[j >>> 6] |= 1L << (j & 63);
+			}
+		}
+
+		// Berlekamp-Massey: connection polynomial c with s[n] = sum_{i=1..l} c_i s[n-i]
+		long[] c = new long[numberOfWords];
+		long[] b = new long[numberOfWords];
+		c[0] = 1L;
+		b[0] = 1L;
+		int l = 0;
+		int m = 1;
+		for(int n=0; n<lengthOfSequence; n++) {
+			// Discrepancy d = sum_{i=0..l} c_i s[n-i] = sum_i c_i reversedSequence[offset+i]
+			final int offset = lengthOfSequence-1-n;
+			long parity = 0;
+			for(int w=0; w <= (l >>> 6); w++) {
+				parity ^= c[w] & getWord(reversedSequence, offset + 64*w);
+			}
+			if(Long.bitCount(parity) % 2 == 0) {
+				m++;
+			}
+			else if(2*l <= n) {
+				final long[] previous = c.clone();
+				xorShifted(c, b, m);
+				l = n+1-l;
+				b = previous;
+				m = 1;
+			}
+			else {
+				xorShifted(c, b, m);
+				m++;
+			}
+		}
+
+		if(l != DEGREE) {
+			throw new IllegalStateException("Failed to calculate the characteristic polynomial (degree " + l + ").");
+		}
+
+		// The characteristic polynomial is the reciprocal of the connection polynomial: p_k = c_(l-k)
+		final long[] p = new long[NUMBER_OF_WORDS];
+		for(int k=0; k<=l; k++) {
+			final int i = l-k;
+			if(((c[i >>> 6] >>> (i & 63)) & 1) != 0) {
+				p[k >>> 6] |= 1L << (k & 63);
+			}
+		}
+
+		// The polynomial shifted by 0,...,63 bits (used in the reduction)
+		final long[][] pShifted = new long[64][NUMBER_OF_WORDS+1];
+		for(int shift=0; shift<64; shift++) {
+			for(int i=0; i<NUMBER_OF_WORDS; i++) {
+				pShifted[shift][i] ^= p[i] << shift;
+				if(shift > 0) {
+					pShifted[shift][i+1] ^= p[i] >>> (64-shift);
+				}
+			}
+		}
+
+		characteristicPolynomialShifted = pShifted;
+		characteristicPolynomial = p;
+		return characteristicPolynomial;
+	}
+
+	/**
+	 * Returns the 64 bits of the bit array starting at a given position (bits beyond the array are zero).
+	 */
+	private static long getWord(long[] bits, int position) {
+		final int word = position >>> 6;
+		final int shift = position & 63;
+		if(word >= bits.length) {
+			return 0L;
+		}
+		long value = bits[word] >>> shift;
+		if(shift != 0 && word+1 < bits.length) {
+			value |= bits[word+1] << (64-shift);
+		}
+		return value;
+	}
+
+	/**
+	 * Calculates a = a + x<sup>shift</sup> b (the degree of the result is assumed to fit into a).
+	 */
+	private static void xorShifted(long[] a, long[] b, int shift) {
+		final int wordOffset = shift >>> 6;
+		final int bitShift = shift & 63;
+		for(int i=0; i + wordOffset < a.length; i++) {
+			a[i + wordOffset] ^= b[i] << bitShift;
+			if(bitShift != 0 && i + wordOffset + 1 < a.length) {
+				a[i + wordOffset + 1] ^= b[i] >>> (64-bitShift);
+			}
+		}
+	}
+}
@@ -0,0 +1,157 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+/**
+ * Counter based random number generator Philox4x32-10 (Salmon, Moraes, Dror, Shaw, 2011).
+ *
+ * The generator is a bijection (10 rounds of multiplications and XORs with a key derived from the seed)
+ * applied to a 128 bit counter. Each counter gives four 32 bit integers, i.e., two doubles.
+ * The upper 64 bits of the counter are the stream index, the lower 64 bits count the blocks within the stream.
+ * Hence {@link #getStream(long)} and {@link #jump(long)} are O(1) and the generator has no state
+ * besides the counter.
+ *
+ * The doubles are generated from 53 bits (as in java.util.Random), i.e., they are multiples of 2<sup>-53</sup> in [0,1).
+ *
+ * @author Christian Fries
+ */
+public class PhiloxRandomNumberGenerator implements SplittableRandomNumberGenerator {
+
+	private static final long serialVersionUID = 4302786528815066262L;
+
+	private static final long	MULTIPLIER_0	= 0xD2511F53L;
+	private static final long	MULTIPLIER_1	= 0xCD9E8D57L;
+	private static final int	WEYL_0			= 0x9E3779B9;
+	private static final int	WEYL_1			= 0xBB67AE85;
+	private static final int	NUMBER_OF_ROUNDS	= 10;
+
+	private final long	seed;
+	private final long	streamIndex;
+
+	// The index of the next block (lower 64 bits of the counter), the output of the current block and the position in the block
+	private long		blockIndex;
+	private final int[]	block = new int[4];
+	private int			positionInBlock;
+
+	/**
+	 * Create a Philox generator for a given seed and stream.
+	 *
+	 * @param seed The seed (the key of the generator).
+	 * @param streamIndex The index of the stream (the upper 64 bits of the counter).
+	 */
+	public PhiloxRandomNumberGenerator(long seed, long streamIndex) {
+		this.seed = seed;
+		this.streamIndex = streamIndex;
+		blockIndex = 0;
+		positionInBlock = block.length;
+	}
+
+	/**
+	 * Create a Philox generator for a given seed (stream 0).
+	 *
+	 * @param seed The seed (the key of the generator).
+	 */
+	public PhiloxRandomNumberGenerator(long seed) {
+		this(seed, 0);
+	}
+
+	@Override
+	public double nextDouble() {
+		final long high = nextInt() >>> 6;
+		final long low = nextInt() >>> 5;
+		return ((high << 27) + low) * 0x1.0p-53;
+	}
+
+	/**
+	 * Returns the next 32 bit integer of the stream.
+	 *
+	 * @return The next 32 bit integer.
+	 */
+	public int nextInt() {
+		if(positionInBlock == block.length) {
+			generateBlock(blockIndex++, streamIndex, seed, block);
+			positionInBlock = 0;
+		}
+		return block[positionInBlock++];
+	}
+
+	@Override
+	public PhiloxRandomNumberGenerator getStream(long streamIndex) {
+		if(streamIndex < 0) {
+			throw new IllegalArgumentException("Stream index must not be negative.");
+		}
+		return new PhiloxRandomNumberGenerator(seed, streamIndex);
+	}
+
+	@Override
+	public void jump(long numberOfRandomNumbers) {
+		if(numberOfRandomNumbers < 0) {
+			throw new IllegalArgumentException("Number of random numbers must not be negative.");
+		}
+
+		// Each double consumes two integers; the position is (blockIndex-1) * 4 + positionInBlock (if a block was generated)
+		final long position = (positionInBlock == block.length ? blockIndex * block.length : (blockIndex-1) * block.length + positionInBlock) + 2 * numberOfRandomNumbers;
+		blockIndex = position / block.length;
+		positionInBlock = block.length;
+		final int remainder = (int)(position % block.length);
+		if(remainder != 0) {
+			generateBlock(blockIndex++, streamIndex, seed, block);
+			positionInBlock = remainder;
+		}
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public long getStreamIndex() {
+		return streamIndex;
+	}
+
+	@Override
+	public String toString() {
+		return "PhiloxRandomNumberGenerator [seed=" + seed + ", streamIndex=" + streamIndex + "]";
+	}
+
+	/**
+	 * Calculates the output of Philox4x32-10 for the counter (counterLow, counterHigh) and the key.
+	 *
+	 * @param counterLow The lower 64 bits of the counter (words 0 and 1).
+	 * @param counterHigh The upper 64 bits of the counter (words 2 and 3).
+	 * @param key The key (words 0 and 1).
+	 * @param output Array receiving the four 32 bit integers.
+	 */
+	static void generateBlock(long counterLow, long counterHigh, long key, int[] output) {
+		int c0 = (int)counterLow;
+		int c1 = (int)(counterLow >>> 32);
+		int c2 = (int)counterHigh;
+		int c3 = (int)(counterHigh >>> 32);
+		int k0 = (int)key;
+		int k1 = (int)(key >>> 32);
+
+		for(int round=0; round<NUMBER_OF_ROUNDS; round++) {
+			final long product0 = MULTIPLIER_0 * (c0 & 0xffffffffL);
+			final long product1 = MULTIPLIER_1 * (c2 & 0xffffffffL);
+			final int newC0 = (int)(product1 >>> 32) ^ c1 ^ k0;
+			final int newC1 = (int)product1;
+			final int newC2 = (int)(product0 >>> 32) ^ c3 ^ k1;
+			final int newC3 = (int)product0;
+			c0 = newC0;
+			c1 = newC1;
+			c2 = newC2;
+			c3 = newC3;
+
+			// Bump the key
+			k0 += WEYL_0;
+			k1 += WEYL_1;
+		}
+
+		output[0] = c0;
+		output[1] = c1;
+		output[2] = c2;
+		output[3] = c3;
+	}
+}
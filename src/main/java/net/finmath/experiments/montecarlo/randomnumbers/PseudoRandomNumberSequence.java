@@ -14,7 +14,7 @@ import net.finmath.randomnumbers.MersenneTwister;
  */
 public class PseudoRandomNumberSequence {
 
-	enum RandomNumberGeneratorType {
+	public enum RandomNumberGeneratorType {
 		LCG_JAVA,
 		MERSENNE_TWISTER
 	}
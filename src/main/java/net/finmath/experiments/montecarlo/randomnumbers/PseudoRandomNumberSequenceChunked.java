@@ -0,0 +1,433 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import net.finmath.experiments.montecarlo.randomnumbers.PseudoRandomNumberSequence.RandomNumberGeneratorType;
+import net.finmath.randomnumbers.MersenneTwister;
+
+/**
+ * A random number sequence with random access, which (in contrast to {@link PseudoRandomNumberSequence})
+ * does not store the whole sequence in memory.
+ *
+ * The sequence is divided into chunks of a fixed size. A chunk is generated on first access and kept in a cache
+ * of recently used chunks (least recently used chunks are evicted). The length of the sequence is a long,
+ * i.e., it may exceed 2<sup>31</sup>.
+ *
+ * To generate an arbitrary chunk, the generator has to be positioned at the start of the chunk:
+ * <ul>
+ * <li>For {@link RandomNumberGeneratorType#LCG_JAVA} the state of the linear congruential generator is
+ * calculated directly (jump ahead in O(log(n)) operations).</li>
+ * <li>For {@link RandomNumberGeneratorType#MERSENNE_TWISTER} the state of the generator is stored at the start of each
+ * chunk generated so far (checkpoint), such that an evicted chunk can be re-generated from its checkpoint.</li>
+ * </ul>
+ *
+ * Alternatively, the sequence may be backed by a file. The file is generated once (if it does not exist) and
+ * the chunks are memory mapped on access, such that the sequence can be shared across processes and runs.
+ * The file contains a header with the type, the seed and the length of the sequence, followed by the numbers
+ * (little endian).
+ *
+ * The numbers are identical to those of {@link PseudoRandomNumberSequence} for the same type and seed.
+ * An instance is thread safe.
+ *
+ * @author Christian Fries
+ */
+public class PseudoRandomNumberSequenceChunked {
+
+	private static final int	DEFAULT_CHUNK_SIZE					= 1 << 20;
+	private static final int	DEFAULT_MAX_NUMBER_OF_CACHED_CHUNKS	= 8;
+
+	// Linear congruential generator of java.util.Random: x -> (a x + c) mod 2^48
+	private static final long	LCG_MULTIPLIER	= 0x5DEECE66DL;
+	private static final long	LCG_ADDEND		= 0xBL;
+	private static final long	LCG_MASK		= (1L << 48) - 1;
+
+	// File format: magic number, type, seed, length, followed by the numbers
+	private static final long	FILE_MAGIC_NUMBER	= 0x464D52414E445351L;
+	private static final int	FILE_HEADER_SIZE	= 4 * Long.BYTES;
+
+	private final RandomNumberGeneratorType	type;
+	private final long						seed;
+	private final long						length;
+	private final int						chunkSize;
+	private final Path						file;
+
+	private final Map<Long, DoubleBuffer>	chunks;
+
+	// State of the Mersenne Twister at the start of the chunks (serialized)
+	private final List<byte[]>				checkpoints = new ArrayList<>();
+
+	// The last chunk accessed (for fast sequential access without synchronization)
+	private volatile Chunk lastChunk;
+
+	private static class Chunk {
+		private final long			chunkIndex;
+		private final DoubleBuffer	numbers;
+
+		Chunk(long chunkIndex, DoubleBuffer numbers) {
+			this.chunkIndex = chunkIndex;
+			this.numbers = numbers;
+		}
+	}
+
+	/**
+	 * Create a random number sequence using a specified generator, seed and length.
+	 * The sequence is generated lazily in chunks, and at most a given number of chunks is kept in memory.
+	 *
+	 * @param type Random number generator to use.
+	 * @param seed Seed of the generator.
+	 * @param length Length of the sequence.
+	 * @param chunkSize Number of random numbers per chunk.
+	 * @param maxNumberOfCachedChunks Maximum number of chunks kept in memory.
+	 */
+	public PseudoRandomNumberSequenceChunked(RandomNumberGeneratorType type, long seed, long length, int chunkSize, int maxNumberOfCachedChunks) {
+		this(null, type, seed, length, chunkSize, maxNumberOfCachedChunks);
+	}
+
+	/**
+	 * Create a random number sequence using a specified generator, seed and length.
+	 * The sequence is generated lazily in chunks of 2<sup>20</sup> numbers, and at most 8 chunks are kept in memory.
+	 *
+	 * @param type Random number generator to use.
+	 * @param seed Seed of the generator.
+	 * @param length Length of the sequence.
+	 */
+	public PseudoRandomNumberSequenceChunked(RandomNumberGeneratorType type, long seed, long length) {
+		this(type, seed, length, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_NUMBER_OF_CACHED_CHUNKS);
+	}
+
+	/**
+	 * Create a random number sequence using a specified generator, seed and length, backed by a file.
+	 * If the file does not exist, the sequence is generated and written to the file.
+	 * The chunks are memory mapped on access, and at most a given number of chunks is mapped at a time.
+	 *
+	 * @param type Random number generator to use.
+	 * @param seed Seed of the generator.
+	 * @param length Length of the sequence.
+	 * @param chunkSize Number of random numbers per chunk.
+	 * @param maxNumberOfCachedChunks Maximum number of chunks mapped at a time.
+	 * @param file The file storing the sequence. If null, the sequence is generated in memory.
+	 * @throws IOException Thrown if the file could not be generated or read.
+	 */
+	public PseudoRandomNumberSequenceChunked(RandomNumberGeneratorType type, long seed, long length, int chunkSize, int maxNumberOfCachedChunks, Path file) throws IOException {
+		this(file, type, seed, length, chunkSize, maxNumberOfCachedChunks);
+
+		if(file != null) {
+			if(Files.exists(file)) {
+				checkFileHeader();
+			}
+			else {
+				writeFile();
+			}
+		}
+	}
+
+	/**
+	 * Create a random number sequence using a specified generator, seed and length, backed by a file.
+	 * If the file does not exist, the sequence is generated and written to the file.
+	 *
+	 * @param type Random number generator to use.
+	 * @param seed Seed of the generator.
+	 * @param length Length of the sequence.
+	 * @param file The file storing the sequence.
+	 * @throws IOException Thrown if the file could not be generated or read.
+	 */
+	public PseudoRandomNumberSequenceChunked(RandomNumberGeneratorType type, long seed, long length, Path file) throws IOException {
+		this(type, seed, length, DEFAULT_CHUNK_SIZE, DEFAULT_MAX_NUMBER_OF_CACHED_CHUNKS, file);
+	}
+
+	private PseudoRandomNumberSequenceChunked(Path file, RandomNumberGeneratorType type, long seed, long length, int chunkSize, int maxNumberOfCachedChunks) {
+		super();
+		if(length < 0) {
+			throw new IllegalArgumentException("Length must not be negative.");
+		}
+		if(chunkSize < 1 || maxNumberOfCachedChunks < 1) {
+			throw new IllegalArgumentException("Chunk size and maximum number of cached chunks must be positive.");
+		}
+		this.type = type;
+		this.seed = seed;
+		this.length = length;
+		this.chunkSize = chunkSize;
+		this.file = file;
+
+		// Least recently used chunks are evicted
+		chunks = new LinkedHashMap<Long, DoubleBuffer>(16, 0.75f, true /* access order */) {
+			private static final long serialVersionUID = -1457327012431209426L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<Long, DoubleBuffer> eldest) {
+				return size() > maxNumberOfCachedChunks;
+			}
+		};
+	}
+
+	/**
+	 * Returns the random number with a given index.
+	 *
+	 * @param index The index of the random number (starting at 0).
+	 * @return The random number.
+	 */
+	public double getRandomNumber(long index) {
+		if(index < 0 || index >= length) {
+			throw new IndexOutOfBoundsException("Index " + index + " out of range [0, " + length + ").");
+		}
+
+		final long chunkIndex = index / chunkSize;
+		Chunk chunk = lastChunk;
+		if(chunk == null || chunk.chunkIndex != chunkIndex) {
+			chunk = new Chunk(chunkIndex, getChunk(chunkIndex));
+			lastChunk = chunk;
+		}
+		return chunk.numbers.get((int)(index - chunkIndex * chunkSize));
+	}
+
+	/**
+	 * Copies a range of the sequence into a given array.
+	 *
+	 * @param index The index of the first random number (starting at 0).
+	 * @param randomNumbers The array receiving the random numbers.
+	 * @param offset The position in the array where the first random number is stored.
+	 * @param numberOfRandomNumbers The number of random numbers to copy.
+	 */
+	public void getRandomNumbers(long index, double[] randomNumbers, int offset, int numberOfRandomNumbers) {
+		if(index < 0 || numberOfRandomNumbers < 0 || index > length - numberOfRandomNumbers) {
+			throw new IndexOutOfBoundsException("Range [" + index + ", " + index + "+" + numberOfRandomNumbers + ") out of range [0, " + length + ").");
+		}
+
+		while(numberOfRandomNumbers > 0) {
+			final long chunkIndex = index / chunkSize;
+			final int indexInChunk = (int)(index - chunkIndex * chunkSize);
+			final int numberOfRandomNumbersFromChunk = Math.min(numberOfRandomNumbers, chunkSize - indexInChunk);
+
+			getChunk(chunkIndex).duplicate().position(indexInChunk).get(randomNumbers, offset, numberOfRandomNumbersFromChunk);
+
+			index += numberOfRandomNumbersFromChunk;
+			offset += numberOfRandomNumbersFromChunk;
+			numberOfRandomNumbers -= numberOfRandomNumbersFromChunk;
+		}
+	}
+
+	public RandomNumberGeneratorType getType() {
+		return type;
+	}
+
+	public long getSeed() {
+		return seed;
+	}
+
+	public long getLength() {
+		return length;
+	}
+
+	/**
+	 * Returns the chunk with a given index from the cache or generates (or maps) it.
+	 *
+	 * @param chunkIndex The index of the chunk.
+	 * @return The random numbers of the chunk.
+	 */
+	private synchronized DoubleBuffer getChunk(long chunkIndex) {
+		DoubleBuffer chunk = chunks.get(chunkIndex);
+		if(chunk == null) {
+			chunk = file != null ? mapChunk(chunkIndex) : generateChunk(chunkIndex);
+			chunks.put(chunkIndex, chunk);
+		}
+		return chunk;
+	}
+
+	private int getNumberOfRandomNumbersInChunk(long chunkIndex) {
+		return (int)Math.min(chunkSize, length - chunkIndex * chunkSize);
+	}
+
+	private DoubleBuffer generateChunk(long chunkIndex) {
+		final double[] randomNumbers = new double[getNumberOfRandomNumbersInChunk(chunkIndex)];
+
+		switch(type) {
+		case LCG_JAVA:
+			// Each double consumes two steps of the linear congruential generator
+			final Random lcgJava = getLinearCongruentialGenerator(2 * chunkIndex * chunkSize);
+			for(int numberIndex=0; numberIndex < randomNumbers.length; numberIndex++) {
+				randomNumbers[numberIndex] = lcgJava.nextDouble();
+			}
+			break;
+		case MERSENNE_TWISTER:
+		default:
+			final MersenneTwister mersenneTwister = getMersenneTwisterAtCheckpoint(chunkIndex);
+			for(int numberIndex=0; numberIndex < randomNumbers.length; numberIndex++) {
+				randomNumbers[numberIndex] = mersenneTwister.nextDouble();
+			}
+			break;
+		}
+
+		return DoubleBuffer.wrap(randomNumbers);
+	}
+
+	/**
+	 * Returns the generator java.util.Random with the given seed, advanced by a given number of steps.
+	 *
+	 * @param numberOfSteps The number of steps of the linear congruential generator.
+	 * @return The generator.
+	 */
+	private Random getLinearCongruentialGenerator(long numberOfSteps) {
+		// Compose the affine map x -> a x + c with itself (binary exponentiation)
+		long multiplier = LCG_MULTIPLIER;
+		long addend = LCG_ADDEND;
+		long multiplierOfJump = 1;
+		long addendOfJump = 0;
+		for(long steps = numberOfSteps; steps > 0; steps >>>= 1) {
+			if((steps & 1) != 0) {
+				multiplierOfJump = (multiplierOfJump * multiplier) & LCG_MASK;
+				addendOfJump = (addendOfJump * multiplier + addend) & LCG_MASK;
+			}
+			addend = ((multiplier + 1) * addend) & LCG_MASK;
+			multiplier = (multiplier * multiplier) & LCG_MASK;
+		}
+
+		final long initialState = (seed ^ LCG_MULTIPLIER) & LCG_MASK;
+		final long state = (multiplierOfJump * initialState + addendOfJump) & LCG_MASK;
+
+		// The constructor of java.util.Random scrambles the seed with the multiplier
+		return new Random(state ^ LCG_MULTIPLIER);
+	}
+
+	/**
+	 * Returns a Mersenne Twister positioned at the start of the given chunk. Missing checkpoints are generated.
+	 *
+	 * @param chunkIndex The index of the chunk.
+	 * @return The generator.
+	 */
+	private MersenneTwister getMersenneTwisterAtCheckpoint(long chunkIndex) {
+		if(checkpoints.isEmpty()) {
+			checkpoints.add(serialize(new MersenneTwister(seed)));
+		}
+
+		while(checkpoints.size() <= chunkIndex) {
+			final MersenneTwister mersenneTwister = deserialize(checkpoints.get(checkpoints.size()-1));
+			for(int numberIndex=0; numberIndex < chunkSize; numberIndex++) {
+				mersenneTwister.nextDouble();
+			}
+			checkpoints.add(serialize(mersenneTwister));
+		}
+
+		return deserialize(checkpoints.get((int)chunkIndex));
+	}
+
+	private static byte[] serialize(MersenneTwister mersenneTwister) {
+		final ByteArrayOutputStream byteArrayOutputStream = new ByteArrayOutputStream();
+		try(ObjectOutputStream objectOutputStream = new ObjectOutputStream(byteArrayOutputStream)) {
+			objectOutputStream.writeObject(mersenneTwister);
+		}
+		catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return byteArrayOutputStream.toByteArray();
+	}
+
+	private static MersenneTwister deserialize(byte[] state) {
+		try(ObjectInputStream objectInputStream = new ObjectInputStream(new ByteArrayInputStream(state))) {
+			return (MersenneTwister)objectInputStream.readObject();
+		}
+		catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		catch(final ClassNotFoundException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private DoubleBuffer mapChunk(long chunkIndex) {
+		final long position = FILE_HEADER_SIZE + chunkIndex * chunkSize * Double.BYTES;
+		final long size = (long)getNumberOfRandomNumbersInChunk(chunkIndex) * Double.BYTES;
+
+		// The mapping stays valid after the channel is closed
+		try(FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+			return fileChannel.map(FileChannel.MapMode.READ_ONLY, position, size).order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+		}
+		catch(final IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	private void checkFileHeader() throws IOException {
+		final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+		try(FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.READ)) {
+			int numberOfBytesRead;
+			do {
+				numberOfBytesRead = fileChannel.read(header);
+			} while(header.hasRemaining() && numberOfBytesRead >= 0);
+			if(header.hasRemaining() || header.getLong(0) != FILE_MAGIC_NUMBER) {
+				throw new IOException("File " + file + " is not a random number sequence.");
+			}
+			if(header.getLong(Long.BYTES) != type.ordinal() || header.getLong(2 * Long.BYTES) != seed || header.getLong(3 * Long.BYTES) < length) {
+				throw new IOException("File " + file + " contains a different random number sequence (type " + header.getLong(Long.BYTES)
+				+ ", seed " + header.getLong(2 * Long.BYTES) + ", length " + header.getLong(3 * Long.BYTES) + ").");
+			}
+			if(fileChannel.size() < FILE_HEADER_SIZE + length * Double.BYTES) {
+				throw new IOException("File " + file + " is truncated.");
+			}
+		}
+	}
+
+	/**
+	 * Generates the sequence (sequentially) and writes it to a temporary file, which is then renamed (atomically),
+	 * such that other processes never see a partially written file.
+	 *
+	 * @throws IOException Thrown if the file could not be written.
+	 */
+	private void writeFile() throws IOException {
+		final Path absoluteFile = file.toAbsolutePath();
+		final Path temporaryFile = Files.createTempFile(absoluteFile.getParent(), absoluteFile.getFileName().toString(), ".tmp");
+		try {
+			try(FileChannel fileChannel = FileChannel.open(temporaryFile, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+				final ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+				header.putLong(FILE_MAGIC_NUMBER).putLong(type.ordinal()).putLong(seed).putLong(length).flip();
+				writeFully(fileChannel, header);
+
+				final ByteBuffer buffer = ByteBuffer.allocateDirect(Math.min(chunkSize, 1 << 16) * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+				final Random lcgJava = type == RandomNumberGeneratorType.LCG_JAVA ? new Random(seed) : null;
+				final MersenneTwister mersenneTwister = type != RandomNumberGeneratorType.LCG_JAVA ? new MersenneTwister(seed) : null;
+				for(long numberIndex=0; numberIndex < length; numberIndex++) {
+					buffer.putDouble(lcgJava != null ? lcgJava.nextDouble() : mersenneTwister.nextDouble());
+					if(!buffer.hasRemaining()) {
+						buffer.flip();
+						writeFully(fileChannel, buffer);
+						buffer.clear();
+					}
+				}
+				buffer.flip();
+				writeFully(fileChannel, buffer);
+			}
+			Files.move(temporaryFile, file, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+		}
+		finally {
+			Files.deleteIfExists(temporaryFile);
+		}
+	}
+
+	private static void writeFully(FileChannel fileChannel, ByteBuffer buffer) throws IOException {
+		while(buffer.hasRemaining()) {
+			fileChannel.write(buffer);
+		}
+	}
+}
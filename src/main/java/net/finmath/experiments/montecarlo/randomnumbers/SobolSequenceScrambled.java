@@ -0,0 +1,322 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+
+import net.finmath.randomnumbers.RandomNumberGenerator;
+
+/**
+ * This class represents a (randomized) Sobol sequence (a low discrepancy sequence in base 2).
+ *
+ * The points are generated in Gray code order, i.e., the point with index n+1 is obtained from
+ * the point with index n by a single XOR with a direction number (O(d) per d-dimensional point).
+ * The generator can be positioned at an arbitrary index via {@link #setIndex(long)}.
+ *
+ * The direction numbers are read from a file in the format of Joe and Kuo
+ * (see <a href="https://web.maths.unsw.edu.au/~fkuo/sobol/">https://web.maths.unsw.edu.au/~fkuo/sobol/</a>).
+ * By default the file new-joe-kuo-6.1000 (up to 1000 dimensions) bundled with commons-math3 is used.
+ * For higher dimensions, a different file (e.g., new-joe-kuo-6.21201) may be provided.
+ *
+ * The sequence may be randomized (scrambled) such that independent replications allow to estimate
+ * the Monte-Carlo error (randomized quasi Monte-Carlo):
+ * <ul>
+ * <li>{@link Scrambling#DIGITAL_SHIFT}: each component is XORed with a random 32 bit integer.</li>
+ * <li>{@link Scrambling#OWEN}: a nested uniform (Owen) scrambling, realized by a hash based permutation of the
+ * reversed bits (Laine-Karras permutation, as proposed by Burley, 2020).</li>
+ * </ul>
+ * The randomization depends only on the seed, i.e., different seeds give independent replications.
+ *
+ * The numbers have a resolution of 32 bits and are mapped to the midpoints (x + 0.5) 2<sup>-32</sup>,
+ * such that they lie in the open interval (0,1) (which allows to apply an inverse distribution function).
+ *
+ * @author Christian Fries
+ */
+public class SobolSequenceScrambled implements RandomNumberGenerator {
+
+	private static final long serialVersionUID = 3364843212364468373L;
+
+	/**
+	 * The randomization applied to the Sobol sequence.
+	 */
+	public enum Scrambling {
+		/** No randomization. **/
+		NONE,
+		/** Random digital shift (XOR with a random integer). **/
+		DIGITAL_SHIFT,
+		/** Nested uniform (Owen) scrambling (hash based). **/
+		OWEN
+	}
+
+	private static final int	BITS	= 32;
+	private static final double	SCALE	= 1.0 / (1L << BITS);
+
+	private static final String RESOURCE_NAME = "/assets/org/apache/commons/math3/random/new-joe-kuo-6.1000";
+
+	private final int			dimension;
+	private final Scrambling	scrambling;
+	private final long			seed;
+
+	// The direction numbers, the current (unscrambled) point and the per dimension scrambling parameters
+	private final int[][]	direction;
+	private final int[]		x;
+	private final int[]		scramblingSeed;
+
+	private long index;
+
+	/**
+	 * Create a Sobol sequence with the direction numbers read from a given stream (format of Joe and Kuo).
+	 *
+	 * @param dimension The dimension d of the sequence.
+	 * @param scrambling The randomization applied to the sequence.
+	 * @param seed The seed of the randomization.
+	 * @param directionNumbers Stream of the direction numbers (format of Joe and Kuo).
+	 * @throws IOException Thrown if the direction numbers could not be read.
+	 */
+	public SobolSequenceScrambled(int dimension, Scrambling scrambling, long seed, InputStream directionNumbers) throws IOException {
+		this(dimension, scrambling, seed, readDirectionNumbers(directionNumbers, dimension));
+	}
+
+	/**
+	 * Create a Sobol sequence using the direction numbers for up to 1000 dimensions (bundled with commons-math3).
+	 *
+	 * @param dimension The dimension d of the sequence (at most 1000).
+	 * @param scrambling The randomization applied to the sequence.
+	 * @param seed The seed of the randomization.
+	 */
+	public SobolSequenceScrambled(int dimension, Scrambling scrambling, long seed) {
+		this(dimension, scrambling, seed, readDefaultDirectionNumbers(dimension));
+	}
+
+	/**
+	 * Create an (unscrambled) Sobol sequence using the direction numbers for up to 1000 dimensions (bundled with commons-math3).
+	 *
+	 * @param dimension The dimension d of the sequence (at most 1000).
+	 */
+	public SobolSequenceScrambled(int dimension) {
+		this(dimension, Scrambling.NONE, 0);
+	}
+
+	private SobolSequenceScrambled(int dimension, Scrambling scrambling, long seed, int[][] direction) {
+		this.dimension = dimension;
+		this.scrambling = scrambling;
+		this.seed = seed;
+		this.direction = direction;
+
+		x = new int[dimension];
+
+		// Per dimension scrambling parameter (SplitMix64 of seed and dimension)
+		scramblingSeed = new int[dimension];
+		for(int d=0; d<dimension; d++) {
+			scramblingSeed[d] = (int)mix64(seed + 0x9E3779B97F4A7C15L * (d+1));
+		}
+
+		index = 0;
+	}
+
+	/**
+	 * Returns a Sobol sequence with the same dimension, direction numbers and scrambling, but a different seed
+	 * (an independent replication of the randomized sequence). The new sequence starts at index 0.
+	 *
+	 * @param seed The seed of the randomization.
+	 * @return A new Sobol sequence.
+	 */
+	public SobolSequenceScrambled getCloneWithModifiedSeed(long seed) {
+		return new SobolSequenceScrambled(dimension, scrambling, seed, direction);
+	}
+
+	/**
+	 * Set the index of the next point generated (jump to an arbitrary position in the sequence).
+	 *
+	 * @param index Index of the next point (starting at 0, less than 2<sup>32</sup>).
+	 */
+	public void setIndex(long index) {
+		if(index < 0 || index >= (1L << BITS)) {
+			throw new IllegalArgumentException("Index must be in [0, 2^32).");
+		}
+
+		// The point with index n is the XOR of the direction numbers corresponding to the bits of the Gray code of n.
+		final long grayCode = index ^ (index >>> 1);
+		Arrays.fill(x, 0);
+		for(int bit=0; bit<BITS; bit++) {
+			if(((grayCode >>> bit) & 1) != 0) {
+				for(int d=0; d<dimension; d++) {
+					x[d] ^= direction[d][bit];
+				}
+			}
+		}
+		this.index = index;
+	}
+
+	/**
+	 * Returns the index of the next point generated.
+	 *
+	 * @return The index of the next point.
+	 */
+	public long getIndex() {
+		return index;
+	}
+
+	@Override
+	public double[] getNext() {
+		final double[] point = new double[dimension];
+		getNext(point, 0, 1);
+		return point;
+	}
+
+	/**
+	 * Fills a block of consecutive points into a given array and advances the index.
+	 * The components of the i-th point are stored at block[offset + i * d + k], k = 0, ..., d-1.
+	 *
+	 * @param block The array receiving the numbers.
+	 * @param offset The position in the array where the first number is stored.
+	 * @param numberOfPoints The number of (d-dimensional) points to generate.
+	 */
+	public void getNext(double[] block, int offset, int numberOfPoints) {
+		if(index + numberOfPoints > (1L << BITS)) {
+			throw new IllegalStateException("Sobol sequence exhausted (more than 2^32 points).");
+		}
+
+		for(int pointIndex=0, position=offset; pointIndex<numberOfPoints; pointIndex++, position += dimension) {
+			for(int d=0; d<dimension; d++) {
+				block[position + d] = ((scramble(x[d], d) & 0xFFFFFFFFL) + 0.5) * SCALE;
+			}
+
+			// Gray code step: the next point differs in the direction number of the rightmost zero bit of the index
+			final int bit = Long.numberOfTrailingZeros(~index);
+			if(bit < BITS) {
+				for(int d=0; d<dimension; d++) {
+					x[d] ^= direction[d][bit];
+				}
+			}
+			index++;
+		}
+	}
+
+	@Override
+	public int getDimension() {
+		return dimension;
+	}
+
+	/**
+	 * Returns the randomization applied to the sequence.
+	 *
+	 * @return The randomization applied to the sequence.
+	 */
+	public Scrambling getScrambling() {
+		return scrambling;
+	}
+
+	/**
+	 * Returns the seed of the randomization.
+	 *
+	 * @return The seed of the randomization.
+	 */
+	public long getSeed() {
+		return seed;
+	}
+
+	private int scramble(int value, int d) {
+		switch(scrambling) {
+		case DIGITAL_SHIFT:
+			return value ^ scramblingSeed[d];
+		case OWEN:
+			return Integer.reverse(laineKarrasPermutation(Integer.reverse(value), scramblingSeed[d]));
+		case NONE:
+		default:
+			return value;
+		}
+	}
+
+	/*
+	 * Hash based permutation where each bit depends only on the lower bits (i.e. on the higher bits of the reversed value),
+	 * realizing a nested uniform scrambling (Burley, Practical Hash-based Owen Scrambling, 2020).
+	 */
+	private static int laineKarrasPermutation(int value, int seed) {
+		value ^= value * 0x3d20adea;
+		value += seed;
+		value *= (seed >>> 16) | 1;
+		value ^= value * 0x05526c56;
+		value ^= value * 0x53a22864;
+		return value;
+	}
+
+	private static long mix64(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * Reads the direction numbers (format of Joe and Kuo) and calculates the direction vectors for the first d dimensions.
+	 *
+	 * @param directionNumbers Stream of the direction numbers.
+	 * @param dimension The dimension d.
+	 * @return The direction vectors direction[d][bit].
+	 * @throws IOException Thrown if the direction numbers could not be read.
+	 */
+	private static int[][] readDirectionNumbers(InputStream directionNumbers, int dimension) throws IOException {
+		if(dimension < 1) {
+			throw new IllegalArgumentException("Dimension must be positive.");
+		}
+
+		final int[][] direction = new int[dimension][BITS];
+
+		// First dimension: van der Corput sequence in base 2
+		for(int bit=0; bit<BITS; bit++) {
+			direction[0][bit] = 1 << (BITS-1-bit);
+		}
+
+		int dimensionsRead = 1;
+		try(BufferedReader reader = new BufferedReader(new InputStreamReader(directionNumbers, StandardCharsets.US_ASCII))) {
+			// Skip the header line
+			String line = reader.readLine();
+			while(dimensionsRead < dimension && (line = reader.readLine()) != null) {
+				final String[] tokens = line.trim().split("\\s+");
+				final int s = Integer.parseInt(tokens[1]);
+				final int a = Integer.parseInt(tokens[2]);
+
+				final int[] v = direction[dimensionsRead];
+				for(int i=0; i<Math.min(s, BITS); i++) {
+					final int m = Integer.parseInt(tokens[3+i]);
+					v[i] = m << (BITS-1-i);
+				}
+				for(int i=s; i<BITS; i++) {
+					v[i] = v[i-s] ^ (v[i-s] >>> s);
+					for(int k=1; k<s; k++) {
+						v[i] ^= ((a >>> (s-1-k)) & 1) * v[i-k];
+					}
+				}
+				dimensionsRead++;
+			}
+		}
+
+		if(dimensionsRead < dimension) {
+			throw new IllegalArgumentException("Direction numbers available only for " + dimensionsRead + " dimensions.");
+		}
+
+		return direction;
+	}
+
+	private static int[][] readDefaultDirectionNumbers(int dimension) {
+		try(InputStream inputStream = SobolSequenceGenerator.class.getResourceAsStream(RESOURCE_NAME)) {
+			if(inputStream == null) {
+				throw new IllegalStateException("Direction numbers " + RESOURCE_NAME + " not found.");
+			}
+			return readDirectionNumbers(inputStream, dimension);
+		}
+		catch(final IOException e) {
+			throw new IllegalStateException("Failed to read direction numbers " + RESOURCE_NAME + ".", e);
+		}
+	}
+}
@@ -0,0 +1,39 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import net.finmath.randomnumbers.RandomNumberGenerator1D;
+
+/**
+ * Interface for a random number generator which can be split into independent streams.
+ *
+ * The stream with a given index is a deterministic function of the seed and the index only.
+ * If a simulation is divided into a fixed set of work units (e.g. blocks of paths) and unit i uses the
+ * stream i, the result does not depend on the number of tasks (or threads) the units are distributed to.
+ *
+ * An instance is not thread safe: use one stream per task.
+ *
+ * @author Christian Fries
+ */
+public interface SplittableRandomNumberGenerator extends RandomNumberGenerator1D {
+
+	/**
+	 * Returns a new generator for the stream with the given index. The streams depend only on the seed, i.e., the stream 0
+	 * generates the same numbers as a new generator with the same seed. Different streams are non-overlapping parts of the
+	 * sequence (or independent sequences).
+	 *
+	 * @param streamIndex The index of the stream (non-negative).
+	 * @return A new generator, positioned at the start of the stream.
+	 */
+	SplittableRandomNumberGenerator getStream(long streamIndex);
+
+	/**
+	 * Advances the generator by the given number of random numbers (as generated by {@link #nextDouble()}).
+	 *
+	 * @param numberOfRandomNumbers The number of random numbers to skip (non-negative).
+	 */
+	void jump(long numberOfRandomNumbers);
+}
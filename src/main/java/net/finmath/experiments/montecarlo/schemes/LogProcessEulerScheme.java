@@ -105,17 +105,11 @@ public class LogProcessEulerScheme implements LognormalProcess
 				// Generate values
 				for (int iPath = 0; iPath < numberOfPaths; iPath++ )
 				{
-					// Drift
-					final double drift = mu * deltaT;
-
-					// Diffusion
-					final double diffusion = sigma * deltaW.get(iPath);
-
 					// Previous value
 					final double previousValue = previouseRealization.get(iPath);
 
 					// Numerical scheme
-					final double newValue = previousValue + previousValue * drift + previousValue * diffusion;
+					final double newValue = getValueAfterTimeStep(previousValue, deltaW.get(iPath));
 
 					// Store new value
 					newRealization[iPath] = newValue;
@@ -127,6 +121,18 @@ public class LogProcessEulerScheme implements LognormalProcess
 		}
 	}
 
+	@Override
+	public double getValueAfterTimeStep(double previousValue, double brownianIncrement) {
+		// Drift
+		final double drift = mu * deltaT;
+
+		// Diffusion
+		final double diffusion = sigma * brownianIncrement;
+
+		// Numerical scheme
+		return previousValue + previousValue * drift + previousValue * diffusion;
+	}
+
 	/**
 	 * Returns the time step size deltaT.
 	 * 
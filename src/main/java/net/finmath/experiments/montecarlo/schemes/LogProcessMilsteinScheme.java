@@ -105,18 +105,11 @@ public class LogProcessMilsteinScheme implements LognormalProcess
 				// Generate values
 				for (int iPath = 0; iPath < numberOfPaths; iPath++ )
 				{
-					// Drift
-					final double drift = mu * deltaT;
-
-					// Diffusion
-					final double diffusion = sigma * deltaW.get(iPath);
-
 					// Previous value
 					final double previousValue = previouseRealization.get(iPath);
 
 					// Numerical scheme
-					final double newValue = previousValue + previousValue * drift + previousValue * diffusion	// Euler step
-							+ 1.0/2.0 * previousValue * sigma * sigma * (deltaW.get(iPath) * deltaW.get(iPath) - deltaT);  // Milstein correction
+					final double newValue = getValueAfterTimeStep(previousValue, deltaW.get(iPath));
 
 					// Store new value
 					newRealization[iPath] = newValue;
@@ -128,6 +121,19 @@ public class LogProcessMilsteinScheme implements LognormalProcess
 		}
 	}
 
+	@Override
+	public double getValueAfterTimeStep(double previousValue, double brownianIncrement) {
+		// Drift
+		final double drift = mu * deltaT;
+
+		// Diffusion
+		final double diffusion = sigma * brownianIncrement;
+
+		// Numerical scheme
+		return previousValue + previousValue * drift + previousValue * diffusion	// Euler step
+				+ 1.0/2.0 * previousValue * sigma * sigma * (brownianIncrement * brownianIncrement - deltaT);  // Milstein correction
+	}
+
 	/**
 	 * Returns the time step size deltaT.
 	 * 
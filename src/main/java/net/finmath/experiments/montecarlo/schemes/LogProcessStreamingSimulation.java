@@ -0,0 +1,292 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.schemes;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+import net.finmath.functions.NormalDistribution;
+import net.finmath.montecarlo.RandomVariableFromDoubleArray;
+import net.finmath.randomnumbers.MersenneTwister;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+/**
+ * Streaming simulation of a time discrete approximation of a lognormal process.
+ *
+ * The class wraps a given scheme (e.g. {@link LogProcessEulerScheme}) and uses its
+ * {@link LognormalProcess#getValueAfterTimeStep(double, double)}, but does not store the whole process.
+ * Instead, the time slice \tilde{X}(t_{i}) is generated on the fly for a requested time index i
+ * into a primitive buffer, which is reused across calls. The memory requirement is hence
+ * O(numberOfPaths) instead of O(numberOfPaths &times; numberOfTimeSteps).
+ *
+ * The buffer holds the last requested time slice. A request for a later time index continues the
+ * paths from this time slice, a request for an earlier time index restarts the simulation at time 0.
+ * The intended access pattern is hence by increasing time index. Note that the random numbers of
+ * all time steps are drawn in each call (the stream is ordered path by path), only the evolution of the
+ * paths is carried out incrementally.
+ *
+ * The Brownian increments are drawn from the same Mersenne Twister stream and in the same order
+ * (path by path) as in {@link net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers}.
+ * For the same seed the simulation hence reproduces the values of the pre-calculated
+ * scheme exactly.
+ *
+ * Optionally, the paths may be evolved in parallel: the path range is split into blocks of
+ * numberOfPathsPerBlock paths and each block is evolved through all time steps on a worker of
+ * a given ForkJoinPool. Since the Mersenne Twister cannot jump ahead, the random numbers of a block
+ * are drawn sequentially by the calling thread (which is cheap compared to the inverse of the normal
+ * distribution function and the scheme). Hence the parallel simulation gives the same results as
+ * the sequential one.
+ *
+ * @author Christian Fries
+ */
+public class LogProcessStreamingSimulation implements LognormalProcess {
+
+	private final LognormalProcess	scheme;
+	private final int				seed;
+	private final int				numberOfPathsPerBlock;
+	private final ForkJoinPool		forkJoinPool;
+
+	// Buffers reused across calls: the time slice and its logarithm
+	private final double[]	processValues;
+	private final double[]	logProcessValues;
+
+	private int timeIndexOfBuffers = -1;
+
+	/**
+	 * Create a streaming simulation of a given scheme, where blocks of paths are evolved in parallel.
+	 *
+	 * @param scheme The scheme providing the time step and the model parameters.
+	 * @param seed The seed of the Mersenne Twister used to generate the Brownian increments.
+	 * @param numberOfPathsPerBlock The number of paths evolved together by one task.
+	 * @param forkJoinPool The pool executing the blocks. If null, the blocks are evolved by the calling thread.
+	 */
+	public LogProcessStreamingSimulation(LognormalProcess scheme, int seed, int numberOfPathsPerBlock, ForkJoinPool forkJoinPool) {
+		super();
+		if(numberOfPathsPerBlock < 1) {
+			throw new IllegalArgumentException("Number of paths per block must be positive.");
+		}
+		this.scheme = scheme;
+		this.seed = seed;
+		this.numberOfPathsPerBlock = numberOfPathsPerBlock;
+		this.forkJoinPool = forkJoinPool;
+
+		processValues = new double[scheme.getNumberOfPaths()];
+		logProcessValues = new double[scheme.getNumberOfPaths()];
+	}
+
+	/**
+	 * Create a streaming simulation of a given scheme, where blocks of paths are evolved in parallel.
+	 * The block size is chosen such that the random numbers of a block occupy around 256 KB.
+	 *
+	 * @param scheme The scheme providing the time step and the model parameters.
+	 * @param seed The seed of the Mersenne Twister used to generate the Brownian increments.
+	 * @param forkJoinPool The pool executing the blocks. If null, the blocks are evolved by the calling thread.
+	 */
+	public LogProcessStreamingSimulation(LognormalProcess scheme, int seed, ForkJoinPool forkJoinPool) {
+		this(scheme, seed, Math.max(1, (1 << 15) / Math.max(1, scheme.getNumberOfTimeSteps())), forkJoinPool);
+	}
+
+	/**
+	 * Create a streaming simulation of a given scheme.
+	 *
+	 * @param scheme The scheme providing the time step and the model parameters.
+	 * @param seed The seed of the Mersenne Twister used to generate the Brownian increments.
+	 */
+	public LogProcessStreamingSimulation(LognormalProcess scheme, int seed) {
+		this(scheme, seed, null);
+	}
+
+	/**
+	 * Create a streaming simulation of a given scheme, using the seed 31415 (same as the pre-calculated schemes).
+	 *
+	 * @param scheme The scheme providing the time step and the model parameters.
+	 */
+	public LogProcessStreamingSimulation(LognormalProcess scheme) {
+		this(scheme, 31415 /* seed */);
+	}
+
+	/**
+	 * Returns the approximation \tilde{X}(t_{i}) as a sample vector.
+	 *
+	 * Note: Since the process is not stored, each call (for a different time index) triggers a simulation
+	 * (continuing from the last requested time index, if it is earlier) and the result is a copy of the internal buffer.
+	 *
+	 * @param timeIndex The time index i
+	 * @return The RandomVariable \tilde{X}(t_{i})
+	 */
+	@Override
+	public RandomVariable getProcessValue(int timeIndex) {
+		doCalculateTimeSlice(timeIndex);
+
+		return new RandomVariableFromDoubleArray(timeIndex, processValues.clone());
+	}
+
+	@Override
+	public double getExpectationOfLog(int timeIndex) {
+		doCalculateTimeSlice(timeIndex);
+
+		// Wrapping the buffer (no copy), such that the average is calculated exactly as for the pre-calculated process
+		return new RandomVariableFromDoubleArray(timeIndex, logProcessValues).getAverage();
+	}
+
+	@Override
+	public double getVarianceOfLog(int timeIndex) {
+		doCalculateTimeSlice(timeIndex);
+
+		// Wrapping the buffer (no copy), such that the variance is calculated exactly as for the pre-calculated process
+		return new RandomVariableFromDoubleArray(timeIndex, logProcessValues).getVariance();
+	}
+
+	@Override
+	public double getValueAfterTimeStep(double previousValue, double brownianIncrement) {
+		return scheme.getValueAfterTimeStep(previousValue, brownianIncrement);
+	}
+
+	/**
+	 * Calculates the time slice for the given time index into the buffers (if not already present).
+	 *
+	 * @param timeIndex The time index i.
+	 */
+	private void doCalculateTimeSlice(int timeIndex) {
+		if(timeIndex < 0 || timeIndex > getNumberOfTimeSteps()) {
+			throw new IllegalArgumentException("Time index " + timeIndex + " out of range [0, " + getNumberOfTimeSteps() + "].");
+		}
+		if(timeIndex == timeIndexOfBuffers) {
+			return;
+		}
+
+		// Use the same time discretization as the Brownian motion of the schemes (this includes the rounding of the time steps).
+		final TimeDiscretization timeDiscretization = new TimeDiscretizationFromArray(
+				0.0 /* initial */, getNumberOfTimeSteps(), getDeltaT());
+
+		final double[] sqrtOfTimeStep = new double[getNumberOfTimeSteps()];
+		for(int timeStepIndex = 0; timeStepIndex < sqrtOfTimeStep.length; timeStepIndex++) {
+			sqrtOfTimeStep[timeStepIndex] = Math.sqrt(timeDiscretization.getTimeStep(timeStepIndex));
+		}
+
+		// Continue the paths from the buffers if they hold an earlier time slice, otherwise start at time 0
+		final int startTimeIndex = timeIndex > timeIndexOfBuffers && timeIndexOfBuffers >= 0 ? timeIndexOfBuffers : 0;
+		timeIndexOfBuffers = -1;
+
+		final MersenneTwister mersenneTwister = new MersenneTwister(seed);
+
+		final int numberOfPaths = getNumberOfPaths();
+		final int numberOfRandomNumbersPerBlock = Math.min(numberOfPathsPerBlock, numberOfPaths) * getNumberOfTimeSteps();
+
+		if(forkJoinPool == null) {
+			final double[] uniforms = new double[numberOfRandomNumbersPerBlock];
+			for(int firstPath = 0; firstPath < numberOfPaths; firstPath += numberOfPathsPerBlock) {
+				final int numberOfPathsInBlock = Math.min(numberOfPathsPerBlock, numberOfPaths - firstPath);
+				drawUniforms(mersenneTwister, uniforms, numberOfPathsInBlock);
+				doEvolveBlock(uniforms, firstPath, numberOfPathsInBlock, startTimeIndex, timeIndex, sqrtOfTimeStep);
+			}
+		}
+		else {
+			/*
+			 * The calling thread draws the random numbers block by block and submits the evolution of each block.
+			 * The number of blocks in flight is limited, such that the memory stays bounded.
+			 */
+			final int maxNumberOfBlocksInFlight = 2 * forkJoinPool.getParallelism() + 1;
+			final Deque<ForkJoinTask<?>>	tasks = new ArrayDeque<>();
+			final Deque<double[]>			uniformsOfTasks = new ArrayDeque<>();
+			for(int firstPath = 0; firstPath < numberOfPaths; firstPath += numberOfPathsPerBlock) {
+				final double[] uniforms;
+				if(tasks.size() < maxNumberOfBlocksInFlight) {
+					uniforms = new double[numberOfRandomNumbersPerBlock];
+				}
+				else {
+					// Wait for the oldest block and reuse its buffer
+					tasks.removeFirst().join();
+					uniforms = uniformsOfTasks.removeFirst();
+				}
+
+				final int blockFirstPath = firstPath;
+				final int numberOfPathsInBlock = Math.min(numberOfPathsPerBlock, numberOfPaths - firstPath);
+				drawUniforms(mersenneTwister, uniforms, numberOfPathsInBlock);
+				tasks.addLast(forkJoinPool.submit(() -> doEvolveBlock(uniforms, blockFirstPath, numberOfPathsInBlock, startTimeIndex, timeIndex, sqrtOfTimeStep)));
+				uniformsOfTasks.addLast(uniforms);
+			}
+			while(!tasks.isEmpty()) {
+				tasks.removeFirst().join();
+			}
+		}
+
+		timeIndexOfBuffers = timeIndex;
+	}
+
+	/**
+	 * Draws the uniform random numbers for a block of paths (path by path, time step by time step).
+	 *
+	 * @param mersenneTwister The random number generator.
+	 * @param uniforms The buffer receiving the random numbers.
+	 * @param numberOfPathsInBlock The number of paths of the block.
+	 */
+	private void drawUniforms(MersenneTwister mersenneTwister, double[] uniforms, int numberOfPathsInBlock) {
+		final int numberOfRandomNumbers = numberOfPathsInBlock * getNumberOfTimeSteps();
+		for(int i = 0; i < numberOfRandomNumbers; i++) {
+			uniforms[i] = mersenneTwister.nextDoubleFast();
+		}
+	}
+
+	/**
+	 * Evolves a block of paths from the start time index (starting from the initial value if the start time index is 0,
+	 * otherwise from the values in the buffers) up to the given time index and stores the values in the buffers.
+	 *
+	 * @param uniforms The uniform random numbers of the block (path by path, time step by time step).
+	 * @param firstPath The index of the first path of the block.
+	 * @param numberOfPathsInBlock The number of paths of the block.
+	 * @param startTimeIndex The time index of the values in the buffers.
+	 * @param timeIndex The time index i.
+	 * @param sqrtOfTimeStep The square roots of the time steps.
+	 */
+	private void doEvolveBlock(double[] uniforms, int firstPath, int numberOfPathsInBlock, int startTimeIndex, int timeIndex, double[] sqrtOfTimeStep) {
+		final int numberOfTimeSteps = getNumberOfTimeSteps();
+		for(int iPathInBlock = 0; iPathInBlock < numberOfPathsInBlock; iPathInBlock++) {
+			final int offset = iPathInBlock * numberOfTimeSteps;
+			double value = startTimeIndex == 0 ? getInitialValue() : processValues[firstPath + iPathInBlock];
+			for(int timeStepIndex = startTimeIndex; timeStepIndex < timeIndex; timeStepIndex++) {
+				final double brownianIncrement = NormalDistribution.inverseCumulativeDistribution(uniforms[offset + timeStepIndex]) * sqrtOfTimeStep[timeStepIndex];
+				value = getValueAfterTimeStep(value, brownianIncrement);
+			}
+			processValues[firstPath + iPathInBlock] = value;
+			logProcessValues[firstPath + iPathInBlock] = Math.log(value);
+		}
+	}
+
+	@Override
+	public int getNumberOfPaths() {
+		return scheme.getNumberOfPaths();
+	}
+
+	@Override
+	public int getNumberOfTimeSteps() {
+		return scheme.getNumberOfTimeSteps();
+	}
+
+	@Override
+	public double getDeltaT() {
+		return scheme.getDeltaT();
+	}
+
+	@Override
+	public double getInitialValue() {
+		return scheme.getInitialValue();
+	}
+
+	@Override
+	public double getDrift() {
+		return scheme.getDrift();
+	}
+
+	@Override
+	public double getSigma() {
+		return scheme.getSigma();
+	}
+}
@@ -29,6 +29,19 @@ public interface LognormalProcess {
 	 */
 	RandomVariable getProcessValue(int timeIndex);
 
+	/**
+	 * Returns the value of the scheme after one time step, i.e., \tilde{X}(t_{i+1})
+	 * given \tilde{X}(t_{i}) and the Brownian increment W(t_{i+1}) - W(t_{i}) on a single path.
+	 *
+	 * This is the numerical scheme itself. It allows to evolve paths outside
+	 * the pre-calculated process, e.g., in a streaming simulation.
+	 *
+	 * @param previousValue The value \tilde{X}(t_{i}).
+	 * @param brownianIncrement The Brownian increment W(t_{i+1}) - W(t_{i}).
+	 * @return The value \tilde{X}(t_{i+1}).
+	 */
+	double getValueAfterTimeStep(double previousValue, double brownianIncrement);
+
 	/**
 	 * Returns E(X(t_i)) - the average of the random variable given by the process at the given time index.
 	 *
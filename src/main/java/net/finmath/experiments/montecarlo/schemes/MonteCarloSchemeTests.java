@@ -7,6 +7,7 @@
 package net.finmath.experiments.montecarlo.schemes;
 
 import java.text.DecimalFormat;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Testing the behaviour of some time discretization schemes w.r.t. time step size.
@@ -25,15 +26,17 @@ public class MonteCarloSchemeTests {
 		final double initialValue = 1.0;
 		final double mu = 0.0;
 		final double sigma = 0.5;				// Note: Try different sigmas: 0.2, 0.5, 0.7, 0.9
-		final int numberOfPath = 100000;		// Note: Try different number of path. For 10000000 you need around 6 GB (parameter is -mx6G)
+		final int numberOfPath = 100000;		// Note: Try different number of path. For 10000000 you need around 6 GB (parameter is -mx6G) if the process is pre-calculated
 		final double lastTime = 10.0;
+		final boolean isStreaming = true;		// Note: If true, only the requested time slice is kept in memory (same results as the pre-calculated process)
+		final ForkJoinPool forkJoinPool = ForkJoinPool.commonPool();	// Note: Pool evolving blocks of paths in the streaming simulation (same results). Use null for a single threaded simulation.
 
 		for(int numberOfTimeSteps=1; numberOfTimeSteps<=1001; numberOfTimeSteps+=10)
 		{
 			final double deltaT = lastTime/numberOfTimeSteps;
 
 			// Create an instance of the Euler scheme class
-			final LognormalProcess eulerScheme = new LogProcessEulerScheme(
+			final LognormalProcess eulerSchemePrecalculated = new LogProcessEulerScheme(
 					numberOfTimeSteps,	// numberOfTimeSteps
 					deltaT,				// deltaT
 					numberOfPath,		// numberOfPaths
@@ -42,7 +45,7 @@ public class MonteCarloSchemeTests {
 					sigma);				// sigma (volatility)
 
 			// Create an instance of the Milstein scheme class
-			final LognormalProcess milsteinScheme = new LogProcessMilsteinScheme(
+			final LognormalProcess milsteinSchemePrecalculated = new LogProcessMilsteinScheme(
 					numberOfTimeSteps,	// numberOfTimeSteps
 					deltaT,				// deltaT
 					numberOfPath,		// numberOfPaths
@@ -51,7 +54,7 @@ public class MonteCarloSchemeTests {
 					sigma);				// sigma (volatility)
 
 			// Create an instance of the Log-Euler scheme class
-			final LognormalProcess logEulerScheme = new LogProcessLogEulerScheme(
+			final LognormalProcess logEulerSchemePrecalculated = new LogProcessLogEulerScheme(
 					numberOfTimeSteps,	// numberOfTimeSteps
 					deltaT,				// deltaT
 					numberOfPath,		// numberOfPaths
@@ -59,6 +62,10 @@ public class MonteCarloSchemeTests {
 					mu,					// mu (drift)
 					sigma);				// sigma (volatility)
 
+			final LognormalProcess eulerScheme		= isStreaming ? new LogProcessStreamingSimulation(eulerSchemePrecalculated, 31415, forkJoinPool) : eulerSchemePrecalculated;
+			final LognormalProcess milsteinScheme	= isStreaming ? new LogProcessStreamingSimulation(milsteinSchemePrecalculated, 31415, forkJoinPool) : milsteinSchemePrecalculated;
+			final LognormalProcess logEulerScheme	= isStreaming ? new LogProcessStreamingSimulation(logEulerSchemePrecalculated, 31415, forkJoinPool) : logEulerSchemePrecalculated;
+
 			// Get start time of calculation
 			final double startMillis = System.currentTimeMillis();
 
@@ -0,0 +1,359 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.montecarlo.schemes;
+
+import java.text.DecimalFormat;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.ToDoubleFunction;
+
+import net.finmath.experiments.montecarlo.randomnumbers.PhiloxRandomNumberGenerator;
+import net.finmath.experiments.montecarlo.randomnumbers.SplittableRandomNumberGenerator;
+import net.finmath.functions.NormalDistribution;
+
+/**
+ * Multilevel Monte-Carlo estimator (Giles, 2008) of E[f(X)], where X is a time discrete approximation of the lognormal process
+ * \[
+ * 		dX(t) = mu X(t) dt + sigma X(t) dW(t), X(0) = X_0
+ * \]
+ * on [0,T] by a given scheme (e.g. {@link LogProcessEulerScheme} or {@link LogProcessMilsteinScheme}) and f is a functional of the path.
+ *
+ * Level l uses the time step T / (n<sub>0</sub> 2<sup>l</sup>). The estimator is the telescoping sum
+ * \[
+ * 		E[P_L] = E[P_0] + \sum_{l=1}^{L} E[P_l - P_{l-1}],
+ * \]
+ * where each correction P<sub>l</sub> - P<sub>l-1</sub> is estimated from coupled paths: the coarse path uses the sums
+ * of two consecutive Brownian increments of the fine path (as in {@link net.finmath.experiments.montecarlo.eulerscheme.BrownianMotionCoarseTimeDiscretization}).
+ * Since the variance of the corrections decays with the level, most paths are simulated on the coarse levels.
+ *
+ * The number of levels and the number of paths per level are chosen adaptively: the number of paths of level l is
+ * N<sub>l</sub> = 2 &epsilon;<sup>-2</sup> (V<sub>l</sub>/C<sub>l</sub>)<sup>1/2</sup> &sum;<sub>k</sub> (V<sub>k</sub> C<sub>k</sub>)<sup>1/2</sup>
+ * (from the estimated variances V<sub>l</sub> and the cost C<sub>l</sub> of a sample), such that the statistical error is &epsilon;/&radic;2.
+ * A level is added until the estimated bias (assuming weak order one) is below &epsilon;/&radic;2.
+ * Hence, the root mean squared error is (approximately) &epsilon;.
+ *
+ * The paths of the scheme are evolved via {@link LognormalProcess#getValueAfterTimeStep(double, double)}. The random numbers
+ * of each batch of paths are taken from a separate stream of a {@link SplittableRandomNumberGenerator}.
+ *
+ * @author Christian Fries
+ */
+public class MultilevelMonteCarloEstimator {
+
+	/**
+	 * Creates a scheme for a given time discretization. Matches the constructors of the schemes, e.g. <code>LogProcessEulerScheme::new</code>.
+	 */
+	@FunctionalInterface
+	public interface SchemeFactory {
+		LognormalProcess create(int numberOfTimeSteps, double deltaT, int numberOfPaths, double initialValue, double mu, double sigma);
+	}
+
+	private static final int	NUMBER_OF_PATHS_PER_BATCH	= 10000;
+	private static final int	MINIMUM_NUMBER_OF_LEVELS	= 3;
+
+	private final SchemeFactory						schemeFactory;
+	private final double							initialValue;
+	private final double							mu;
+	private final double							sigma;
+	private final double							maturity;
+	private final ToDoubleFunction<double[]>		payoff;
+
+	private final int								numberOfTimeStepsOnLevel0;
+	private final int								maximumNumberOfLevels;
+	private final int								numberOfInitialPaths;
+	private final SplittableRandomNumberGenerator	randomNumberGenerator;
+
+	/**
+	 * The result of the estimator.
+	 */
+	public static class Result {
+		private final double	value;
+		private final double	standardError;
+		private final int[]		numbersOfPaths;
+		private final double[]	variancesOfCorrections;
+		private final double	cost;
+		private final double	costSingleLevel;
+
+		public Result(double value, double standardError, int[] numbersOfPaths, double[] variancesOfCorrections, double cost, double costSingleLevel) {
+			this.value = value;
+			this.standardError = standardError;
+			this.numbersOfPaths = numbersOfPaths;
+			this.variancesOfCorrections = variancesOfCorrections;
+			this.cost = cost;
+			this.costSingleLevel = costSingleLevel;
+		}
+
+		public double getValue() {
+			return value;
+		}
+
+		/**
+		 * @return The standard error of the value (the statistical part of the error).
+		 */
+		public double getStandardError() {
+			return standardError;
+		}
+
+		/**
+		 * @return The number of paths of each level.
+		 */
+		public int[] getNumbersOfPaths() {
+			return numbersOfPaths.clone();
+		}
+
+		/**
+		 * @return The variance of P<sub>0</sub> and of the corrections P<sub>l</sub> - P<sub>l-1</sub>.
+		 */
+		public double[] getVariancesOfCorrections() {
+			return variancesOfCorrections.clone();
+		}
+
+		public int getNumberOfLevels() {
+			return numbersOfPaths.length;
+		}
+
+		/**
+		 * @return The cost of the estimator, measured in time steps of the scheme.
+		 */
+		public double getCost() {
+			return cost;
+		}
+
+		/**
+		 * @return The cost (in time steps) of a single level Monte-Carlo estimator on the finest level with the same statistical error.
+		 */
+		public double getCostSingleLevel() {
+			return costSingleLevel;
+		}
+	}
+
+	/**
+	 * Create the estimator.
+	 *
+	 * @param schemeFactory The factory of the scheme (used for its time step only).
+	 * @param initialValue The initial value X<sub>0</sub>.
+	 * @param mu The drift mu.
+	 * @param sigma The volatility sigma.
+	 * @param maturity The time horizon T.
+	 * @param payoff The functional f of the path, given as the values X(t<sub>0</sub>), ..., X(t<sub>n</sub>).
+	 * @param numberOfTimeStepsOnLevel0 The number of time steps n<sub>0</sub> of the coarsest level.
+	 * @param maximumNumberOfLevels The maximum number of levels.
+	 * @param numberOfInitialPaths The number of paths used to estimate the variance of a new level.
+	 * @param randomNumberGenerator The generator of the random numbers (batch k uses stream k).
+	 */
+	public MultilevelMonteCarloEstimator(SchemeFactory schemeFactory, double initialValue, double mu, double sigma, double maturity,
+			ToDoubleFunction<double[]> payoff, int numberOfTimeStepsOnLevel0, int maximumNumberOfLevels, int numberOfInitialPaths,
+			SplittableRandomNumberGenerator randomNumberGenerator) {
+		if(numberOfTimeStepsOnLevel0 < 1 || maximumNumberOfLevels < MINIMUM_NUMBER_OF_LEVELS || numberOfInitialPaths < 2) {
+			throw new IllegalArgumentException("Invalid discretization parameters.");
+		}
+		this.schemeFactory = schemeFactory;
+		this.initialValue = initialValue;
+		this.mu = mu;
+		this.sigma = sigma;
+		this.maturity = maturity;
+		this.payoff = payoff;
+		this.numberOfTimeStepsOnLevel0 = numberOfTimeStepsOnLevel0;
+		this.maximumNumberOfLevels = maximumNumberOfLevels;
+		this.numberOfInitialPaths = numberOfInitialPaths;
+		this.randomNumberGenerator = randomNumberGenerator;
+	}
+
+	/**
+	 * Calculates E[f(X)] with a root mean squared error of (approximately) the given accuracy.
+	 *
+	 * @param accuracy The target root mean squared error &epsilon;.
+	 * @return The result.
+	 */
+	public Result getValue(double accuracy) {
+		// Per level: number of paths, sum and sum of squares of the correction, sum and sum of squares of P_l
+		final List<double[]> sums = new ArrayList<>();
+		final List<Integer> numbersOfPaths = new ArrayList<>();
+		final List<Integer> numbersOfPathsTarget = new ArrayList<>();
+		int streamIndex = 0;
+
+		for(int level=0; level<MINIMUM_NUMBER_OF_LEVELS; level++) {
+			sums.add(new double[4]);
+			numbersOfPaths.add(0);
+			numbersOfPathsTarget.add(numberOfInitialPaths);
+		}
+
+		while(true) {
+			// Simulate the missing paths
+			for(int level=0; level<sums.size(); level++) {
+				int numberOfMissingPaths = numbersOfPathsTarget.get(level) - numbersOfPaths.get(level);
+				while(numberOfMissingPaths > 0) {
+					final int numberOfPathsInBatch = Math.min(numberOfMissingPaths, NUMBER_OF_PATHS_PER_BATCH);
+					simulateBatch(level, numberOfPathsInBatch, randomNumberGenerator.getStream(streamIndex++), sums.get(level));
+					numbersOfPaths.set(level, numbersOfPaths.get(level) + numberOfPathsInBatch);
+					numberOfMissingPaths -= numberOfPathsInBatch;
+				}
+			}
+
+			// Optimal number of paths from the estimated variances
+			final int numberOfLevels = sums.size();
+			double sumOfSqrtOfVarianceTimesCost = 0.0;
+			for(int level=0; level<numberOfLevels; level++) {
+				sumOfSqrtOfVarianceTimesCost += Math.sqrt(getVarianceOfCorrection(sums.get(level), numbersOfPaths.get(level)) * getCost(level));
+			}
+			boolean isComplete = true;
+			for(int level=0; level<numberOfLevels; level++) {
+				final double variance = getVarianceOfCorrection(sums.get(level), numbersOfPaths.get(level));
+				final double numberOfPathsOptimal = Math.ceil(2.0 / (accuracy * accuracy) * Math.sqrt(variance / getCost(level)) * sumOfSqrtOfVarianceTimesCost);
+				final int numberOfPathsTarget = (int)Math.min(Math.max(numberOfPathsOptimal, numbersOfPaths.get(level)), Integer.MAX_VALUE);
+				numbersOfPathsTarget.set(level, numberOfPathsTarget);
+				isComplete &= numberOfPathsTarget <= numbersOfPaths.get(level);
+			}
+			if(!isComplete) {
+				continue;
+			}
+
+			// Estimated bias (weak order one: the correction halves from level to level)
+			final double correctionLast = Math.abs(getMeanOfCorrection(sums.get(numberOfLevels-1), numbersOfPaths.get(numberOfLevels-1)));
+			final double correctionBeforeLast = Math.abs(getMeanOfCorrection(sums.get(numberOfLevels-2), numbersOfPaths.get(numberOfLevels-2)));
+			final double bias = Math.max(correctionLast, correctionBeforeLast / 2.0);
+			if(bias <= accuracy / Math.sqrt(2.0) || numberOfLevels >= maximumNumberOfLevels) {
+				break;
+			}
+
+			// Add a level
+			sums.add(new double[4]);
+			numbersOfPaths.add(0);
+			numbersOfPathsTarget.add(numberOfInitialPaths);
+		}
+
+		// The estimator
+		final int numberOfLevels = sums.size();
+		double value = 0.0;
+		double varianceOfValue = 0.0;
+		double cost = 0.0;
+		final int[] numbersOfPathsOfLevels = new int[numberOfLevels];
+		final double[] variancesOfCorrections = new double[numberOfLevels];
+		for(int level=0; level<numberOfLevels; level++) {
+			final int numberOfPaths = numbersOfPaths.get(level);
+			numbersOfPathsOfLevels[level] = numberOfPaths;
+			variancesOfCorrections[level] = getVarianceOfCorrection(sums.get(level), numberOfPaths);
+
+			value += getMeanOfCorrection(sums.get(level), numberOfPaths);
+			varianceOfValue += variancesOfCorrections[level] / numberOfPaths;
+			cost += numberOfPaths * getCost(level);
+		}
+
+		// Single level estimator on the finest level with the same statistical error
+		final double[] sumsOfFinestLevel = sums.get(numberOfLevels-1);
+		final int numberOfPathsOfFinestLevel = numbersOfPaths.get(numberOfLevels-1);
+		final double meanOfFinestLevel = sumsOfFinestLevel[2] / numberOfPathsOfFinestLevel;
+		final double varianceOfFinestLevel = Math.max(sumsOfFinestLevel[3] / numberOfPathsOfFinestLevel - meanOfFinestLevel * meanOfFinestLevel, 0.0);
+		final double costSingleLevel = 2.0 / (accuracy * accuracy) * varianceOfFinestLevel * getNumberOfTimeSteps(numberOfLevels-1);
+
+		return new Result(value, Math.sqrt(varianceOfValue), numbersOfPathsOfLevels, variancesOfCorrections, cost, costSingleLevel);
+	}
+
+	/**
+	 * Simulates a batch of coupled paths on the given level and adds the correction P<sub>l</sub> - P<sub>l-1</sub> (P<sub>0</sub> on level 0)
+	 * and P<sub>l</sub> to the sums.
+	 */
+	private void simulateBatch(int level, int numberOfPaths, SplittableRandomNumberGenerator stream, double[] sums) {
+		final int numberOfTimeStepsFine = getNumberOfTimeSteps(level);
+		final double deltaTFine = maturity / numberOfTimeStepsFine;
+		final double sqrtOfDeltaTFine = Math.sqrt(deltaTFine);
+		final LognormalProcess schemeFine = schemeFactory.create(numberOfTimeStepsFine, deltaTFine, numberOfPaths, initialValue, mu, sigma);
+		final LognormalProcess schemeCoarse = level > 0 ? schemeFactory.create(numberOfTimeStepsFine / 2, 2.0 * deltaTFine, numberOfPaths, initialValue, mu, sigma) : null;
+
+		// Buffers for the paths, reused for all paths of the batch
+		final double[] pathFine = new double[numberOfTimeStepsFine+1];
+		final double[] pathCoarse = new double[numberOfTimeStepsFine/2+1];
+
+		for(int path=0; path<numberOfPaths; path++) {
+			pathFine[0] = initialValue;
+			pathCoarse[0] = initialValue;
+			double brownianIncrementCoarse = 0.0;
+			for(int timeIndex=0; timeIndex<numberOfTimeStepsFine; timeIndex++) {
+				final double brownianIncrement = sqrtOfDeltaTFine * NormalDistribution.inverseCumulativeDistribution(stream.nextDouble());
+				pathFine[timeIndex+1] = schemeFine.getValueAfterTimeStep(pathFine[timeIndex], brownianIncrement);
+
+				// The coarse path uses the sum of two fine increments
+				brownianIncrementCoarse += brownianIncrement;
+				if(schemeCoarse != null && timeIndex % 2 == 1) {
+					pathCoarse[timeIndex/2+1] = schemeCoarse.getValueAfterTimeStep(pathCoarse[timeIndex/2], brownianIncrementCoarse);
+					brownianIncrementCoarse = 0.0;
+				}
+			}
+
+			final double payoffFine = payoff.applyAsDouble(pathFine);
+			final double correction = schemeCoarse != null ? payoffFine - payoff.applyAsDouble(pathCoarse) : payoffFine;
+			sums[0] += correction;
+			sums[1] += correction * correction;
+			sums[2] += payoffFine;
+			sums[3] += payoffFine * payoffFine;
+		}
+	}
+
+	private int getNumberOfTimeSteps(int level) {
+		return numberOfTimeStepsOnLevel0 << level;
+	}
+
+	/**
+	 * The cost of a sample of the correction of the given level (in time steps of the scheme).
+	 */
+	private double getCost(int level) {
+		return level > 0 ? 1.5 * getNumberOfTimeSteps(level) : getNumberOfTimeSteps(level);
+	}
+
+	private static double getMeanOfCorrection(double[] sums, int numberOfPaths) {
+		return sums[0] / numberOfPaths;
+	}
+
+	private static double getVarianceOfCorrection(double[] sums, int numberOfPaths) {
+		final double mean = sums[0] / numberOfPaths;
+		return Math.max(sums[1] / numberOfPaths - mean * mean, 0.0);
+	}
+
+	public static void main(String[] args) {
+		System.out.println("Multilevel Monte-Carlo for an arithmetic average (Asian) call on the lognormal process.\n"
+				+ "Output shows the number of levels, the cost (in time steps) of the multilevel estimator and of a single level estimator\n"
+				+ "on the finest level with the same statistical error (as in MonteCarloSchemeTests).\n");
+
+		final double initialValue = 1.0;
+		final double mu = 0.05;
+		final double sigma = 0.2;
+		final double maturity = 1.0;
+		final double strike = 1.0;
+
+		// Arithmetic average over the time discretization of the path (excluding the initial value)
+		final ToDoubleFunction<double[]> asianCall = path -> {
+			double average = 0.0;
+			for(int timeIndex=1; timeIndex<path.length; timeIndex++) {
+				average += path[timeIndex];
+			}
+			average /= path.length-1;
+			return Math.exp(-mu * maturity) * Math.max(average - strike, 0.0);
+		};
+
+		final DecimalFormat formatterValue = new DecimalFormat("0.000000");
+		final DecimalFormat formatterCost = new DecimalFormat("0.00E0");
+		for(final String schemeName : new String[] { "Euler", "Milstein" }) {
+			final SchemeFactory schemeFactory = schemeName.equals("Euler") ? LogProcessEulerScheme::new : LogProcessMilsteinScheme::new;
+			for(final double accuracy : new double[] { 1E-2, 5E-3, 2E-3, 1E-3, 5E-4 }) {
+				final MultilevelMonteCarloEstimator estimator = new MultilevelMonteCarloEstimator(schemeFactory, initialValue, mu, sigma, maturity,
+						asianCall, 2, 12, 1000, new PhiloxRandomNumberGenerator(3141));
+
+				final long timeStart = System.currentTimeMillis();
+				final Result result = estimator.getValue(accuracy);
+				final long timeEnd = System.currentTimeMillis();
+
+				System.out.println(schemeName
+						+ "\t\u03B5 = " + accuracy
+						+ "\tvalue = " + formatterValue.format(result.getValue())
+						+ "\tlevels = " + result.getNumberOfLevels()
+						+ "\tcost MLMC = " + formatterCost.format(result.getCost())
+						+ "\tcost MC = " + formatterCost.format(result.getCostSingleLevel())
+						+ "\tsaving = " + formatterCost.format(result.getCostSingleLevel() / result.getCost())
+						+ "\t\u03B5\u00B2 cost MLMC = " + formatterValue.format(accuracy * accuracy * result.getCost())
+						+ "\t(Time=" + (timeEnd-timeStart) / 1000.0 + " sec).");
+			}
+		}
+	}
+}
@@ -1,6 +1,8 @@
 package net.finmath.experiments.reproduction;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 import java.util.stream.DoubleStream;
 
 import org.apache.commons.math3.util.CombinatoricsUtils;
@@ -9,26 +11,151 @@ import org.apache.commons.math3.util.CombinatoricsUtils;
  * Implementation of an inverse convolution (aka BackProjection) using a given
  * distribution kernel (which can be interpreted as distribution of incubation times).
  *
+ * An iteration (EM step followed by a binomial smoothing) calculates the projected observations (the convolution of the
+ * infections with the distribution) once and the EM update as a correlation of the ratios of observations and projected
+ * observations with the distribution (see {@link DiscreteConvolution}, which uses a fast Fourier transform for long distributions).
+ * The smoothing weights are calculated once. All work buffers are allocated once per back projection.
+ *
+ * The fixed point of the iteration may be approached by the plain iteration or by a squared extrapolation (SQUAREM),
+ * which typically requires far fewer iterations for wide distributions. The progress of the iteration is reported in the
+ * {@link Result}.
+ *
  * @author Christian Fries
  */
 public class BackProjection {
 
+	/**
+	 * The extrapolation applied to the fixed point iteration.
+	 */
+	public enum Acceleration {
+		/** Plain iteration of the EM smoothing map. **/
+		NONE,
+		/** Squared extrapolation (SQUAREM, Varadhan and Roland, 2008), keeping the infections positive. **/
+		SQUAREM
+	}
+
+	/**
+	 * The result of a back projection together with its convergence metrics.
+	 */
+	public static class Result {
+		private final double[]	infections;
+		private final int		numberOfIterations;
+		private final double[]	squaredDeviations;
+		private final boolean	isConverged;
+
+		public Result(double[] infections, int numberOfIterations, double[] squaredDeviations, boolean isConverged) {
+			this.infections = infections;
+			this.numberOfIterations = numberOfIterations;
+			this.squaredDeviations = squaredDeviations;
+			this.isConverged = isConverged;
+		}
+
+		public double[] getInfections() {
+			return infections;
+		}
+
+		/**
+		 * Returns the number of evaluations of the EM smoothing map. A plain step counts one evaluation, a SQUAREM cycle
+		 * counts three (two steps and the stabilization step), or two if the iteration converges with its first step.
+		 * The number does not exceed the maximum number of iterations.
+		 *
+		 * @return The number of evaluations of the EM smoothing map.
+		 */
+		public int getNumberOfIterations() {
+			return numberOfIterations;
+		}
+
+		/**
+		 * Returns the squared deviations of the infections, one per plain step and one per SQUAREM cycle
+		 * (the deviation of its stabilization step, or of its first step if the iteration converges there).
+		 * Hence, for SQUAREM, the length is not the number of iterations.
+		 *
+		 * @return The squared deviation of each (accelerated) step.
+		 */
+		public double[] getSquaredDeviations() {
+			return squaredDeviations.clone();
+		}
+
+		/**
+		 * @return The squared deviation of the last step.
+		 */
+		public double getSquaredDeviation() {
+			return squaredDeviations.length > 0 ? squaredDeviations[squaredDeviations.length-1] : Double.NaN;
+		}
+
+		public boolean isConverged() {
+			return isConverged;
+		}
+	}
+
+	private static final double	DEFAULT_TOLERANCE						= 1E-12;
+	private static final int	MAXIMUM_NUMBER_OF_BACKTRACKING_STEPS	= 10;
+
 	private final double[] distribution;
 	private final int smoothingIntervalStart;
 	private final int smoothingIntervalEnd;
 
-	public BackProjection(double[] distribution, int smoothingIntervalStart,
-			int smoothingIntervalEnd) {
+	private final Acceleration acceleration;
+	private final double tolerance;
+	private final int maximumNumberOfIterations;
+
+	private final double[] smoothingWeights;
+	private final double sumOfSmoothingWeights;
+
+	/**
+	 * Create the back projection.
+	 *
+	 * @param distribution The distribution of the delay between infection and observation.
+	 * @param smoothingIntervalStart The start of the smoothing window (relative to the day).
+	 * @param smoothingIntervalEnd The end of the smoothing window (relative to the day).
+	 * @param acceleration The extrapolation applied to the fixed point iteration.
+	 * @param tolerance The iteration stops if the squared change of the infections is below this value.
+	 * @param maximumNumberOfIterations The maximum number of evaluations of the EM smoothing map.
+	 */
+	public BackProjection(double[] distribution, int smoothingIntervalStart, int smoothingIntervalEnd,
+			Acceleration acceleration, double tolerance, int maximumNumberOfIterations) {
 		super();
 		this.distribution = distribution;
 		this.smoothingIntervalStart = smoothingIntervalStart;
 		this.smoothingIntervalEnd = smoothingIntervalEnd;
+		this.acceleration = acceleration;
+		this.tolerance = tolerance;
+		this.maximumNumberOfIterations = maximumNumberOfIterations;
+
+		// Binomial smoothing kernel
+		smoothingWeights = new double[Math.max(smoothingIntervalEnd-smoothingIntervalStart+1, 0)];
+		double sumOfWeight = 0.0;
+		for(int k=smoothingIntervalStart; k<=smoothingIntervalEnd; k++) {
+			final double weight = CombinatoricsUtils.binomialCoefficient(smoothingIntervalEnd-smoothingIntervalStart, k-smoothingIntervalStart) / Math.pow(2, smoothingIntervalEnd-smoothingIntervalStart);
+			smoothingWeights[k-smoothingIntervalStart] = weight;
+			sumOfWeight += weight;
+		}
+		sumOfSmoothingWeights = sumOfWeight;
 	}
 
-	double[] getInfections(double[] observations) {
+	/**
+	 * Create the back projection using the plain iteration with tolerance 1E-12 (without a limit on the number of iterations).
+	 *
+	 * @param distribution The distribution of the delay between infection and observation.
+	 * @param smoothingIntervalStart The start of the smoothing window (relative to the day).
+	 * @param smoothingIntervalEnd The end of the smoothing window (relative to the day).
+	 */
+	public BackProjection(double[] distribution, int smoothingIntervalStart,
+			int smoothingIntervalEnd) {
+		this(distribution, smoothingIntervalStart, smoothingIntervalEnd, Acceleration.NONE, DEFAULT_TOLERANCE, Integer.MAX_VALUE);
+	}
 
-		boolean converged = false;
+	double[] getInfections(double[] observations) {
+		return getBackProjection(observations).getInfections();
+	}
 
+	/**
+	 * Calculates the infections from the observations.
+	 *
+	 * @param observations The observations.
+	 * @return The infections together with the convergence metrics.
+	 */
+	public Result getBackProjection(double[] observations) {
 		final double averageObservataion = DoubleStream.of(observations).average().orElse(1.0);
 
 		final double[] infectionsNew = new double[observations.length];
@@ -37,44 +164,139 @@ public class BackProjection {
 		final double[] infections = new double[infectionsNew.length];
 		System.arraycopy(infectionsNew, 0, infections, 0, infections.length);
 
-		while(!converged) {
-			double squaredDeviation = 0.0;
+		// Work buffers
+		final DiscreteConvolution convolution = new DiscreteConvolution(distribution, observations.length);
+		final double[] observationsProjected = new double[observations.length];
+		final double[] ratios = new double[observations.length];
+
+		final List<Double> squaredDeviations = new ArrayList<>();
+		int numberOfIterations = 0;
+		boolean converged = false;
+
+		switch(acceleration) {
+		case NONE:
+		default:
+			while(!converged && numberOfIterations < maximumNumberOfIterations) {
+				final double squaredDeviation = applyIteration(observations, infections, infectionsNew, convolution, observationsProjected, ratios);
+				numberOfIterations++;
+
+				squaredDeviations.add(squaredDeviation);
+				converged = squaredDeviation < tolerance;
+			}
+			break;
+		case SQUAREM:
+			final double[] infectionsStep1 = new double[infections.length];
+			final double[] infectionsStep2 = new double[infections.length];
+			final double[] infectionsExtrapolated = new double[infections.length];
+			while(!converged && numberOfIterations < maximumNumberOfIterations) {
+				if(maximumNumberOfIterations - numberOfIterations < 3) {
+					// The remaining evaluations do not suffice for a cycle: plain steps
+					final double squaredDeviation = applyIteration(observations, infections, infectionsNew, convolution, observationsProjected, ratios);
+					numberOfIterations++;
+
+					squaredDeviations.add(squaredDeviation);
+					converged = squaredDeviation < tolerance;
+					continue;
+				}
+
+				// Two steps of the map
+				System.arraycopy(infections, 0, infectionsStep1, 0, infections.length);
+				final double squaredDeviationOfStep1 = applyIteration(observations, infectionsStep1, infectionsNew, convolution, observationsProjected, ratios);
+				System.arraycopy(infectionsStep1, 0, infectionsStep2, 0, infections.length);
+				applyIteration(observations, infectionsStep2, infectionsNew, convolution, observationsProjected, ratios);
+				numberOfIterations += 2;
+
+				if(squaredDeviationOfStep1 < tolerance) {
+					System.arraycopy(infectionsStep1, 0, infections, 0, infections.length);
+					squaredDeviations.add(squaredDeviationOfStep1);
+					converged = true;
+					break;
+				}
+
+				// Step length from r = F(x)-x and v = F(F(x))-2F(x)+x (scheme S3), at least the plain double step (alpha = -1)
+				double squaredNormOfV = 0.0;
+				for(int i=0; i<infections.length; i++) {
+					final double v = infectionsStep2[i] - 2.0 * infectionsStep1[i] + infections[i];
+					squaredNormOfV += v * v;
+				}
+				double alpha = squaredNormOfV > 0 ? Math.min(-Math.sqrt(squaredDeviationOfStep1 / squaredNormOfV), -1.0) : -1.0;
 
-			for(int k=0; k<observations.length-(distribution.length-1); k++) {
-				double sum = 0.0;
-				final double infection = infections[k];
-				for(int i=0; i<distribution.length; i++) {
-					double observationProjected = 0.0;
-					for(int j=0; j<distribution.length; j++) {
-						observationProjected += infections[Math.max(k+i-j,0)] * distribution[j];
+				// Extrapolation x - 2 alpha r + alpha^2 v, halving the distance to alpha = -1 (which is F(F(x)) > 0) until it is positive
+				for(int backtrackingStep=0; ; backtrackingStep++) {
+					if(alpha == -1.0 || backtrackingStep == MAXIMUM_NUMBER_OF_BACKTRACKING_STEPS) {
+						System.arraycopy(infectionsStep2, 0, infectionsExtrapolated, 0, infections.length);
+						break;
 					}
-					sum += observations[k+i] * distribution[i] / observationProjected;
 
+					boolean isPositive = true;
+					for(int i=0; i<infections.length; i++) {
+						final double r = infectionsStep1[i] - infections[i];
+						final double v = infectionsStep2[i] - 2.0 * infectionsStep1[i] + infections[i];
+						infectionsExtrapolated[i] = infections[i] - 2.0 * alpha * r + alpha * alpha * v;
+						isPositive &= infectionsExtrapolated[i] > 0;
+					}
+					if(isPositive) {
+						break;
+					}
+					alpha = (alpha - 1.0) / 2.0;
 				}
-				sum *= infection;
-				infectionsNew[k] = sum;
+
+				// Stabilization step
+				System.arraycopy(infectionsExtrapolated, 0, infections, 0, infections.length);
+				final double squaredDeviation = applyIteration(observations, infections, infectionsNew, convolution, observationsProjected, ratios);
+				numberOfIterations++;
+
+				squaredDeviations.add(squaredDeviation);
+				converged = squaredDeviation < tolerance;
 			}
+			break;
+		}
 
-			// Smoothing step
-			for(int i=0; i<infectionsNew.length; i++) {
-				final double infectionPrev = infections[i];
-				infections[i] = 0.0;
+		final double[] squaredDeviationsArray = new double[squaredDeviations.size()];
+		for(int i=0; i<squaredDeviationsArray.length; i++) {
+			squaredDeviationsArray[i] = squaredDeviations.get(i);
+		}
+		return new Result(infections, numberOfIterations, squaredDeviationsArray, converged);
+	}
 
-				double sumOfWeight = 0.0;
-				for(int k=smoothingIntervalStart; k<=smoothingIntervalEnd; k++) {
-					final double weight = CombinatoricsUtils.binomialCoefficient(smoothingIntervalEnd-smoothingIntervalStart, k-smoothingIntervalStart) / Math.pow(2, smoothingIntervalEnd-smoothingIntervalStart);
-					infections[i] += infectionsNew[Math.min(Math.max(i+k,0),infections.length-1)] * weight;
-					sumOfWeight += weight;
-				}
-				infections[i] /= sumOfWeight;
+	/**
+	 * Applies one iteration (EM step and smoothing) to the infections (in place).
+	 *
+	 * @param observations The observations.
+	 * @param infections The infections (replaced by the result of the iteration).
+	 * @param infectionsNew Buffer receiving the result of the EM step. The elements k &ge; n-d+1 are not written (they keep their initial value).
+	 * @param convolution The convolution with the distribution.
+	 * @param observationsProjected Buffer (length n).
+	 * @param ratios Buffer (length n).
+	 * @return The squared deviation of the infections from the previous infections.
+	 */
+	double applyIteration(double[] observations, double[] infections, double[] infectionsNew, DiscreteConvolution convolution, double[] observationsProjected, double[] ratios) {
+		final int numberOfUpdatedInfections = observations.length-(distribution.length-1);
+
+		// EM step: projected observations, ratio to the observations, correlation with the distribution
+		convolution.convolve(infections, observationsProjected);
+		for(int m=0; m<observations.length; m++) {
+			ratios[m] = observations[m] / observationsProjected[m];
+		}
+		convolution.correlate(ratios, infectionsNew);
+		for(int k=0; k<numberOfUpdatedInfections; k++) {
+			infectionsNew[k] *= infections[k];
+		}
+
+		// Smoothing step
+		double squaredDeviation = 0.0;
+		for(int i=0; i<infectionsNew.length; i++) {
+			final double infectionPrev = infections[i];
 
-				squaredDeviation += Math.pow(infections[i]-infectionPrev, 2);
+			double infection = 0.0;
+			for(int k=smoothingIntervalStart; k<=smoothingIntervalEnd; k++) {
+				infection += infectionsNew[Math.min(Math.max(i+k,0),infections.length-1)] * smoothingWeights[k-smoothingIntervalStart];
 			}
+			infections[i] = infection / sumOfSmoothingWeights;
 
-			System.out.println(squaredDeviation);
-			converged = squaredDeviation < 1E-12;
+			squaredDeviation += Math.pow(infections[i]-infectionPrev, 2);
 		}
 
-		return infections;
+		return squaredDeviation;
 	}
 }
@@ -65,7 +65,7 @@ public class BackProjectionAnalysis {
 			}
 		}
 
-		final double[] infectionsProjected = (new BackProjection(distributionEstm, smoothingIntervalStart, smoothingIntervalEnd)).getInfections(observations);
+		final double[] infectionsProjected = (new BackProjection(distributionEstm, smoothingIntervalStart, smoothingIntervalEnd, BackProjection.Acceleration.SQUAREM, 1E-12, 1000000)).getInfections(observations);
 
 		final List<Point2D> series1 = new ArrayList<Point2D>();
 		final List<Point2D> series2 = new ArrayList<Point2D>();
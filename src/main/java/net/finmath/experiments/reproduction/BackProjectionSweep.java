@@ -0,0 +1,393 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.reproduction;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.IntToDoubleFunction;
+import java.util.function.ToDoubleFunction;
+import java.util.stream.Collectors;
+
+import net.finmath.experiments.concurrency.IndexedCalculations;
+
+/**
+ * Headless sweep of the back projection analysis (see {@link BackProjectionAnalysis}) over a grid of
+ * true distributions (mean, standard deviation), estimated distributions (mean, standard deviation) and smoothing windows.
+ *
+ * For each cell the infections (a step from 2 to 1 in the middle of the period) are convolved with the true distribution
+ * and the result is back projected with the estimated distribution. The cell reports the root mean squared error and the maximum
+ * absolute error of the back projection together with its convergence metrics.
+ *
+ * The discretized distributions are calculated once per (length, mean, standard deviation), the observations once per true
+ * distribution. The cells are calculated in parallel on a given ForkJoinPool (the parallelism of the pool bounds the number of
+ * concurrent back projections).
+ *
+ * The results can be written as a CSV file or as a compact binary file with one contiguous block per column.
+ *
+ * @author Christian Fries
+ */
+public class BackProjectionSweep {
+
+	/**
+	 * The columns of the result files.
+	 */
+	public static final List<String> COLUMN_NAMES = List.of(
+			"trueMean", "trueStdDev", "estimatedMean", "estimatedStdDev", "smoothingStart", "smoothingEnd",
+			"rmse", "maxError", "iterations", "converged", "timeMillis");
+
+	private static final long	FILE_MAGIC_NUMBER	= 0x464D425053574545L;
+	private static final int	FILE_HEADER_SIZE	= 3 * Long.BYTES;
+
+	private final int							numberOfDays;
+	private final int							lengthOfDistribution;
+	private final BackProjection.Acceleration	acceleration;
+	private final double						tolerance;
+	private final int							maximumNumberOfIterations;
+	private final ForkJoinPool					forkJoinPool;
+
+	private final Map<List<Number>, double[]> distributions = new ConcurrentHashMap<>();
+
+	/**
+	 * The result of a cell of the grid.
+	 */
+	public static class Result {
+		private final double	trueMean;
+		private final double	trueStandardDeviation;
+		private final double	estimatedMean;
+		private final double	estimatedStandardDeviation;
+		private final int		smoothingIntervalStart;
+		private final int		smoothingIntervalEnd;
+		private final double	rootMeanSquaredError;
+		private final double	maximumAbsoluteError;
+		private final int		numberOfIterations;
+		private final boolean	isConverged;
+		private final long		calculationTimeMillis;
+
+		public Result(double trueMean, double trueStandardDeviation, double estimatedMean, double estimatedStandardDeviation,
+				int smoothingIntervalStart, int smoothingIntervalEnd, double rootMeanSquaredError, double maximumAbsoluteError,
+				int numberOfIterations, boolean isConverged, long calculationTimeMillis) {
+			this.trueMean = trueMean;
+			this.trueStandardDeviation = trueStandardDeviation;
+			this.estimatedMean = estimatedMean;
+			this.estimatedStandardDeviation = estimatedStandardDeviation;
+			this.smoothingIntervalStart = smoothingIntervalStart;
+			this.smoothingIntervalEnd = smoothingIntervalEnd;
+			this.rootMeanSquaredError = rootMeanSquaredError;
+			this.maximumAbsoluteError = maximumAbsoluteError;
+			this.numberOfIterations = numberOfIterations;
+			this.isConverged = isConverged;
+			this.calculationTimeMillis = calculationTimeMillis;
+		}
+
+		public double getTrueMean() {
+			return trueMean;
+		}
+
+		public double getTrueStandardDeviation() {
+			return trueStandardDeviation;
+		}
+
+		public double getEstimatedMean() {
+			return estimatedMean;
+		}
+
+		public double getEstimatedStandardDeviation() {
+			return estimatedStandardDeviation;
+		}
+
+		public int getSmoothingIntervalStart() {
+			return smoothingIntervalStart;
+		}
+
+		public int getSmoothingIntervalEnd() {
+			return smoothingIntervalEnd;
+		}
+
+		/**
+		 * @return The root mean squared error of the back projected infections.
+		 */
+		public double getRootMeanSquaredError() {
+			return rootMeanSquaredError;
+		}
+
+		/**
+		 * @return The maximum absolute error of the back projected infections.
+		 */
+		public double getMaximumAbsoluteError() {
+			return maximumAbsoluteError;
+		}
+
+		/**
+		 * @return The number of iterations of the back projection.
+		 */
+		public int getNumberOfIterations() {
+			return numberOfIterations;
+		}
+
+		public boolean isConverged() {
+			return isConverged;
+		}
+
+		/**
+		 * @return The time used for the back projection of this cell.
+		 */
+		public long getCalculationTimeMillis() {
+			return calculationTimeMillis;
+		}
+	}
+
+	/**
+	 * Create the sweep.
+	 *
+	 * @param numberOfDays The number of days of infections.
+	 * @param lengthOfDistribution The number of samples of the discretized distributions.
+	 * @param acceleration The extrapolation applied to the back projection.
+	 * @param tolerance The tolerance of the back projection.
+	 * @param maximumNumberOfIterations The maximum number of iterations of the back projection.
+	 * @param forkJoinPool The pool calculating the cells. If null, the cells are calculated by the calling thread.
+	 */
+	public BackProjectionSweep(int numberOfDays, int lengthOfDistribution, BackProjection.Acceleration acceleration, double tolerance,
+			int maximumNumberOfIterations, ForkJoinPool forkJoinPool) {
+		super();
+		this.numberOfDays = numberOfDays;
+		this.lengthOfDistribution = lengthOfDistribution;
+		this.acceleration = acceleration;
+		this.tolerance = tolerance;
+		this.maximumNumberOfIterations = maximumNumberOfIterations;
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * Calculates the back projection for all combinations of the given parameters.
+	 *
+	 * @param trueMeans The means of the true distribution.
+	 * @param trueStandardDeviations The standard deviations of the true distribution.
+	 * @param estimatedMeans The means of the distribution used in the back projection.
+	 * @param estimatedStandardDeviations The standard deviations of the distribution used in the back projection.
+	 * @param smoothingIntervals The smoothing windows, each given as { start, end }.
+	 * @return The results, ordered by true mean, true standard deviation, estimated mean, estimated standard deviation, smoothing window.
+	 */
+	public List<Result> getResults(double[] trueMeans, double[] trueStandardDeviations, double[] estimatedMeans, double[] estimatedStandardDeviations, int[][] smoothingIntervals) {
+		final double[] infections = new double[numberOfDays];
+		for(int i = 0; i<numberOfDays; i++) {
+			infections[i] = i < numberOfDays/2 ? 2 : 1;
+		}
+
+		/*
+		 * The observations per true distribution
+		 */
+		final int numberOfTrueDistributions = trueMeans.length * trueStandardDeviations.length;
+		final double[][] observations = new double[numberOfTrueDistributions][];
+		IndexedCalculations.run(forkJoinPool, numberOfTrueDistributions, index -> {
+			final double[] distributionTrue = getDistribution(trueMeans[index / trueStandardDeviations.length], trueStandardDeviations[index % trueStandardDeviations.length]);
+			observations[index] = new double[numberOfDays+(distributionTrue.length-1)];
+			for(int i=0; i<infections.length; i++) {
+				for(int j=0; j<distributionTrue.length; j++) {
+					observations[index][i+j] += infections[i] * distributionTrue[j];
+				}
+			}
+			return null;
+		});
+
+		/*
+		 * The cells
+		 */
+		final int numberOfCells = numberOfTrueDistributions * estimatedMeans.length * estimatedStandardDeviations.length * smoothingIntervals.length;
+		return IndexedCalculations.run(forkJoinPool, numberOfCells, cellIndex -> {
+			int index = cellIndex;
+			final int smoothingIntervalIndex			= index % smoothingIntervals.length;			index /= smoothingIntervals.length;
+			final int estimatedStandardDeviationIndex	= index % estimatedStandardDeviations.length;	index /= estimatedStandardDeviations.length;
+			final int estimatedMeanIndex				= index % estimatedMeans.length;				index /= estimatedMeans.length;
+			final int trueDistributionIndex				= index;
+
+			final double trueMean					= trueMeans[trueDistributionIndex / trueStandardDeviations.length];
+			final double trueStandardDeviation		= trueStandardDeviations[trueDistributionIndex % trueStandardDeviations.length];
+			final double estimatedMean				= estimatedMeans[estimatedMeanIndex];
+			final double estimatedStandardDeviation	= estimatedStandardDeviations[estimatedStandardDeviationIndex];
+			final int smoothingIntervalStart		= smoothingIntervals[smoothingIntervalIndex][0];
+			final int smoothingIntervalEnd			= smoothingIntervals[smoothingIntervalIndex][1];
+
+			final long timeStart = System.currentTimeMillis();
+
+			final BackProjection backProjection = new BackProjection(getDistribution(estimatedMean, estimatedStandardDeviation),
+					smoothingIntervalStart, smoothingIntervalEnd, acceleration, tolerance, maximumNumberOfIterations);
+			final BackProjection.Result backProjectionResult = backProjection.getBackProjection(observations[trueDistributionIndex]);
+			final double[] infectionsProjected = backProjectionResult.getInfections();
+
+			double sumOfSquaredErrors = 0.0;
+			double maximumAbsoluteError = 0.0;
+			for(int i=0; i<infections.length; i++) {
+				final double error = infectionsProjected[i] - infections[i];
+				sumOfSquaredErrors += error * error;
+				maximumAbsoluteError = Math.max(maximumAbsoluteError, Math.abs(error));
+			}
+
+			final long timeEnd = System.currentTimeMillis();
+
+			return new Result(trueMean, trueStandardDeviation, estimatedMean, estimatedStandardDeviation, smoothingIntervalStart, smoothingIntervalEnd,
+					Math.sqrt(sumOfSquaredErrors / infections.length), maximumAbsoluteError,
+					backProjectionResult.getNumberOfIterations(), backProjectionResult.isConverged(), timeEnd-timeStart);
+		});
+	}
+
+	/**
+	 * Writes the results as a CSV file (one line per cell, with a header line containing the {@link #COLUMN_NAMES}).
+	 *
+	 * @param results The results.
+	 * @param file The file.
+	 * @throws IOException Thrown if the file cannot be written.
+	 */
+	public static void writeResultsAsCSV(List<Result> results, File file) throws IOException {
+		try(BufferedWriter writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8)) {
+			writer.write(String.join(",", COLUMN_NAMES));
+			writer.newLine();
+			for(final Result result : results) {
+				writer.write(String.format(Locale.ROOT, "%s,%s,%s,%s,%d,%d,%.8g,%.8g,%d,%b,%d",
+						result.getTrueMean(), result.getTrueStandardDeviation(), result.getEstimatedMean(), result.getEstimatedStandardDeviation(),
+						result.getSmoothingIntervalStart(), result.getSmoothingIntervalEnd(),
+						result.getRootMeanSquaredError(), result.getMaximumAbsoluteError(),
+						result.getNumberOfIterations(), result.isConverged(), result.getCalculationTimeMillis()));
+				writer.newLine();
+			}
+		}
+	}
+
+	/**
+	 * Writes the results as a binary columnar file: a header (magic number, number of columns, number of rows, as little endian longs),
+	 * followed by the columns {@link #COLUMN_NAMES}, each as a contiguous block of little endian doubles (one per cell;
+	 * integers are stored exactly, converged as 1.0 or 0.0). A column can hence be read (or mapped) without parsing the other columns.
+	 *
+	 * @param results The results.
+	 * @param file The file.
+	 * @throws IOException Thrown if the file cannot be written.
+	 */
+	public static void writeResultsAsColumns(List<Result> results, Path file) throws IOException {
+		final int numberOfRows = results.size();
+		final ByteBuffer buffer = ByteBuffer.allocate(FILE_HEADER_SIZE + COLUMN_NAMES.size() * numberOfRows * Double.BYTES).order(ByteOrder.LITTLE_ENDIAN);
+		buffer.putLong(FILE_MAGIC_NUMBER).putLong(COLUMN_NAMES.size()).putLong(numberOfRows);
+
+		final List<ToDoubleFunction<Result>> columns = List.of(
+				Result::getTrueMean,
+				Result::getTrueStandardDeviation,
+				Result::getEstimatedMean,
+				Result::getEstimatedStandardDeviation,
+				Result::getSmoothingIntervalStart,
+				Result::getSmoothingIntervalEnd,
+				Result::getRootMeanSquaredError,
+				Result::getMaximumAbsoluteError,
+				Result::getNumberOfIterations,
+				result -> result.isConverged() ? 1.0 : 0.0,
+				Result::getCalculationTimeMillis);
+		for(final ToDoubleFunction<Result> column : columns) {
+			for(final Result result : results) {
+				buffer.putDouble(column.applyAsDouble(result));
+			}
+		}
+		buffer.flip();
+
+		try(FileChannel fileChannel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			while(buffer.hasRemaining()) {
+				fileChannel.write(buffer);
+			}
+		}
+	}
+
+	/**
+	 * Reads the results from a binary columnar file written by {@link #writeResultsAsColumns(List, Path)}.
+	 *
+	 * @param file The file.
+	 * @return The results.
+	 * @throws IOException Thrown if the file cannot be read or is not a columnar result file.
+	 */
+	public static List<Result> readResultsFromColumns(Path file) throws IOException {
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).order(ByteOrder.LITTLE_ENDIAN);
+		if(buffer.remaining() < FILE_HEADER_SIZE || buffer.getLong(0) != FILE_MAGIC_NUMBER || buffer.getLong(Long.BYTES) != COLUMN_NAMES.size()) {
+			throw new IOException("File " + file + " is not a back projection sweep result.");
+		}
+		final int numberOfRows = (int)buffer.getLong(2 * Long.BYTES);
+		if(buffer.remaining() < FILE_HEADER_SIZE + (long)COLUMN_NAMES.size() * numberOfRows * Double.BYTES) {
+			throw new IOException("File " + file + " is truncated.");
+		}
+
+		final DoubleBuffer values = buffer.position(FILE_HEADER_SIZE).slice().order(ByteOrder.LITTLE_ENDIAN).asDoubleBuffer();
+		final List<Result> results = new ArrayList<>(numberOfRows);
+		for(int rowIndex=0; rowIndex<numberOfRows; rowIndex++) {
+			final int row = rowIndex;
+			final IntToDoubleFunction value = columnIndex -> values.get(columnIndex * numberOfRows + row);
+			results.add(new Result(value.applyAsDouble(0), value.applyAsDouble(1), value.applyAsDouble(2), value.applyAsDouble(3),
+					(int)value.applyAsDouble(4), (int)value.applyAsDouble(5), value.applyAsDouble(6), value.applyAsDouble(7),
+					(int)value.applyAsDouble(8), value.applyAsDouble(9) != 0.0, (long)value.applyAsDouble(10)));
+		}
+		return results;
+	}
+
+	public static void main(String[] args) throws IOException {
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors());
+
+		final BackProjectionSweep sweep = new BackProjectionSweep(
+				200,		// numberOfDays
+				50,			// lengthOfDistribution
+				BackProjection.Acceleration.SQUAREM,
+				1E-12,		// tolerance
+				10000,		// maximumNumberOfIterations
+				forkJoinPool);
+
+		final double[] means = new double[] { 3.0, 4.0, 5.0, 6.0, 7.0, 8.0 };
+		final double[] standardDeviations = new double[] { 1.0, 2.0, 4.0, 6.0, 8.0 };
+		final int[][] smoothingIntervals = new int[][] { { 0, 0 }, { -1, 1 }, { -3, 3 }, { -5, 5 }, { 0, 5 }, { -5, 0 } };
+
+		final long timeStart = System.currentTimeMillis();
+		final List<Result> results = sweep.getResults(means, standardDeviations, means, standardDeviations, smoothingIntervals);
+		final long timeEnd = System.currentTimeMillis();
+
+		forkJoinPool.shutdown();
+
+		final File file = new File("backprojection-sweep.csv");
+		writeResultsAsCSV(results, file);
+		writeResultsAsColumns(results, Path.of("backprojection-sweep.bin"));
+
+		System.out.println("Total calculation time: " + (timeEnd-timeStart) + " ms (" + results.size() + " cells, "
+				+ results.stream().filter(result -> !result.isConverged()).count() + " not converged).");
+		System.out.println("Results written to " + file.getAbsolutePath() + ".");
+		System.out.println("Smallest errors: " + results.stream()
+		.sorted(Comparator.comparingDouble(Result::getRootMeanSquaredError))
+		.limit(3)
+		.map(result -> result.getEstimatedMean() + "/" + result.getEstimatedStandardDeviation() + "/[" + result.getSmoothingIntervalStart() + "," + result.getSmoothingIntervalEnd() + "]")
+		.collect(Collectors.joining(", ")));
+	}
+
+	/**
+	 * Returns the discretized distribution, calculated once per (length, mean, standard deviation).
+	 */
+	private double[] getDistribution(double mean, double standardDeviation) {
+		final List<Number> key = List.of(lengthOfDistribution, mean, standardDeviation);
+		final double[] distribution = distributions.get(key);
+		if(distribution != null) {
+			return distribution;
+		}
+
+		// The fit runs outside the map (concurrent fits of the same key give the same distribution, the first one is kept)
+		final double[] distributionNew = DiscretizedLognormalDistribution.getDistribution(lengthOfDistribution, mean, standardDeviation);
+		final double[] distributionPrevious = distributions.putIfAbsent(key, distributionNew);
+		return distributionPrevious != null ? distributionPrevious : distributionNew;
+	}
+}
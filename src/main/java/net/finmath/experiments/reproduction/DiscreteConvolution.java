@@ -0,0 +1,224 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.reproduction;
+
+import java.util.Arrays;
+
+/**
+ * Convolution and correlation of a time series of fixed length n with a fixed kernel of length d, as used by
+ * {@link BackProjection}:
+ * <ul>
+ * <li>convolution: y[m] = &sum;<sub>j</sub> kernel[j] x[max(m-j,0)] for m = 0, ..., n-1 (the series is extended by its first value),</li>
+ * <li>correlation: y[k] = &sum;<sub>i</sub> kernel[i] x[k+i] for k = 0, ..., n-d.</li>
+ * </ul>
+ *
+ * For short kernels the sums are calculated directly (O(n d)). For kernels of at least {@value #MINIMUM_KERNEL_LENGTH_FOR_FFT} elements
+ * the convolution is calculated via a radix-2 fast Fourier transform (O(n log n)), where the transforms of the kernel are calculated once.
+ *
+ * The object holds its work buffers and is not thread safe.
+ *
+ * @author Christian Fries
+ */
+final class DiscreteConvolution {
+
+	static final int MINIMUM_KERNEL_LENGTH_FOR_FFT = 64;
+
+	private final double[]	kernel;
+	private final int		length;
+
+	/*
+	 * FFT (null if the sums are calculated directly): size, twiddle factors, transforms of the kernel and of the reversed kernel, buffers
+	 */
+	private final int		size;
+	private final double[]	cosines;
+	private final double[]	sines;
+	private final double[]	kernelReal;
+	private final double[]	kernelImag;
+	private final double[]	kernelReversedReal;
+	private final double[]	kernelReversedImag;
+	private final double[]	bufferReal;
+	private final double[]	bufferImag;
+
+	/**
+	 * Create the convolution.
+	 *
+	 * @param kernel The kernel (length d).
+	 * @param length The length n of the time series.
+	 * @param isFFT If true, the fast Fourier transform is used, otherwise the sums are calculated directly.
+	 */
+	DiscreteConvolution(double[] kernel, int length, boolean isFFT) {
+		this.kernel = kernel;
+		this.length = length;
+
+		if(isFFT) {
+			// The convolution of the extended series (length n+d-1) has n+2d-2 elements
+			int sizeOfTransform = 1;
+			while(sizeOfTransform < length + 2 * kernel.length - 2) {
+				sizeOfTransform <<= 1;
+			}
+			size = sizeOfTransform;
+
+			cosines = new double[size/2];
+			sines = new double[size/2];
+			for(int i=0; i<size/2; i++) {
+				cosines[i] = Math.cos(2.0 * Math.PI * i / size);
+				sines[i] = Math.sin(2.0 * Math.PI * i / size);
+			}
+
+			kernelReal = new double[size];
+			kernelImag = new double[size];
+			kernelReversedReal = new double[size];
+			kernelReversedImag = new double[size];
+			for(int j=0; j<kernel.length; j++) {
+				kernelReal[j] = kernel[j];
+				kernelReversedReal[j] = kernel[kernel.length-1-j];
+			}
+			transform(kernelReal, kernelImag, false);
+			transform(kernelReversedReal, kernelReversedImag, false);
+
+			bufferReal = new double[size];
+			bufferImag = new double[size];
+		}
+		else {
+			size = 0;
+			cosines = null;
+			sines = null;
+			kernelReal = null;
+			kernelImag = null;
+			kernelReversedReal = null;
+			kernelReversedImag = null;
+			bufferReal = null;
+			bufferImag = null;
+		}
+	}
+
+	/**
+	 * Create the convolution, using the fast Fourier transform for kernels of at least {@value #MINIMUM_KERNEL_LENGTH_FOR_FFT} elements.
+	 *
+	 * @param kernel The kernel (length d).
+	 * @param length The length n of the time series.
+	 */
+	DiscreteConvolution(double[] kernel, int length) {
+		this(kernel, length, kernel.length >= MINIMUM_KERNEL_LENGTH_FOR_FFT);
+	}
+
+	/**
+	 * Calculates y[m] = &sum;<sub>j</sub> kernel[j] x[max(m-j,0)] for m = 0, ..., n-1.
+	 *
+	 * @param x The series (length n).
+	 * @param y The result (length n).
+	 */
+	void convolve(double[] x, double[] y) {
+		final int d = kernel.length;
+		if(size == 0) {
+			for(int m=0; m<length; m++) {
+				double sum = 0.0;
+				for(int j=0; j<d; j++) {
+					sum += x[Math.max(m-j,0)] * kernel[j];
+				}
+				y[m] = sum;
+			}
+		}
+		else {
+			// The series extended by d-1 copies of its first value
+			for(int t=0; t<d-1; t++) {
+				bufferReal[t] = x[0];
+			}
+			System.arraycopy(x, 0, bufferReal, d-1, length);
+			Arrays.fill(bufferReal, length+d-1, size, 0.0);
+			Arrays.fill(bufferImag, 0.0);
+
+			multiplyTransformed(kernelReal, kernelImag);
+			System.arraycopy(bufferReal, d-1, y, 0, length);
+		}
+	}
+
+	/**
+	 * Calculates y[k] = &sum;<sub>i</sub> kernel[i] x[k+i] for k = 0, ..., n-d.
+	 *
+	 * @param x The series (length n).
+	 * @param y The result (length at least n-d+1).
+	 */
+	void correlate(double[] x, double[] y) {
+		final int d = kernel.length;
+		if(size == 0) {
+			for(int k=0; k<length-(d-1); k++) {
+				double sum = 0.0;
+				for(int i=0; i<d; i++) {
+					sum += x[k+i] * kernel[i];
+				}
+				y[k] = sum;
+			}
+		}
+		else if(length-(d-1) > 0) {
+			System.arraycopy(x, 0, bufferReal, 0, length);
+			Arrays.fill(bufferReal, length, size, 0.0);
+			Arrays.fill(bufferImag, 0.0);
+
+			multiplyTransformed(kernelReversedReal, kernelReversedImag);
+			System.arraycopy(bufferReal, d-1, y, 0, length-(d-1));
+		}
+	}
+
+	/**
+	 * Replaces the buffer by the inverse transform of the product of its transform with the given transform.
+	 */
+	private void multiplyTransformed(double[] otherReal, double[] otherImag) {
+		transform(bufferReal, bufferImag, false);
+		for(int i=0; i<size; i++) {
+			final double real = bufferReal[i] * otherReal[i] - bufferImag[i] * otherImag[i];
+			final double imag = bufferReal[i] * otherImag[i] + bufferImag[i] * otherReal[i];
+			bufferReal[i] = real;
+			bufferImag[i] = imag;
+		}
+		transform(bufferReal, bufferImag, true);
+	}
+
+	/**
+	 * In-place iterative radix-2 fast Fourier transform (the inverse transform includes the factor 1/size).
+	 */
+	private void transform(double[] real, double[] imag, boolean isInverse) {
+		// Bit reversal permutation
+		for(int i=1, j=0; i<size; i++) {
+			int bit = size >> 1;
+			for(; (j & bit) != 0; bit >>= 1) {
+				j ^= bit;
+			}
+			j ^= bit;
+			if(i < j) {
+				double temp = real[i];	real[i] = real[j];	real[j] = temp;
+				temp = imag[i];			imag[i] = imag[j];	imag[j] = temp;
+			}
+		}
+
+		// Butterflies
+		final double sign = isInverse ? 1.0 : -1.0;
+		for(int halfLength=1; halfLength<size; halfLength <<= 1) {
+			final int twiddleStride = size / (2 * halfLength);
+			for(int start=0; start<size; start += 2 * halfLength) {
+				for(int k=0; k<halfLength; k++) {
+					final double twiddleReal = cosines[k * twiddleStride];
+					final double twiddleImag = sign * sines[k * twiddleStride];
+					final int even = start + k;
+					final int odd = even + halfLength;
+					final double oddReal = real[odd] * twiddleReal - imag[odd] * twiddleImag;
+					final double oddImag = real[odd] * twiddleImag + imag[odd] * twiddleReal;
+					real[odd] = real[even] - oddReal;
+					imag[odd] = imag[even] - oddImag;
+					real[even] += oddReal;
+					imag[even] += oddImag;
+				}
+			}
+		}
+
+		if(isInverse) {
+			for(int i=0; i<size; i++) {
+				real[i] /= size;
+				imag[i] /= size;
+			}
+		}
+	}
+}
@@ -1,18 +1,60 @@
 package net.finmath.experiments.reproduction;
 
-import net.finmath.functions.NormalDistribution;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import net.finmath.optimizer.LevenbergMarquardt;
 import net.finmath.optimizer.SolverException;
 
+/**
+ * Discretization of a lognormal distribution on the days 1, ..., numberOfSamples.
+ *
+ * The distributions are cached (per number of samples, mean, standard deviation and type), such that repeated requests
+ * (e.g., in every time step of a simulation or in a calibration loop) do not repeat the fit. The cache is thread safe and holds
+ * the {@value #MAXIMUM_NUMBER_OF_CACHED_DISTRIBUTIONS} most recently used distributions. The fit is always started from the
+ * closed form parameters, hence the distribution does not depend on the content of the cache (e.g., on the order in which
+ * concurrent calculations requested distributions).
+ *
+ * @author Christian Fries
+ */
 public class DiscretizedLognormalDistribution {
 
+	private static final int MAXIMUM_NUMBER_OF_CACHED_DISTRIBUTIONS = 1000;
+
+	private static final Map<List<Object>, double[]> cache = new LinkedHashMap<List<Object>, double[]>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<List<Object>, double[]> eldest) {
+			return size() > MAXIMUM_NUMBER_OF_CACHED_DISTRIBUTIONS;
+		}
+	};
+
+	/**
+	 * Returns the discretized lognormal distribution whose discrete mean and variance match the given mean and standard deviation.
+	 * The parameters of the lognormal distribution are fitted by a Levenberg-Marquardt solver.
+	 *
+	 * @param numberOfSamples The number of samples.
+	 * @param mean The mean of the discrete distribution.
+	 * @param stddev The standard deviation of the discrete distribution.
+	 * @return The distribution (a new array).
+	 */
 	public static double[] getDistribution(int numberOfSamples, double mean, double stddev) {
+		final List<Object> key = List.of(numberOfSamples, mean, stddev, true);
+
+		synchronized(cache) {
+			final double[] cachedDistribution = cache.get(key);
+			if(cachedDistribution != null) {
+				return cachedDistribution.clone();
+			}
+		}
 
 		/*
 		 * Transformation to lognormal distribution parameters
 		 */
-		final double muGuess = Math.log(  mean / Math.sqrt(Math.pow(stddev / mean,2)+1 ) );
-		final double sigmaGuess = Math.sqrt( 2 * (Math.log(mean)-muGuess) );
+		final double muGuess = getMu(mean, stddev);
+		final double sigmaGuess = getSigma(mean, muGuess);
 
 		/*
 		 * We use a numerical solver to match the distribution parameters exactly
@@ -50,7 +92,56 @@ public class DiscretizedLognormalDistribution {
 
 		final double[] parameters = lm.getBestFitParameters();
 
-		return getDiscretizedDistribution(numberOfSamples, parameters[0], parameters[1]);
+		final double[] distribution = getDiscretizedDistribution(numberOfSamples, parameters[0], parameters[1]);
+		synchronized(cache) {
+			cache.put(key, distribution);
+		}
+		return distribution.clone();
+	}
+
+	/**
+	 * Returns the discretized lognormal distribution with the parameters of the continuous lognormal distribution
+	 * with the given mean and standard deviation (closed form, without a fit, hence the discrete moments deviate from the given ones).
+	 *
+	 * @param numberOfSamples The number of samples.
+	 * @param mean The mean of the continuous distribution.
+	 * @param stddev The standard deviation of the continuous distribution.
+	 * @return The distribution (a new array).
+	 */
+	public static double[] getDistributionWithContinuousMoments(int numberOfSamples, double mean, double stddev) {
+		final List<Object> key = List.of(numberOfSamples, mean, stddev, false);
+
+		synchronized(cache) {
+			final double[] cachedDistribution = cache.get(key);
+			if(cachedDistribution != null) {
+				return cachedDistribution.clone();
+			}
+		}
+
+		final double mu = getMu(mean, stddev);
+		final double sigma = getSigma(mean, mu);
+		final double[] distribution = getDiscretizedDistribution(numberOfSamples, mu, sigma);
+		synchronized(cache) {
+			cache.put(key, distribution);
+		}
+		return distribution.clone();
+	}
+
+	/**
+	 * Removes all distributions from the cache.
+	 */
+	static void clearCache() {
+		synchronized(cache) {
+			cache.clear();
+		}
+	}
+
+	private static double getMu(double mean, double stddev) {
+		return Math.log(  mean / Math.sqrt(Math.pow(stddev / mean,2)+1 ) );
+	}
+
+	private static double getSigma(double mean, double mu) {
+		return Math.sqrt( 2 * (Math.log(mean)-mu) );
 	}
 
 	private static double[] getDiscretizedDistribution(int numberOfSamples, double mu, double sigma) {
@@ -58,7 +149,6 @@ public class DiscretizedLognormalDistribution {
 		double sum = 0.0;
 		for(int i=0; i<distribution.length; i++) {
 			final double x = i+1;
-			final double P = (NormalDistribution.cumulativeDistribution((Math.log(i+1)-mu)/sigma)-NormalDistribution.cumulativeDistribution((Math.log(i)-mu)/sigma));
 			final double p = 1.0/(x*Math.sqrt(2*Math.PI)*sigma) * Math.exp(-Math.pow(Math.log(x)-mu, 2.0)/(2*sigma*sigma));
 			distribution[i] = p;
 			sum += p;
@@ -8,11 +8,9 @@ import java.text.DecimalFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
-import net.finmath.experiments.reproduction.ReproductionSimulationExperiment.StateProbabilities.State;
 import net.finmath.plots.GraphStyle;
 import net.finmath.plots.Plot2D;
 import net.finmath.plots.Plotable2D;
@@ -21,39 +19,58 @@ import net.finmath.plots.Point2D;
 import net.finmath.rootfinder.BisectionSearch;
 import net.finmath.rootfinder.RootFinder;
 
+/**
+ * Simulation of the probabilities of the states of an epidemic with lognormal distributed incubation time.
+ *
+ * The probabilities of the days currentTime, ..., currentTime + maxIncubation + timeInfectious (the days receiving the new infections
+ * of the current day) are stored in a ring buffer with one array per state, which is updated in place. The weights of the incubation
+ * distribution (probability of being infectious or immune i days after infection) are calculated once per distribution, the effective
+ * rate once per rate. Hence a time step does not allocate objects. Of the completed days only the infected (infectious or immune)
+ * are kept.
+ *
+ * @author Christian Fries
+ */
 public class ReproductionSimulationExperiment {
 
 	private static final int maxIncubation = 25;
+	private static final int initialNumberOfDaysOfHistory = 512;
+
+	public enum State {
+		UNINFECTED,
+		INFECTED_NOT_INFECTIOUS,
+		INFECTED_AND_INFECTIOUS,
+		IMMUNE
+	}
 
 	private final double incubationMean;
 	private final double incubationStdDev;
 	private final int timeInfectious;
 
-	private int currentTime = 0;
-
-	public static class StateProbabilities {
+	/*
+	 * Ring buffer: the probabilities of the days currentTime, ..., numberOfDays-1, day d at index d % lengthOfWindow, one array per state
+	 */
+	private final int lengthOfWindow;
+	private final double[][] probabilities;
 
-		public enum State {
-			UNINFECTED,
-			INFECTED_NOT_INFECTIOUS,
-			INFECTED_AND_INFECTIOUS,
-			IMMUNE
-		}
-
-		private final Map<State, Double> probabilities;
+	private int currentTime = 0;
+	private int numberOfDays = 0;
 
-		public StateProbabilities(double infectedNotInfectious, double infectedAndInfectious, double immune) {
-			probabilities = Map.of(
-					State.UNINFECTED, - infectedNotInfectious - infectedAndInfectious - immune,
-					State.INFECTED_NOT_INFECTIOUS, infectedNotInfectious,
-					State.INFECTED_AND_INFECTIOUS, infectedAndInfectious,
-					State.IMMUNE, immune
-					);
-		}
-	}
+	/*
+	 * The infected (infectious or immune) of the days 0, ..., currentTime-1
+	 */
+	private double[] infectedHistory = new double[initialNumberOfDaysOfHistory];
 
-	private final List<StateProbabilities> stateProbabilitiyEvolution = new ArrayList<StateProbabilities>();
+	/*
+	 * The incubation distribution with its weights: probability of being infectious (p) or immune (q) i days after infection
+	 */
+	private double incubationDistributionMean = Double.NaN;
+	private double incubationDistributionStdDev = Double.NaN;
+	private double[] incubation;
+	private final double[] weightsInfectious;
+	private final double[] weightsImmune;
 
+	private double rate = Double.NaN;
+	private double effectiveRate;
 
 	public static double getCalibrateRate(double rateTarget, double incubationMean, double incubationStdDev, int timeInfectious) {
 		final RootFinder rf = new BisectionSearch(1.00, 1.1);
@@ -63,10 +80,10 @@ public class ReproductionSimulationExperiment {
 			final ReproductionSimulationExperiment sim = new ReproductionSimulationExperiment(incubationMean, incubationStdDev, timeInfectious);
 
 			for(int i=0; i<200; i++) {
-				final StateProbabilities prob = sim.evolve(rate, incubationMean, incubationStdDev);
+				sim.evolve(rate, incubationMean, incubationStdDev);
 			}
-			final List<Double> rates = getCalculatedRates(getInfected(sim), 50, 100, 5);
-			final double rateMeasured = rates.get(rates.size()-10);
+			final double[] rates = getCalculatedRates(getInfected(sim), 50, 100, 5);
+			final double rateMeasured = rates[rates.length-10];
 			System.out.println(rateMeasured);
 			rf.setValue(1.0+rateMeasured-rateTarget);
 		}
@@ -75,18 +92,18 @@ public class ReproductionSimulationExperiment {
 
 	}
 
-	static List<Double> getCalculatedRates(List<Double> infected, int start, int end, int averagePeriod) {
-		final List<Double> rate = new ArrayList<Double>();
+	static double[] getCalculatedRates(double[] infected, int start, int end, int averagePeriod) {
+		final double[] rate = new double[end-start];
 		for(int j=start; j<end; j++) {
 			double sum1 = 0.0;
 			for(int k=averagePeriod; k<2*averagePeriod; k++) {
-				sum1 += (infected.get(j-k)-infected.get(j-k-1));
+				sum1 += (infected[j-k]-infected[j-k-1]);
 			}
 			double sum2 = 0.0;
 			for(int k=0; k<averagePeriod; k++) {
-				sum2 += (infected.get(j-k)-infected.get(j-k-1));
+				sum2 += (infected[j-k]-infected[j-k-1]);
 			}
-			rate.add((sum2-sum1)/sum1/averagePeriod);
+			rate[j-start] = (sum2-sum1)/sum1/averagePeriod;
 		}
 		return rate;
 	}
@@ -112,28 +129,28 @@ public class ReproductionSimulationExperiment {
 
 		for(int i=0; i<500; i++) {
 			if(i < 100) {
-				final StateProbabilities prob = sim.evolve(rate1, incubationMean, incubationStdDev);
+				sim.evolve(rate1, incubationMean, incubationStdDev);
 			}
 			else {
-				final StateProbabilities prob = sim.evolve(rate2, incubationMean, incubationStdDev);
+				sim.evolve(rate2, incubationMean, incubationStdDev);
 			}
 		}
 
-		final List<Double> infected = getInfected(sim);
+		final double[] infected = getInfected(sim);
 
 		final int plotStart = 50;
 		final int plotEnd = 150;
 		final int average = 5;
 
 		final List<Double> day = IntStream.range(plotStart, plotEnd).asDoubleStream().map(x -> (useTimeOfInfection ? x - incubationMean : x)).boxed().collect(Collectors.toList());
-		final List<Double> rate = getCalculatedRates(infected, plotStart, plotEnd, average);
+		final double[] rate = getCalculatedRates(infected, plotStart, plotEnd, average);
 
 		final List<Double> dayOfInventionX = IntStream.range(0, 500).mapToDouble(x -> 100.0).boxed().collect(Collectors.toList());
 		final List<Double> dayOfInventionY = IntStream.range(0, 500).mapToDouble(x -> 1.01 + x*(1.05-1.01)/500.0).boxed().collect(Collectors.toList());
 
 		final List<Point2D> series1 = new ArrayList<Point2D>();
 		for(int i=0; i<day.size(); i++) {
-			series1.add(new Point2D(day.get(i), 1.0+rate.get(i)));
+			series1.add(new Point2D(day.get(i), 1.0+rate[i]));
 		}
 		final List<Point2D> series2 = new ArrayList<Point2D>();
 		for(int i=0; i<dayOfInventionX.size(); i++) {
@@ -157,10 +174,16 @@ public class ReproductionSimulationExperiment {
 		plot2.saveAsPDF(new File(filename), 600, 400);
 	}
 
-	private static List<Double> getInfected(ReproductionSimulationExperiment sim) {
-		final List<Double> infected = new ArrayList<Double>();
-		for(final StateProbabilities prob : sim.stateProbabilitiyEvolution) {
-			infected.add(prob.probabilities.get(State.INFECTED_AND_INFECTIOUS)+prob.probabilities.get(State.IMMUNE));
+	/**
+	 * Returns the infected (infectious or immune) of the days 0, ..., numberOfDays-1 (including the days after the current time
+	 * which already received infections).
+	 */
+	static double[] getInfected(ReproductionSimulationExperiment sim) {
+		final double[] infected = new double[sim.numberOfDays];
+		System.arraycopy(sim.infectedHistory, 0, infected, 0, sim.currentTime);
+		for(int day=sim.currentTime; day<sim.numberOfDays; day++) {
+			final int index = day % sim.lengthOfWindow;
+			infected[day] = sim.probabilities[State.INFECTED_AND_INFECTIOUS.ordinal()][index] + sim.probabilities[State.IMMUNE.ordinal()][index];
 		}
 		return infected;
 	}
@@ -170,65 +193,91 @@ public class ReproductionSimulationExperiment {
 		this.incubationStdDev = incubationStdDev;
 		this.timeInfectious = timeInfectious;
 
+		lengthOfWindow = maxIncubation+timeInfectious+1;
+		probabilities = new double[State.values().length][lengthOfWindow];
+		weightsInfectious = new double[lengthOfWindow];
+		weightsImmune = new double[lengthOfWindow];
+
 		final double seed = 1E-12;
 
 		// Seed the simulation
-		stateProbabilitiyEvolution.add(new StateProbabilities(0.0, seed, 0.0));
-		stateProbabilitiyEvolution.add(new StateProbabilities(0.0, seed, 0.0));
-		stateProbabilitiyEvolution.add(new StateProbabilities(0.0, seed, 0.0));
-		stateProbabilitiyEvolution.add(new StateProbabilities(0.0, seed, 0.0));
-		stateProbabilitiyEvolution.add(new StateProbabilities(0.0, seed, 0.0));
-		stateProbabilitiyEvolution.add(new StateProbabilities(0.0, 0.0, seed));
+		addDay(0.0, seed, 0.0);
+		addDay(0.0, seed, 0.0);
+		addDay(0.0, seed, 0.0);
+		addDay(0.0, seed, 0.0);
+		addDay(0.0, seed, 0.0);
+		addDay(0.0, 0.0, seed);
 	}
 
-	StateProbabilities evolve(double rate, double mean, double stddev) {
+	void evolve(double rate, double mean, double stddev) {
 
-		/*
-		 * Transformation to lognormal distribution parameters
-		 */
-		final double mu = Math.log(  mean / Math.sqrt(Math.pow(stddev / mean,2)+1 ) );
-		final double sigma = Math.sqrt( 2 * (Math.log(mean)-mu) );
+		if(mean != incubationDistributionMean || stddev != incubationDistributionStdDev) {
+			setIncubationDistribution(mean, stddev);
+			this.rate = Double.NaN;
+		}
+		if(rate != this.rate) {
+			effectiveRate = solveForRate(rate, incubation, timeInfectious);
+			this.rate = rate;
+		}
 
-		final double[] incubation = new double[maxIncubation];
+		final double[] infectedNotInfectious	= probabilities[State.INFECTED_NOT_INFECTIOUS.ordinal()];
+		final double[] infectedAndInfectious	= probabilities[State.INFECTED_AND_INFECTIOUS.ordinal()];
+		final double[] immune					= probabilities[State.IMMUNE.ordinal()];
+		final double[] uninfected				= probabilities[State.UNINFECTED.ordinal()];
 
-		double sum = 0.0;
-		for(int i=0; i<incubation.length; i++) {
-			final double x = i+1;
-			final double p = 1.0/(x*Math.sqrt(2*Math.PI)*sigma) * Math.exp(-Math.pow(Math.log(x)-mu, 2.0)/(2*sigma*sigma));
-			incubation[i] = p;
-			sum += p;
-		}
+		final int current = currentTime % lengthOfWindow;
+		final double currentUninfected = 1+uninfected[current];
+		final double currentIntfectedAnd = infectedAndInfectious[current];
 
-		// Renormalize
-		for(int i=0; i<incubation.length; i++) {
-			incubation[i] /= sum;
-		}
+		final double newInfected = effectiveRate * currentIntfectedAnd * currentUninfected;
 
-		double avg = 0.0;
-		for(int i=0; i<incubation.length; i++) {
-			avg += (i+1) * incubation[i];
+		// Extend the window by copies of the last day
+		final int last = (numberOfDays-1) % lengthOfWindow;
+		while(numberOfDays < currentTime+lengthOfWindow) {
+			addDay(infectedNotInfectious[last], infectedAndInfectious[last], immune[last]);
 		}
 
-		double var = 0.0;
-		for(int i=0; i<incubation.length; i++) {
-			var += Math.pow((i+1) - avg, 2.0) * incubation[i];
-		}
+		for(int i=1; i<numberOfDays-currentTime; i++) {
+			final int index = (currentTime+i) % lengthOfWindow;
+			final double p = weightsInfectious[i];
+			final double q = weightsImmune[i];
 
-		final StateProbabilities currentState = stateProbabilitiyEvolution.get(currentTime);
-		final double currentUninfected = 1+currentState.probabilities.get(State.UNINFECTED);
-		final double currentIntfectedAnd = currentState.probabilities.get(State.INFECTED_AND_INFECTIOUS);
+			infectedNotInfectious[index]	+= newInfected * (1-p-q);
+			infectedAndInfectious[index]	+= newInfected * p;
+			immune[index]					+= newInfected * q;
+			uninfected[index] = - infectedNotInfectious[index] - infectedAndInfectious[index] - immune[index];
+		}
 
-		final double effectiveRate = solveForRate(rate, incubation, timeInfectious);
+		// The current day is complete
+		if(currentTime == infectedHistory.length) {
+			infectedHistory = Arrays.copyOf(infectedHistory, 2*infectedHistory.length);
+		}
+		infectedHistory[currentTime] = infectedAndInfectious[current] + immune[current];
 
-		final double newInfected = effectiveRate * currentIntfectedAnd * currentUninfected;
+		currentTime++;
+	}
 
-		final StateProbabilities lastState = stateProbabilitiyEvolution.get(stateProbabilitiyEvolution.size()-1);
-		while(stateProbabilitiyEvolution.size() < currentTime+incubation.length+timeInfectious+1) {
-			stateProbabilitiyEvolution.add(lastState);
-		}
+	/**
+	 * Appends the day numberOfDays to the window.
+	 */
+	private void addDay(double infectedNotInfectious, double infectedAndInfectious, double immune) {
+		final int index = numberOfDays % lengthOfWindow;
+		probabilities[State.UNINFECTED.ordinal()][index]				= - infectedNotInfectious - infectedAndInfectious - immune;
+		probabilities[State.INFECTED_NOT_INFECTIOUS.ordinal()][index]	= infectedNotInfectious;
+		probabilities[State.INFECTED_AND_INFECTIOUS.ordinal()][index]	= infectedAndInfectious;
+		probabilities[State.IMMUNE.ordinal()][index]					= immune;
+		numberOfDays++;
+	}
 
-		for(int i=1; i<stateProbabilitiyEvolution.size()-currentTime; i++) {
+	/**
+	 * Sets the incubation distribution and calculates the probabilities p (infectious) and q (immune) i days after infection.
+	 */
+	private void setIncubationDistribution(double mean, double stddev) {
+		incubation = DiscretizedLognormalDistribution.getDistributionWithContinuousMoments(maxIncubation, mean, stddev);
+		incubationDistributionMean = mean;
+		incubationDistributionStdDev = stddev;
 
+		for(int i=1; i<lengthOfWindow; i++) {
 			double p = 0;
 			double q = 0;
 			for(int j = 0; j<Math.min(i, incubation.length); j++) {
@@ -238,18 +287,9 @@ public class ReproductionSimulationExperiment {
 					p += incubation[j];
 				}
 			}
-
-			final StateProbabilities state = stateProbabilitiyEvolution.get(currentTime+i);
-			final StateProbabilities newState = new StateProbabilities(
-					state.probabilities.get(State.INFECTED_NOT_INFECTIOUS) + newInfected * (1-p-q),
-					state.probabilities.get(State.INFECTED_AND_INFECTIOUS) + newInfected * p,
-					state.probabilities.get(State.IMMUNE) + newInfected * q);
-
-			stateProbabilitiyEvolution.set(currentTime+i, newState);
+			weightsInfectious[i] = p;
+			weightsImmune[i] = q;
 		}
-
-		currentTime++;
-		return stateProbabilitiyEvolution.get(currentTime);
 	}
 
 	private double solveForRate(double rateTarget, double[] distribution, int n) {
@@ -1,10 +1,23 @@
 package net.finmath.experiments.shortrate;
 
-import net.finmath.functions.NormalDistribution;
+import net.finmath.experiments.montecarlo.randomnumbers.PhiloxRandomNumberGenerator;
+import net.finmath.experiments.montecarlo.randomnumbers.SplittableRandomNumberGenerator;
+import net.finmath.experiments.shortrate.CIRSimulationEngine.Scheme;
+import net.finmath.experiments.shortrate.CIRSimulationEngine.ZeroCouponBondValues;
 
 /**
  * CIR Simulation.
  *
+ * The Monte-Carlo valuation uses the {@link CIRSimulationEngine}, where the paths are divided into blocks and
+ * each block uses its own stream of a splittable random number generator. This makes the simulation
+ * reproducible and allows to simulate the blocks in parallel.
+ *
+ * Note: The Monte-Carlo values differ from those of the original implementation of this class, which used an Euler
+ * scheme without truncation of the rate (the square root of a negative rate gave NaN), Math.random() and a piecewise
+ * constant (left point) approximation of the integrated rate \( \sum r(t_{i}) \Delta t \). The engine integrates the truncated rate
+ * r<sup>+</sup> = max(r,0) with the trapezoidal rule \( \sum \frac{1}{2} (r^{+}(t_{i}) + r^{+}(t_{i+1})) \Delta t \).
+ * The values of {@link #valueMonteCarlo()} (and those printed by {@link #main(String[])}) differ accordingly.
+ *
  * @author Gnoatto, Fries
  */
 public class CIRSimulation {
@@ -28,6 +41,11 @@ public class CIRSimulation {
 	 */
 	private final double maturity;
 
+	/*
+	 * Random number generator
+	 */
+	private final SplittableRandomNumberGenerator randomNumberGenerator;
+
 	public CIRSimulation(
 			double initialValue,
 			double b,
@@ -35,7 +53,8 @@ public class CIRSimulation {
 			double sigma,
 			double maturity,
 			double numberOfPaths,
-			double deltaT){
+			double deltaT,
+			SplittableRandomNumberGenerator randomNumberGenerator){
 		this.initialValue = initialValue;
 		this.b = b;
 		this.beta = beta;
@@ -43,6 +62,18 @@ public class CIRSimulation {
 		this.maturity = maturity;
 		this.numberOfPaths = numberOfPaths;
 		this.deltaT = deltaT;
+		this.randomNumberGenerator = randomNumberGenerator;
+	}
+
+	public CIRSimulation(
+			double initialValue,
+			double b,
+			double beta,
+			double sigma,
+			double maturity,
+			double numberOfPaths,
+			double deltaT){
+		this(initialValue, b, beta, sigma, maturity, numberOfPaths, deltaT, new PhiloxRandomNumberGenerator(3141 /* seed */));
 	}
 
 
@@ -67,11 +98,42 @@ public class CIRSimulation {
 		final CIRSimulation cirSimulationTest = new CIRSimulation(initialValue,b,beta,sigma,maturity,numberOfPaths,deltaT);
 
 		System.out.println("              Analytic value: " + cirSimulationTest.valueAnalytic());
-		System.out.println("Monte-Carlo simulation value: " + cirSimulationTest.valueMonteCarlo());
+		System.out.println("Monte-Carlo simulation value: " + cirSimulationTest.valueMonteCarlo(Scheme.FULL_TRUNCATION) + " (full truncation)");
+		System.out.println("Monte-Carlo simulation value: " + cirSimulationTest.valueMonteCarlo(Scheme.EXACT) + " (exact)");
+
+		/*
+		 * Curve mode: all maturities are valued in a single simulation
+		 */
+		final double[] maturities = new double[40];
+		for(int i=0; i<maturities.length; i++) {
+			maturities[i] = 0.25 * (i+1);
+		}
+
+		final ZeroCouponBondValues valuesMonteCarlo = cirSimulationTest.valueMonteCarloCurve(maturities, Scheme.EXACT);
+		final double[] valuesAnalytic = cirSimulationTest.valueAnalyticCurve(maturities);
+
+		System.out.println("\nZero coupon bond curve (exact scheme, single simulation):");
+		System.out.println("maturity \t analytic     \t Monte-Carlo  \t std. error   \t error");
+		for(int i=0; i<maturities.length; i++) {
+			final double valueMonteCarlo = valuesMonteCarlo.getValues()[i];
+			System.out.println(String.format("%8.2f \t %12.10f \t %12.10f \t %12.10f \t %+12.10f",
+					maturities[i], valuesAnalytic[i], valueMonteCarlo, valuesMonteCarlo.getStandardErrors()[i], valueMonteCarlo - valuesAnalytic[i]));
+		}
 	}
 
 
 	public double valueAnalytic()
+	{
+		return valueAnalytic(maturity);
+	}
+
+	/**
+	 * Calculates the analytic value of the zero coupon bond with the given maturity.
+	 *
+	 * @param maturity The maturity.
+	 * @return The analytic value of the zero coupon bond.
+	 */
+	public double valueAnalytic(double maturity)
 	{
 		final double gamma	= Math.sqrt(beta*beta+2*sigma*sigma);
 		final double phi		= (-2*b)/(sigma*sigma)*Math.log((2*gamma*Math.exp(0.5*(gamma-beta)*maturity))/(2*gamma+(gamma-beta)*(Math.exp(maturity*gamma)-1)));
@@ -82,37 +144,59 @@ public class CIRSimulation {
 		return value;
 	}
 
+	/**
+	 * Calculates the value of the zero coupon bond using the full truncation scheme
+	 * (see {@link #valueMonteCarlo(Scheme)}; the values differ from the original implementation, see the class documentation).
+	 *
+	 * @return The Monte-Carlo value of the zero coupon bond.
+	 */
 	public double valueMonteCarlo()
 	{
+		return valueMonteCarlo(Scheme.FULL_TRUNCATION);
+	}
 
-		double value = 0;
-
-		for(int i=0; i<numberOfPaths; i++ ){
-			double integratedRateOnPath	= 0;
-
-			double rateAtCurrentTime	= initialValue;
-			for(double t = 0; t<maturity; t+=deltaT){
-				// Calculate the rate at the next time step
-				final double random	= Math.random();
-				final double z		= NormalDistribution.inverseCumulativeDistribution(random);
-
-				// Euler scheme
-				final double rateAtNextTime = rateAtCurrentTime+(b+beta*rateAtCurrentTime)*deltaT+sigma*Math.sqrt(rateAtCurrentTime)*Math.sqrt(deltaT)*z;
-
-				/*
-				 *  Calculate the integral of the rates as a simple pice-wise constant approximation, here forward difference
-				 *  You may also try:
-				 *
-				 */
-				integratedRateOnPath	+= rateAtCurrentTime*deltaT;
+	/**
+	 * Calculates the value of the zero coupon bond using the (vectorized and parallel) simulation engine.
+	 * The integrated rate is calculated with the trapezoidal rule on the truncated rate r<sup>+</sup>.
+	 *
+	 * @param scheme The time discretization scheme.
+	 * @return The Monte-Carlo value of the zero coupon bond.
+	 */
+	public double valueMonteCarlo(Scheme scheme)
+	{
+		final CIRSimulationEngine simulationEngine = new CIRSimulationEngine(initialValue, b, beta, sigma, (int)numberOfPaths, deltaT, scheme, randomNumberGenerator);
 
-				rateAtCurrentTime	=	rateAtNextTime;
-			}
+		return simulationEngine.getZeroCouponBondValue(maturity);
+	}
 
-			// Average over all paths
-			value += Math.exp(-integratedRateOnPath);
+	/**
+	 * Calculates the analytic values of the zero coupon bonds with the given maturities.
+	 *
+	 * @param maturities The maturities.
+	 * @return The analytic values of the zero coupon bonds.
+	 */
+	public double[] valueAnalyticCurve(double[] maturities)
+	{
+		final double[] values = new double[maturities.length];
+		for(int i=0; i<maturities.length; i++) {
+			values[i] = valueAnalytic(maturities[i]);
 		}
+		return values;
+	}
+
+	/**
+	 * Calculates the values of the zero coupon bonds with the given maturities in a single simulation
+	 * (the integrated rate is recorded at each maturity, the maturities are rounded to multiples of deltaT).
+	 * The maturity given in the constructor is not used.
+	 *
+	 * @param maturities The maturities.
+	 * @param scheme The time discretization scheme.
+	 * @return The Monte-Carlo values of the zero coupon bonds with their standard errors.
+	 */
+	public ZeroCouponBondValues valueMonteCarloCurve(double[] maturities, Scheme scheme)
+	{
+		final CIRSimulationEngine simulationEngine = new CIRSimulationEngine(initialValue, b, beta, sigma, (int)numberOfPaths, deltaT, scheme, randomNumberGenerator);
 
-		return value/numberOfPaths;
+		return simulationEngine.getZeroCouponBondValues(maturities);
 	}
 }
@@ -0,0 +1,371 @@
+/*
+ * (c) Copyright Christian P. Fries, Germany. All rights reserved. Contact: email@christian-fries.de.
+ *
+ * Created on 16.10.2026
+ */
+package net.finmath.experiments.shortrate;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import net.finmath.experiments.montecarlo.randomnumbers.SplittableRandomNumberGenerator;
+import net.finmath.functions.NormalDistribution;
+
+/**
+ * Monte-Carlo simulation of the CIR short rate model
+ * \[
+ * 	dr(t) = (b + \beta r(t)) dt + \sigma \sqrt{r(t)} dW(t)
+ * \]
+ * and of the integrated rate \( I(t) = \int_0^t r(s) ds \), valuing zero coupon bonds \( P(T) = E[\exp(-I(T))] \).
+ *
+ * The paths are divided into blocks. Within a block, all paths are advanced together time step by time step
+ * over primitive arrays. The block with index k uses the stream k of a splittable random number generator,
+ * such that the result depends only on the seed and the block size, not on the number of threads. The blocks may
+ * be simulated in parallel on a given ForkJoinPool.
+ *
+ * The integrated rate is accumulated pathwise (trapezoidal rule) and recorded at a set of maturities, such that a
+ * whole curve of zero coupon bonds is valued in a single simulation.
+ *
+ * Two schemes are available:
+ * <ul>
+ * <li>{@link Scheme#FULL_TRUNCATION}: Euler scheme where the drift and diffusion use r<sup>+</sup> = max(r,0) (Lord, Koekkoek, van Dijk, 2010).</li>
+ * <li>{@link Scheme#EXACT}: sampling from the transition distribution, which is a scaled noncentral chi-square distribution.</li>
+ * </ul>
+ *
+ * @author Christian Fries
+ */
+public class CIRSimulationEngine {
+
+	/**
+	 * The time discretization scheme of the short rate.
+	 */
+	public enum Scheme {
+		/** Euler scheme with full truncation. **/
+		FULL_TRUNCATION,
+		/** Exact simulation via the noncentral chi-square distribution. **/
+		EXACT
+	}
+
+	private static final int DEFAULT_NUMBER_OF_PATHS_PER_BLOCK = 1000;
+
+	/*
+	 * Model parameters
+	 */
+	private final double initialValue;
+	private final double b;
+	private final double beta;
+	private final double sigma;
+
+	/*
+	 * Discretization parameters
+	 */
+	private final int		numberOfPaths;
+	private final double	deltaT;
+	private final Scheme	scheme;
+
+	/*
+	 * Random numbers and parallelization
+	 */
+	private final SplittableRandomNumberGenerator	randomNumberGenerator;
+	private final int								numberOfPathsPerBlock;
+	private final ForkJoinPool						forkJoinPool;
+
+	/**
+	 * Values of zero coupon bonds (average of the discount factors exp(-I(T))) with their Monte-Carlo standard errors.
+	 */
+	public static class ZeroCouponBondValues {
+		private final double[] maturities;
+		private final double[] values;
+		private final double[] standardErrors;
+
+		public ZeroCouponBondValues(double[] maturities, double[] values, double[] standardErrors) {
+			this.maturities = maturities;
+			this.values = values;
+			this.standardErrors = standardErrors;
+		}
+
+		public double[] getMaturities() {
+			return maturities.clone();
+		}
+
+		public double[] getValues() {
+			return values.clone();
+		}
+
+		public double[] getStandardErrors() {
+			return standardErrors.clone();
+		}
+	}
+
+	/**
+	 * Create the simulation engine.
+	 *
+	 * @param initialValue The initial value r(0).
+	 * @param b The parameter b.
+	 * @param beta The parameter beta.
+	 * @param sigma The volatility sigma.
+	 * @param numberOfPaths The number of paths.
+	 * @param deltaT The time step size.
+	 * @param scheme The time discretization scheme.
+	 * @param randomNumberGenerator The generator of the random numbers (block k uses stream k).
+	 * @param numberOfPathsPerBlock The number of paths of a block.
+	 * @param forkJoinPool The pool simulating the blocks. If null, the blocks are simulated by the calling thread.
+	 */
+	public CIRSimulationEngine(
+			double initialValue,
+			double b,
+			double beta,
+			double sigma,
+			int numberOfPaths,
+			double deltaT,
+			Scheme scheme,
+			SplittableRandomNumberGenerator randomNumberGenerator,
+			int numberOfPathsPerBlock,
+			ForkJoinPool forkJoinPool) {
+		if(numberOfPathsPerBlock < 1) {
+			throw new IllegalArgumentException("Number of paths per block must be positive.");
+		}
+		if(scheme == Scheme.EXACT && b <= 0) {
+			throw new IllegalArgumentException("The exact scheme requires b > 0.");
+		}
+		this.initialValue = initialValue;
+		this.b = b;
+		this.beta = beta;
+		this.sigma = sigma;
+		this.numberOfPaths = numberOfPaths;
+		this.deltaT = deltaT;
+		this.scheme = scheme;
+		this.randomNumberGenerator = randomNumberGenerator;
+		this.numberOfPathsPerBlock = numberOfPathsPerBlock;
+		this.forkJoinPool = forkJoinPool;
+	}
+
+	/**
+	 * Create the simulation engine using blocks of {@value #DEFAULT_NUMBER_OF_PATHS_PER_BLOCK} paths, simulated in parallel
+	 * on the common pool.
+	 *
+	 * @param initialValue The initial value r(0).
+	 * @param b The parameter b.
+	 * @param beta The parameter beta.
+	 * @param sigma The volatility sigma.
+	 * @param numberOfPaths The number of paths.
+	 * @param deltaT The time step size.
+	 * @param scheme The time discretization scheme.
+	 * @param randomNumberGenerator The generator of the random numbers (block k uses stream k).
+	 */
+	public CIRSimulationEngine(
+			double initialValue,
+			double b,
+			double beta,
+			double sigma,
+			int numberOfPaths,
+			double deltaT,
+			Scheme scheme,
+			SplittableRandomNumberGenerator randomNumberGenerator) {
+		this(initialValue, b, beta, sigma, numberOfPaths, deltaT, scheme, randomNumberGenerator, DEFAULT_NUMBER_OF_PATHS_PER_BLOCK, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Values zero coupon bonds for a set of maturities in a single simulation.
+	 * The maturities are rounded to the time discretization (multiples of deltaT).
+	 *
+	 * @param maturities The maturities.
+	 * @return The values of the zero coupon bonds with their standard errors.
+	 */
+	public ZeroCouponBondValues getZeroCouponBondValues(double[] maturities) {
+		final int[] timeIndices = new int[maturities.length];
+		for(int i=0; i<maturities.length; i++) {
+			timeIndices[i] = (int)Math.round(maturities[i] / deltaT);
+			if(timeIndices[i] < 0) {
+				throw new IllegalArgumentException("Maturity must not be negative.");
+			}
+		}
+		final int numberOfTimeSteps = Arrays.stream(timeIndices).max().orElse(0);
+
+		// For each block: sum and sum of squares of the discount factors for each maturity
+		final int numberOfBlocks = (numberOfPaths + numberOfPathsPerBlock - 1) / numberOfPathsPerBlock;
+		final double[][] sumsOfBlocks;
+		if(forkJoinPool == null) {
+			sumsOfBlocks = IntStream.range(0, numberOfBlocks)
+					.mapToObj(blockIndex -> simulateBlock(blockIndex, timeIndices, numberOfTimeSteps))
+					.toArray(double[][]::new);
+		}
+		else {
+			sumsOfBlocks = forkJoinPool.submit(() -> IntStream.range(0, numberOfBlocks).parallel()
+					.mapToObj(blockIndex -> simulateBlock(blockIndex, timeIndices, numberOfTimeSteps))
+					.toArray(double[][]::new)).join();
+		}
+
+		// Reduction in the order of the blocks (independent of the parallelization)
+		final double[] values = new double[maturities.length];
+		final double[] standardErrors = new double[maturities.length];
+		for(int i=0; i<maturities.length; i++) {
+			double sum = 0.0;
+			double sumOfSquares = 0.0;
+			for(final double[] sumsOfBlock : sumsOfBlocks) {
+				sum += sumsOfBlock[i];
+				sumOfSquares += sumsOfBlock[maturities.length + i];
+			}
+			final double mean = sum / numberOfPaths;
+			final double variance = Math.max(sumOfSquares / numberOfPaths - mean * mean, 0.0);
+			values[i] = mean;
+			standardErrors[i] = Math.sqrt(variance / numberOfPaths);
+		}
+
+		return new ZeroCouponBondValues(maturities.clone(), values, standardErrors);
+	}
+
+	/**
+	 * Values the zero coupon bond with the given maturity.
+	 *
+	 * @param maturity The maturity.
+	 * @return The Monte-Carlo value of the zero coupon bond.
+	 */
+	public double getZeroCouponBondValue(double maturity) {
+		return getZeroCouponBondValues(new double[] { maturity }).getValues()[0];
+	}
+
+	/**
+	 * Simulates a block of paths.
+	 *
+	 * @param blockIndex The index of the block (and of the stream of random numbers).
+	 * @param timeIndices The time indices of the maturities.
+	 * @param numberOfTimeSteps The number of time steps.
+	 * @return The sums (first half) and sums of squares (second half) of the discount factors for each maturity.
+	 */
+	private double[] simulateBlock(int blockIndex, int[] timeIndices, int numberOfTimeSteps) {
+		final SplittableRandomNumberGenerator stream = randomNumberGenerator.getStream(blockIndex);
+		final int numberOfPathsInBlock = Math.min(numberOfPathsPerBlock, numberOfPaths - blockIndex * numberOfPathsPerBlock);
+
+		final double[] rate				= new double[numberOfPathsInBlock];
+		final double[] integratedRate	= new double[numberOfPathsInBlock];
+		final double[] normals			= new double[numberOfPathsInBlock];
+		Arrays.fill(rate, initialValue);
+
+		// Coefficients of the schemes
+		final double sqrtOfDeltaT = Math.sqrt(deltaT);
+		final double expBetaDeltaT = Math.exp(beta * deltaT);
+		final double scale = beta != 0 ? sigma * sigma * Math.expm1(beta * deltaT) / (4.0 * beta) : sigma * sigma * deltaT / 4.0;
+		final double degreesOfFreedom = 4.0 * b / (sigma * sigma);
+
+		final double[] sums = new double[2 * timeIndices.length];
+		accumulateDiscountFactors(0, timeIndices, integratedRate, sums);
+		for(int timeIndex=0; timeIndex<numberOfTimeSteps; timeIndex++) {
+			switch(scheme) {
+			case EXACT:
+				for(int path=0; path<numberOfPathsInBlock; path++) {
+					final double rateAtCurrentTime = rate[path];
+					final double nonCentrality = rateAtCurrentTime * expBetaDeltaT / scale;
+					final double rateAtNextTime = scale * nextNoncentralChiSquare(stream, degreesOfFreedom, nonCentrality);
+
+					integratedRate[path] += 0.5 * (rateAtCurrentTime + rateAtNextTime) * deltaT;
+					rate[path] = rateAtNextTime;
+				}
+				break;
+			case FULL_TRUNCATION:
+			default:
+				for(int path=0; path<numberOfPathsInBlock; path++) {
+					normals[path] = NormalDistribution.inverseCumulativeDistribution(stream.nextDouble());
+				}
+				for(int path=0; path<numberOfPathsInBlock; path++) {
+					final double ratePositivePart = Math.max(rate[path], 0.0);
+					final double rateAtNextTime = rate[path] + (b + beta * ratePositivePart) * deltaT + sigma * Math.sqrt(ratePositivePart) * sqrtOfDeltaT * normals[path];
+
+					integratedRate[path] += 0.5 * (ratePositivePart + Math.max(rateAtNextTime, 0.0)) * deltaT;
+					rate[path] = rateAtNextTime;
+				}
+				break;
+			}
+			accumulateDiscountFactors(timeIndex+1, timeIndices, integratedRate, sums);
+		}
+
+		return sums;
+	}
+
+	/**
+	 * Adds the discount factors exp(-I) (and their squares) to the sums of all maturities with the given time index.
+	 */
+	private static void accumulateDiscountFactors(int timeIndex, int[] timeIndices, double[] integratedRate, double[] sums) {
+		for(int i=0; i<timeIndices.length; i++) {
+			if(timeIndices[i] == timeIndex) {
+				double sum = 0.0;
+				double sumOfSquares = 0.0;
+				for(final double integratedRateOnPath : integratedRate) {
+					final double discountFactor = Math.exp(-integratedRateOnPath);
+					sum += discountFactor;
+					sumOfSquares += discountFactor * discountFactor;
+				}
+				sums[i] = sum;
+				sums[timeIndices.length + i] = sumOfSquares;
+			}
+		}
+	}
+
+	/**
+	 * Draws from the noncentral chi-square distribution with given degrees of freedom d and noncentrality lambda.
+	 * For d &gt; 1 we use (Z + sqrt(lambda))<sup>2</sup> + chi-square(d-1), otherwise the Poisson mixture
+	 * chi-square(d + 2N) with N ~ Poisson(lambda/2).
+	 */
+	private static double nextNoncentralChiSquare(SplittableRandomNumberGenerator stream, double degreesOfFreedom, double nonCentrality) {
+		if(degreesOfFreedom > 1) {
+			final double normal = NormalDistribution.inverseCumulativeDistribution(stream.nextDouble()) + Math.sqrt(nonCentrality);
+			return normal * normal + 2.0 * nextGamma(stream, 0.5 * (degreesOfFreedom - 1));
+		}
+		else {
+			final long poisson = nextPoisson(stream, 0.5 * nonCentrality);
+			return 2.0 * nextGamma(stream, 0.5 * degreesOfFreedom + poisson);
+		}
+	}
+
+	/**
+	 * Draws from the gamma distribution with given shape (and scale 1) using the method of Marsaglia and Tsang (2000).
+	 */
+	private static double nextGamma(SplittableRandomNumberGenerator stream, double shape) {
+		if(shape <= 0) {
+			return 0.0;
+		}
+		if(shape < 1) {
+			// Gamma(shape) = Gamma(shape+1) U^(1/shape)
+			return nextGamma(stream, shape + 1.0) * Math.pow(stream.nextDouble(), 1.0 / shape);
+		}
+
+		final double d = shape - 1.0/3.0;
+		final double c = 1.0 / Math.sqrt(9.0 * d);
+		while(true) {
+			final double normal = NormalDistribution.inverseCumulativeDistribution(stream.nextDouble());
+			final double v = 1.0 + c * normal;
+			if(v <= 0) {
+				continue;
+			}
+			final double v3 = v * v * v;
+			final double uniform = stream.nextDouble();
+			if(Math.log(uniform) < 0.5 * normal * normal + d - d * v3 + d * Math.log(v3)) {
+				return d * v3;
+			}
+		}
+	}
+
+	/**
+	 * Draws from the Poisson distribution with given mean by inversion (large means are split into a sum of Poisson variables).
+	 */
+	private static long nextPoisson(SplittableRandomNumberGenerator stream, double mean) {
+		final double maxMeanForInversion = 500.0;
+		long count = 0;
+		while(mean > maxMeanForInversion) {
+			count += nextPoisson(stream, maxMeanForInversion);
+			mean -= maxMeanForInversion;
+		}
+
+		final double uniform = stream.nextDouble();
+		double probability = Math.exp(-mean);
+		double cumulativeProbability = probability;
+		long k = 0;
+		while(uniform > cumulativeProbability && probability > 0) {
+			k++;
+			probability *= mean / k;
+			cumulativeProbability += probability;
+		}
+		return count + k;
+	}
+}
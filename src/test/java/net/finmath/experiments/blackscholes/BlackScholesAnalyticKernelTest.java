@@ -0,0 +1,58 @@
+package net.finmath.experiments.blackscholes;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.functions.NormalDistribution;
+
+public class BlackScholesAnalyticKernelTest {
+
+	@Test
+	public void testCumulativeDistribution() {
+		for(double x = -10.0; x <= 10.0; x += 0.01) {
+			final double expected = NormalDistribution.cumulativeDistribution(x);
+			Assert.assertEquals(expected, BlackScholesAnalyticKernel.cumulativeDistribution(x), 1E-13 + 1E-11 * expected);
+		}
+	}
+
+	@Test
+	public void testValuesAndGreeksMatchAnalyticFormulas() {
+		// Large enough to use the parallel valuation
+		final int numberOfElements = 100000;
+		final double riskFreeRate = 0.03;
+
+		final Random random = new Random(3141);
+		final double[] spots		= new double[numberOfElements];
+		final double[] volatilities	= new double[numberOfElements];
+		final double[] maturities	= new double[numberOfElements];
+		final double[] strikes		= new double[numberOfElements];
+		for(int i=0; i<numberOfElements; i++) {
+			spots[i]		= 50.0 + 100.0 * random.nextDouble();
+			volatilities[i]	= 0.05 + 0.5 * random.nextDouble();
+			maturities[i]	= 0.1 + 5.0 * random.nextDouble();
+			strikes[i]		= 50.0 + 100.0 * random.nextDouble();
+		}
+
+		final double[] values	= new double[numberOfElements];
+		final double[] deltas	= new double[numberOfElements];
+		final double[] gammas	= new double[numberOfElements];
+		final double[] vegas	= new double[numberOfElements];
+		BlackScholesAnalyticKernel.getCallValues(spots, riskFreeRate, volatilities, maturities, strikes, values, deltas, gammas, vegas);
+
+		for(int i=0; i<numberOfElements; i+=97) {
+			Assert.assertEquals(AnalyticFormulas.blackScholesOptionValue(spots[i], riskFreeRate, volatilities[i], maturities[i], strikes[i]), values[i], 1E-10);
+			Assert.assertEquals(AnalyticFormulas.blackScholesOptionDelta(spots[i], riskFreeRate, volatilities[i], maturities[i], strikes[i]), deltas[i], 1E-12);
+			Assert.assertEquals(AnalyticFormulas.blackScholesOptionGamma(spots[i], riskFreeRate, volatilities[i], maturities[i], strikes[i]), gammas[i], 1E-12);
+			Assert.assertEquals(AnalyticFormulas.blackScholesOptionVega(spots[i], riskFreeRate, volatilities[i], maturities[i], strikes[i]), vegas[i], 1E-10);
+		}
+
+		// Common parameters, array of spots
+		final double[] valuesOfSpots = BlackScholesAnalyticKernel.getCallValues(spots, riskFreeRate, 0.3, 2.0, 100.0);
+		for(int i=0; i<numberOfElements; i+=97) {
+			Assert.assertEquals(AnalyticFormulas.blackScholesOptionValue(spots[i], riskFreeRate, 0.3, 2.0, 100.0), valuesOfSpots[i], 1E-10);
+		}
+	}
+}
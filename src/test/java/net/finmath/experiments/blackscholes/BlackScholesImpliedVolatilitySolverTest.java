@@ -0,0 +1,72 @@
+package net.finmath.experiments.blackscholes;
+
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.functions.AnalyticFormulas;
+
+public class BlackScholesImpliedVolatilitySolverTest {
+
+	@Test
+	public void testRoundTrip() {
+		// Large enough to use the parallel calculation
+		final int numberOfOptions = 20000;
+		final double displacement = 0.01;
+
+		final Random random = new Random(3141);
+		final double[] forwards		= new double[numberOfOptions];
+		final double[] maturities	= new double[numberOfOptions];
+		final double[] strikes		= new double[numberOfOptions];
+		final double[] payoffUnits	= new double[numberOfOptions];
+		final double[] volatilities	= new double[numberOfOptions];
+		final double[] values		= new double[numberOfOptions];
+		for(int i=0; i<numberOfOptions; i++) {
+			forwards[i]		= 0.02;
+			maturities[i]	= 0.1 + 10.0 * random.nextDouble();
+			strikes[i]		= 0.005 + 0.06 * random.nextDouble();
+			payoffUnits[i]	= Math.exp(-0.02 * maturities[i]);
+			volatilities[i]	= 0.05 + 0.8 * random.nextDouble();
+			values[i]		= AnalyticFormulas.blackScholesGeneralizedOptionValue(forwards[i] + displacement, volatilities[i], maturities[i], strikes[i] + displacement, payoffUnits[i]);
+		}
+
+		final double[] impliedVolatilities = BlackScholesImpliedVolatilitySolver.getImpliedVolatilities(forwards, maturities, strikes, payoffUnits, values, displacement);
+
+		for(int i=0; i<numberOfOptions; i++) {
+			final double value = AnalyticFormulas.blackScholesGeneralizedOptionValue(forwards[i] + displacement, impliedVolatilities[i], maturities[i], strikes[i] + displacement, payoffUnits[i]);
+			final double vega = AnalyticFormulas.blackScholesGeneralizedOptionValue(forwards[i] + displacement, volatilities[i] + 1E-4, maturities[i], strikes[i] + displacement, payoffUnits[i]) - values[i];
+
+			// The value is reproduced; the volatility is exact where the value is sensitive to the volatility
+			Assert.assertEquals(values[i], value, 1E-12);
+			if(vega > 1E-8) {
+				Assert.assertEquals(volatilities[i], impliedVolatilities[i], 1E-8);
+			}
+		}
+	}
+
+	@Test
+	public void testMatchesAnalyticFormulas() {
+		final double forward = 100.0;
+		final double optionMaturity = 2.0;
+		final double payoffUnit = 0.95;
+		for(double optionStrike = 60.0; optionStrike <= 160.0; optionStrike += 5.0) {
+			final double optionValue = AnalyticFormulas.blackScholesGeneralizedOptionValue(forward, 0.25, optionMaturity, optionStrike, payoffUnit);
+			final double impliedVolatilityExpected = AnalyticFormulas.blackScholesOptionImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
+			final double impliedVolatility = BlackScholesImpliedVolatilitySolver.getImpliedVolatility(forward, optionMaturity, optionStrike, payoffUnit, optionValue);
+			Assert.assertEquals(0.25, impliedVolatility, 1E-12);
+			Assert.assertEquals(impliedVolatilityExpected, impliedVolatility, 1E-8);
+		}
+	}
+
+	@Test
+	public void testArbitrageBounds() {
+		// Below the intrinsic value and above the forward
+		Assert.assertTrue(Double.isNaN(BlackScholesImpliedVolatilitySolver.getImpliedVolatility(100.0, 1.0, 90.0, 1.0, 9.0)));
+		Assert.assertTrue(Double.isNaN(BlackScholesImpliedVolatilitySolver.getImpliedVolatility(100.0, 1.0, 90.0, 1.0, 101.0)));
+		// The intrinsic value (out-of-the-money and in-the-money)
+		Assert.assertEquals(0.0, BlackScholesImpliedVolatilitySolver.getImpliedVolatility(100.0, 1.0, 110.0, 1.0, 0.0), 0.0);
+		Assert.assertEquals(0.0, BlackScholesImpliedVolatilitySolver.getImpliedVolatility(100.0, 1.0, 90.0, 1.0, 10.0), 0.0);
+		Assert.assertEquals(0.0, BlackScholesImpliedVolatilitySolver.getImpliedVolatility(0.03, 1.0, 0.015, 0.98, 0.98 * 0.015 - 1E-18), 0.0);
+	}
+}
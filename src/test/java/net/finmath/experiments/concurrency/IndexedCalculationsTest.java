@@ -0,0 +1,43 @@
+package net.finmath.experiments.concurrency;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class IndexedCalculationsTest {
+
+	@Test
+	public void testParallelResultsAreOrderedByIndex() {
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		final List<Integer> results = IndexedCalculations.run(forkJoinPool, 1000, index -> index * index);
+		forkJoinPool.shutdown();
+
+		Assert.assertEquals(1000, results.size());
+		for(int index=0; index<results.size(); index++) {
+			Assert.assertEquals(index * index, results.get(index).intValue());
+		}
+	}
+
+	@Test
+	public void testCheckedExceptionIsRethrownUnwrapped() {
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		for(final ForkJoinPool pool : new ForkJoinPool[] { null, forkJoinPool }) {
+			try {
+				IndexedCalculations.run(pool, 100, index -> {
+					if(index == 42) {
+						throw new IOException("Index 42");
+					}
+					return index;
+				});
+				Assert.fail("Exception expected");
+			}
+			catch(final IOException e) {
+				Assert.assertEquals("Index 42", e.getMessage());
+			}
+		}
+		forkJoinPool.shutdown();
+	}
+}
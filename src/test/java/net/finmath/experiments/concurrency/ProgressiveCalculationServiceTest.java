@@ -0,0 +1,131 @@
+package net.finmath.experiments.concurrency;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ProgressiveCalculationServiceTest {
+
+	@Test
+	public void testAllBatchesAreReported() throws InterruptedException {
+		final ProgressiveCalculationService service = new ProgressiveCalculationService("Test", 2);
+
+		final int numberOfBatches = 100;
+		final CountDownLatch completed = new CountDownLatch(1);
+		final long[] sum = new long[1];
+		final int[] lastNumberOfCompletedBatches = new int[1];
+
+		service.submit(numberOfBatches,
+				batchIndex -> (long)batchIndex,
+				(run, result, numberOfCompletedBatches, numberOfBatchesTotal) -> {
+					// The listener is called by one thread at a time
+					sum[0] += result;
+					Assert.assertEquals("Progress", lastNumberOfCompletedBatches[0]+1, numberOfCompletedBatches);
+					lastNumberOfCompletedBatches[0] = numberOfCompletedBatches;
+					if(numberOfCompletedBatches == numberOfBatchesTotal) {
+						completed.countDown();
+					}
+				});
+
+		Assert.assertTrue("Calculation completed", completed.await(10, TimeUnit.SECONDS));
+		Assert.assertEquals("Sum of batch results", (long)numberOfBatches * (numberOfBatches-1) / 2, sum[0]);
+
+		service.shutdown();
+	}
+
+	@Test
+	public void testSubmitCancelsPreviousRun() throws InterruptedException {
+		final ProgressiveCalculationService service = new ProgressiveCalculationService("Test", 1);
+
+		final CountDownLatch firstBatchStarted = new CountDownLatch(1);
+		final CountDownLatch releaseFirstBatch = new CountDownLatch(1);
+		final AtomicInteger numberOfBatchesOfStaleRun = new AtomicInteger();
+
+		final ProgressiveCalculationService.Run staleRun = service.submit(1000,
+				batchIndex -> {
+					firstBatchStarted.countDown();
+					try {
+						releaseFirstBatch.await();
+					} catch (final InterruptedException e) {
+						Thread.currentThread().interrupt();
+					}
+					return batchIndex;
+				},
+				(run, result, numberOfCompletedBatches, numberOfBatches) -> numberOfBatchesOfStaleRun.incrementAndGet());
+
+		Assert.assertTrue(firstBatchStarted.await(10, TimeUnit.SECONDS));
+
+		final CountDownLatch completed = new CountDownLatch(1);
+		final ProgressiveCalculationService.Run run = service.submit(10,
+				batchIndex -> batchIndex,
+				(r, result, numberOfCompletedBatches, numberOfBatches) -> {
+					if(numberOfCompletedBatches == numberOfBatches) {
+						completed.countDown();
+					}
+				});
+		releaseFirstBatch.countDown();
+
+		Assert.assertTrue("New calculation completed", completed.await(10, TimeUnit.SECONDS));
+		Assert.assertTrue("Stale calculation cancelled", staleRun.isCancelled());
+		Assert.assertFalse("New calculation not cancelled", run.isCancelled());
+		Assert.assertEquals("Batches reported for the stale calculation", 0, numberOfBatchesOfStaleRun.get());
+
+		service.shutdown();
+	}
+
+	@Test
+	public void testFailureIsReported() throws InterruptedException {
+		final ProgressiveCalculationService service = new ProgressiveCalculationService("Test", 2);
+
+		final CountDownLatch failed = new CountDownLatch(1);
+		final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+		service.submit(100,
+				batchIndex -> {
+					if(batchIndex == 10) {
+						throw new IllegalStateException("Batch 10");
+					}
+					return batchIndex;
+				},
+				(run, result, numberOfCompletedBatches, numberOfBatches) -> {},
+				(run, throwable) -> {
+					failure.set(throwable);
+					failed.countDown();
+				});
+
+		Assert.assertTrue("Failure reported", failed.await(10, TimeUnit.SECONDS));
+		Assert.assertTrue("Exception of the batch", failure.get() instanceof IllegalStateException);
+
+		service.shutdown();
+	}
+
+	@Test
+	public void testCancelInterruptsRunningBatches() throws InterruptedException {
+		final ProgressiveCalculationService service = new ProgressiveCalculationService("Test", 2);
+
+		final CountDownLatch batchesStarted = new CountDownLatch(2);
+		final CountDownLatch batchesInterrupted = new CountDownLatch(2);
+
+		final ProgressiveCalculationService.Run run = service.submit(100,
+				batchIndex -> {
+					batchesStarted.countDown();
+					try {
+						Thread.sleep(60000);
+					} catch (final InterruptedException e) {
+						batchesInterrupted.countDown();
+					}
+					return batchIndex;
+				},
+				(r, result, numberOfCompletedBatches, numberOfBatches) -> {});
+
+		Assert.assertTrue(batchesStarted.await(10, TimeUnit.SECONDS));
+		run.cancel();
+		Assert.assertTrue("Running batches interrupted", batchesInterrupted.await(10, TimeUnit.SECONDS));
+
+		service.shutdown();
+	}
+}
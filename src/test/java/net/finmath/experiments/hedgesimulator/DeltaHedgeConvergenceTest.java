@@ -0,0 +1,35 @@
+package net.finmath.experiments.hedgesimulator;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DeltaHedgeConvergenceTest {
+
+	@Test
+	public void testScheduleIndependentOfOtherSchedules() {
+		final DeltaHedgeConvergence deltaHedge = new DeltaHedgeConvergence(1.0, 0.05, 0.5, 0.5, 2.0, 1.0, 64, 5000, 3141);
+
+		final StreamingStatistics[] errorStatisticsAll = deltaHedge.getHedgeErrorStatistics(new int[] { 1, 4, 16, 64 });
+		final StreamingStatistics[] errorStatisticsSingle = deltaHedge.getHedgeErrorStatistics(new int[] { 16 });
+
+		Assert.assertEquals(errorStatisticsSingle[0].getMean(), errorStatisticsAll[2].getMean(), 0.0);
+		Assert.assertEquals(errorStatisticsSingle[0].getVariance(), errorStatisticsAll[2].getVariance(), 0.0);
+	}
+
+	@Test
+	public void testHedgeErrorDecreasesWithRebalancingFrequency() {
+		final int[] numbersOfRebalancings = { 1, 4, 16, 64, 256 };
+		final DeltaHedgeConvergence deltaHedge = new DeltaHedgeConvergence(1.0, 0.05, 0.5, 0.5, 2.0, 1.0, 256, 10000, 3141);
+
+		final StreamingStatistics[] errorStatistics = deltaHedge.getHedgeErrorStatistics(numbersOfRebalancings);
+
+		for(int i=1; i<numbersOfRebalancings.length; i++) {
+			// The standard deviation of the hedge error scales like 1/sqrt(number of rebalancings)
+			Assert.assertTrue(errorStatistics[i].getStandardDeviation() < 0.75 * errorStatistics[i-1].getStandardDeviation());
+		}
+
+		// The hedge is self-financing and starts with the option value: the mean error is close to zero
+		final StreamingStatistics errorStatisticsFine = errorStatistics[numbersOfRebalancings.length-1];
+		Assert.assertEquals(0.0, errorStatisticsFine.getMean(), 4 * errorStatisticsFine.getStandardDeviation() / Math.sqrt(10000) + 1E-3);
+	}
+}
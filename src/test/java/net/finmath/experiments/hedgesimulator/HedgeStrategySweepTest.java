@@ -0,0 +1,114 @@
+package net.finmath.experiments.hedgesimulator;
+
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.experiments.montecarlo.eulerscheme.BrownianMotionCoarseTimeDiscretization;
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
+import net.finmath.montecarlo.assetderivativevaluation.AssetModelMonteCarloSimulationModel;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.montecarlo.assetderivativevaluation.products.BlackScholesHedgedPortfolio;
+import net.finmath.montecarlo.assetderivativevaluation.products.BlackScholesHedgedPortfolio.HedgeStrategy;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+public class HedgeStrategySweepTest {
+
+	private static final double	initialValue		= 1.0;
+	private static final double	riskFreeRate		= 0.05;
+	private static final double	optionMaturity		= 2.0;
+	private static final double	optionStrike		= 1.0;
+	private static final double	hedgeOptionMaturity	= 5.0;
+	private static final double	hedgeOptionStrike	= 1.0;
+	private static final int	numberOfPaths		= 2000;
+	private static final int	seed				= 3141;
+
+	@Test
+	public void testSingleCellMatchesHedgedPortfolio() throws CalculationException {
+		final HedgeStrategySweep sweep = new HedgeStrategySweep(initialValue, riskFreeRate, optionMaturity, optionStrike, hedgeOptionMaturity, hedgeOptionStrike, numberOfPaths, seed, null);
+
+		for(final HedgeStrategy hedgeStrategy : HedgeStrategy.values()) {
+			final List<HedgeStrategySweep.Result> results = sweep.getResults(new HedgeStrategy[] { hedgeStrategy }, new int[] { 16 }, new double[] { 0.4 }, new double[] { 0.5 });
+			Assert.assertEquals(1, results.size());
+
+			// Same paths, valued directly
+			final BrownianMotion brownianMotion = new BrownianMotionFromMersenneRandomNumbers(new TimeDiscretizationFromArray(0.0, 16, optionMaturity / 16), 1, numberOfPaths, seed);
+			final AssetModelMonteCarloSimulationModel model = new MonteCarloBlackScholesModel(initialValue, riskFreeRate, 0.5, brownianMotion);
+			final BlackScholesHedgedPortfolio hedgedPortfolio = new BlackScholesHedgedPortfolio(optionMaturity, optionStrike, riskFreeRate, 0.4, hedgeOptionMaturity, hedgeOptionStrike, hedgeStrategy);
+
+			Assert.assertEquals(hedgeStrategy.toString(), hedgedPortfolio.getValue(0.0, model).getAverage(), results.get(0).getHedgeCost(), 0.0);
+			assertStatisticsEquals(hedgeStrategy.toString(), getErrorStatistics(hedgedPortfolio, model), results.get(0).getErrorStatistics(), 0.0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLeastCommonMultipleIsBounded() throws CalculationException {
+		final HedgeStrategySweep sweep = new HedgeStrategySweep(initialValue, riskFreeRate, optionMaturity, optionStrike, hedgeOptionMaturity, hedgeOptionStrike, numberOfPaths, seed, null);
+
+		// The least common multiple (4504500) exceeds the maximum number of time steps
+		sweep.getResults(new HedgeStrategy[] { HedgeStrategy.deltaHedge }, new int[] { 7, 11, 13, 250, 252 }, new double[] { 0.4 }, new double[] { 0.5 });
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testLeastCommonMultipleDoesNotOverflow() throws CalculationException {
+		final HedgeStrategySweep sweep = new HedgeStrategySweep(initialValue, riskFreeRate, optionMaturity, optionStrike, hedgeOptionMaturity, hedgeOptionStrike, numberOfPaths, seed, null);
+
+		// The least common multiple exceeds Integer.MAX_VALUE
+		sweep.getResults(new HedgeStrategy[] { HedgeStrategy.deltaHedge }, new int[] { Integer.MAX_VALUE, Integer.MAX_VALUE - 1 }, new double[] { 0.4 }, new double[] { 0.5 });
+	}
+
+	@Test
+	public void testSingleCellMatchesDeltaHedgeConvergence() throws CalculationException {
+		final HedgeStrategySweep sweep = new HedgeStrategySweep(initialValue, riskFreeRate, optionMaturity, optionStrike, hedgeOptionMaturity, hedgeOptionStrike, numberOfPaths, seed, null);
+		final List<HedgeStrategySweep.Result> results = sweep.getResults(new HedgeStrategy[] { HedgeStrategy.deltaHedge }, new int[] { 16 }, new double[] { 0.4 }, new double[] { 0.5 });
+
+		// Same Brownian paths, different (but equivalent) implementation of the self-financing delta hedge
+		final StreamingStatistics errorStatistics = new DeltaHedgeConvergence(initialValue, riskFreeRate, 0.5, 0.4, optionMaturity, optionStrike, 16, numberOfPaths, seed)
+				.getHedgeErrorStatistics(new int[] { 16 })[0];
+
+		assertStatisticsEquals("deltaHedge", errorStatistics, results.get(0).getErrorStatistics(), 1E-10);
+	}
+
+	@Test
+	public void testCoarseSchedulesMatchDirectSimulation() throws CalculationException {
+		final HedgeStrategySweep sweep = new HedgeStrategySweep(initialValue, riskFreeRate, optionMaturity, optionStrike, hedgeOptionMaturity, hedgeOptionStrike, numberOfPaths, seed, null);
+		final int[] numbersOfRebalancings = { 2, 4, 16 };
+		final List<HedgeStrategySweep.Result> results = sweep.getResults(new HedgeStrategy[] { HedgeStrategy.deltaHedge }, numbersOfRebalancings, new double[] { 0.5 }, new double[] { 0.5 });
+
+		// The fine Brownian motion lives on the common refinement (16 steps), the coarse schedules aggregate its increments
+		final BrownianMotion brownianMotion = new BrownianMotionFromMersenneRandomNumbers(new TimeDiscretizationFromArray(0.0, 16, optionMaturity / 16), 1, numberOfPaths, seed);
+		for(int i=0; i<numbersOfRebalancings.length; i++) {
+			final int numberOfRebalancings = numbersOfRebalancings[i];
+			final BrownianMotion brownianMotionCoarse = new BrownianMotionCoarseTimeDiscretization(
+					new TimeDiscretizationFromArray(0.0, numberOfRebalancings, optionMaturity / numberOfRebalancings), brownianMotion);
+			final AssetModelMonteCarloSimulationModel model = new MonteCarloBlackScholesModel(initialValue, riskFreeRate, 0.5, brownianMotionCoarse);
+			final BlackScholesHedgedPortfolio hedgedPortfolio = new BlackScholesHedgedPortfolio(optionMaturity, optionStrike, riskFreeRate, 0.5, hedgeOptionMaturity, hedgeOptionStrike, HedgeStrategy.deltaHedge);
+
+			Assert.assertEquals(numberOfRebalancings, results.get(i).getNumberOfRebalancings());
+			assertStatisticsEquals("Rebalancings " + numberOfRebalancings, getErrorStatistics(hedgedPortfolio, model), results.get(i).getErrorStatistics(), 1E-10);
+		}
+	}
+
+	private static StreamingStatistics getErrorStatistics(BlackScholesHedgedPortfolio hedgedPortfolio, AssetModelMonteCarloSimulationModel model) throws CalculationException {
+		final RandomVariable portfolioValue			= hedgedPortfolio.getValue(optionMaturity, model);
+		final RandomVariable underlyingAtMaturity	= model.getAssetValue(optionMaturity, 0);
+
+		final StreamingStatistics errorStatistics = new StreamingStatistics();
+		for(int path=0; path<model.getNumberOfPaths(); path++) {
+			errorStatistics.add(portfolioValue.get(path) - Math.max(underlyingAtMaturity.get(path) - optionStrike, 0.0));
+		}
+		return errorStatistics;
+	}
+
+	private static void assertStatisticsEquals(String message, StreamingStatistics expected, StreamingStatistics actual, double tolerance) {
+		Assert.assertEquals(message, expected.getCount(), actual.getCount());
+		Assert.assertEquals(message, expected.getMean(), actual.getMean(), tolerance);
+		Assert.assertEquals(message, expected.getStandardDeviation(), actual.getStandardDeviation(), tolerance);
+		Assert.assertEquals(message, expected.getMin(), actual.getMin(), tolerance);
+		Assert.assertEquals(message, expected.getMax(), actual.getMax(), tolerance);
+	}
+}
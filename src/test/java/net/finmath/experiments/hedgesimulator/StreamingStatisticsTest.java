@@ -0,0 +1,98 @@
+package net.finmath.experiments.hedgesimulator;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class StreamingStatisticsTest {
+
+	@Test
+	public void testMomentsAndQuantiles() {
+		final int numberOfValues = 1000000;
+		final double[] values = new double[numberOfValues];
+		final Random random = new Random(3141);
+		for(int i=0; i<numberOfValues; i++) {
+			// A skewed distribution: lognormal
+			values[i] = Math.exp(0.5 * random.nextGaussian());
+		}
+
+		final StreamingStatistics statistics = new StreamingStatistics();
+		statistics.add(values, 0, numberOfValues);
+
+		// Moments calculated in several passes
+		double mean = 0.0;
+		for(final double value : values) {
+			mean += value;
+		}
+		mean /= numberOfValues;
+		double moment2 = 0.0, moment3 = 0.0, moment4 = 0.0;
+		for(final double value : values) {
+			final double deviation = value - mean;
+			moment2 += deviation * deviation;
+			moment3 += deviation * deviation * deviation;
+			moment4 += deviation * deviation * deviation * deviation;
+		}
+		moment2 /= numberOfValues;
+		moment3 /= numberOfValues;
+		moment4 /= numberOfValues;
+
+		Assert.assertEquals(numberOfValues, statistics.getCount());
+		Assert.assertEquals(mean, statistics.getMean(), 1E-12);
+		Assert.assertEquals(moment2, statistics.getVariance(), 1E-12);
+		Assert.assertEquals(moment3 / Math.pow(moment2, 1.5), statistics.getSkewness(), 1E-9);
+		Assert.assertEquals(moment4 / (moment2 * moment2) - 3.0, statistics.getExcessKurtosis(), 1E-9);
+
+		// Quantiles and tail means compared to the sorted values
+		final double[] sortedValues = values.clone();
+		Arrays.sort(sortedValues);
+		Assert.assertEquals(sortedValues[0], statistics.getMin(), 0.0);
+		Assert.assertEquals(sortedValues[numberOfValues-1], statistics.getMax(), 0.0);
+		for(final double probability : new double[] { 0.001, 0.01, 0.05, 0.25, 0.5, 0.75, 0.95, 0.99, 0.999 }) {
+			// The error of the digest is small in terms of the rank (the fraction of values less than the quantile)
+			final double quantile = statistics.getQuantile(probability);
+			final int rank = -Arrays.binarySearch(sortedValues, quantile) - 1;
+			Assert.assertEquals("Quantile " + probability, probability, (double)rank / numberOfValues, 5E-4);
+
+			final double quantileExact = sortedValues[(int)(probability * numberOfValues)];
+			Assert.assertEquals("Distribution " + probability, probability, statistics.getCumulativeDistribution(quantileExact), 5E-4);
+		}
+
+		final int numberOfValuesInTail = numberOfValues / 100;
+		double tailMean = 0.0;
+		for(int i=0; i<numberOfValuesInTail; i++) {
+			tailMean += sortedValues[i];
+		}
+		tailMean /= numberOfValuesInTail;
+		Assert.assertEquals(-tailMean, statistics.getExpectedShortfall(0.99), 5E-3 * tailMean);
+	}
+
+	@Test
+	public void testMerge() {
+		final Random random = new Random(42);
+		final StreamingStatistics statistics = new StreamingStatistics();
+		final StreamingStatistics[] statisticsOfParts = { new StreamingStatistics(), new StreamingStatistics(), new StreamingStatistics() };
+		for(int i=0; i<300000; i++) {
+			final double value = random.nextGaussian() + (i % 3);
+			statistics.add(value);
+			statisticsOfParts[i % 3].add(value);
+		}
+
+		final StreamingStatistics statisticsMerged = new StreamingStatistics();
+		for(final StreamingStatistics statisticsOfPart : statisticsOfParts) {
+			statisticsMerged.merge(statisticsOfPart);
+		}
+
+		Assert.assertEquals(statistics.getCount(), statisticsMerged.getCount());
+		Assert.assertEquals(statistics.getMean(), statisticsMerged.getMean(), 1E-12);
+		Assert.assertEquals(statistics.getVariance(), statisticsMerged.getVariance(), 1E-10);
+		Assert.assertEquals(statistics.getSkewness(), statisticsMerged.getSkewness(), 1E-10);
+		Assert.assertEquals(statistics.getExcessKurtosis(), statisticsMerged.getExcessKurtosis(), 1E-10);
+		Assert.assertEquals(statistics.getMin(), statisticsMerged.getMin(), 0.0);
+		Assert.assertEquals(statistics.getMax(), statisticsMerged.getMax(), 0.0);
+		for(final double probability : new double[] { 0.01, 0.5, 0.99 }) {
+			Assert.assertEquals(statistics.getQuantile(probability), statisticsMerged.getQuantile(probability), 5E-3);
+		}
+	}
+}
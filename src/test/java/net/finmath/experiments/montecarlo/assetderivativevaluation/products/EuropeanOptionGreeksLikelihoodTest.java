@@ -0,0 +1,40 @@
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.functions.AnalyticFormulas;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+public class EuropeanOptionGreeksLikelihoodTest {
+
+	private final double initialValue	= 1.0;
+	private final double riskFreeRate	= 0.02;
+	private final double volatility		= 0.30;
+
+	private final double optionMaturity	= 1.0;
+	private final double optionStrike	= 1.05;
+
+	@Test
+	public void testFusedEqualsSeparateProducts() throws CalculationException {
+		final MonteCarloBlackScholesModel model = new MonteCarloBlackScholesModel(new TimeDiscretizationFromArray(0.0, 10, 0.1), 50000, initialValue, riskFreeRate, volatility);
+
+		final EuropeanOptionGreeks greeks = new EuropeanOptionGreeksLikelihood(optionMaturity, optionStrike).getGreeks(model);
+
+		Assert.assertEquals(new EuropeanOption2(optionMaturity, optionStrike).getValue(model), greeks.getValue(), 1E-12);
+		Assert.assertEquals(new EuropeanOptionDeltaLikelihood(optionMaturity, optionStrike).getValue(model), greeks.getDelta(), 1E-12);
+		Assert.assertEquals(new EuropeanOptionVegaLikelihood(optionMaturity, optionStrike).getValue(model), greeks.getVega(), 1E-12);
+		Assert.assertEquals(new EuropeanOptionGammaLikelihood(optionMaturity, optionStrike).getValue(model), greeks.getGamma(), 1E-12);
+		// The rho product uses a finite difference of the log-likelihood
+		Assert.assertEquals(new EuropeanOptionRhoLikelihood(optionMaturity, optionStrike).getValue(model), greeks.getRho(), 1E-5);
+
+		// Monte-Carlo error (4 standard errors)
+		Assert.assertEquals(AnalyticFormulas.blackScholesOptionValue(initialValue, riskFreeRate, volatility, optionMaturity, optionStrike), greeks.getValue(), 4 * greeks.getValueStandardError());
+		Assert.assertEquals(AnalyticFormulas.blackScholesOptionDelta(initialValue, riskFreeRate, volatility, optionMaturity, optionStrike), greeks.getDelta(), 4 * greeks.getDeltaStandardError());
+		Assert.assertEquals(AnalyticFormulas.blackScholesOptionVega(initialValue, riskFreeRate, volatility, optionMaturity, optionStrike), greeks.getVega(), 4 * greeks.getVegaStandardError());
+		Assert.assertEquals(AnalyticFormulas.blackScholesOptionRho(initialValue, riskFreeRate, volatility, optionMaturity, optionStrike), greeks.getRho(), 4 * greeks.getRhoStandardError());
+		Assert.assertEquals(AnalyticFormulas.blackScholesOptionGamma(initialValue, riskFreeRate, volatility, optionMaturity, optionStrike), greeks.getGamma(), 4 * greeks.getGammaStandardError());
+	}
+}
@@ -0,0 +1,40 @@
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+public class EuropeanOptionGreeksPathwiseTest {
+
+	private final double optionMaturity	= 1.0;
+	private final double optionStrike	= 1.05;
+
+	@Test
+	public void testFusedEqualsSeparateProducts() throws CalculationException {
+		final MonteCarloBlackScholesModel model = new MonteCarloBlackScholesModel(new TimeDiscretizationFromArray(0.0, 10, 0.1), 50000, 1.0, 0.02, 0.30);
+
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		try {
+			final EuropeanOptionGreeks greeks = new EuropeanOptionGreeksPathwise(optionMaturity, optionStrike, 1000, forkJoinPool).getGreeks(model);
+
+			Assert.assertEquals(new EuropeanOption2(optionMaturity, optionStrike).getValue(model), greeks.getValue(), 1E-12);
+			Assert.assertEquals(new EuropeanOptionDeltaPathwise(optionMaturity, optionStrike).getValue(model), greeks.getDelta(), 1E-12);
+			Assert.assertEquals(new EuropeanOptionVegaPathwise(optionMaturity, optionStrike).getValue(model), greeks.getVega(), 1E-12);
+			Assert.assertEquals(new EuropeanOptionRhoPathwise(optionMaturity, optionStrike).getValue(model), greeks.getRho(), 1E-12);
+			Assert.assertEquals(new EuropeanOptionGammaPathwise(optionMaturity, optionStrike).getValue(model), greeks.getGamma(), 1E-12);
+
+			// The result does not depend on the parallelization
+			final EuropeanOptionGreeks greeksSequential = new EuropeanOptionGreeksPathwise(optionMaturity, optionStrike, 1000, null).getGreeks(model);
+			Assert.assertEquals(greeksSequential.getVega(), greeks.getVega(), 0.0);
+			Assert.assertEquals(greeksSequential.getVegaStandardError(), greeks.getVegaStandardError(), 0.0);
+		}
+		finally {
+			forkJoinPool.shutdown();
+		}
+	}
+}
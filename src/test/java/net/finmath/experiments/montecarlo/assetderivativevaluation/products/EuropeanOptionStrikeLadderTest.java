@@ -0,0 +1,33 @@
+package net.finmath.experiments.montecarlo.assetderivativevaluation.products;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.exception.CalculationException;
+import net.finmath.experiments.montecarlo.assetderivativevaluation.products.EuropeanOptionStrikeLadder.StrikeLadderValues;
+import net.finmath.montecarlo.assetderivativevaluation.MonteCarloBlackScholesModel;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+public class EuropeanOptionStrikeLadderTest {
+
+	@Test
+	public void testStrikeLadderEqualsSingleOptions() throws CalculationException {
+		final double volatility = 0.30;
+		final MonteCarloBlackScholesModel model = new MonteCarloBlackScholesModel(new TimeDiscretizationFromArray(0.0, 20, 0.1), 50000, 1.0, 0.02, volatility);
+
+		final double[] maturities	= { 1.0, 1.0, 1.0, 2.0, 2.0, 1.0, 0.5 };
+		final double[] strikes		= { 0.60, 1.05, 1.50, 0.80, 1.20, 1.05, 1.0 };
+		final StrikeLadderValues values = new EuropeanOptionStrikeLadder(maturities, strikes).getValues(model);
+
+		for(int i=0; i<strikes.length; i++) {
+			final double callValue = new EuropeanOption2(maturities[i], strikes[i]).getValue(model);
+			Assert.assertEquals("Call " + i, callValue, values.getCallValues()[i], 1E-12);
+
+			// Put-call parity with the simulated forward and payoff unit
+			final double payoffUnit = Math.exp(-0.02 * maturities[i]);
+			Assert.assertEquals("Put " + i, callValue - (values.getForwards()[i] - strikes[i]) * payoffUnit, values.getPutValues()[i], 1E-12);
+
+			Assert.assertEquals("Implied volatility " + i, volatility, values.getImpliedVolatilities()[i], 0.01);
+		}
+	}
+}
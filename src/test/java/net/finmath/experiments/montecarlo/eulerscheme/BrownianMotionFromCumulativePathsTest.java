@@ -0,0 +1,59 @@
+package net.finmath.experiments.montecarlo.eulerscheme;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.montecarlo.BrownianMotion;
+import net.finmath.montecarlo.BrownianMotionFromMersenneRandomNumbers;
+import net.finmath.stochastic.RandomVariable;
+import net.finmath.time.TimeDiscretization;
+import net.finmath.time.TimeDiscretizationFromArray;
+
+public class BrownianMotionFromCumulativePathsTest {
+
+	@Test
+	public void testIncrementsMatchSumOfFineIncrements() {
+		final TimeDiscretization timeDiscretizationFine = new TimeDiscretizationFromArray(0.0, 200, 0.01);
+		final BrownianMotion brownianMotion = new BrownianMotionFromMersenneRandomNumbers(timeDiscretizationFine, 2, 1000, 3141);
+		final CumulativeBrownianPaths cumulativeBrownianPaths = new CumulativeBrownianPaths(brownianMotion);
+
+		for(final int numberOfSubSteps : new int[] { 100, 10, 1 }) {
+			final TimeDiscretization timeDiscretizationCoarse = new TimeDiscretizationFromArray(0.0, 200/numberOfSubSteps, 0.01*numberOfSubSteps);
+			final BrownianMotion brownianMotionCoarse = new BrownianMotionCoarseTimeDiscretization(timeDiscretizationCoarse, brownianMotion);
+			final BrownianMotion brownianMotionCumulative = new BrownianMotionFromCumulativePaths(timeDiscretizationCoarse, cumulativeBrownianPaths, 10);
+
+			for(int timeIndex=0; timeIndex<timeDiscretizationCoarse.getNumberOfTimeSteps(); timeIndex++) {
+				for(int factor=0; factor<2; factor++) {
+					final RandomVariable incrementExpected = brownianMotionCoarse.getBrownianIncrement(timeIndex, factor);
+					final RandomVariable increment = brownianMotionCumulative.getBrownianIncrement(timeIndex, factor);
+					Assert.assertArrayEquals(incrementExpected.getRealizations(), increment.getRealizations(), 1E-12);
+
+					// A cached increment is returned on the second call
+					Assert.assertSame(increment, brownianMotionCumulative.getBrownianIncrement(timeIndex, factor));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testCloneWithModifiedSeed() {
+		final TimeDiscretization timeDiscretizationFine = new TimeDiscretizationFromArray(0.0, 100, 0.01);
+		final TimeDiscretization timeDiscretizationCoarse = new TimeDiscretizationFromArray(0.0, 10, 0.1);
+		final BrownianMotion brownianMotion = new BrownianMotionFromMersenneRandomNumbers(timeDiscretizationFine, 1, 1000, 3141);
+
+		final BrownianMotion brownianMotionWithModifiedSeed = new BrownianMotionFromCumulativePaths(timeDiscretizationCoarse, brownianMotion).getCloneWithModifiedSeed(2718);
+		final BrownianMotion brownianMotionExpected = new BrownianMotionCoarseTimeDiscretization(timeDiscretizationCoarse,
+				new BrownianMotionFromMersenneRandomNumbers(timeDiscretizationFine, 1, 1000, 2718));
+
+		for(int timeIndex=0; timeIndex<timeDiscretizationCoarse.getNumberOfTimeSteps(); timeIndex++) {
+			Assert.assertArrayEquals(brownianMotionExpected.getBrownianIncrement(timeIndex, 0).getRealizations(),
+					brownianMotionWithModifiedSeed.getBrownianIncrement(timeIndex, 0).getRealizations(), 1E-12);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testCoarseTimesMustBeFineTimes() {
+		final BrownianMotion brownianMotion = new BrownianMotionFromMersenneRandomNumbers(new TimeDiscretizationFromArray(0.0, 10, 0.1), 1, 100, 3141);
+		new BrownianMotionFromCumulativePaths(new TimeDiscretizationFromArray(0.0, 4, 0.25), brownianMotion);
+	}
+}
@@ -0,0 +1,58 @@
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class HaltonSequenceIncrementalTest {
+
+	@Test
+	public void testEqualsHaltonNumber() {
+		final int[] baseVector = { 2, 3, 5, 7, 31 };
+		final long[] startIndices = { 0, 1, 30, 1000000, 123456789012L, (1L << 53) - 5000 };
+
+		for(final long startIndex : startIndices) {
+			final HaltonSequenceIncremental haltonSequence = new HaltonSequenceIncremental(baseVector, startIndex);
+
+			final int numberOfPoints = 10000;
+			final double[] block = new double[numberOfPoints * baseVector.length];
+			haltonSequence.getNext(block, 0, numberOfPoints);
+
+			for(int i=0; i<numberOfPoints; i++) {
+				for(int k=0; k<baseVector.length; k++) {
+					final double expected = HaltonSequence.getHaltonNumber(startIndex + i, baseVector[k]);
+					Assert.assertEquals("Halton number " + (startIndex + i) + " for base " + baseVector[k], Double.doubleToLongBits(expected), Double.doubleToLongBits(block[i * baseVector.length + k]));
+				}
+			}
+			Assert.assertEquals(startIndex + numberOfPoints, haltonSequence.getIndex());
+		}
+	}
+
+	@Test
+	public void testBitReversalBoundary() {
+		// The last shifted index with 53 binary digits is 2^53-1, i.e., the index 2^53-2. Blocks ending at or crossing the bound.
+		final long maxExactIndex = 1L << 53;
+		final long[] startIndices = { maxExactIndex - 3, maxExactIndex - 2, maxExactIndex - 1, maxExactIndex };
+
+		for(final long startIndex : startIndices) {
+			for(int numberOfPoints = 1; numberOfPoints <= 3; numberOfPoints++) {
+				final HaltonSequenceIncremental haltonSequence = new HaltonSequenceIncremental(new int[] { 2, 3 }, startIndex);
+				final double[] block = new double[numberOfPoints * 2];
+				haltonSequence.getNext(block, 0, numberOfPoints);
+
+				for(int i=0; i<numberOfPoints; i++) {
+					final double expected = HaltonSequence.getHaltonNumber(startIndex + i, 2);
+					Assert.assertEquals("Halton number " + (startIndex + i) + " for base 2", Double.doubleToLongBits(expected), Double.doubleToLongBits(block[i * 2]));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testSetIndex() {
+		final HaltonSequenceIncremental haltonSequence = new HaltonSequenceIncremental(new int[] { 2, 3 });
+		haltonSequence.getNext(new double[2 * 100], 0, 100);
+		haltonSequence.setIndex(42);
+
+		Assert.assertArrayEquals(new HaltonSequence(new int[] { 2, 3 }).getHaltonNumber(42), haltonSequence.getNext(), 0.0);
+	}
+}
@@ -0,0 +1,67 @@
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.experiments.montecarlo.randomnumbers.PseudoRandomNumberSequence.RandomNumberGeneratorType;
+
+public class PseudoRandomNumberSequenceChunkedTest {
+
+	private static final int length = 100000;
+
+	@Test
+	public void testEqualsPseudoRandomNumberSequence() {
+		for(final RandomNumberGeneratorType type : RandomNumberGeneratorType.values()) {
+			final PseudoRandomNumberSequence sequence = new PseudoRandomNumberSequence(type, 3141, length);
+
+			// Small chunks and cache, such that chunks are evicted and re-generated
+			final PseudoRandomNumberSequenceChunked sequenceChunked = new PseudoRandomNumberSequenceChunked(type, 3141, length, 1000, 3);
+
+			assertEqualsInRandomOrder(sequence, sequenceChunked);
+		}
+	}
+
+	@Test
+	public void testEqualsPseudoRandomNumberSequenceWithFile() throws IOException {
+		final Path directory = Files.createTempDirectory("random-numbers");
+		try {
+			for(final RandomNumberGeneratorType type : RandomNumberGeneratorType.values()) {
+				final Path file = directory.resolve(type + ".bin");
+				final PseudoRandomNumberSequence sequence = new PseudoRandomNumberSequence(type, 3141, length);
+
+				// The first instance writes the file, the second maps the existing file
+				new PseudoRandomNumberSequenceChunked(type, 3141, length, 1000, 3, file);
+				final PseudoRandomNumberSequenceChunked sequenceChunked = new PseudoRandomNumberSequenceChunked(type, 3141, length, 1000, 3, file);
+
+				assertEqualsInRandomOrder(sequence, sequenceChunked);
+
+				final double[] randomNumbers = new double[2500];
+				sequenceChunked.getRandomNumbers(1500, randomNumbers, 0, randomNumbers.length);
+				for(int i=0; i<randomNumbers.length; i++) {
+					Assert.assertEquals(sequence.getRandomNumber(1500 + i), randomNumbers[i], 0.0);
+				}
+
+				Assert.assertThrows(IOException.class, () -> new PseudoRandomNumberSequenceChunked(type, 2718, length, 1000, 3, file));
+				Files.delete(file);
+			}
+		}
+		finally {
+			Files.delete(directory);
+		}
+	}
+
+	private static void assertEqualsInRandomOrder(PseudoRandomNumberSequence sequence, PseudoRandomNumberSequenceChunked sequenceChunked) {
+		// Visit blocks of 100 indices in a scattered order (7919 is prime, hence co-prime to the number of blocks)
+		final int numberOfBlocks = length / 100;
+		for(int i=0; i<numberOfBlocks; i++) {
+			final int firstIndex = (int)(((long)i * 7919) % numberOfBlocks) * 100;
+			for(int index=firstIndex; index<firstIndex+100; index++) {
+				Assert.assertEquals("Random number " + index, sequence.getRandomNumber(index), sequenceChunked.getRandomNumber(index), 0.0);
+			}
+		}
+	}
+}
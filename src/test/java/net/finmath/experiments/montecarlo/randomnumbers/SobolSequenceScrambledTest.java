@@ -0,0 +1,61 @@
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import org.apache.commons.math3.random.SobolSequenceGenerator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.experiments.montecarlo.randomnumbers.SobolSequenceScrambled.Scrambling;
+
+public class SobolSequenceScrambledTest {
+
+	@Test
+	public void testEqualsSobolSequenceGenerator() {
+		final int dimension = 1000;
+		final int numberOfPoints = 4096;
+
+		final SobolSequenceScrambled sobolSequence = new SobolSequenceScrambled(dimension);
+		final SobolSequenceGenerator sobolSequenceGenerator = new SobolSequenceGenerator(dimension);
+
+		final double[] block = new double[numberOfPoints * dimension];
+		sobolSequence.getNext(block, 0, numberOfPoints);
+		for(int i=0; i<numberOfPoints; i++) {
+			final double[] expected = sobolSequenceGenerator.nextVector();
+			for(int k=0; k<dimension; k++) {
+				// Resolution of 32 bits, mapped to the midpoints
+				Assert.assertEquals("Sobol number " + i + " in dimension " + k, expected[k], block[i * dimension + k], 0x1.0p-32);
+			}
+		}
+	}
+
+	@Test
+	public void testSetIndex() {
+		for(final Scrambling scrambling : Scrambling.values()) {
+			final SobolSequenceScrambled sobolSequence = new SobolSequenceScrambled(10, scrambling, 42);
+			final double[] block = new double[10 * 1000];
+			sobolSequence.getNext(block, 0, 1000);
+
+			sobolSequence.setIndex(777);
+			final double[] expected = new double[10];
+			System.arraycopy(block, 777 * 10, expected, 0, 10);
+			Assert.assertArrayEquals(expected, sobolSequence.getNext(), 0.0);
+		}
+	}
+
+	@Test
+	public void testScramblingIsStratified() {
+		// Each scrambling is a digital net: the first 2^m points hit each interval [j 2^-m, (j+1) 2^-m) exactly once in each dimension.
+		final int numberOfPoints = 1 << 8;
+		final SobolSequenceScrambled sobolSequence = new SobolSequenceScrambled(16, Scrambling.OWEN, 12345);
+		final double[] block = new double[numberOfPoints * 16];
+		sobolSequence.getNext(block, 0, numberOfPoints);
+
+		for(int k=0; k<16; k++) {
+			final boolean[] isHit = new boolean[numberOfPoints];
+			for(int i=0; i<numberOfPoints; i++) {
+				final int interval = (int)(block[i * 16 + k] * numberOfPoints);
+				Assert.assertFalse("Interval " + interval + " hit twice in dimension " + k, isHit[interval]);
+				isHit[interval] = true;
+			}
+		}
+	}
+}
@@ -0,0 +1,79 @@
+package net.finmath.experiments.montecarlo.randomnumbers;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.randomnumbers.MersenneTwister;
+
+public class SplittableRandomNumberGeneratorTest {
+
+	@Test
+	public void testMersenneTwisterEqualsReference() {
+		final MersenneTwister mersenneTwister = new MersenneTwister(3141);
+		final MersenneTwisterJumpable mersenneTwisterJumpable = new MersenneTwisterJumpable(3141);
+		for(int i=0; i<100000; i++) {
+			Assert.assertEquals("Random number " + i, mersenneTwister.nextDouble(), mersenneTwisterJumpable.nextDouble(), 0.0);
+		}
+	}
+
+	@Test
+	public void testMersenneTwisterJump() {
+		assertJumpEqualsSequential(new MersenneTwisterJumpable(42), new MersenneTwisterJumpable(42));
+	}
+
+	@Test
+	public void testPhiloxJump() {
+		assertJumpEqualsSequential(new PhiloxRandomNumberGenerator(42), new PhiloxRandomNumberGenerator(42));
+	}
+
+	@Test
+	public void testPhiloxKnownAnswers() {
+		// Known answer tests of Philox4x32-10 (Random123)
+		final int[] output = new int[4];
+
+		PhiloxRandomNumberGenerator.generateBlock(0L, 0L, 0L, output);
+		Assert.assertArrayEquals(new int[] { 0x6627e8d5, 0xe169c58d, 0xbc57ac4c, 0x9b00dbd8 }, output);
+
+		PhiloxRandomNumberGenerator.generateBlock(-1L, -1L, -1L, output);
+		Assert.assertArrayEquals(new int[] { 0x408f276d, 0x41c83b0e, 0xa20bc7c6, 0x6d5451fd }, output);
+
+		PhiloxRandomNumberGenerator.generateBlock(0x85a308d3243f6a88L, 0x0370734413198a2eL, 0x299f31d0a4093822L, output);
+		Assert.assertArrayEquals(new int[] { 0xd16cfe09, 0x94fdcceb, 0x5001e420, 0x24126ea1 }, output);
+	}
+
+	@Test
+	public void testStreamsAreReproducible() {
+		final SplittableRandomNumberGenerator[] generators = { new MersenneTwisterJumpable(7), new PhiloxRandomNumberGenerator(7) };
+		for(final SplittableRandomNumberGenerator generator : generators) {
+			// Stream 0 is the sequence of the seed, other streams differ and do not depend on the state of the generator
+			final SplittableRandomNumberGenerator stream0 = generator.getStream(0);
+			final SplittableRandomNumberGenerator stream3 = generator.getStream(3);
+			generator.nextDouble();
+			final SplittableRandomNumberGenerator stream3Again = generator.getStream(3);
+
+			final SplittableRandomNumberGenerator reference = generator.getStream(0);
+			for(int i=0; i<1000; i++) {
+				final double value3 = stream3.nextDouble();
+				Assert.assertEquals(reference.nextDouble(), stream0.nextDouble(), 0.0);
+				Assert.assertEquals(value3, stream3Again.nextDouble(), 0.0);
+			}
+			Assert.assertNotEquals(generator.getStream(0).nextDouble(), generator.getStream(3).nextDouble(), 0.0);
+		}
+	}
+
+	private static void assertJumpEqualsSequential(SplittableRandomNumberGenerator generator, SplittableRandomNumberGenerator generatorSequential) {
+		for(final long numberOfRandomNumbers : new long[] { 0, 1, 2, 3, 1000, 12345 }) {
+			generator.nextDouble();
+			generatorSequential.nextDouble();
+
+			generator.jump(numberOfRandomNumbers);
+			for(long i=0; i<numberOfRandomNumbers; i++) {
+				generatorSequential.nextDouble();
+			}
+
+			for(int i=0; i<10; i++) {
+				Assert.assertEquals("Jump by " + numberOfRandomNumbers, generatorSequential.nextDouble(), generator.nextDouble(), 0.0);
+			}
+		}
+	}
+}
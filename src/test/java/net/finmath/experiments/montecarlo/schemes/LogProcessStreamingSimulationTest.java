@@ -0,0 +1,63 @@
+package net.finmath.experiments.montecarlo.schemes;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LogProcessStreamingSimulationTest {
+
+	private static final int	numberOfTimeSteps	= 20;
+	private static final double	deltaT				= 0.05;
+	private static final int	numberOfPaths		= 1000;
+	private static final double	initialValue		= 1.0;
+	private static final double	mu					= 0.05;
+	private static final double	sigma				= 0.3;
+
+	@Test
+	public void testMatchesPrecalculatedSchemes() {
+		final LognormalProcess[] schemes = new LognormalProcess[] {
+				new LogProcessEulerScheme(numberOfTimeSteps, deltaT, numberOfPaths, initialValue, mu, sigma),
+				new LogProcessLogEulerScheme(numberOfTimeSteps, deltaT, numberOfPaths, initialValue, mu, sigma),
+				new LogProcessMilsteinScheme(numberOfTimeSteps, deltaT, numberOfPaths, initialValue, mu, sigma)
+		};
+
+		for(final LognormalProcess scheme : schemes) {
+			final LognormalProcess streamingSimulation = new LogProcessStreamingSimulation(scheme);
+
+			// Increasing time indices (continuing from the buffers), then decreasing time indices (restarting)
+			for(int timeIndex = 0; timeIndex <= numberOfTimeSteps; timeIndex++) {
+				assertTimeSliceEquals(scheme, streamingSimulation, timeIndex);
+			}
+			for(int timeIndex = numberOfTimeSteps; timeIndex >= 0; timeIndex -= 3) {
+				assertTimeSliceEquals(scheme, streamingSimulation, timeIndex);
+			}
+		}
+	}
+
+	@Test
+	public void testParallelMatchesSequential() {
+		final LognormalProcess scheme = new LogProcessMilsteinScheme(numberOfTimeSteps, deltaT, numberOfPaths, initialValue, mu, sigma);
+		final LognormalProcess sequentialSimulation = new LogProcessStreamingSimulation(scheme, 3141);
+
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		// Block sizes dividing and not dividing the number of paths, and more blocks than can be in flight
+		for(final int numberOfPathsPerBlock : new int[] { 1, 7, 100, numberOfPaths, 2 * numberOfPaths }) {
+			final LognormalProcess parallelSimulation = new LogProcessStreamingSimulation(scheme, 3141, numberOfPathsPerBlock, forkJoinPool);
+			for(final int timeIndex : new int[] { 0, 5, numberOfTimeSteps, 3 }) {
+				assertTimeSliceEquals(sequentialSimulation, parallelSimulation, timeIndex);
+			}
+		}
+		forkJoinPool.shutdown();
+	}
+
+	private static void assertTimeSliceEquals(LognormalProcess expected, LognormalProcess actual, int timeIndex) {
+		final double[] valuesExpected = expected.getProcessValue(timeIndex).getRealizations();
+		final double[] values = actual.getProcessValue(timeIndex).getRealizations();
+		for(int iPath = 0; iPath < valuesExpected.length; iPath++) {
+			Assert.assertEquals("Time index " + timeIndex + ", path " + iPath, Double.doubleToLongBits(valuesExpected[iPath]), Double.doubleToLongBits(values[iPath]));
+		}
+		Assert.assertEquals(expected.getExpectationOfLog(timeIndex), actual.getExpectationOfLog(timeIndex), 0.0);
+		Assert.assertEquals(expected.getVarianceOfLog(timeIndex), actual.getVarianceOfLog(timeIndex), 0.0);
+	}
+}
@@ -0,0 +1,39 @@
+package net.finmath.experiments.montecarlo.schemes;
+
+import java.util.function.ToDoubleFunction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.experiments.montecarlo.randomnumbers.PhiloxRandomNumberGenerator;
+import net.finmath.experiments.montecarlo.schemes.MultilevelMonteCarloEstimator.Result;
+import net.finmath.functions.AnalyticFormulas;
+
+public class MultilevelMonteCarloEstimatorTest {
+
+	@Test
+	public void testEuropeanCallMatchesBlackScholes() {
+		final double initialValue = 1.0;
+		final double mu = 0.05;
+		final double sigma = 0.2;
+		final double maturity = 1.0;
+		final double strike = 1.0;
+		final double accuracy = 2E-3;
+
+		final ToDoubleFunction<double[]> call = path -> Math.exp(-mu * maturity) * Math.max(path[path.length-1] - strike, 0.0);
+		final double valueAnalytic = AnalyticFormulas.blackScholesOptionValue(initialValue, mu, sigma, maturity, strike);
+
+		for(final MultilevelMonteCarloEstimator.SchemeFactory schemeFactory : new MultilevelMonteCarloEstimator.SchemeFactory[] { LogProcessEulerScheme::new, LogProcessMilsteinScheme::new }) {
+			final Result result = new MultilevelMonteCarloEstimator(schemeFactory, initialValue, mu, sigma, maturity, call, 2, 10, 1000, new PhiloxRandomNumberGenerator(3141)).getValue(accuracy);
+
+			// Root mean squared error is accuracy: allow three times the accuracy
+			Assert.assertEquals(valueAnalytic, result.getValue(), 3 * accuracy);
+			Assert.assertTrue(result.getStandardError() < accuracy);
+
+			// Most paths are spent on the coarse levels
+			final int[] numbersOfPaths = result.getNumbersOfPaths();
+			Assert.assertTrue(numbersOfPaths[0] > numbersOfPaths[numbersOfPaths.length-1]);
+			Assert.assertTrue(result.getCost() < result.getCostSingleLevel());
+		}
+	}
+}
@@ -0,0 +1,123 @@
+package net.finmath.experiments.reproduction;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class BackProjectionSweepTest {
+
+	private static final double[]	means				= new double[] { 4.0, 6.0 };
+	private static final double[]	standardDeviations	= new double[] { 2.0, 4.0 };
+	private static final int[][]	smoothingIntervals	= new int[][] { { 0, 0 }, { -1, 1 } };
+
+	@Test
+	public void testParallelSweepMatchesSequentialSweep() {
+		final List<BackProjectionSweep.Result> resultsSequential = new BackProjectionSweep(60, 20, BackProjection.Acceleration.SQUAREM, 1E-10, 2000, null)
+				.getResults(means, standardDeviations, means, standardDeviations, smoothingIntervals);
+
+		final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+		final List<BackProjectionSweep.Result> resultsParallel = new BackProjectionSweep(60, 20, BackProjection.Acceleration.SQUAREM, 1E-10, 2000, forkJoinPool)
+				.getResults(means, standardDeviations, means, standardDeviations, smoothingIntervals);
+		forkJoinPool.shutdown();
+
+		Assert.assertEquals(means.length * standardDeviations.length * means.length * standardDeviations.length * smoothingIntervals.length, resultsSequential.size());
+		Assert.assertEquals(resultsSequential.size(), resultsParallel.size());
+		for(int i=0; i<resultsSequential.size(); i++) {
+			assertResultEquals(resultsSequential.get(i), resultsParallel.get(i));
+		}
+	}
+
+	@Test
+	public void testMemoizedDistributionsMatchFreshDistributions() {
+		final List<BackProjectionSweep.Result> results = new BackProjectionSweep(60, 20, BackProjection.Acceleration.NONE, 1E-10, 2000, null)
+				.getResults(means, standardDeviations, means, standardDeviations, smoothingIntervals);
+
+		final double[] infections = new double[60];
+		for(int i = 0; i<infections.length; i++) {
+			infections[i] = i < infections.length/2 ? 2 : 1;
+		}
+
+		for(final BackProjectionSweep.Result result : results) {
+			// Fresh distributions, not taken from any cache
+			DiscretizedLognormalDistribution.clearCache();
+			final double[] distributionTrue = DiscretizedLognormalDistribution.getDistribution(20, result.getTrueMean(), result.getTrueStandardDeviation());
+			DiscretizedLognormalDistribution.clearCache();
+			final double[] distributionEstimated = DiscretizedLognormalDistribution.getDistribution(20, result.getEstimatedMean(), result.getEstimatedStandardDeviation());
+
+			final double[] observations = new double[infections.length+(distributionTrue.length-1)];
+			for(int i=0; i<infections.length; i++) {
+				for(int j=0; j<distributionTrue.length; j++) {
+					observations[i+j] += infections[i] * distributionTrue[j];
+				}
+			}
+
+			final BackProjection.Result backProjectionResult = new BackProjection(distributionEstimated,
+					result.getSmoothingIntervalStart(), result.getSmoothingIntervalEnd(), BackProjection.Acceleration.NONE, 1E-10, 2000)
+					.getBackProjection(observations);
+
+			double sumOfSquaredErrors = 0.0;
+			for(int i=0; i<infections.length; i++) {
+				final double error = backProjectionResult.getInfections()[i] - infections[i];
+				sumOfSquaredErrors += error * error;
+			}
+
+			Assert.assertEquals(backProjectionResult.getNumberOfIterations(), result.getNumberOfIterations());
+			Assert.assertEquals(Math.sqrt(sumOfSquaredErrors / infections.length), result.getRootMeanSquaredError(), 0.0);
+		}
+	}
+
+	@Test
+	public void testColumnarFileRoundTrip() throws IOException {
+		final List<BackProjectionSweep.Result> results = new BackProjectionSweep(60, 20, BackProjection.Acceleration.SQUAREM, 1E-10, 2000, null)
+				.getResults(means, standardDeviations, new double[] { 5.0 }, new double[] { 3.0 }, smoothingIntervals);
+
+		final Path file = Files.createTempFile("backprojection-sweep", ".bin");
+		try {
+			BackProjectionSweep.writeResultsAsColumns(results, file);
+			Assert.assertEquals(3 * Long.BYTES + BackProjectionSweep.COLUMN_NAMES.size() * results.size() * Double.BYTES, Files.size(file));
+
+			final List<BackProjectionSweep.Result> resultsRead = BackProjectionSweep.readResultsFromColumns(file);
+			Assert.assertEquals(results.size(), resultsRead.size());
+			for(int i=0; i<results.size(); i++) {
+				assertResultEquals(results.get(i), resultsRead.get(i));
+				Assert.assertEquals(results.get(i).getCalculationTimeMillis(), resultsRead.get(i).getCalculationTimeMillis());
+			}
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
+	@Test(expected = IOException.class)
+	public void testColumnarFileRejectsOtherFiles() throws IOException {
+		final Path file = Files.createTempFile("backprojection-sweep", ".csv");
+		try {
+			BackProjectionSweep.writeResultsAsCSV(List.of(), file.toFile());
+			BackProjectionSweep.readResultsFromColumns(file);
+		}
+		finally {
+			Files.delete(file);
+		}
+	}
+
+	/*
+	 * All fields except the calculation time
+	 */
+	private static void assertResultEquals(BackProjectionSweep.Result expected, BackProjectionSweep.Result actual) {
+		Assert.assertEquals(expected.getTrueMean(), actual.getTrueMean(), 0.0);
+		Assert.assertEquals(expected.getTrueStandardDeviation(), actual.getTrueStandardDeviation(), 0.0);
+		Assert.assertEquals(expected.getEstimatedMean(), actual.getEstimatedMean(), 0.0);
+		Assert.assertEquals(expected.getEstimatedStandardDeviation(), actual.getEstimatedStandardDeviation(), 0.0);
+		Assert.assertEquals(expected.getSmoothingIntervalStart(), actual.getSmoothingIntervalStart());
+		Assert.assertEquals(expected.getSmoothingIntervalEnd(), actual.getSmoothingIntervalEnd());
+		Assert.assertEquals(expected.getRootMeanSquaredError(), actual.getRootMeanSquaredError(), 0.0);
+		Assert.assertEquals(expected.getMaximumAbsoluteError(), actual.getMaximumAbsoluteError(), 0.0);
+		Assert.assertEquals(expected.getNumberOfIterations(), actual.getNumberOfIterations());
+		Assert.assertEquals(expected.isConverged(), actual.isConverged());
+	}
+}
@@ -4,7 +4,9 @@ import java.awt.Rectangle;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Random;
 
+import org.junit.Assert;
 import org.junit.Ignore;
 import org.junit.Test;
 
@@ -66,4 +68,129 @@ public class BackProjectionTest {
 		System.out.println(Arrays.toString(infectionsProjected));
 	}
 
+	@Test
+	public void testConvolutionWithFFTMatchesDirectSums() {
+		final int length = 1000;
+		final double[] distribution = DiscretizedLognormalDistribution.getDistribution(100, 20, 15);
+
+		final Random random = new Random(3141);
+		final double[] series = new double[length];
+		for(int i=0; i<length; i++) {
+			series[i] = 1.0 + random.nextDouble();
+		}
+
+		final DiscreteConvolution convolutionDirect = new DiscreteConvolution(distribution, length, false);
+		final DiscreteConvolution convolutionFFT = new DiscreteConvolution(distribution, length, true);
+
+		final double[] convolvedDirect = new double[length];
+		final double[] convolvedFFT = new double[length];
+		convolutionDirect.convolve(series, convolvedDirect);
+		convolutionFFT.convolve(series, convolvedFFT);
+		Assert.assertArrayEquals(convolvedDirect, convolvedFFT, 1E-12);
+
+		final double[] correlatedDirect = new double[length];
+		final double[] correlatedFFT = new double[length];
+		convolutionDirect.correlate(series, correlatedDirect);
+		convolutionFFT.correlate(series, correlatedFFT);
+		Assert.assertArrayEquals(correlatedDirect, correlatedFFT, 1E-12);
+	}
+
+	@Test
+	public void testIterationMatchesTripleLoop() {
+		final double[] distribution = DiscretizedLognormalDistribution.getDistribution(10, 5, 3);
+		final int smoothingIntervalStart = -2;
+		final int smoothingIntervalEnd = 2;
+
+		final Random random = new Random(3141);
+		final double[] observations = new double[200];
+		final double[] infections = new double[200];
+		for(int i=0; i<observations.length; i++) {
+			observations[i] = 1.0 + random.nextDouble();
+			infections[i] = 1.0 + random.nextDouble();
+		}
+
+		// One iteration as in the original implementation (triple loop, smoothing weights calculated in the loop)
+		final double[] infectionsNewExpected = new double[observations.length];
+		Arrays.fill(infectionsNewExpected, 1.5);
+		for(int k=0; k<observations.length-(distribution.length-1); k++) {
+			double sum = 0.0;
+			for(int i=0; i<distribution.length; i++) {
+				double observationProjected = 0.0;
+				for(int j=0; j<distribution.length; j++) {
+					observationProjected += infections[Math.max(k+i-j,0)] * distribution[j];
+				}
+				sum += observations[k+i] * distribution[i] / observationProjected;
+			}
+			infectionsNewExpected[k] = sum * infections[k];
+		}
+		final double[] infectionsExpected = new double[infections.length];
+		for(int i=0; i<infections.length; i++) {
+			double sumOfWeight = 0.0;
+			for(int k=smoothingIntervalStart; k<=smoothingIntervalEnd; k++) {
+				final double weight = org.apache.commons.math3.util.CombinatoricsUtils.binomialCoefficient(smoothingIntervalEnd-smoothingIntervalStart, k-smoothingIntervalStart) / Math.pow(2, smoothingIntervalEnd-smoothingIntervalStart);
+				infectionsExpected[i] += infectionsNewExpected[Math.min(Math.max(i+k,0),infections.length-1)] * weight;
+				sumOfWeight += weight;
+			}
+			infectionsExpected[i] /= sumOfWeight;
+		}
+
+		final double[] infectionsNew = new double[observations.length];
+		Arrays.fill(infectionsNew, 1.5);
+		new BackProjection(distribution, smoothingIntervalStart, smoothingIntervalEnd).applyIteration(observations, infections, infectionsNew,
+				new DiscreteConvolution(distribution, observations.length), new double[observations.length], new double[observations.length]);
+
+		Assert.assertArrayEquals(infectionsExpected, infections, 1E-12);
+	}
+
+	@Test
+	public void testSquaremReachesSameFixedPointWithFewerIterations() {
+		final double[] distribution = DiscretizedLognormalDistribution.getDistribution(50, 10, 5);
+		final double[] distribution2 = DiscretizedLognormalDistribution.getDistribution(50, 20, 10);
+
+		final double[] infections = new double[200];
+		for(int i = 0; i<200; i++) {
+			infections[i] = i < 100 ? 2 : 1;
+		}
+
+		final double[] observations = new double[200-(distribution.length-1)];
+		for(int i=0; i<observations.length; i++) {
+			for(int j=0; j<distribution.length; j++) {
+				observations[i] += infections[i+(distribution.length-1)-j] * distribution[j];
+			}
+		}
+
+		final BackProjection.Result resultPlain = new BackProjection(distribution2, -2, 2, BackProjection.Acceleration.NONE, 1E-16, 100000).getBackProjection(observations);
+		final BackProjection.Result resultSquarem = new BackProjection(distribution2, -2, 2, BackProjection.Acceleration.SQUAREM, 1E-16, 100000).getBackProjection(observations);
+
+		Assert.assertTrue(resultPlain.isConverged());
+		Assert.assertTrue(resultSquarem.isConverged());
+		Assert.assertTrue(resultSquarem.getSquaredDeviation() < 1E-16);
+		// SQUAREM requires far fewer evaluations of the map
+		Assert.assertTrue(resultSquarem.getNumberOfIterations() < resultPlain.getNumberOfIterations());
+		Assert.assertTrue(resultSquarem.getNumberOfIterations() * 3 < resultPlain.getNumberOfIterations());
+		for(final double infection : resultSquarem.getInfections()) {
+			Assert.assertTrue(infection > 0);
+		}
+		Assert.assertArrayEquals(resultPlain.getInfections(), resultSquarem.getInfections(), 1E-6);
+	}
+
+	@Test
+	public void testSquaremRespectsMaximumNumberOfIterations() {
+		final double[] distribution = DiscretizedLognormalDistribution.getDistribution(50, 20, 10);
+
+		final double[] observations = new double[200];
+		for(int i=0; i<observations.length; i++) {
+			observations[i] = i < 100 ? 2 : 1;
+		}
+
+		// Budgets which are not multiples of the three evaluations of a cycle
+		for(int maximumNumberOfIterations = 1; maximumNumberOfIterations <= 11; maximumNumberOfIterations++) {
+			final BackProjection.Result result = new BackProjection(distribution, -2, 2, BackProjection.Acceleration.SQUAREM, 1E-30, maximumNumberOfIterations).getBackProjection(observations);
+
+			Assert.assertFalse(result.isConverged());
+			Assert.assertEquals(maximumNumberOfIterations, result.getNumberOfIterations());
+			// One deviation per cycle (three evaluations) and per plain step for the remaining evaluations
+			Assert.assertEquals(maximumNumberOfIterations / 3 + maximumNumberOfIterations % 3, result.getSquaredDeviations().length);
+		}
+	}
 }
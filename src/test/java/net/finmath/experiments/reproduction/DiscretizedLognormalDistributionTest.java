@@ -0,0 +1,80 @@
+package net.finmath.experiments.reproduction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class DiscretizedLognormalDistributionTest {
+
+	@Test
+	public void testCachedDistributionIsCopy() {
+		final double[] distribution = DiscretizedLognormalDistribution.getDistribution(50, 5.0, 4.0);
+		final double[] distributionCached = DiscretizedLognormalDistribution.getDistribution(50, 5.0, 4.0);
+
+		Assert.assertNotSame(distribution, distributionCached);
+		Assert.assertArrayEquals(distribution, distributionCached, 0.0);
+
+		// Modifying a returned distribution does not modify the cache
+		distribution[0] = -1.0;
+		Assert.assertArrayEquals(distributionCached, DiscretizedLognormalDistribution.getDistribution(50, 5.0, 4.0), 0.0);
+	}
+
+	@Test
+	public void testFitDoesNotDependOnCache() {
+		// Fit on an empty cache
+		DiscretizedLognormalDistribution.clearCache();
+		final double[] distributionCold = DiscretizedLognormalDistribution.getDistribution(40, 6.2, 3.1);
+
+		// Fit after fitting neighbouring distributions
+		DiscretizedLognormalDistribution.clearCache();
+		DiscretizedLognormalDistribution.getDistribution(40, 6.0, 3.0);
+		DiscretizedLognormalDistribution.getDistribution(40, 7.0, 4.0);
+		final double[] distributionWarm = DiscretizedLognormalDistribution.getDistribution(40, 6.2, 3.1);
+
+		Assert.assertArrayEquals(distributionCold, distributionWarm, 0.0);
+	}
+
+	@Test
+	public void testFitMatchesMoments() {
+		for(final double[] meanAndStdDev : new double[][] { { 6.2, 3.1 }, { 7.0, 4.0 }, { 4.0, 2.0 } }) {
+			final double mean = meanAndStdDev[0];
+			final double stddev = meanAndStdDev[1];
+			final double[] distribution = DiscretizedLognormalDistribution.getDistribution(40, mean, stddev);
+
+			double distributionMean = 0.0;
+			for(int i=0; i<distribution.length; i++) {
+				distributionMean += i * distribution[i];
+			}
+			double distributionVariance = 0.0;
+			for(int i=0; i<distribution.length; i++) {
+				distributionVariance += Math.pow(i - distributionMean, 2.0) * distribution[i];
+			}
+			distributionVariance *= distribution.length/(distribution.length-1.0);
+
+			Assert.assertEquals("Mean", mean, distributionMean, 1E-6);
+			Assert.assertEquals("Variance", stddev*stddev, distributionVariance, 1E-6);
+		}
+	}
+
+	@Test
+	public void testDistributionWithContinuousMoments() {
+		final double mean = 5.0;
+		final double stddev = 4.0;
+
+		final double mu = Math.log(  mean / Math.sqrt(Math.pow(stddev / mean,2)+1 ) );
+		final double sigma = Math.sqrt( 2 * (Math.log(mean)-mu) );
+
+		final double[] distributionExpected = new double[25];
+		double sum = 0.0;
+		for(int i=0; i<distributionExpected.length; i++) {
+			final double x = i+1;
+			distributionExpected[i] = 1.0/(x*Math.sqrt(2*Math.PI)*sigma) * Math.exp(-Math.pow(Math.log(x)-mu, 2.0)/(2*sigma*sigma));
+			sum += distributionExpected[i];
+		}
+		for(int i=0; i<distributionExpected.length; i++) {
+			distributionExpected[i] /= sum;
+		}
+
+		Assert.assertArrayEquals(distributionExpected, DiscretizedLognormalDistribution.getDistributionWithContinuousMoments(25, mean, stddev), 1E-15);
+		Assert.assertArrayEquals(distributionExpected, DiscretizedLognormalDistribution.getDistributionWithContinuousMoments(25, mean, stddev), 1E-15);
+	}
+}
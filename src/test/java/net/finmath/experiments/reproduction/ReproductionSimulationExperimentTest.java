@@ -0,0 +1,81 @@
+package net.finmath.experiments.reproduction;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.rootfinder.BisectionSearch;
+import net.finmath.rootfinder.RootFinder;
+
+public class ReproductionSimulationExperimentTest {
+
+	@Test
+	public void testStateEngineMatchesListOfStates() {
+		final double incubationMean = 5.0;
+		final double incubationStdDev = 4.0;
+		final int timeInfectious = 3;
+
+		final ReproductionSimulationExperiment sim = new ReproductionSimulationExperiment(incubationMean, incubationStdDev, timeInfectious);
+
+		// Reference: the original implementation, one state (infected not infectious, infected and infectious, immune) per day in a list
+		final List<double[]> states = new ArrayList<>();
+		for(int i=0; i<5; i++) {
+			states.add(new double[] { 0.0, 1E-12, 0.0 });
+		}
+		states.add(new double[] { 0.0, 0.0, 1E-12 });
+
+		final double[] incubation = DiscretizedLognormalDistribution.getDistributionWithContinuousMoments(25, incubationMean, incubationStdDev);
+		for(int currentTime=0; currentTime<500; currentTime++) {
+			final double rate = currentTime < 100 ? 1.04 : 1.02;
+			sim.evolve(rate, incubationMean, incubationStdDev);
+
+			final double[] currentState = states.get(currentTime);
+			final double currentUninfected = 1 + (- currentState[0] - currentState[1] - currentState[2]);
+			final double newInfected = getEffectiveRate(rate, incubation, timeInfectious) * currentState[1] * currentUninfected;
+
+			final double[] lastState = states.get(states.size()-1);
+			while(states.size() < currentTime+incubation.length+timeInfectious+1) {
+				states.add(lastState);
+			}
+
+			for(int i=1; i<states.size()-currentTime; i++) {
+				double p = 0;
+				double q = 0;
+				for(int j = 0; j<Math.min(i, incubation.length); j++) {
+					if(i-j > timeInfectious) {
+						q += incubation[j];
+					} else {
+						p += incubation[j];
+					}
+				}
+
+				final double[] state = states.get(currentTime+i);
+				states.set(currentTime+i, new double[] { state[0] + newInfected * (1-p-q), state[1] + newInfected * p, state[2] + newInfected * q });
+			}
+		}
+
+		final double[] infected = ReproductionSimulationExperiment.getInfected(sim);
+		Assert.assertEquals(states.size(), infected.length);
+		for(int day=0; day<infected.length; day++) {
+			final double infectedExpected = states.get(day)[1] + states.get(day)[2];
+			Assert.assertEquals("Day " + day, infectedExpected, infected[day], 1E-14 * infectedExpected);
+		}
+	}
+
+	private static double getEffectiveRate(double rateTarget, double[] distribution, int n) {
+		final RootFinder rf = new BisectionSearch(0.0, 2.0);
+		while(!rf.isDone()) {
+			final double rate = rf.getNextPoint();
+			double rateEff = 1.0;
+			for(int i=0; i<distribution.length; i++) {
+				for(int j=0; j<n; j++) {
+					rateEff += (rate-1.0) * distribution[i] / n / (i+j+1);
+				}
+			}
+			rf.setValue(rateEff-rateTarget);
+		}
+		return rf.getBestPoint()/n;
+	}
+}
@@ -0,0 +1,42 @@
+package net.finmath.experiments.shortrate;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.experiments.montecarlo.randomnumbers.PhiloxRandomNumberGenerator;
+import net.finmath.experiments.shortrate.CIRSimulationEngine.Scheme;
+import net.finmath.experiments.shortrate.CIRSimulationEngine.ZeroCouponBondValues;
+
+public class CIRSimulationEngineTest {
+
+	@Test
+	public void testParallelEqualsSequential() {
+		final double[] maturities = { 0.5, 1.0 };
+		for(final Scheme scheme : Scheme.values()) {
+			final ForkJoinPool forkJoinPool = new ForkJoinPool(4);
+			try {
+				final ZeroCouponBondValues valuesSequential = new CIRSimulationEngine(0.01, 0.05, 1.3, 0.05, 5000, 0.01, scheme, new PhiloxRandomNumberGenerator(3141), 500, null).getZeroCouponBondValues(maturities);
+				final ZeroCouponBondValues valuesParallel = new CIRSimulationEngine(0.01, 0.05, 1.3, 0.05, 5000, 0.01, scheme, new PhiloxRandomNumberGenerator(3141), 500, forkJoinPool).getZeroCouponBondValues(maturities);
+
+				Assert.assertArrayEquals(valuesSequential.getValues(), valuesParallel.getValues(), 0.0);
+				Assert.assertArrayEquals(valuesSequential.getStandardErrors(), valuesParallel.getStandardErrors(), 0.0);
+			}
+			finally {
+				forkJoinPool.shutdown();
+			}
+		}
+	}
+
+	@Test
+	public void testExactSchemeMatchesAnalyticValue() {
+		final double maturity = 1.0;
+		final ZeroCouponBondValues values = new CIRSimulationEngine(0.01, 0.05, 1.3, 0.05, 20000, 0.01, Scheme.EXACT, new PhiloxRandomNumberGenerator(3141)).getZeroCouponBondValues(new double[] { maturity });
+
+		final double valueAnalytic = new CIRSimulation(0.01, 0.05, 1.3, 0.05, maturity, 20000, 0.01).valueAnalytic();
+
+		// Monte-Carlo error (4 standard errors) plus the error of the trapezoidal rule for the integrated rate
+		Assert.assertEquals(valueAnalytic, values.getValues()[0], 4 * values.getStandardErrors()[0] + 1E-4);
+	}
+}
@@ -0,0 +1,36 @@
+package net.finmath.experiments.shortrate;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import net.finmath.experiments.shortrate.CIRSimulationEngine.Scheme;
+import net.finmath.experiments.shortrate.CIRSimulationEngine.ZeroCouponBondValues;
+
+public class CIRSimulationTest {
+
+	private static final double[] maturities = { 0.25, 0.5, 1.0, 1.5, 2.0 };
+
+	@Test
+	public void testCurveMatchesAnalyticValues() {
+		final CIRSimulation cirSimulation = new CIRSimulation(0.01, 0.05, 1.3, 0.05, 1.0, 20000, 0.01);
+		final ZeroCouponBondValues values = cirSimulation.valueMonteCarloCurve(maturities, Scheme.EXACT);
+
+		for(int i=0; i<maturities.length; i++) {
+			// Monte-Carlo error (4 standard errors) plus the error of the trapezoidal rule for the integrated rate
+			Assert.assertEquals("Maturity " + maturities[i], cirSimulation.valueAnalytic(maturities[i]), values.getValues()[i], 4 * values.getStandardErrors()[i] + 1E-4);
+		}
+	}
+
+	@Test
+	public void testCurveMatchesSingleMaturity() {
+		for(final Scheme scheme : Scheme.values()) {
+			final ZeroCouponBondValues values = new CIRSimulation(0.01, 0.05, 1.3, 0.05, 1.0, 5000, 0.01).valueMonteCarloCurve(maturities, scheme);
+
+			for(int i=0; i<maturities.length; i++) {
+				// Same seed: the paths of the single maturity simulation are the beginning of the paths of the curve simulation
+				final double value = new CIRSimulation(0.01, 0.05, 1.3, 0.05, maturities[i], 5000, 0.01).valueMonteCarlo(scheme);
+				Assert.assertEquals("Maturity " + maturities[i] + " (" + scheme + ")", value, values.getValues()[i], 0.0);
+			}
+		}
+	}
+}